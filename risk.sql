@@ -61,6 +61,29 @@ create index idx_risk_level
 create index idx_worker_id
     on t_risk_indicator (worker_id);
 
+create index idx_worker_create_time
+    on t_risk_indicator (worker_id, create_time);
+
+create index idx_create_time
+    on t_risk_indicator (create_time);
+
+create table t_risk_indicator_hourly
+(
+    worker_id     bigint                              not null comment '关联工人ID',
+    hour_start    datetime                            not null comment '小时起点（整点）',
+    max_risk_rank tinyint                             not null comment '该小时最高风险等级（1低 2中 3高 4严重）',
+    sample_count  int       default 0                 not null comment '该小时记录条数',
+    update_time   timestamp default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP,
+    primary key (worker_id, hour_start),
+    constraint t_risk_indicator_hourly_ibfk_1
+        foreign key (worker_id) references t_worker (id)
+            on delete cascade
+)
+    comment '风险指标小时汇总表' charset = utf8mb4;
+
+create index idx_hour_start_rank
+    on t_risk_indicator_hourly (hour_start, max_risk_rank);
+
 -- auto-generated definition
 create table t_work_area
 (
@@ -0,0 +1,79 @@
+package gang.lu.riskmanagementproject.converter;
+
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.enums.field.Status;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.po.Worker;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.WorkerVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct 转换器耗时基准（直接使用生成的实现类，不启动 Spring 容器）
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class ConverterBenchmark {
+
+    @Param({"100"})
+    private int rows;
+
+    private RiskIndicatorConverter riskIndicatorConverter;
+    private WorkerConverter workerConverter;
+    private List<RiskIndicator> indicators;
+    private Worker worker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        riskIndicatorConverter = new RiskIndicatorConverterImpl();
+        workerConverter = new WorkerConverterImpl();
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        RiskLevel[] levels = RiskLevel.values();
+        indicators = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            RiskIndicator indicator = new RiskIndicator();
+            indicator.setId((long) i + 1);
+            indicator.setWorkerId(1L);
+            indicator.setHeartRate(70 + i % 40);
+            indicator.setRespiratoryRate(14 + i % 8);
+            indicator.setFatiguePercent(30 + i % 60 + 0.5);
+            indicator.setRiskLevel(levels[i % levels.length]);
+            indicator.setAlertFlag(i % 7 == 0);
+            indicator.setCreateTime(start.plusMinutes(10L * i));
+            indicators.add(indicator);
+        }
+        worker = new Worker();
+        worker.setId(1L);
+        worker.setWorkerCode("W0001");
+        worker.setName("张三");
+        worker.setPosition("焊工");
+        worker.setWorkYears(5);
+        worker.setWorkType(WorkType.HIGH_ALTITUDE);
+        worker.setStatus(Status.NORMAL);
+        worker.setCreateTime(start);
+        worker.setUpdateTime(start);
+    }
+
+    @Benchmark
+    public List<RiskIndicatorVO> riskIndicatorPoListToVoList() {
+        return riskIndicatorConverter.poListToVoList(indicators);
+    }
+
+    @Benchmark
+    public WorkerVO workerPoToVo() {
+        return workerConverter.poToVo(worker);
+    }
+}
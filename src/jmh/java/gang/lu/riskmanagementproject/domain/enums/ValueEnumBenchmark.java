@@ -0,0 +1,56 @@
+package gang.lu.riskmanagementproject.domain.enums;
+
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValueEnum#fromValue} 反查耗时基准（命中首项、命中末项、未命中）
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class ValueEnumBenchmark {
+
+    /**
+     * 非常量字符串，避免 equals 走引用相等的捷径
+     */
+    private String firstValue;
+    private String lastValue;
+    private String missingValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        firstValue = new String(RiskLevel.LOW_RISK.getValue());
+        lastValue = new String(RiskLevel.VERY_HIGH_RISK.getValue());
+        missingValue = "未知风险";
+    }
+
+    @Benchmark
+    public RiskLevel fromValueFirst() {
+        return ValueEnum.fromValue(RiskLevel.class, firstValue);
+    }
+
+    @Benchmark
+    public RiskLevel fromValueLast() {
+        return ValueEnum.fromValue(RiskLevel.class, lastValue);
+    }
+
+    @Benchmark
+    public RiskLevel fromValueMissing() {
+        return ValueEnum.fromValue(RiskLevel.class, missingValue);
+    }
+
+    @Benchmark
+    public RiskLevel enumConvertUtilToEnum() {
+        return EnumConvertUtil.toEnum(lastValue, RiskLevel.class);
+    }
+}
@@ -0,0 +1,76 @@
+package gang.lu.riskmanagementproject.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AiHelper} 提示词构建与响应解析耗时基准（不发起网络请求）
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class AiHelperBenchmark {
+
+    private static final long WORKER_ID = 1L;
+
+    /**
+     * 典型的千问响应：带 Markdown 代码块标记的 JSON
+     */
+    private static final String AI_TEXT = "```json\n{\n"
+            + "  \"predictedRiskLevel\": \"中风险\",\n"
+            + "  \"riskTrend\": \"上升\",\n"
+            + "  \"analysisSummary\": \"近 20 次记录中心率与疲劳百分比持续走高，夜班时段出现两次预警，整体风险呈上升趋势。\",\n"
+            + "  \"suggestions\": [\"安排 30 分钟轮休\", \"补充水分与电解质\", \"降低高空作业频次\", \"班组长加强巡检\"],\n"
+            + "  \"confidenceNote\": \"样本量适中，预测置信度中等。\"\n"
+            + "}\n```";
+
+    @Param({"20", "100"})
+    private int historyLength;
+
+    private AiHelper aiHelper;
+    private List<RiskIndicatorVO> history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        aiHelper = new AiHelper(null, null, new ObjectMapper(), null);
+        history = new ArrayList<>(historyLength);
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        RiskLevel[] levels = RiskLevel.values();
+        for (int i = 0; i < historyLength; i++) {
+            RiskIndicatorVO vo = new RiskIndicatorVO();
+            vo.setId((long) i + 1);
+            vo.setWorkerId(WORKER_ID);
+            vo.setHeartRate(70 + i % 40);
+            vo.setRespiratoryRate(14 + i % 8);
+            vo.setFatiguePercent(30 + i % 60 + 0.5);
+            vo.setRiskLevel(levels[i % levels.length]);
+            vo.setAlertFlag(i % 7 == 0);
+            vo.setCreateTime(start.plusMinutes(10L * i));
+            history.add(vo);
+        }
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return aiHelper.buildPrompt(WORKER_ID, history);
+    }
+
+    @Benchmark
+    public RiskPredictionVO parseAiResponse() {
+        return aiHelper.parseAiResponse(WORKER_ID, historyLength, AI_TEXT);
+    }
+}
@@ -0,0 +1,167 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.io.FileUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.forecast.DampedTrendForecaster;
+import gang.lu.riskmanagementproject.forecast.EwmaForecaster;
+import gang.lu.riskmanagementproject.forecast.HoltForecaster;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.util.ModelSerializer;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FatiguePredictHelper} 预测耗时基准
+ * <ul>
+ *   <li>{@code predictCachedModel}：命中工人缓存模型、无新读数，只做推理（训练在 Setup 中完成）；</li>
+ *   <li>{@code predictOfflineModel}：使用离线模型推理（只取最近一个训练窗口）；</li>
+ *   <li>{@code forecastDampedTrend}：阻尼趋势统计预测，作为 LSTM 的对照。</li>
+ * </ul>
+ * 历史序列为带噪声的正弦曲线，LSTM 参数与 application.yml 默认值一致。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class FatiguePredictHelperBenchmark {
+
+    private static final long WORKER_ID = 1L;
+
+    private static final int WINDOW_SIZE = 30;
+
+    @Param({"10", "30", "100", "200"})
+    private int historyLength;
+
+    private FatiguePredictHelper cachedHelper;
+    private FatiguePredictHelper offlineHelper;
+    private List<RiskIndicator> history;
+    private double[] values;
+    private Path modelDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        history = new ArrayList<>(historyLength);
+        values = new double[historyLength];
+        for (int i = 0; i < historyLength; i++) {
+            RiskIndicator indicator = new RiskIndicator();
+            indicator.setId((long) i + 1);
+            indicator.setWorkerId(WORKER_ID);
+            indicator.setFatiguePercent(50 + 20 * Math.sin(i / 5.0) + random.nextGaussian());
+            history.add(indicator);
+            values[i] = indicator.getFatiguePercent();
+        }
+
+        // 1. 工人缓存模型：先全量训练一次写入缓存，基准中只命中缓存
+        cachedHelper = newHelper(lstmProperty(false, null));
+        cachedHelper.predict(WORKER_ID, WorkType.NORMAL_WORK, history, true);
+
+        // 2. 离线模型：训练一个小模型写入临时目录并加载
+        modelDir = Files.createTempDirectory("fatigue-benchmark");
+        LstmProperty offlineProperty = lstmProperty(true, modelDir);
+        Path globalDir = Files.createDirectories(modelDir.resolve(FatigueModelRegistry.GLOBAL_KEY));
+        ModelSerializer.writeModel(trainOfflineModel(offlineProperty, random),
+                globalDir.resolve(FatigueModelRegistry.FILE_PREFIX + "benchmark" + FatigueModelRegistry.FILE_SUFFIX)
+                        .toFile(), false);
+        offlineHelper = newHelper(offlineProperty);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtil.del(modelDir.toFile());
+    }
+
+    @Benchmark
+    public List<Double> predictCachedModel() {
+        return cachedHelper.predict(WORKER_ID, WorkType.NORMAL_WORK, history, false);
+    }
+
+    @Benchmark
+    public List<Double> predictOfflineModel() {
+        return offlineHelper.predict(WORKER_ID, WorkType.NORMAL_WORK, history, false);
+    }
+
+    @Benchmark
+    public List<Double> forecastDampedTrend() {
+        return cachedHelper.forecast(WORKER_ID, ForecasterType.DAMPED_TREND, values);
+    }
+
+    private static FatiguePredictHelper newHelper(LstmProperty lstmProperty) {
+        ForecastProperty forecastProperty = forecastProperty();
+        FatigueModelRegistry registry = new FatigueModelRegistry(lstmProperty);
+        registry.reload();
+        FatiguePredictHelper helper = new FatiguePredictHelper(lstmProperty, new FatigueModelCache(lstmProperty),
+                registry, forecastProperty, Arrays.asList(new EwmaForecaster(forecastProperty),
+                new HoltForecaster(forecastProperty), new DampedTrendForecaster(forecastProperty)));
+        helper.init();
+        return helper;
+    }
+
+    private static MultiLayerNetwork trainOfflineModel(LstmProperty lstmProperty, Random random) {
+        int batch = 64;
+        double[] features = new double[batch * WINDOW_SIZE];
+        double[] labels = new double[batch * WINDOW_SIZE];
+        for (int b = 0; b < batch; b++) {
+            double phase = random.nextDouble() * 10;
+            for (int t = 0; t < WINDOW_SIZE; t++) {
+                features[b * WINDOW_SIZE + t] = (50 + 20 * Math.sin(phase + t / 5.0)) / 100;
+                labels[b * WINDOW_SIZE + t] = (50 + 20 * Math.sin(phase + (t + 1) / 5.0)) / 100;
+            }
+        }
+        long[] shape = {batch, 1, WINDOW_SIZE};
+        DataSet dataSet = new DataSet(Nd4j.create(features, shape, 'c'), Nd4j.create(labels, shape, 'c'));
+        MultiLayerNetwork network = FatiguePredictHelper.buildModel(lstmProperty);
+        for (int epoch = 0; epoch < lstmProperty.getOfflineEpochs(); epoch++) {
+            network.fit(dataSet);
+        }
+        return network;
+    }
+
+    private static LstmProperty lstmProperty(boolean offlineEnabled, Path modelDir) {
+        LstmProperty property = new LstmProperty();
+        property.setPredictSteps(6);
+        property.setMinHistory(5);
+        property.setMaxHistory(200);
+        property.setEpochs(50);
+        property.setAdamLearningRate(0.01);
+        property.setHiddenSize(32);
+        property.setFineTuneEpochs(10);
+        property.setModelCacheEnabled(true);
+        property.setModelCacheMaxMemoryMb(64);
+        property.setOfflineEnabled(offlineEnabled);
+        property.setOfflineModelDir(modelDir == null ? null : modelDir.toString());
+        property.setOfflineWindowSize(WINDOW_SIZE);
+        property.setOfflineEpochs(20);
+        property.setFleetBatchSize(1024);
+        return property;
+    }
+
+    private static ForecastProperty forecastProperty() {
+        ForecastProperty property = new ForecastProperty();
+        property.setAutoLstmMinHistory(20);
+        property.setEwmaAlpha(0.5);
+        property.setTrendAlpha(0.5);
+        property.setTrendBeta(0.3);
+        property.setDampedPhi(0.9);
+        return property;
+    }
+}
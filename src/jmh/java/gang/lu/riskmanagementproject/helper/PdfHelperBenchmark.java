@@ -0,0 +1,101 @@
+package gang.lu.riskmanagementproject.helper;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import cn.hutool.core.io.IoUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static gang.lu.riskmanagementproject.common.pdf.PdfBasicConstants.FONT_PATH;
+import static gang.lu.riskmanagementproject.common.pdf.PdfBasicConstants.FONT_TTC_INDEX;
+import static gang.lu.riskmanagementproject.common.pdf.PdfBasicConstants.MARGIN;
+
+/**
+ * {@link PdfHelper} 历史明细表渲染耗时基准
+ * <p>
+ * 每次调用新建文档（PdfFont 与文档绑定，不能跨文档复用），渲染 100 行明细表并写出字节。
+ * 字体文件（{@code FONT_PATH}）不存在时改用 font-asian 中的 STSong-Light（不嵌入字形，结果偏快）；
+ * 该字体的 CMap 不含预警列的 “⚠” 字形，此时所有行按未预警渲染。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class PdfHelperBenchmark {
+
+    private static final String FALLBACK_FONT = "STSong-Light";
+
+    private static final String FALLBACK_ENCODING = "UniGB-UCS2-H";
+
+    @Param({"100"})
+    private int rows;
+
+    private PdfHelper pdfHelper;
+    private FontProgram fontProgram;
+    private List<RiskIndicatorVO> history;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdfHelper = new PdfHelper(null);
+        try (InputStream is = PdfHelper.class.getResourceAsStream(FONT_PATH)) {
+            if (is != null) {
+                fontProgram = FontProgramFactory.createFont(IoUtil.readBytes(is), FONT_TTC_INDEX, false);
+            }
+        }
+        history = new ArrayList<>(rows);
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        RiskLevel[] levels = RiskLevel.values();
+        for (int i = 0; i < rows; i++) {
+            RiskIndicatorVO vo = new RiskIndicatorVO();
+            vo.setId((long) i + 1);
+            vo.setWorkerId(1L);
+            vo.setHeartRate(70 + i % 40);
+            vo.setRespiratoryRate(14 + i % 8);
+            vo.setFatiguePercent(30 + i % 60 + 0.5);
+            vo.setRiskLevel(levels[i % levels.length]);
+            vo.setAlertFlag(fontProgram != null && i % 7 == 0);
+            vo.setCreateTime(start.plusMinutes(10L * i));
+            history.add(vo);
+        }
+    }
+
+    @Benchmark
+    public int renderHistoryTable() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PdfDocument pdf = new PdfDocument(new PdfWriter(buffer));
+        Document doc = new Document(pdf, PageSize.A4);
+        doc.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        pdfHelper.renderHistoryTable(doc, createFont(), history);
+        doc.close();
+        return buffer.size();
+    }
+
+    private PdfFont createFont() throws IOException {
+        if (fontProgram != null) {
+            return PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H,
+                    PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED);
+        }
+        return PdfFontFactory.createFont(FALLBACK_FONT, FALLBACK_ENCODING);
+    }
+}
@@ -0,0 +1,74 @@
+package gang.lu.riskmanagementproject.util;
+
+import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskTimePeriodCountVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.COUNT;
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.PERIOD;
+
+/**
+ * {@link StatisticalUtil} 聚合结果提取耗时基准
+ * <p>
+ * 模拟 MyBatis 返回的 GROUP BY 结果：count 列分别为 Long（MySQL COUNT）与 BigDecimal（SUM）。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class StatisticalUtilBenchmark {
+
+    private static final String GROUP_FIELD = "risk_level";
+
+    private static final String[] GROUPS = {"低风险", "中风险", "高风险", "严重风险"};
+
+    private Map<String, Map<String, Object>> dataMap;
+    private List<Map<String, Object>> dataList;
+    private List<Map<String, Object>> periodList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataMap = new HashMap<>();
+        dataList = new ArrayList<>();
+        for (int i = 0; i < GROUPS.length; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put(GROUP_FIELD, GROUPS[i]);
+            row.put(COUNT, (long) (i + 1) * 10);
+            dataMap.put(GROUPS[i], row);
+            dataList.add(row);
+        }
+        periodList = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour += 2) {
+            Map<String, Object> row = new HashMap<>();
+            row.put(PERIOD, hour);
+            row.put(COUNT, BigDecimal.valueOf(hour * 3L));
+            periodList.add(row);
+        }
+    }
+
+    @Benchmark
+    public Integer getCountFromMap() {
+        return StatisticalUtil.getCountFromMap(dataMap, GROUPS[2]);
+    }
+
+    @Benchmark
+    public Integer getCountFromList() {
+        return StatisticalUtil.getCountFromList(dataList, GROUP_FIELD, GROUPS[3]);
+    }
+
+    @Benchmark
+    public List<RiskTimePeriodCountVO.TimePeriodItem> buildTimePeriodItems() {
+        return StatisticalUtil.buildTimePeriodItems(periodList, 2);
+    }
+}
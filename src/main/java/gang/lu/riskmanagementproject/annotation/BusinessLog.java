@@ -37,6 +37,13 @@ public @interface BusinessLog {
      */
     LogLevel logLevel() default LogLevel.INFO;
 
+    /**
+     * 采样率（0-1，默认1即每次都记录）
+     * <p>
+     * 高频查询接口可调低，未被采样的调用不记录开始 / 入参 / 成功 / 返回值日志，执行失败日志始终记录
+     */
+    double sampleRate() default 1.0;
+
     /**
      * 日志级别枚举
      */
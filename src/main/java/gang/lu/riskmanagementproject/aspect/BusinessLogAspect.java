@@ -1,7 +1,14 @@
 package gang.lu.riskmanagementproject.aspect;
 
+import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
 import gang.lu.riskmanagementproject.annotation.BusinessLog;
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.helper.BusinessLogWriter;
+import gang.lu.riskmanagementproject.helper.LatencyRecorder;
+import gang.lu.riskmanagementproject.property.BusinessLogProperty;
+import gang.lu.riskmanagementproject.util.FutureUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -9,13 +16,25 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
 
 /**
  * 业务操作日志切面。
@@ -27,6 +46,11 @@ import java.util.Objects;
  *   <li>返回值若为 {@link String} 且超过 {@link #MAX_RESULT_LEN} 字符，截断后打印，
  *       避免 AI 原始 JSON 撑爆日志。</li>
  *   <li>统一日志前缀格式，与 {@link ValidateLogAspect} 风格对齐。</li>
+ *   <li>注解元数据按方法缓存；日志级别未开启或未被采样时只计时，不做任何格式化。</li>
+ *   <li>入参 / 返回值只在被采样时于请求线程中序列化为字符串（DTO / PO 可变，延后序列化会读到被改写后的状态），
+ *       {@link BusinessLogWriter} 的后台线程只负责输出；请求 / 响应对象、上传文件与流类入参替换为摘要。</li>
+ *   <li>每次调用的纳秒耗时都记入 {@link LatencyRecorder}（不受日志级别与采样影响）。</li>
+ *   <li>返回值为 {@link CompletionStage}（异步方法）时，在其完成时计时并输出结果或异常。</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -36,10 +60,11 @@ import java.util.Objects;
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class BusinessLogAspect {
 
     /**
-     * 敏感参数关键词（出现即脱敏）
+     * 敏感参数关键词（出现即脱敏，忽略大小写）
      */
     private static final String[] SENSITIVE_KEYWORDS = {"password", "token", "secret", "apiKey"};
 
@@ -48,6 +73,15 @@ public class BusinessLogAspect {
      */
     private static final int MAX_RESULT_LEN = 500;
 
+    private final BusinessLogWriter businessLogWriter;
+    private final LatencyRecorder latencyRecorder;
+    private final BusinessLogProperty businessLogProperty;
+
+    /**
+     * 方法 → 注解元数据（只在首次调用时反射读取）
+     */
+    private final Map<Method, LogMeta> metaCache = new ConcurrentHashMap<>();
+
 
     @Pointcut("@annotation(gang.lu.riskmanagementproject.annotation.BusinessLog)")
     public void businessLogPointcut() {
@@ -56,85 +90,102 @@ public class BusinessLogAspect {
     @Around("businessLogPointcut()")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
 
-        // 1. 元数据
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        BusinessLog annotation = method.getAnnotation(BusinessLog.class);
-
-        String bizName = annotation.value();
-        String fullName = joinPoint.getTarget().getClass().getName() + "." + method.getName();
-        BusinessLog.LogLevel level = annotation.logLevel();
-
-        // 2. 请求上下文
-        StringBuilder ctx = new StringBuilder();
-        ctx.append(String.format("【%s】方法: %s", bizName, fullName));
-
-        if (annotation.recordRequestContext()) {
-            try {
-                ServletRequestAttributes attrs =
-                        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-                if (Objects.nonNull(attrs)) {
-                    HttpServletRequest req = attrs.getRequest();
-                    ctx.append(String.format(" | IP: %s | %s %s | UA: %s",
-                            req.getRemoteAddr(),
-                            req.getMethod(),
-                            req.getRequestURI(),
-                            req.getHeader("User-Agent") != null ? req.getHeader("User-Agent") : "未知"));
-                } else {
-                    ctx.append(" | 非Web环境");
+        // 1. 元数据（缓存）
+        LogMeta meta = resolveMeta(((MethodSignature) joinPoint.getSignature()).getMethod());
+        boolean logged = isEnabled(meta.level) && isSampled(meta.sampleRate);
+
+        // 2. 开始 / 入参日志（在请求线程中序列化为字符串，后台线程只负责输出）
+        if (logged) {
+            Object requestContext = meta.recordRequestContext ? captureRequestContext() : "";
+            String params = meta.recordParams ? formatParams(joinPoint.getArgs()) : null;
+            businessLogWriter.submit(() -> {
+                logByLevel(meta.level, LOG_BIZ_START, meta.bizName, meta.fullName, requestContext);
+                if (params != null) {
+                    logByLevel(meta.level, LOG_BIZ_PARAMS, meta.bizName, params);
                 }
-            } catch (Exception ex) {
-                ctx.append(" | 请求上下文异常: ").append(ex.getMessage());
-            }
+            });
         }
 
-        // 3. 开始日志
-        long startMs = System.currentTimeMillis();
-        logByLevel(level, ctx + " | 开始执行");
-
-        // 4. 入参日志
-        if (annotation.recordParams()) {
-            String params = Arrays.stream(joinPoint.getArgs())
-                    .map(arg -> {
-                        if (arg == null) {
-                            return "null";
-                        }
-                        String argStr = arg.toString();
-                        for (String keyword : SENSITIVE_KEYWORDS) {
-                            if (argStr.toLowerCase().contains(keyword.toLowerCase())) {
-                                return "******";
-                            }
-                        }
-                        return JSONUtil.toJsonStr(arg);
-                    })
-                    .reduce((a, b) -> a + ", " + b)
-                    .orElse("无参数");
-            logByLevel(level, String.format("【%s】入参: %s", bizName, params));
+        // 3. 执行目标方法
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            onFailure(meta, startNanos, e);
+            throw e;
         }
 
-        // ── 5. 执行目标方法 ────────────────────────────────────────
-        try {
-            Object result = joinPoint.proceed();
-            long costMs = System.currentTimeMillis() - startMs;
+        // 4. 异步方法按 Future 完成时间计时，结果 / 异常在完成时输出
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, error) -> {
+                if (error == null) {
+                    onSuccess(meta, logged, startNanos, value);
+                } else {
+                    onFailure(meta, startNanos, FutureUtil.unwrap(error));
+                }
+            });
+        } else {
+            onSuccess(meta, logged, startNanos, result);
+        }
+        return result;
+    }
 
-            logByLevel(level, String.format("【%s】执行成功 | 耗时: %d ms | 方法: %s",
-                    bizName, costMs, fullName));
+    private void onSuccess(LogMeta meta, boolean logged, long startNanos, Object result) {
+        long costNanos = System.nanoTime() - startNanos;
+        latencyRecorder.record(MetricCategory.BUSINESS, meta.bizName, costNanos, false);
+        if (logged) {
+            long costMs = costNanos / 1_000_000;
+            String formattedResult = meta.recordResult && result != null ? formatResult(result) : null;
+            businessLogWriter.submit(() -> {
+                logByLevel(meta.level, LOG_BIZ_SUCCESS, meta.bizName, costMs, meta.fullName);
+                if (formattedResult != null) {
+                    logByLevel(meta.level, LOG_BIZ_RESULT, meta.bizName, formattedResult);
+                }
+            });
+        }
+    }
 
-            // ── 6. 返回值日志（智能处理）─────────────────────────
-            if (annotation.recordResult() && result != null) {
-                logByLevel(level, String.format("【%s】返回值: %s", bizName, formatResult(result)));
-            }
+    /**
+     * 失败日志不采样、同步输出
+     */
+    private void onFailure(LogMeta meta, long startNanos, Throwable e) {
+        long costNanos = System.nanoTime() - startNanos;
+        latencyRecorder.record(MetricCategory.BUSINESS, meta.bizName, costNanos, true);
+        log.error(LOG_BIZ_FAILED, meta.bizName, costNanos / 1_000_000, meta.fullName,
+                e.getClass().getSimpleName(), e.getMessage());
+    }
 
-            return result;
+    private LogMeta resolveMeta(Method method) {
+        LogMeta meta = metaCache.get(method);
+        if (meta == null) {
+            meta = metaCache.computeIfAbsent(method, LogMeta::new);
+        }
+        return meta;
+    }
 
-        } catch (Exception e) {
-            long costMs = System.currentTimeMillis() - startMs;
-            log.error("【{}】执行失败 | 耗时: {} ms | 方法: {} | 异常: {} - {}",
-                    bizName, costMs, fullName, e.getClass().getSimpleName(), e.getMessage());
-            throw e;
+    private boolean isSampled(double sampleRate) {
+        return sampleRate >= 1.0
+                || !businessLogProperty.isSamplingEnabled()
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 在请求线程中采集请求上下文（后台线程中请求对象已失效）
+     */
+    private static Object captureRequestContext() {
+        try {
+            RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+            if (!(attrs instanceof ServletRequestAttributes)) {
+                return " | 非Web环境";
+            }
+            HttpServletRequest req = ((ServletRequestAttributes) attrs).getRequest();
+            return new RequestContext(req.getRemoteAddr(), req.getMethod(),
+                    req.getRequestURI(), req.getHeader("User-Agent"));
+        } catch (Exception ex) {
+            return " | 请求上下文异常: " + ex.getMessage();
         }
     }
-    
 
     /**
      * 智能格式化返回值：
@@ -144,7 +195,7 @@ public class BusinessLogAspect {
      *   <li>其他 → JSON 序列化</li>
      * </ul>
      */
-    private String formatResult(Object result) {
+    private static String formatResult(Object result) {
         if (result instanceof byte[]) {
             int sizeKb = ((byte[]) result).length / 1024;
             return String.format("[byte[] 大小: %d KB (%d bytes)]",
@@ -160,20 +211,111 @@ public class BusinessLogAspect {
         return json;
     }
 
-    private void logByLevel(BusinessLog.LogLevel level, String message) {
+    /**
+     * 格式化入参：请求 / 响应对象不可序列化、流只能读一次，只输出类型名；上传文件只输出文件名与大小
+     */
+    private static String formatParams(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "无参数";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object arg = args[i];
+            if (arg == null) {
+                sb.append("null");
+            } else if (arg instanceof MultipartFile) {
+                MultipartFile file = (MultipartFile) arg;
+                sb.append(String.format("[MultipartFile 文件名: %s, 大小: %d bytes]",
+                        file.getOriginalFilename(), file.getSize()));
+            } else if (arg instanceof ServletRequest || arg instanceof ServletResponse
+                    || arg instanceof InputStream || arg instanceof OutputStream
+                    || arg instanceof Reader || arg instanceof Writer) {
+                sb.append('[').append(arg.getClass().getSimpleName()).append(']');
+            } else if (StrUtil.containsAnyIgnoreCase(arg.toString(), SENSITIVE_KEYWORDS)) {
+                sb.append("******");
+            } else {
+                sb.append(JSONUtil.toJsonStr(arg));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isEnabled(BusinessLog.LogLevel level) {
+        switch (level) {
+            case DEBUG:
+                return log.isDebugEnabled();
+            case WARN:
+                return log.isWarnEnabled();
+            case ERROR:
+                return log.isErrorEnabled();
+            default:
+                return log.isInfoEnabled();
+        }
+    }
+
+    private static void logByLevel(BusinessLog.LogLevel level, String format, Object... args) {
         switch (level) {
             case DEBUG:
-                log.debug(message);
+                log.debug(format, args);
                 break;
             case WARN:
-                log.warn(message);
+                log.warn(format, args);
                 break;
             case ERROR:
-                log.error(message);
+                log.error(format, args);
                 break;
             default:
-                log.info(message);
+                log.info(format, args);
                 break;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 按方法缓存的注解元数据
+     */
+    private static final class LogMeta {
+        private final String bizName;
+        private final String fullName;
+        private final BusinessLog.LogLevel level;
+        private final boolean recordParams;
+        private final boolean recordResult;
+        private final boolean recordRequestContext;
+        private final double sampleRate;
+
+        private LogMeta(Method method) {
+            BusinessLog annotation = method.getAnnotation(BusinessLog.class);
+            this.bizName = annotation.value();
+            this.fullName = method.getDeclaringClass().getName() + "." + method.getName();
+            this.level = annotation.logLevel();
+            this.recordParams = annotation.recordParams();
+            this.recordResult = annotation.recordResult();
+            this.recordRequestContext = annotation.recordRequestContext();
+            this.sampleRate = annotation.sampleRate();
+        }
+    }
+
+    /**
+     * 请求上下文（输出时才拼接）
+     */
+    private static final class RequestContext {
+        private final String ip;
+        private final String method;
+        private final String uri;
+        private final String userAgent;
+
+        private RequestContext(String ip, String method, String uri, String userAgent) {
+            this.ip = ip;
+            this.method = method;
+            this.uri = uri;
+            this.userAgent = userAgent;
+        }
+
+        @Override
+        public String toString() {
+            return " | IP: " + ip + " | " + method + " " + uri + " | UA: " + (userAgent != null ? userAgent : "未知");
+        }
+    }
+}
@@ -2,6 +2,9 @@ package gang.lu.riskmanagementproject.aspect;
 
 import cn.hutool.json.JSONUtil;
 import gang.lu.riskmanagementproject.annotation.ValidateLog;
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.helper.LatencyRecorder;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -20,6 +23,8 @@ import java.util.Arrays;
  * <ol>
  *   <li>增加耗时统计，方便发现慢校验（如数据库查询型校验）。</li>
  *   <li>统一日志格式与 {@link BusinessLogAspect} 对齐。</li>
+ *   <li>以纳秒计时并记入 {@link LatencyRecorder}，亚毫秒级的校验耗时也能按分位数观察；
+ *       日志级别未开启时不做任何格式化。</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -29,8 +34,13 @@ import java.util.Arrays;
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class ValidateLogAspect {
 
+    private static final double NANOS_PER_MS = 1_000_000D;
+
+    private final LatencyRecorder latencyRecorder;
+
     @Pointcut("@annotation(gang.lu.riskmanagementproject.annotation.ValidateLog)")
     public void validateLogPointcut() {
     }
@@ -43,12 +53,16 @@ public class ValidateLogAspect {
         ValidateLog annotation = method.getAnnotation(ValidateLog.class);
 
         String name = annotation.value();
-        String fullName = joinPoint.getTarget().getClass().getName() + "." + method.getName();
         ValidateLog.LogLevel level = annotation.logLevel();
+        // 校验多为 DEBUG 级别，未开启时跳过全部格式化与序列化
+        boolean logged = isEnabled(level);
+        String fullName = logged ? joinPoint.getTarget().getClass().getName() + "." + method.getName() : null;
 
-        logByLevel(level, String.format("【校验: %s】开始 | 方法: %s", name, fullName));
+        if (logged) {
+            logByLevel(level, String.format("【校验: %s】开始 | 方法: %s", name, fullName));
+        }
 
-        if (annotation.recordParams()) {
+        if (logged && annotation.recordParams()) {
             String params = Arrays.stream(joinPoint.getArgs())
                     .map(arg -> arg == null ? "null" : JSONUtil.toJsonStr(arg))
                     .reduce((a, b) -> a + ", " + b)
@@ -56,21 +70,40 @@ public class ValidateLogAspect {
             logByLevel(level, String.format("【校验: %s】入参: %s", name, params));
         }
 
-        long startMs = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            long costMs = System.currentTimeMillis() - startMs;
-            logByLevel(level, String.format("【校验: %s】通过 | 耗时: %d ms | 方法: %s",
-                    name, costMs, fullName));
+            long costNanos = System.nanoTime() - startNanos;
+            latencyRecorder.record(MetricCategory.VALIDATE, name, costNanos, false);
+            if (logged) {
+                logByLevel(level, String.format("【校验: %s】通过 | 耗时: %.3f ms | 方法: %s",
+                        name, costNanos / NANOS_PER_MS, fullName));
+            }
             return result;
         } catch (Exception e) {
-            long costMs = System.currentTimeMillis() - startMs;
+            long costNanos = System.nanoTime() - startNanos;
+            latencyRecorder.record(MetricCategory.VALIDATE, name, costNanos, true);
             log.warn("【校验: {}】不通过 | 耗时: {} ms | 方法: {} | 异常: {} - {}",
-                    name, costMs, fullName, e.getClass().getSimpleName(), e.getMessage());
+                    name, String.format("%.3f", costNanos / NANOS_PER_MS),
+                    joinPoint.getTarget().getClass().getName() + "." + method.getName(),
+                    e.getClass().getSimpleName(), e.getMessage());
             throw e;
         }
     }
 
+    private boolean isEnabled(ValidateLog.LogLevel level) {
+        switch (level) {
+            case INFO:
+                return log.isInfoEnabled();
+            case WARN:
+                return log.isWarnEnabled();
+            case ERROR:
+                return log.isErrorEnabled();
+            default:
+                return log.isDebugEnabled();
+        }
+    }
+
     private void logByLevel(ValidateLog.LogLevel level, String message) {
         switch (level) {
             case INFO:
@@ -57,6 +57,13 @@ public class Result<T> {
         return new Result<>(1, message, data, HttpStatus.OK.value());
     }
 
+    /**
+     * 已受理（202），处理尚未完成
+     */
+    public static <T> Result<T> accepted(String message, T data) {
+        return new Result<>(1, message, data, HttpStatus.ACCEPTED.value());
+    }
+
     /**
      * 成功，仅自定义消息
      */
@@ -10,6 +10,7 @@ package gang.lu.riskmanagementproject.common.ai;
  *   <li>提示词基础模板</li>
  *   <li>提示词文本片段</li>
  *   <li>字段约束描述</li>
+ *   <li>批量提示词片段</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -19,6 +20,11 @@ public interface AiPromptConstants {
 
     // ==============================1. 提示词基础模板================================
 
+    /**
+     * 提示词模板版本，参与预测缓存键计算；修改本文件中的模板或约束描述后须递增，使旧缓存失效
+     */
+    String PROMPT_TEMPLATE_VERSION = "v1";
+
     String PROMPT_HEADER        = "你是一个工业安全与职业健康AI分析专家。\n";
     String PROMPT_TABLE_HEADER  = "序号 | 记录时间 | 心率(bpm) | 呼吸率(次/分) | 疲劳度(%) | 风险等级 | 是否报警\n";
     String PROMPT_TABLE_DIVIDER = "-----|----------|-----------|--------------|----------|---------|--------\n";
@@ -43,4 +49,16 @@ public interface AiPromptConstants {
     String PROMPT_JSON_FIELD_ANALYSIS_DESC       = "\"一段简洁的综合分析（50-100字，需包含核心数据趋势）\"";
     String PROMPT_JSON_FIELD_SUGGESTIONS_DESC    = "[\"建议1\", \"建议2\", \"建议3\", ...]";
     String PROMPT_JSON_FIELD_CONFIDENCE_DESC     = "\"置信度说明（格式：基于XX条数据，预测可信度XX%）\"";
-}
\ No newline at end of file
+
+    // ==============================4. 批量提示词片段================================
+
+    String PROMPT_BATCH_DATA_DESC           = "以下是多名工人的历史生理风险监测数据，每名工人的记录按时间排序（最新在后），"
+            + "每行依次为：记录时间,心率(bpm),呼吸率(次/分),疲劳度(%),风险等级,是否报警\n";
+    String PROMPT_BATCH_WORKER_TITLE        = "\n# 工人ID=%d\n";
+    String PROMPT_BATCH_ROW_FORMAT          = "%s,%d,%d,%.1f,%s,%s\n";
+    String PROMPT_BATCH_TIME_PATTERN        = "MM-dd HH:mm";
+    String PROMPT_BATCH_TASK_REQUIRE        = "\n请根据以上数据，分别对每名工人：\n";
+    String PROMPT_BATCH_FORMAT_REQUIRE      = "请严格按以下JSON数组格式返回，每名工人一个对象，worker_id 与上文一致"
+            + "（不要有任何额外文字、注释、markdown标记）：\n";
+    String PROMPT_JSON_FIELD_WORKER_ID_DESC = "工人ID（数字）";
+}
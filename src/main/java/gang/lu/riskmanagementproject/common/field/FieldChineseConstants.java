@@ -39,6 +39,7 @@ public interface FieldChineseConstants {
 
     String RISK_INDICATOR_ID      = "风险指标ID";
     String RISK_INDICATOR_ID_LIST = "风险指标ID列表";
+    String RISK_INDICATOR_LIST    = "风险指标列表";
     String RISK_LEVEL             = "风险等级";
     String HEART_RATE             = "心率";
     String RESPIRATORY_RATE       = "呼吸率";
@@ -78,4 +79,8 @@ public interface FieldChineseConstants {
     String ALLOW   = "允许值";
     String EMPTY   = "空值";
     String NUMBER  = "数字";
+
+    String COUNT_MODE      = "总数统计模式";
+    String METRIC_CATEGORY = "指标分类";
+    String FORECASTER      = "预测方法";
 }
\ No newline at end of file
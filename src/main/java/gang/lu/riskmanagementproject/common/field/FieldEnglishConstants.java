@@ -13,6 +13,7 @@ package gang.lu.riskmanagementproject.common.field;
  *   <li>工作区域字段</li>
  *   <li>AI 请求字段</li>
  *   <li>AI 响应字段</li>
+ *   <li>NDJSON 流式上报字段</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -28,6 +29,8 @@ public interface FieldEnglishConstants {
     String UPDATE_TIME = "updateTime";
     String COUNT       = "count";
     String PERIOD      = "period";
+    String ROWS        = "rows";
+    String FILTERED    = "filtered";
 
     // ==============================2. 工人字段================================
 
@@ -54,14 +57,27 @@ public interface FieldEnglishConstants {
     String ROLE       = "role";
     String CONTENT    = "content";
     String USER       = "user";
+    String STREAM     = "stream";
 
     // ==============================6. AI 响应字段================================
 
     String CHOICES                  = "choices";
     String MESSAGE                  = "message";
+    String DELTA                    = "delta";
     String AI_FIELD_PREDICTED_RISK  = "predicted_risk_level";
     String AI_FIELD_RISK_TREND      = "risk_trend";
     String AI_FIELD_ANALYSIS        = "analysis_summary";
     String AI_FIELD_SUGGESTIONS     = "suggestions";
     String AI_FIELD_CONFIDENCE      = "confidence_note";
-}
\ No newline at end of file
+    String AI_FIELD_WORKER_ID       = "worker_id";
+
+    // ==============================7. NDJSON 流式上报字段================================
+
+    String STREAM_WORKER_ID        = "workerId";
+    String STREAM_HEART_RATE       = "heartRate";
+    String STREAM_RESPIRATORY_RATE = "respiratoryRate";
+    String STREAM_FATIGUE_PERCENT  = "fatiguePercent";
+    String STREAM_RISK_LEVEL       = "riskLevelValue";
+    String STREAM_ALERT_FLAG       = "alertFlag";
+    String STREAM_CREATE_TIME      = "createTime";
+}
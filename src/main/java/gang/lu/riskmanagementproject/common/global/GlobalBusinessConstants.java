@@ -7,6 +7,7 @@ package gang.lu.riskmanagementproject.common.global;
  * <ol>
  *   <li>业务操作名称 —— 用于 {@code @BusinessLog}、{@code @ValidateLog} 的 value 属性</li>
  *   <li>校验场景名称 —— 用于 {@code @ValidateLog}</li>
+ *   <li>业务日志采样率 —— 用于 {@code @BusinessLog} 的 sampleRate 属性</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -30,6 +31,9 @@ public interface GlobalBusinessConstants {
     // ------------------------------ 风险指标 ------------------------------
 
     String ADD_RISK_INDICATOR                          = "新增风险指标";
+    String BATCH_ADD_RISK_INDICATOR                    = "批量新增风险指标";
+    String STREAM_ADD_RISK_INDICATOR                   = "流式写入风险指标";
+    String BACKFILL_RISK_INDICATOR_ROLLUP              = "回填风险指标小时汇总";
     String UPDATE_RISK_INDICATOR                       = "修改风险指标";
     String GET_RISK_INDICATOR                          = "查询风险指标";
     String GET_LATEST_RISK_INDICATOR                   = "查询最新风险指标";
@@ -69,8 +73,14 @@ public interface GlobalBusinessConstants {
     String VIDEO_ANALYZING         = "视频算法分析";
     String VIDEO_SAVE              = "视频分析并保存";
     String AI_RISK_PREDICTION      = "AI 风险预测";
+    String AI_RISK_STREAM          = "AI 风险预测（流式）";
+    String AI_RISK_BATCH           = "AI 批量风险预测";
     String LOAD_REPORT             = "导出 PDF 风险报告";
     String LSTM_FATIGUE_PREDICTION = "LSTM 风险预测";
+    String LSTM_FATIGUE_RETRAIN    = "LSTM 模型重训";
+    String LSTM_OFFLINE_TRAIN      = "LSTM 离线训练";
+    String LSTM_FATIGUE_BATCH      = "LSTM 批量风险预测";
+    String LSTM_FATIGUE_FLEET      = "LSTM 全员风险预测";
 
     // ==============================2. 校验场景名称================================
 
@@ -78,4 +88,12 @@ public interface GlobalBusinessConstants {
     String VALIDATE_ENUM_NO_EMPTY    = "枚举非空校验";
     String VALIDATE_SINGLE_ID_EXIST  = "单ID存在性校验";
     String VALIDATE_BATCH_ID_EXIST   = "批量ID存在性校验";
-}
\ No newline at end of file
+    String VALIDATE_FIND_EXIST_IDS   = "批量ID存在性查询";
+
+    // ==============================3. 业务日志采样率================================
+
+    /**
+     * 高频查询接口（按ID / 编码查询、分页查询、最新指标）只记录十分之一的调用
+     */
+    double HOT_READ_LOG_SAMPLE_RATE = 0.1;
+}
@@ -8,6 +8,7 @@ package gang.lu.riskmanagementproject.common.global;
  * <p><b>分区说明：</b>
  * <ol>
  *   <li>日期时间格式</li>
+ *   <li>统计展示格式</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -20,4 +21,11 @@ public interface GlobalFormatConstants {
     String DEFAULT_DATE_TIME_FORMAT                = "yyyy-MM-dd HH:mm:ss";
     String DEFAULT_DATE_TIME_FORMAT_WITHOUT_COLON  = "yyyyMMddHHmmss";
     String DEFAULT_DAY_TIME_FORMAT_WITH_COLON      = "yyyy-MM-dd";
+
+    // ==============================2. 统计展示格式================================
+
+    /**
+     * 时间段描述，如 08:00-12:00
+     */
+    String PERIOD_DESC_FORMAT                      = "%02d:00-%02d:00";
 }
\ No newline at end of file
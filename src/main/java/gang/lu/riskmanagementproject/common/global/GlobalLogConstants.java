@@ -14,6 +14,14 @@ package gang.lu.riskmanagementproject.common.global;
  *   <li>AI 智能分析日志</li>
  *   <li>导出 PDF 日志</li>
  *   <li>视频算法分析日志</li>
+ *   <li>LSTM算法分析日志</li>
+ *   <li>风险指标写入缓冲日志</li>
+ *   <li>最新指标缓存日志</li>
+ *   <li>风险等级分布对账日志</li>
+ *   <li>小时汇总日志</li>
+ *   <li>工人缓存日志</li>
+ *   <li>业务操作日志</li>
+ *   <li>慢 SQL 日志</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -24,7 +32,8 @@ public interface GlobalLogConstants {
 
     // ==============================1. 全局分页日志================================
 
-    String LOG_PAGING = "【{}】 分页参数处理：原始【{}, {}】 → 处理后【{}, {}】（规则：默认页大小{}，最大{}）！";
+    String LOG_PAGING                = "【{}】 分页参数处理：原始【{}, {}】 → 处理后【{}, {}】（规则：默认页大小{}，最大{}）！";
+    String LOG_COUNT_ESTIMATE_FAILED = "【{}】 EXPLAIN 估算总数失败，回退精确统计：{}";
 
     // ==============================2. 算法服务日志================================
 
@@ -42,6 +51,20 @@ public interface GlobalLogConstants {
     String LOG_AI_EXTRACT_CONTENT           = "【AI智能分析】提取 content ↓\n{}";
     String LOG_AI_QWEN_CONNECTION_EXCEPTION = "【AI智能分析】Qwen API 连接异常！";
     String LOG_AI_PARSE_RESPONSE_FAILED     = "【AI智能分析】AI 响应解析失败，原始内容: {}！";
+    String LOG_AI_CACHE_HIT                 = "【AI智能分析】workerId={} 最近 {} 条历史数据未变化，复用缓存的预测结果！";
+    String LOG_AI_CACHE_COALESCED           = "【AI智能分析】workerId={} 已有相同数据的预测在进行中，等待其结果！";
+    String LOG_AI_CALL_QWEN_STREAM          = "【AI智能分析】流式调用 Qwen 模型: {}！";
+    String LOG_AI_QWEN_STREAM_DONE          = "【AI智能分析】Qwen 流式响应结束 | 首包 {} ms | 总耗时 {} ms | 共 {} 字！";
+    String LOG_AI_STREAM_CALLBACK_FAILED    = "【AI智能分析】流式增量回调异常（已推送 {} 字），已取消 Qwen 调用！";
+    String LOG_AI_SSE_CLIENT_GONE           = "【AI智能分析】workerId={} 客户端已断开，停止推送（模型结果仍写入缓存）！";
+    String LOG_AI_QWEN_TIMEOUT              = "【AI智能分析】Qwen API 调用超过截止时间 {} ms，已取消！";
+    String LOG_AI_BREAKER_OPENED            = "【AI智能分析】Qwen 连续失败 {} 次，熔断 {} ms！";
+    String LOG_AI_BREAKER_HALF_OPEN         = "【AI智能分析】熔断到期，放行一次探测调用！";
+    String LOG_AI_BREAKER_CLOSED            = "【AI智能分析】探测调用成功，恢复正常调用！";
+    String LOG_AI_BATCH_PACKED              = "【AI智能分析】批量预测 {} 名工人：缓存命中 {} 名，其余打包为 {} 个提示词（并发 {}）！";
+    String LOG_AI_BATCH_PROMPT_BUILT        = "【AI智能分析】批量提示词：工人 {}，估算 {} tokens！";
+    String LOG_AI_BATCH_PROMPT_FAILED       = "【AI智能分析】批量提示词（工人 {}）调用失败：{}！";
+    String LOG_AI_BATCH_RESULT_MISSING      = "【AI智能分析】批量响应缺少 workerId={} 的结果！";
 
     // ==============================4. 导出 PDF 日志================================
 
@@ -67,4 +90,78 @@ public interface GlobalLogConstants {
     String LOG_LSTM_REASON_COMPLETE   = "【LSTM】推理完成 | 预测序列={}！";
     String LOG_LSTM_REASON_FAILED     = "【LSTM】训练或推理异常";
     String LOG_LSTM_ANALYSING         = "[LSTM】workerId={} | 有效历史序列长度={}！";
-}
\ No newline at end of file
+    String LOG_LSTM_MODEL_HIT         = "【LSTM】命中缓存模型，无新读数，仅推理 | workerId={}！";
+    String LOG_LSTM_FINE_TUNE         = "【LSTM】命中缓存模型，增量微调 | workerId={} | 新增读数={} | epochs={}！";
+    String LOG_LSTM_MODEL_STALE       = "【LSTM】缓存模型已失效（读数超出窗口或归一化范围），重新训练 | workerId={}！";
+    String LOG_LSTM_MODEL_EVICTED     = "【LSTM】模型缓存超出内存上限，淘汰 workerId={} | 淘汰后占用 {} KB！";
+    String LOG_LSTM_OFFLINE_INFER     = "【LSTM】使用离线模型推理 | workerId={} | 模型={} | 版本={}！";
+    String LOG_LSTM_MODEL_LOADED      = "【LSTM】离线模型已加载 | 模型={} | 版本={}！";
+    String LOG_LSTM_MODEL_LOAD_FAILED = "【LSTM】离线模型加载失败，继续使用旧模型 | 路径={} | 原因: {}！";
+    String LOG_LSTM_BATCH_COMPLETE    = "【LSTM】批量推理完成 | 模型={} | 版本={} | 工人数={}！";
+    String LOG_LSTM_FLEET_FAILED      = "【LSTM批量预测】定时批量预测失败";
+    String LOG_LSTM_COMPUTE_STARTED   = "【LSTM计算池】已启动 | 线程数={} | 队列容量={} | ND4J线程数={}！";
+    String LOG_LSTM_COMPUTE_REJECTED  = "【LSTM计算池】队列已满，拒绝请求 | 任务={} | 排队={}！";
+    String LOG_LSTM_COMPUTE_TIMEOUT   = "【LSTM计算池】等待超时，放弃结果 | 任务={} | 超时={}ms！";
+    String LOG_LSTM_COMPUTE_INLINE    = "【LSTM计算池】队列已满，后台任务在调用线程执行 | 任务={} | 排队={}！";
+    String LOG_FORECAST_COMPLETE      = "【统计预测】推理完成 | workerId={} | 方法={} | 耗时 {} μs | 预测序列={}！";
+
+    String LOG_LSTM_OFFLINE_TRAIN_START   = "【LSTM离线训练】数据加载完成 | 工人数={} | 样本窗口数={}！";
+    String LOG_LSTM_OFFLINE_TRAIN_SKIPPED = "【LSTM离线训练】{} 样本不足（{} < {}），跳过！";
+    String LOG_LSTM_OFFLINE_TRAIN_SAVED   = "【LSTM离线训练】{} 模型已保存 | 样本窗口数={} | 文件={} | 耗时 {} ms！";
+    String LOG_LSTM_OFFLINE_TRAIN_RUNNING = "【LSTM离线训练】上一次训练尚未结束，本次不提交！";
+    String LOG_LSTM_OFFLINE_TRAIN_FAILED  = "【LSTM离线训练】训练失败";
+
+    // ==============================7. 风险指标写入缓冲日志================================
+
+    String LOG_BUFFER_STARTED        = "【写入缓冲】已启动 | 容量={} | 批大小={} | 间隔={}ms | 持久化模式={}！";
+    String LOG_BUFFER_FLUSH          = "【写入缓冲】批量落库 {} 条 | 耗时 {} ms | 队列剩余 {} 条！";
+    String LOG_BUFFER_ACK_TIMEOUT    = "【写入缓冲】等待落库超过 {} ms，按已受理返回，记录稍后落库！";
+    String LOG_BUFFER_FLUSH_FAILED   = "【写入缓冲】批量落库失败，回退逐条写入 | 条数={}！";
+    String LOG_BUFFER_ROW_FAILED     = "【写入缓冲】单条写入失败，已丢弃 | workerId={}！";
+    String LOG_BUFFER_DRAINING       = "【写入缓冲】正在关闭，待落库 {} 条！";
+    String LOG_BUFFER_DRAIN_TIMEOUT  = "【写入缓冲】关闭超时，{} 条未落库记录已移出队列并返回失败！";
+    String LOG_BUFFER_STOPPED        = "【写入缓冲】已关闭！";
+    String LOG_BUFFER_FLUSHER_FAILED = "【写入缓冲】刷写线程异常";
+
+    // ==============================8. 最新指标缓存日志================================
+
+    String LOG_LATEST_CACHE_WARMED      = "【最新指标缓存】预热完成 | 工人数={} | 耗时 {} ms！";
+    String LOG_LATEST_CACHE_WARM_FAILED = "【最新指标缓存】预热失败，未命中时回退数据库查询 | 原因: {}！";
+
+    // ==============================9. 风险等级分布对账日志================================
+
+    String LOG_RECONCILE_OK          = "【风险等级对账】内存计数与数据库一致！";
+    String LOG_RECONCILE_SKIPPED     = "【风险等级对账】对账期间有新写入，跳过本轮！";
+    String LOG_RECONCILE_DRIFT       = "【风险等级对账】发现偏差 | 等级={} | 内存={} | 数据库={}！";
+    String LOG_RECONCILE_REPAIRED    = "【风险等级对账】已按数据库修复内存计数！";
+    String LOG_RECONCILE_LATE_WARMED = "【风险等级对账】启动预热未完成，已补做预热！";
+    String LOG_RECONCILE_FAILED      = "【风险等级对账】对账失败 | 原因: {}！";
+
+    // ==============================10. 小时汇总日志================================
+
+    String LOG_ROLLUP_RECORD_FAILED  = "【小时汇总】增量合并失败，等待定时重建修正 | 行数={} | 原因: {}！";
+    String LOG_ROLLUP_BUCKET_FAILED  = "【小时汇总】重算失败，等待定时重建修正 | 桶数={} | 原因: {}！";
+    String LOG_ROLLUP_BACKFILL_DAY   = "【小时汇总】重建完成 | 日期={} | 影响行数={}！";
+    String LOG_ROLLUP_REBUILD_START  = "【小时汇总】定时重建开始 | {} ~ {}！";
+    String LOG_ROLLUP_REBUILD_FAILED = "【小时汇总】定时重建失败";
+
+    // ==============================11. 工人缓存日志================================
+
+    String LOG_WORKER_FILTER_REBUILT = "【工人缓存】ID 过滤器重建完成 | 工人数={} | 耗时 {} ms！";
+    String LOG_WORKER_FILTER_FAILED  = "【工人缓存】ID 过滤器重建失败，暂不使用过滤器 | 原因: {}！";
+
+    // ==============================12. 业务操作日志================================
+
+    String LOG_BIZ_START          = "【{}】开始执行 | 方法: {}{}";
+    String LOG_BIZ_PARAMS         = "【{}】入参: {}";
+    String LOG_BIZ_SUCCESS        = "【{}】执行成功 | 耗时: {} ms | 方法: {}";
+    String LOG_BIZ_RESULT         = "【{}】返回值: {}";
+    String LOG_BIZ_FAILED         = "【{}】执行失败 | 耗时: {} ms | 方法: {} | 异常: {} - {}";
+    String LOG_BIZ_QUEUE_DROPPED  = "【业务日志】异步队列已满，累计丢弃 {} 条日志！";
+    String LOG_BIZ_WRITER_FAILED  = "【业务日志】异步输出异常";
+
+    // ==============================13. 慢 SQL 日志================================
+
+    String LOG_SLOW_SQL       = "【慢SQL】{} | 耗时: {} ms | 行数: {} | SQL: {} | 参数: {}";
+    String LOG_SLOW_SQL_BATCH = "【慢SQL】批量 {} | 整批耗时: {} ms | 语句数: {} | 影响行数: {} | SQL: {}";
+}
@@ -24,7 +24,15 @@ public interface GlobalSimbolConstants {
 
     // ==============================2. SQL 拼接前缀================================
 
-    String LIMIT = "LIMIT ";
+    String LIMIT                 = "LIMIT ";
+    String LIMIT_ONE             = "LIMIT 1";
+
+    /**
+     * 游标分页条件：(create_time, id) 严格小于游标位置，首个条件便于走 create_time 索引范围扫描
+     */
+    String KEYSET_CONDITION      = "create_time <= {0} AND (create_time < {0} OR id < {1})";
+    String KEYSET_ORDER_BY       = "ORDER BY create_time DESC, id DESC ";
+    String KEYSET_CURSOR_SPLITER = "|";
 
     // ==============================3. 框架标识================================
 
@@ -12,6 +12,7 @@ package gang.lu.riskmanagementproject.common.http;
  *   <li>HTTP 请求 / 响应头键名</li>
  *   <li>HTTP 请求 / 响应头值</li>
  *   <li>缓存控制</li>
+ *   <li>SSE（Server-Sent Events）</li>
  * </ol>
  *
  * @author Franz Liszt
@@ -46,6 +47,7 @@ public interface HttpConstants {
     // ==============================4. HTTP 请求 / 响应头值================================
 
     String MEDIA_TYPE_JSON             = "application/json";
+    String MEDIA_TYPE_NDJSON           = "application/x-ndjson";
     String CONTENT_TYPE                = "application/pdf";
     String AUTHORIZATION_BEARER_PREFIX = "Bearer ";
     String CHARSET_UTF8                = "UTF-8";
@@ -56,4 +58,15 @@ public interface HttpConstants {
     String CACHE_CONTROL_HEADER = "no-cache, no-store, must-revalidate";
     String PRAGMA_HEADER        = "no-cache";
     String EXPIRES_HEADER       = "0";
+
+    // ==============================6. SSE（Server-Sent Events）================================
+
+    /** 上游（千问）流式响应的数据行前缀与结束标记 */
+    String SSE_DATA_PREFIX = "data:";
+    String SSE_DONE        = "[DONE]";
+
+    /** 推送给浏览器的事件名：增量文本 / 最终结果 / 错误 */
+    String SSE_EVENT_DELTA  = "delta";
+    String SSE_EVENT_RESULT = "result";
+    String SSE_EVENT_ERROR  = "error";
 }
\ No newline at end of file
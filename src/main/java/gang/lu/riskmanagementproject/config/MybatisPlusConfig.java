@@ -3,7 +3,10 @@ package gang.lu.riskmanagementproject.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import gang.lu.riskmanagementproject.helper.LatencyRecorder;
+import gang.lu.riskmanagementproject.interceptor.SqlTimingInterceptor;
 import gang.lu.riskmanagementproject.property.PageProperty;
+import gang.lu.riskmanagementproject.property.SqlMonitorProperty;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +22,8 @@ import org.springframework.context.annotation.Configuration;
 public class MybatisPlusConfig {
 
     private final PageProperty pageProperty;
+    private final LatencyRecorder latencyRecorder;
+    private final SqlMonitorProperty sqlMonitorProperty;
 
     @Bean
     public MybatisPlusInterceptor mybatisPlusInterceptor() {
@@ -34,4 +39,12 @@ public class MybatisPlusConfig {
         interceptor.addInnerInterceptor(paginationInterceptor);
         return interceptor;
     }
+
+    /**
+     * SQL 语句耗时统计与慢 SQL 日志（替代 StdOutImpl 逐条打印）
+     */
+    @Bean
+    public SqlTimingInterceptor sqlTimingInterceptor() {
+        return new SqlTimingInterceptor(latencyRecorder, sqlMonitorProperty);
+    }
 }
\ No newline at end of file
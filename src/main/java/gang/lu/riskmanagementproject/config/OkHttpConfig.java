@@ -1,6 +1,9 @@
 package gang.lu.riskmanagementproject.config;
 
 import gang.lu.riskmanagementproject.property.AlgorithmProperty;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,4 +26,24 @@ public class OkHttpConfig {
                 .writeTimeout(props.getWRITE_TIMEOUT(), TimeUnit.SECONDS)
                 .build();
     }
+
+    /**
+     * 千问专用客户端：独立的调度器与连接池，慢响应不会占满算法服务的连接；
+     * 以调用截止时间代替 60 秒读超时。两个客户端同类型，注入处须用 {@code @Qualifier} 指定 Bean 名。
+     */
+    @Bean
+    public OkHttpClient dashScopeHttpClient(DashScopeProperty props) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(props.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(props.getMaxRequests());
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(props.getMaxIdleConnections(),
+                        props.getKeepAliveMs(), TimeUnit.MILLISECONDS))
+                .connectTimeout(props.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .writeTimeout(0, TimeUnit.MILLISECONDS)
+                .callTimeout(props.getCallTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
 }
@@ -0,0 +1,17 @@
+package gang.lu.riskmanagementproject.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/5 09:40
+ * @description 定时任务配置（统计对账等后台任务）。
+ * 调度线程池大小见 {@code spring.task.scheduling.pool.size}，按定时任务个数配置，
+ * 避免默认单线程下长任务（离线训练、批量疲劳预测）阻塞其余任务
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
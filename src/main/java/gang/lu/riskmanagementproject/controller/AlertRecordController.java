@@ -1,5 +1,6 @@
 package gang.lu.riskmanagementproject.controller;
 
+import cn.hutool.core.util.ObjectUtil;
 import gang.lu.riskmanagementproject.annotation.ValidId;
 import gang.lu.riskmanagementproject.common.Result;
 import gang.lu.riskmanagementproject.domain.dto.AlertRecordDTO;
@@ -105,7 +106,21 @@ public class AlertRecordController {
             @Valid @RequestBody AlertRecordQueryDTO queryDTO) {
         pageHelper.bindGlobalDefaultRule(queryDTO);
         PageVO<AlertRecordVO> pageVO = alertRecordService.search(queryDTO);
-        return Result.ok(String.format(ALERT_RECORD_GET_COUNT_SUCCESS, pageVO.getTotal()), pageVO);
+        String message = ObjectUtil.isNull(pageVO.getTotal())
+                ? String.format(ALERT_RECORD_GET_PAGE_SUCCESS, pageVO.getRecords().size())
+                : String.format(ALERT_RECORD_GET_COUNT_SUCCESS, pageVO.getTotal());
+        return Result.ok(message, pageVO);
+    }
+
+    @ApiOperation(value = "多条件组合游标分页查询预警记录",
+            notes = "按创建时间倒序，首页不传 cursor，之后传上一页返回的 nextCursor；不统计总数，适合深翻页。")
+    @ApiImplicitParam(name = "queryDTO", value = "预警记录查询条件（含游标）",
+            required = true, dataType = "AlertRecordQueryDTO", paramType = "body")
+    @PostMapping("/search/cursor")
+    public Result<PageVO<AlertRecordVO>> searchAlertRecordsByCursor(
+            @Valid @RequestBody AlertRecordQueryDTO queryDTO) {
+        PageVO<AlertRecordVO> pageVO = alertRecordService.searchByCursor(queryDTO);
+        return Result.ok(String.format(ALERT_RECORD_GET_PAGE_SUCCESS, pageVO.getRecords().size()), pageVO);
     }
 
     // ======================== 个性化业务接口 ========================
@@ -0,0 +1,109 @@
+package gang.lu.riskmanagementproject.controller;
+
+import gang.lu.riskmanagementproject.annotation.ValidEnum;
+import gang.lu.riskmanagementproject.common.Result;
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.domain.vo.normal.AiClientStatsVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.ComputePoolStatsVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.LatencyStatsVO;
+import gang.lu.riskmanagementproject.helper.AiHelper;
+import gang.lu.riskmanagementproject.helper.AiPredictionCache;
+import gang.lu.riskmanagementproject.helper.LatencyRecorder;
+import gang.lu.riskmanagementproject.helper.LstmComputeExecutor;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.METRIC_CATEGORY;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.METRICS_AI_CACHE_SUCCESS;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.METRICS_AI_CLIENT_SUCCESS;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.METRICS_COMPUTE_SUCCESS;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.METRICS_LATENCY_RESET_SUCCESS;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.METRICS_LATENCY_SUCCESS;
+
+/**
+ * 运行指标接口
+ *
+ * @author Franz Liszt
+ * @since 2026-03-12
+ */
+@Api(tags = "运行指标")
+@Validated
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final LatencyRecorder latencyRecorder;
+    private final LstmComputeExecutor lstmComputeExecutor;
+    private final AiPredictionCache aiPredictionCache;
+    private final AiHelper aiHelper;
+
+    @ApiOperation(
+            value = "查询耗时统计",
+            notes = "按 @BusinessLog / @ValidateLog 名称、SQL 语句 ID 及 LSTM 计算任务（排队 / 执行）返回调用次数、异常次数及平均 / P50 / P95 / P99 / 最大耗时（毫秒），"
+                    + "按 P99 降序排列；统计不受日志级别与采样影响。默认返回自应用启动或上次清空起的累计值，"
+                    + "lastMinute=true 时返回上一个完整分钟的窗口值（累计分位数会被历史数据稀释，看当前是否变慢应查窗口值）"
+    )
+    @GetMapping("/latency")
+    public Result<List<LatencyStatsVO>> getLatencyStats(
+            @ApiParam(value = "分类（业务操作 / 校验 / SQL 语句 / 计算队列），不传返回全部", example = "校验")
+            @RequestParam(required = false)
+            @ValidEnum(enumClass = MetricCategory.class, bizName = METRIC_CATEGORY) String categoryValue,
+            @ApiParam(value = "是否只看上一个完整分钟（false 为累计值）", example = "true")
+            @RequestParam(defaultValue = "false") boolean lastMinute) {
+        List<LatencyStatsVO> stats = latencyRecorder.stats(EnumConvertUtil.toEnum(categoryValue, MetricCategory.class),
+                lastMinute);
+        return Result.ok(String.format(METRICS_LATENCY_SUCCESS, stats.size()), stats);
+    }
+
+    @ApiOperation(
+            value = "清空耗时统计",
+            notes = "同时清空累计值与分钟窗口，便于压测前后对比；分类不传则清空全部"
+    )
+    @DeleteMapping("/latency")
+    public Result<Void> resetLatencyStats(
+            @ApiParam(value = "分类（业务操作 / 校验 / SQL 语句 / 计算队列），不传清空全部", example = "校验")
+            @RequestParam(required = false)
+            @ValidEnum(enumClass = MetricCategory.class, bizName = METRIC_CATEGORY) String categoryValue) {
+        latencyRecorder.reset(EnumConvertUtil.toEnum(categoryValue, MetricCategory.class));
+        return Result.ok(METRICS_LATENCY_RESET_SUCCESS);
+    }
+
+    @ApiOperation(
+            value = "查询 LSTM 计算线程池状态",
+            notes = "返回计算线程数、正在执行与排队中的任务数、队列容量，以及累计完成 / 拒绝（429）/ 超时（503）次数；"
+                    + "排队与执行耗时分布见耗时统计的「计算队列」分类"
+    )
+    @GetMapping("/compute")
+    public Result<ComputePoolStatsVO> getComputePoolStats() {
+        return Result.ok(METRICS_COMPUTE_SUCCESS, lstmComputeExecutor.stats());
+    }
+
+    @ApiOperation(
+            value = "查询 AI 预测缓存统计",
+            notes = "返回千问风险预测缓存的条目数、命中 / 合并等待 / 回源次数及命中率；"
+                    + "工人最近记录未变化时 AI 预测与带 AI 分析的报告导出直接复用缓存结果"
+    )
+    @GetMapping("/ai-cache")
+    public Result<CacheStatsVO> getAiCacheStats() {
+        return Result.ok(METRICS_AI_CACHE_SUCCESS, aiPredictionCache.stats());
+    }
+
+    @ApiOperation(
+            value = "查询 AI 客户端状态",
+            notes = "返回千问熔断器状态（关闭 / 打开 / 半开）、连续失败次数、累计熔断与拒绝次数，"
+                    + "以及千问专用客户端正在进行 / 排队的请求数和连接池连接数"
+    )
+    @GetMapping("/ai-client")
+    public Result<AiClientStatsVO> getAiClientStats() {
+        return Result.ok(METRICS_AI_CLIENT_SUCCESS, aiHelper.stats());
+    }
+}
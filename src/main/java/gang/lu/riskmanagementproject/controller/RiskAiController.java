@@ -1,20 +1,37 @@
 package gang.lu.riskmanagementproject.controller;
 
+import gang.lu.riskmanagementproject.annotation.ValidEnum;
 import gang.lu.riskmanagementproject.annotation.ValidId;
 import gang.lu.riskmanagementproject.common.Result;
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
 import gang.lu.riskmanagementproject.domain.vo.normal.FatiguePredictionVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskBatchPredictionVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.helper.AiStreamHelper;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
 import gang.lu.riskmanagementproject.service.RiskAiService;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import gang.lu.riskmanagementproject.util.FutureUtil;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+import java.util.Map;
+
+import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.FORECASTER;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.WORKER_ID;
-import static gang.lu.riskmanagementproject.message.SuccessMessages.AI_ANALYZE_SUCCESS;
-import static gang.lu.riskmanagementproject.message.SuccessMessages.LSTM_PREDICT_SUCCESS;
+import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.WORKER_ID_LIST;
+import static gang.lu.riskmanagementproject.message.FailedMessages.AI_MODEL_TIMEOUT;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.*;
 
 /**
  * AI 风险预测接口
@@ -30,38 +47,163 @@ import static gang.lu.riskmanagementproject.message.SuccessMessages.LSTM_PREDICT
 public class RiskAiController {
 
     private final RiskAiService riskAiService;
+    private final DashScopeProperty dashScopeProperty;
+    private final AiStreamHelper aiStreamHelper;
 
     // ======================== 个性化业务接口 ========================
 
     @ApiOperation(
             value = "预测工人未来风险",
-            notes = "读取工人历史风险记录，调用 Qwen 大模型分析，返回风险等级预测、趋势描述与健康建议"
+            notes = "读取工人历史风险记录，调用 Qwen 大模型分析，返回风险等级预测、趋势描述与健康建议。" +
+                    "等待模型响应期间不占用请求线程；最近记录未变化时直接返回缓存结果。" +
+                    "模型超时返回 504，AI 服务连续失败熔断期间直接返回 503。"
     )
     @GetMapping("/predict/{workerId}")
-    public Result<RiskPredictionVO> predictRisk(
+    public DeferredResult<Result<RiskPredictionVO>> predictRisk(
             @ApiParam(value = WORKER_ID, required = true, example = "2")
             @PathVariable
             @ValidId(bizName = WORKER_ID) Long workerId,
             @ApiParam(value = "参与分析的最近记录条数（1-100），默认 20", example = "20")
             @RequestParam(defaultValue = "20") Integer limit) {
-        RiskPredictionVO vo = riskAiService.predictRisk(workerId, limit);
-        return Result.ok(AI_ANALYZE_SUCCESS, vo);
+        DeferredResult<Result<RiskPredictionVO>> deferred = new DeferredResult<>(dashScopeProperty.getDeferredTimeoutMs());
+        deferred.onTimeout(() -> deferred.setErrorResult(new BizException(HttpStatus.GATEWAY_TIMEOUT, AI_MODEL_TIMEOUT)));
+        riskAiService.predictRiskAsync(workerId, limit).whenComplete((vo, e) -> {
+            if (e == null) {
+                deferred.setResult(Result.ok(AI_ANALYZE_SUCCESS, vo));
+            } else {
+                deferred.setErrorResult(FutureUtil.unwrap(e));
+            }
+        });
+        return deferred;
+    }
+
+    @ApiOperation(
+            value = "批量预测多名工人未来风险",
+            notes = "一次查询全部工人的最近记录，压缩后按 token 预算打包进少量提示词，以有限并发调用 Qwen，" +
+                    "模型以 JSON 数组逐个工人返回。最近记录未变化的工人直接复用缓存结果。" +
+                    "单名工人失败（不存在、无历史、调用失败、模型遗漏）只出现在 failures 中，不影响其他工人。"
+    )
+    @PostMapping("/predict/batch")
+    public DeferredResult<Result<RiskBatchPredictionVO>> predictRiskBatch(
+            @ApiParam(value = WORKER_ID_LIST, required = true)
+            @RequestBody List<Long> workerIds,
+            @ApiParam(value = "每名工人参与分析的最近记录条数（1-100），默认 20", example = "20")
+            @RequestParam(defaultValue = "20") Integer limit) {
+        DeferredResult<Result<RiskBatchPredictionVO>> deferred =
+                new DeferredResult<>(dashScopeProperty.getBatchDeferredTimeoutMs());
+        deferred.onTimeout(() -> deferred.setErrorResult(new BizException(HttpStatus.GATEWAY_TIMEOUT, AI_MODEL_TIMEOUT)));
+        riskAiService.predictRiskBatch(workerIds, limit).whenComplete((vo, e) -> {
+            if (e == null) {
+                deferred.setResult(Result.ok(
+                        String.format(AI_BATCH_ANALYZE_SUCCESS, vo.getSuccessCount(), vo.getFailedCount()), vo));
+            } else {
+                deferred.setErrorResult(FutureUtil.unwrap(e));
+            }
+        });
+        return deferred;
+    }
+
+    @ApiOperation(
+            value = "流式预测工人未来风险（SSE）",
+            notes = "与「预测工人未来风险」相同，但以 Server-Sent Events 实时推送模型输出：" +
+                    "delta 事件为增量文本 {\"content\": \"...\"}，result 事件为最终结果（结构同非流式接口），" +
+                    "error 事件为失败原因，二者之后连接关闭。最近记录未变化时直接推送 result。" +
+                    "参数校验失败时按普通 JSON 错误返回。"
+    )
+    @GetMapping(value = "/predict/{workerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter predictRiskStream(
+            @ApiParam(value = WORKER_ID, required = true, example = "2")
+            @PathVariable
+            @ValidId(bizName = WORKER_ID) Long workerId,
+            @ApiParam(value = "参与分析的最近记录条数（1-100），默认 20", example = "20")
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return aiStreamHelper.relay(workerId, onDelta -> riskAiService.predictRiskStream(workerId, limit, onDelta));
     }
 
     @ApiOperation(
             value = "LSTM 预测工人未来 6 次疲劳百分比",
             notes = "读取工人历史生理指标，使用系统内嵌 LSTM 模型进行时序建模，" +
                     "返回未来 6 次的疲劳百分比预测值、趋势描述与风险提示。" +
-                    "limit 建议不低于 30 以保证模型质量，最少5条。"
+                    "limit 建议不低于 30 以保证模型质量；LSTM 最少5条，统计方法最少3条。" +
+                    "已有离线训练模型时直接推理；否则使用按工人缓存的模型：无新读数时只推理，有新读数时只对新增部分微调。" +
+                    "forecasterValue 可选 指数平滑 / 线性趋势 / 阻尼趋势 等统计方法（微秒级，不训练）；" +
+                    "不传或传「自动」时历史较短使用阻尼趋势，否则使用 LSTM。返回值 forecaster 为实际使用的方法。"
     )
     @GetMapping("/predict/fatigue/{workerId}")
     public Result<FatiguePredictionVO> predictFatigue(
+            @ApiParam(value = WORKER_ID, required = true, example = "1")
+            @PathVariable
+            @ValidId(bizName = WORKER_ID) Long workerId,
+            @ApiParam(value = "参与训练的历史记录条数（LSTM 5-200，统计方法 3-200），默认 30", example = "30")
+            @RequestParam(defaultValue = "30") Integer limit,
+            @ApiParam(value = "预测方法（自动 / LSTM / 指数平滑 / 线性趋势 / 阻尼趋势），默认自动", example = "自动")
+            @RequestParam(required = false)
+            @ValidEnum(enumClass = ForecasterType.class, bizName = FORECASTER) String forecasterValue) {
+        FatiguePredictionVO vo = riskAiService.predictFatigue(workerId, limit,
+                EnumConvertUtil.toEnum(forecasterValue, ForecasterType.class));
+        return Result.ok(LSTM_PREDICT_SUCCESS, vo);
+    }
+
+    @ApiOperation(
+            value = "LSTM 批量预测多名工人未来 6 次疲劳百分比",
+            notes = "一次查询全部工人的最近历史，使用离线模型打包成一个小批量推理，结果同时写入批量预测缓存。" +
+                    "请求体为空时预测全部非离线状态的工人；尚无离线模型时返回 503。"
+    )
+    @PostMapping("/predict/fatigue/batch")
+    public Result<List<FatiguePredictionVO>> predictFatigueBatch(
+            @ApiParam(WORKER_ID_LIST)
+            @RequestBody(required = false) List<Long> workerIds,
+            @ApiParam(value = "每个工人参与推理的历史记录条数（5-200），默认 30", example = "30")
+            @RequestParam(defaultValue = "30") Integer limit) {
+        List<FatiguePredictionVO> vos = riskAiService.predictFatigueBatch(workerIds, limit);
+        return Result.ok(String.format(LSTM_BATCH_PREDICT_SUCCESS, vos.size()), vos);
+    }
+
+    @ApiOperation(
+            value = "查询最近一次批量疲劳预测结果",
+            notes = "直接读取定时批量预测或批量预测接口缓存的结果，不做推理；按 predictTime 判断新旧。"
+    )
+    @GetMapping("/predict/fatigue/batch/latest")
+    public Result<List<FatiguePredictionVO>> getLatestFatigueBatch(
+            @ApiParam(value = WORKER_ID_LIST + "（为空时返回全部）", example = "1,2,3")
+            @RequestParam(required = false) List<Long> workerIds) {
+        List<FatiguePredictionVO> vos = riskAiService.getLatestFatigueBatch(workerIds);
+        return Result.ok(String.format(LSTM_BATCH_LATEST_SUCCESS, vos.size()), vos);
+    }
+
+    @ApiOperation(
+            value = "LSTM 疲劳模型重训",
+            notes = "不使用离线模型，丢弃该工人的缓存模型，按最近 limit 条历史全量重训后返回预测结果。" +
+                    "历史数据被修正或预测效果明显变差时使用。"
+    )
+    @PostMapping("/predict/fatigue/{workerId}/retrain")
+    public Result<FatiguePredictionVO> retrainFatigue(
             @ApiParam(value = WORKER_ID, required = true, example = "1")
             @PathVariable
             @ValidId(bizName = WORKER_ID) Long workerId,
             @ApiParam(value = "参与训练的历史记录条数（5-200），默认 30", example = "30")
             @RequestParam(defaultValue = "30") Integer limit) {
-        FatiguePredictionVO vo = riskAiService.predictFatigue(workerId, limit);
-        return Result.ok(LSTM_PREDICT_SUCCESS, vo);
+        FatiguePredictionVO vo = riskAiService.retrainFatigue(workerId, limit);
+        return Result.ok(LSTM_RETRAIN_SUCCESS, vo);
+    }
+
+    @ApiOperation(
+            value = "提交 LSTM 疲劳模型离线训练",
+            notes = "在后台线程中用全部风险指标训练全局及各工种模型，写入版本化模型目录，完成后自动热加载。" +
+                    "上一次训练未结束时不重复提交。"
+    )
+    @PostMapping("/predict/fatigue/model/train")
+    public Result<Boolean> trainFatigueModel() {
+        boolean submitted = riskAiService.trainFatigueModel();
+        return Result.ok(submitted ? LSTM_OFFLINE_TRAIN_SUBMITTED : LSTM_OFFLINE_TRAIN_RUNNING, submitted);
+    }
+
+    @ApiOperation(
+            value = "查询已加载的离线疲劳模型版本",
+            notes = "返回模型名（global / 工种）到版本（训练时间戳）的映射，为空表示尚无离线模型"
+    )
+    @GetMapping("/predict/fatigue/model")
+    public Result<Map<String, String>> getFatigueModelVersions() {
+        return Result.ok(LSTM_OFFLINE_MODELS_SUCCESS, riskAiService.getFatigueModelVersions());
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,19 @@
 package gang.lu.riskmanagementproject.controller;
 
+import cn.hutool.core.util.ObjectUtil;
 import gang.lu.riskmanagementproject.annotation.ValidId;
 import gang.lu.riskmanagementproject.common.Result;
 import gang.lu.riskmanagementproject.domain.dto.RiskIndicatorDTO;
 import gang.lu.riskmanagementproject.domain.dto.query.RiskIndicatorQueryDTO;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorBatchVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorStreamVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskLevelCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskTimePeriodCountVO;
+import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.helper.PageHelper;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorWriteBuffer;
 import gang.lu.riskmanagementproject.service.RiskIndicatorService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
@@ -16,11 +21,14 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -28,7 +36,10 @@ import static gang.lu.riskmanagementproject.common.global.GlobalBusinessConstant
 import static gang.lu.riskmanagementproject.common.global.GlobalBusinessConstants.UPDATE_RISK_INDICATOR;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.*;
 import static gang.lu.riskmanagementproject.common.global.GlobalFormatConstants.DEFAULT_DAY_TIME_FORMAT_WITH_COLON;
+import static gang.lu.riskmanagementproject.common.http.HttpConstants.MEDIA_TYPE_NDJSON;
+import static gang.lu.riskmanagementproject.message.FailedMessages.RISK_INDICATOR_BATCH_EMPTY;
 import static gang.lu.riskmanagementproject.message.FailedMessages.RISK_INDICATOR_ID_LIST_EMPTY;
+import static gang.lu.riskmanagementproject.message.FailedMessages.RISK_INDICATOR_STREAM_READ_FAILED;
 import static gang.lu.riskmanagementproject.message.SuccessMessages.*;
 
 /**
@@ -46,18 +57,58 @@ public class RiskIndicatorController {
 
     private final RiskIndicatorService riskIndicatorService;
     private final PageHelper pageHelper;
+    private final RiskIndicatorWriteBuffer writeBuffer;
 
     // ======================== 通用CRUD接口 ========================
 
-    @ApiOperation("新增风险指标")
+    @ApiOperation(
+            value = "新增风险指标",
+            notes = "启用写入缓冲时，入队即返回或等待落库超时时返回 httpStatus=202（无主键），记录稍后落库，无需重试。"
+    )
     @PostMapping
     public Result<RiskIndicatorVO> addRiskIndicator(
             @ApiParam(ADD_RISK_INDICATOR)
             @Valid @RequestBody RiskIndicatorDTO dto) {
-        RiskIndicatorVO vo = riskIndicatorService.add(dto);
+        RiskIndicatorVO vo = writeBuffer.isEnabled()
+                ? riskIndicatorService.addBuffered(dto)
+                : riskIndicatorService.add(dto);
+        if (ObjectUtil.isNull(vo.getId())) {
+            return Result.accepted(RISK_INDICATOR_ADD_ACCEPTED, vo);
+        }
         return Result.ok(RISK_INDICATOR_ADD_SUCCESS, vo);
     }
 
+    @ApiOperation(
+            value = "批量新增风险指标",
+            notes = "逐行校验，合法行批量写入，非法行返回拒绝原因，不影响其余行。"
+    )
+    @PostMapping("/batch")
+    public Result<RiskIndicatorBatchVO> batchAddRiskIndicator(
+            @ApiParam(RISK_INDICATOR_LIST)
+            @RequestBody
+            @NotEmpty(message = RISK_INDICATOR_BATCH_EMPTY) List<RiskIndicatorDTO> dtoList) {
+        RiskIndicatorBatchVO vo = riskIndicatorService.batchAdd(dtoList);
+        return Result.ok(String.format(RISK_INDICATOR_BATCH_ADD_SUCCESS,
+                vo.getAcceptedCount(), vo.getRejectedCount()), vo);
+    }
+
+    @ApiOperation(
+            value = "NDJSON 流式写入风险指标",
+            notes = "请求体为换行分隔的 JSON 对象（application/x-ndjson），字段同新增接口，可选 createTime。"
+                    + "服务端边读边写、按批落库，结束后返回汇总。"
+    )
+    @PostMapping(value = "/stream", consumes = MEDIA_TYPE_NDJSON)
+    public Result<RiskIndicatorStreamVO> streamAddRiskIndicator(HttpServletRequest request) {
+        RiskIndicatorStreamVO vo;
+        try {
+            vo = riskIndicatorService.streamAdd(request.getInputStream());
+        } catch (IOException e) {
+            throw new BizException(HttpStatus.BAD_REQUEST, String.format(RISK_INDICATOR_STREAM_READ_FAILED, 1));
+        }
+        return Result.ok(String.format(RISK_INDICATOR_STREAM_ADD_SUCCESS,
+                vo.getTotalCount(), vo.getAcceptedCount(), vo.getRejectedCount()), vo);
+    }
+
     @ApiOperation("删除风险指标")
     @DeleteMapping("/{id}")
     public Result<Void> deleteRiskIndicator(
@@ -108,7 +159,21 @@ public class RiskIndicatorController {
             @Valid @RequestBody RiskIndicatorQueryDTO queryDTO) {
         pageHelper.bindGlobalDefaultRule(queryDTO);
         PageVO<RiskIndicatorVO> pageVO = riskIndicatorService.search(queryDTO);
-        return Result.ok(String.format(RISK_INDICATOR_GET_COUNT_SUCCESS, pageVO.getTotal()), pageVO);
+        String message = ObjectUtil.isNull(pageVO.getTotal())
+                ? String.format(RISK_INDICATOR_GET_PAGE_SUCCESS, pageVO.getRecords().size())
+                : String.format(RISK_INDICATOR_GET_COUNT_SUCCESS, pageVO.getTotal());
+        return Result.ok(message, pageVO);
+    }
+
+    @ApiOperation(value = "多条件组合游标分页查询风险指标",
+            notes = "按创建时间倒序，首页不传 cursor，之后传上一页返回的 nextCursor；不统计总数，适合深翻页。")
+    @ApiImplicitParam(name = "queryDTO", value = "风险指标查询条件（含游标）",
+            required = true, dataType = "RiskIndicatorQueryDTO", paramType = "body")
+    @PostMapping("/search/cursor")
+    public Result<PageVO<RiskIndicatorVO>> searchRiskIndicatorsByCursor(
+            @Valid @RequestBody RiskIndicatorQueryDTO queryDTO) {
+        PageVO<RiskIndicatorVO> pageVO = riskIndicatorService.searchByCursor(queryDTO);
+        return Result.ok(String.format(RISK_INDICATOR_GET_PAGE_SUCCESS, pageVO.getRecords().size()), pageVO);
     }
 
     // ======================== 个性化业务接口 ========================
@@ -140,13 +205,30 @@ public class RiskIndicatorController {
 
     @ApiOperation(
             value = "统计当日各时段高风险工人数",
-            notes = "按 4 小时为一段统计当日高风险（中 + 高 + 严重风险）工人数，statDate 不传则默认当天。"
+            notes = "按 bucketHours 小时为一段统计当日高风险（中 + 高 + 严重风险）工人数，数据来自小时汇总表。"
+                    + "statDate 不传则默认当天，bucketHours 不传则取配置值（默认 4），需为 24 的约数。"
     )
     @GetMapping("/count/time-period")
     public Result<RiskTimePeriodCountVO> countHighRiskWorkerByTimePeriod(
             @ApiParam(value = "统计日期（yyyy-MM-dd），默认当天", example = "2026-02-01")
-            @RequestParam(required = false) @DateTimeFormat(pattern = DEFAULT_DAY_TIME_FORMAT_WITH_COLON) LocalDate statDate) {
-        RiskTimePeriodCountVO vo = riskIndicatorService.countHighRiskWorkerByTimePeriod(statDate);
+            @RequestParam(required = false) @DateTimeFormat(pattern = DEFAULT_DAY_TIME_FORMAT_WITH_COLON) LocalDate statDate,
+            @ApiParam(value = "每段小时数（1/2/3/4/6/8/12/24），默认取配置值", example = "4")
+            @RequestParam(required = false) Integer bucketHours) {
+        RiskTimePeriodCountVO vo = riskIndicatorService.countHighRiskWorkerByTimePeriod(statDate, bucketHours);
         return Result.ok(RISK_INDICATOR_STATISTIC_HIGH_RISK_COUNT_SUCCESS, vo);
     }
+
+    @ApiOperation(
+            value = "回填风险指标小时汇总",
+            notes = "从明细表按天重建 [from, to] 区间的小时汇总，每天一个事务。部署汇总表后需先回填历史数据。"
+    )
+    @PostMapping("/rollup/backfill")
+    public Result<Void> backfillHourlyRollup(
+            @ApiParam(value = "起始日期（yyyy-MM-dd）", required = true, example = "2026-02-01")
+            @RequestParam @DateTimeFormat(pattern = DEFAULT_DAY_TIME_FORMAT_WITH_COLON) LocalDate from,
+            @ApiParam(value = "结束日期（yyyy-MM-dd）", required = true, example = "2026-02-07")
+            @RequestParam @DateTimeFormat(pattern = DEFAULT_DAY_TIME_FORMAT_WITH_COLON) LocalDate to) {
+        int days = riskIndicatorService.backfillHourlyRollup(from, to);
+        return Result.ok(String.format(RISK_INDICATOR_ROLLUP_BACKFILL_SUCCESS, days));
+    }
 }
\ No newline at end of file
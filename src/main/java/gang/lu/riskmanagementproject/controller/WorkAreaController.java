@@ -1,5 +1,6 @@
 package gang.lu.riskmanagementproject.controller;
 
+import cn.hutool.core.util.ObjectUtil;
 import gang.lu.riskmanagementproject.annotation.ValidId;
 import gang.lu.riskmanagementproject.common.Result;
 import gang.lu.riskmanagementproject.domain.dto.WorkAreaDTO;
@@ -104,7 +105,21 @@ public class WorkAreaController {
             @Valid @RequestBody WorkAreaQueryDTO queryDTO) {
         pageHelper.bindGlobalDefaultRule(queryDTO);
         PageVO<WorkAreaVO> pageVO = workAreaService.search(queryDTO);
-        return Result.ok(String.format(WORK_AREA_GET_COUNT_SUCCESS, pageVO.getTotal()), pageVO);
+        String message = ObjectUtil.isNull(pageVO.getTotal())
+                ? String.format(WORK_AREA_GET_PAGE_SUCCESS, pageVO.getRecords().size())
+                : String.format(WORK_AREA_GET_COUNT_SUCCESS, pageVO.getTotal());
+        return Result.ok(message, pageVO);
+    }
+
+    @ApiOperation(value = "多条件组合游标分页查询工作区域",
+            notes = "按创建时间倒序，首页不传 cursor，之后传上一页返回的 nextCursor；不统计总数，适合深翻页。")
+    @ApiImplicitParam(name = "queryDTO", value = "工作区域查询条件（含游标）",
+            required = true, dataType = "WorkAreaQueryDTO", paramType = "body")
+    @PostMapping("/search/cursor")
+    public Result<PageVO<WorkAreaVO>> searchWorkAreasByCursor(
+            @Valid @RequestBody WorkAreaQueryDTO queryDTO) {
+        PageVO<WorkAreaVO> pageVO = workAreaService.searchByCursor(queryDTO);
+        return Result.ok(String.format(WORK_AREA_GET_PAGE_SUCCESS, pageVO.getRecords().size()), pageVO);
     }
 
     // ======================== 个性化业务接口 ========================
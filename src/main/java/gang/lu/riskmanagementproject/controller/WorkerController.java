@@ -1,10 +1,12 @@
 package gang.lu.riskmanagementproject.controller;
 
+import cn.hutool.core.util.ObjectUtil;
 import gang.lu.riskmanagementproject.annotation.ValidId;
 import gang.lu.riskmanagementproject.common.Result;
 import gang.lu.riskmanagementproject.domain.dto.WorkerDTO;
 import gang.lu.riskmanagementproject.domain.dto.query.WorkerQueryDTO;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.WorkerVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerStatusCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerTypeCountVO;
@@ -106,7 +108,21 @@ public class WorkerController {
             @Valid @RequestBody WorkerQueryDTO queryDTO) {
         pageHelper.bindGlobalDefaultRule(queryDTO);
         PageVO<WorkerVO> pageVO = workerService.search(queryDTO);
-        return Result.ok(String.format(WORKER_GET_COUNT_SUCCESS, pageVO.getTotal()), pageVO);
+        String message = ObjectUtil.isNull(pageVO.getTotal())
+                ? String.format(WORKER_GET_PAGE_SUCCESS, pageVO.getRecords().size())
+                : String.format(WORKER_GET_COUNT_SUCCESS, pageVO.getTotal());
+        return Result.ok(message, pageVO);
+    }
+
+    @ApiOperation(value = "多条件组合游标分页查询工人",
+            notes = "按创建时间倒序，首页不传 cursor，之后传上一页返回的 nextCursor；不统计总数，适合深翻页。")
+    @ApiImplicitParam(name = "queryDTO", value = "工人查询条件（含游标）",
+            required = true, dataType = "WorkerQueryDTO", paramType = "body")
+    @PostMapping("/search/cursor")
+    public Result<PageVO<WorkerVO>> searchWorkersByCursor(
+            @Valid @RequestBody WorkerQueryDTO queryDTO) {
+        PageVO<WorkerVO> pageVO = workerService.searchByCursor(queryDTO);
+        return Result.ok(String.format(WORKER_GET_PAGE_SUCCESS, pageVO.getRecords().size()), pageVO);
     }
 
     // ======================== 个性化业务接口 ========================
@@ -145,4 +161,14 @@ public class WorkerController {
         WorkerTypeCountVO vo = workerService.countWorkerByWorkType();
         return Result.ok(WORKER_STATISTIC_COUNT_BY_WORKTYPE_SUCCESS, vo);
     }
+
+    @ApiOperation(
+            value = "查询工人缓存命中统计",
+            notes = "返回工人本地缓存的条目数、命中 / 负向命中 / 回源次数及命中率，计数自应用启动起累计"
+    )
+    @GetMapping("/cache/stats")
+    public Result<CacheStatsVO> getWorkerCacheStats() {
+        CacheStatsVO vo = workerService.getWorkerCacheStats();
+        return Result.ok(WORKER_CACHE_STATS_SUCCESS, vo);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package gang.lu.riskmanagementproject.converter;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
 
+import java.util.List;
+
 /**
  * @author Franz Liszt
  * @version 1.0
@@ -26,6 +28,21 @@ public interface PageConverter<PO, DTO, VO> extends ClassConverter<PO, DTO, VO>
         return pageVO;
     }
 
+    /**
+     * 将游标分页查询结果转换为通用PageVO<VO>（不含总数）
+     * @param records    当前页PO列表
+     * @param size       每页条数
+     * @param nextCursor 下一页游标，无更多数据时为 null
+     * @return 通用分页VO
+     */
+    default PageVO<VO> cursorPoToPageVO(List<PO> records, long size, String nextCursor) {
+        PageVO<VO> pageVO = new PageVO<>();
+        pageVO.setSize(size);
+        pageVO.setRecords(poListToVoList(records));
+        pageVO.setNextCursor(nextCursor);
+        return pageVO;
+    }
+
     /**
      * 将MyBatis-Plus的Page<PO>转换为Page<VO>（兼容原有返回格式）
      * @param poPage PO分页对象
@@ -1,5 +1,7 @@
 package gang.lu.riskmanagementproject.domain.dto.query;
 
+import gang.lu.riskmanagementproject.annotation.ValidEnum;
+import gang.lu.riskmanagementproject.domain.enums.field.CountMode;
 import gang.lu.riskmanagementproject.property.PageProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
@@ -9,6 +11,7 @@ import org.hibernate.validator.constraints.Range;
 
 import javax.validation.constraints.Min;
 
+import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.COUNT_MODE;
 import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 
 /**
@@ -31,4 +34,11 @@ public class PageQueryDTO {
     @ApiModelProperty(value = "每页条数（1-100，默认 10）", example = "10")
     @Range(min = 1, max = 100, message = PAGE_SIZE_INVALID)
     private Integer pageSize;
+
+    @ApiModelProperty(value = "分页游标（仅游标分页使用：首页不传，之后传上一页返回的 nextCursor；忽略 pageNum）")
+    private String cursor;
+
+    @ApiModelProperty(value = "总数统计模式（精确 / 估算 / 不统计），普通分页默认精确，游标分页默认不统计", example = "估算")
+    @ValidEnum(enumClass = CountMode.class, bizName = COUNT_MODE)
+    private String countModeValue;
 }
\ No newline at end of file
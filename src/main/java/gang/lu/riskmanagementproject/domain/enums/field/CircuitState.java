@@ -0,0 +1,40 @@
+package gang.lu.riskmanagementproject.domain.enums.field;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import gang.lu.riskmanagementproject.domain.enums.ValueEnum;
+import lombok.Getter;
+
+/**
+ * 熔断器状态枚举。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Getter
+public enum CircuitState implements ValueEnum<String> {
+
+    /**
+     * 正常放行
+     */
+    CLOSED("关闭"),
+
+    /**
+     * 熔断中，调用直接失败
+     */
+    OPEN("打开"),
+
+    /**
+     * 熔断到期，只放行一次探测调用
+     */
+    HALF_OPEN("半开");
+
+    /**
+     * 序列化给前端的中文值
+     */
+    @JsonValue
+    private final String value;
+
+    CircuitState(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,42 @@
+package gang.lu.riskmanagementproject.domain.enums.field;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import gang.lu.riskmanagementproject.domain.enums.ValueEnum;
+import lombok.Getter;
+
+/**
+ * 分页总数统计模式枚举。
+ * <p>
+ * 对应分页查询参数 {@code countModeValue}，决定每次分页查询是否以及如何统计总记录数。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-08
+ */
+@Getter
+public enum CountMode implements ValueEnum<String> {
+
+    /**
+     * 每次执行 COUNT(*)，结果精确
+     */
+    EXACT("精确"),
+
+    /**
+     * 优先取缓存中的总数，未命中时用 EXPLAIN 行数估算，适合「约 120 万条」这类展示
+     */
+    APPROXIMATE("估算"),
+
+    /**
+     * 不统计总数，仅返回当前页数据
+     */
+    NONE("不统计");
+
+    /**
+     * 前端传入及序列化给前端的中文值
+     */
+    @JsonValue
+    private final String value;
+
+    CountMode(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,52 @@
+package gang.lu.riskmanagementproject.domain.enums.field;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import gang.lu.riskmanagementproject.domain.enums.ValueEnum;
+import lombok.Getter;
+
+/**
+ * 疲劳预测方法枚举。
+ * <p>
+ * 对应疲劳预测参数 {@code forecasterValue}，并在预测结果中标明实际使用的方法。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Getter
+public enum ForecasterType implements ValueEnum<String> {
+
+    /**
+     * 按历史长度自动选择：短序列使用阻尼趋势，足够长时使用 LSTM
+     */
+    AUTO("自动"),
+
+    /**
+     * LSTM 神经网络（离线模型或工人模型）
+     */
+    LSTM("LSTM"),
+
+    /**
+     * 指数加权移动平均，预测值为平滑后的水平，不外推趋势
+     */
+    EWMA("指数平滑"),
+
+    /**
+     * Holt 线性趋势，按平滑后的斜率线性外推
+     */
+    HOLT("线性趋势"),
+
+    /**
+     * 阻尼趋势，斜率逐步衰减，外推比线性趋势保守
+     */
+    DAMPED_TREND("阻尼趋势");
+
+    /**
+     * 前端传入及序列化给前端的中文值
+     */
+    @JsonValue
+    private final String value;
+
+    ForecasterType(String value) {
+        this.value = value;
+    }
+}
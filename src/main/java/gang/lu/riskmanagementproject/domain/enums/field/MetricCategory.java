@@ -0,0 +1,48 @@
+package gang.lu.riskmanagementproject.domain.enums.field;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import gang.lu.riskmanagementproject.domain.enums.ValueEnum;
+import lombok.Getter;
+
+/**
+ * 耗时指标分类枚举。
+ * <p>
+ * 区分耗时来源：{@code @BusinessLog} 标注的业务操作、{@code @ValidateLog} 标注的校验，MyBatis 执行的 SQL 语句，
+ * 或 LSTM 计算线程池中的任务。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-12
+ */
+@Getter
+public enum MetricCategory implements ValueEnum<String> {
+
+    /**
+     * 业务操作（按 {@code @BusinessLog} 名称统计）
+     */
+    BUSINESS("业务操作"),
+
+    /**
+     * 校验（按 {@code @ValidateLog} 名称统计）
+     */
+    VALIDATE("校验"),
+
+    /**
+     * SQL 语句（按 MappedStatement ID 统计）
+     */
+    SQL("SQL 语句"),
+
+    /**
+     * LSTM 计算线程池任务（按任务名统计执行耗时，任务名加「（排队）」统计排队耗时）
+     */
+    COMPUTE("计算队列");
+
+    /**
+     * 前端传入及序列化给前端的中文值
+     */
+    @JsonValue
+    private final String value;
+
+    MetricCategory(String value) {
+        this.value = value;
+    }
+}
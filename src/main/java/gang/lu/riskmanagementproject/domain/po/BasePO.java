@@ -14,7 +14,8 @@ import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.I
  * 提供主键、创建时间、更新时间三个公共字段：
  * <ul>
  *   <li>{@code createTime}：仅在 INSERT 时由 MyBatis-Plus 自动填充，之后不再更新；</li>
- *   <li>{@code updateTime}：由数据库 {@code ON UPDATE CURRENT_TIMESTAMP} 触发，Java 侧不干预。</li>
+ *   <li>{@code updateTime}：INSERT 与按实体 UPDATE 时由 MyMetaObjectHandler 填充并写入，
+ *   按条件构造器更新时由数据库 {@code ON UPDATE CURRENT_TIMESTAMP} 兜底。</li>
  * </ul>
  *
  * @author Franz Liszt
@@ -36,8 +37,8 @@ public abstract class BasePO implements Serializable {
     private LocalDateTime createTime;
 
     /**
-     * 更新时间，由数据库 ON UPDATE CURRENT_TIMESTAMP 维护，Java 侧不写入
+     * 更新时间，INSERT / 按实体 UPDATE 时自动填充，写库后内存值与库中一致，无需重新查询
      */
-    @TableField(updateStrategy = FieldStrategy.NEVER)
+    @TableField(fill = FieldFill.INSERT_UPDATE)
     private LocalDateTime updateTime;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package gang.lu.riskmanagementproject.domain.po;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 风险指标小时汇总实体，对应数据库表 {@code t_risk_indicator_hourly}。
+ * <p>
+ * 主键为（工人ID，小时起点），记录该工人在该小时内的最高风险等级与记录条数，
+ * 时间段类统计直接基于本表聚合，无需扫描明细表。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-06
+ */
+@Data
+@Accessors(chain = true)
+@TableName("t_risk_indicator_hourly")
+public class RiskIndicatorHourly implements Serializable {
+
+    /**
+     * 关联工人 ID
+     */
+    private Long workerId;
+
+    /**
+     * 小时起点（整点）
+     */
+    private LocalDateTime hourStart;
+
+    /**
+     * 该小时最高风险等级（1 低风险、2 中风险、3 高风险、4 严重风险）
+     */
+    private Integer maxRiskRank;
+
+    /**
+     * 该小时记录条数
+     */
+    private Integer sampleCount;
+}
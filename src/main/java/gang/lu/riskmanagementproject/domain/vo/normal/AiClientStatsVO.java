@@ -0,0 +1,46 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import gang.lu.riskmanagementproject.domain.enums.field.CircuitState;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 千问客户端状态视图对象。
+ * <p>
+ * 熔断状态、请求数与连接数为查询时的实时值，熔断 / 拒绝次数自应用启动起累计。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Data
+@ApiModel(description = "千问客户端状态")
+public class AiClientStatsVO {
+
+    @ApiModelProperty(value = "熔断器状态（关闭 / 打开 / 半开）", example = "关闭")
+    private CircuitState circuitState;
+
+    @ApiModelProperty(value = "连续失败次数", example = "0")
+    private Integer consecutiveFailures;
+
+    @ApiModelProperty(value = "累计熔断次数", example = "1")
+    private Long openCount;
+
+    @ApiModelProperty(value = "熔断期间被直接拒绝的调用数", example = "35")
+    private Long rejectedCount;
+
+    @ApiModelProperty(value = "正在进行的请求数", example = "4")
+    private Integer runningCalls;
+
+    @ApiModelProperty(value = "等待并发名额的请求数", example = "0")
+    private Integer queuedCalls;
+
+    @ApiModelProperty(value = "最大并发请求数", example = "16")
+    private Integer maxRequests;
+
+    @ApiModelProperty(value = "连接池连接数", example = "4")
+    private Integer connectionCount;
+
+    @ApiModelProperty(value = "连接池空闲连接数", example = "2")
+    private Integer idleConnectionCount;
+}
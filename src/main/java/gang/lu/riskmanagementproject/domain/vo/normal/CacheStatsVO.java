@@ -0,0 +1,39 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 本地缓存命中统计视图对象。
+ * <p>
+ * 计数自应用启动起累计，命中率 = 命中次数 /（命中次数 + 未命中次数），负向命中计入命中。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-09
+ */
+@Data
+@ApiModel(description = "本地缓存命中统计")
+public class CacheStatsVO {
+
+    @ApiModelProperty(value = "缓存名称", example = "worker")
+    private String cacheName;
+
+    @ApiModelProperty(value = "当前条目数", example = "1200")
+    private Integer size;
+
+    @ApiModelProperty(value = "命中次数", example = "98000")
+    private Long hitCount;
+
+    @ApiModelProperty(value = "负向命中次数（已确认不存在的键）", example = "150")
+    private Long negativeHitCount;
+
+    @ApiModelProperty(value = "未命中（回源数据库 / 上游模型）次数", example = "1300")
+    private Long missCount;
+
+    @ApiModelProperty(value = "合并等待次数（并发的相同请求等待同一次回源，计入命中）", example = "12")
+    private Long coalescedCount;
+
+    @ApiModelProperty(value = "命中率（0-1）", example = "0.987")
+    private Double hitRate;
+}
@@ -0,0 +1,43 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * LSTM 计算线程池状态视图对象。
+ * <p>
+ * 线程数、队列深度为查询时的实时值，完成 / 拒绝 / 超时次数自应用启动起累计；
+ * 各任务的排队与执行耗时分布见耗时统计的「计算队列」分类。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Data
+@ApiModel(description = "LSTM 计算线程池状态")
+public class ComputePoolStatsVO {
+
+    @ApiModelProperty(value = "计算线程数", example = "8")
+    private Integer poolSize;
+
+    @ApiModelProperty(value = "正在执行的任务数", example = "8")
+    private Integer activeCount;
+
+    @ApiModelProperty(value = "排队中的任务数", example = "3")
+    private Integer queueSize;
+
+    @ApiModelProperty(value = "队列容量（排满后新请求返回 429）", example = "16")
+    private Integer queueCapacity;
+
+    @ApiModelProperty(value = "已完成任务数", example = "5200")
+    private Long completedCount;
+
+    @ApiModelProperty(value = "因队列已满被拒绝的请求数", example = "12")
+    private Long rejectedCount;
+
+    @ApiModelProperty(value = "等待超时的请求数", example = "2")
+    private Long timeoutCount;
+
+    @ApiModelProperty(value = "每个 ND4J 运算使用的线程数", example = "1")
+    private Integer nd4jThreads;
+}
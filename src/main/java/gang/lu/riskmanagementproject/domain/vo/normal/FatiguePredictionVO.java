@@ -1,5 +1,6 @@
 package gang.lu.riskmanagementproject.domain.vo.normal;
 
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -42,4 +44,10 @@ public class FatiguePredictionVO {
     @ApiModelProperty(value = "根据预测峰值自动生成的风险提示",
             example = "预测疲劳峰值达 76.2%，已超过预警阈值，建议安排休息。")
     private String riskTip;
+
+    @ApiModelProperty(value = "实际使用的预测方法（LSTM / 指数平滑 / 线性趋势 / 阻尼趋势）", example = "LSTM")
+    private ForecasterType forecaster;
+
+    @ApiModelProperty(value = "预测时间（批量预测结果据此判断新旧）", example = "2026-02-01 09:00:00")
+    private LocalDateTime predictTime;
 }
\ No newline at end of file
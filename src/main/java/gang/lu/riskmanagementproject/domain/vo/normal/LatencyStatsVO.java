@@ -0,0 +1,47 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 耗时统计视图对象。
+ * <p>
+ * 按 {@code @BusinessLog} / {@code @ValidateLog} 名称或 SQL 语句 ID 分别统计，按查询参数返回自应用启动（或上次清空）起的累计值或上一个完整分钟的窗口值，
+ * 耗时以纳秒记录、以毫秒（保留 3 位小数）展示，分位数相对误差不超过约 1.6%。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-12
+ */
+@Data
+@ApiModel(description = "耗时统计")
+public class LatencyStatsVO {
+
+    @ApiModelProperty(value = "分类（业务操作 / 校验 / SQL 语句 / 计算队列）", example = "校验")
+    private MetricCategory category;
+
+    @ApiModelProperty(value = "操作名称（注解 value 或 Mapper.方法）", example = "单ID存在性校验")
+    private String name;
+
+    @ApiModelProperty(value = "调用次数", example = "12000")
+    private Long count;
+
+    @ApiModelProperty(value = "异常结束次数", example = "35")
+    private Long errorCount;
+
+    @ApiModelProperty(value = "平均耗时（毫秒）", example = "0.214")
+    private Double meanMs;
+
+    @ApiModelProperty(value = "P50 耗时（毫秒）", example = "0.180")
+    private Double p50Ms;
+
+    @ApiModelProperty(value = "P95 耗时（毫秒）", example = "0.420")
+    private Double p95Ms;
+
+    @ApiModelProperty(value = "P99 耗时（毫秒）", example = "1.310")
+    private Double p99Ms;
+
+    @ApiModelProperty(value = "最大耗时（毫秒）", example = "12.877")
+    private Double maxMs;
+}
@@ -1,5 +1,6 @@
 package gang.lu.riskmanagementproject.domain.vo.normal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
@@ -11,12 +12,16 @@ import java.util.List;
  * <p>
  * 泛型 {@code T} 为具体业务 VO 类型，字段与 MyBatis-Plus {@code IPage} 对齐，
  * 方便直接从 {@code IPage} 转换。
+ * <p>
+ * 游标分页模式下 {@code current / pages} 为空，改为返回 {@code nextCursor}；
+ * {@code total} 是否返回及是否精确由查询参数中的统计模式决定。
  *
  * @param <T> 数据列表元素类型
  * @author Franz Liszt
  * @since 2026-02-12
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @ApiModel(description = "通用分页返回结果")
 public class PageVO<T> {
 
@@ -26,12 +31,18 @@ public class PageVO<T> {
     @ApiModelProperty(value = "每页条数", example = "10")
     private Long size;
 
-    @ApiModelProperty(value = "总记录数", example = "100")
+    @ApiModelProperty(value = "总记录数（统计模式为「不统计」时为空）", example = "100")
     private Long total;
 
+    @ApiModelProperty(value = "总记录数是否为估算值（仅估算模式返回 true）", example = "true")
+    private Boolean totalApproximate;
+
     @ApiModelProperty(value = "总页数", example = "10")
     private Long pages;
 
     @ApiModelProperty(value = "当前页数据列表")
     private List<T> records;
+
+    @ApiModelProperty(value = "下一页游标（仅游标分页返回，无更多数据时为空）")
+    private String nextCursor;
 }
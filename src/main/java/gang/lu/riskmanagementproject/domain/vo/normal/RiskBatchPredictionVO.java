@@ -0,0 +1,56 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * AI 批量风险预测结果视图对象。
+ * <p>
+ * 按工人分别返回：成功的工人在 predictions 中（结构同单个工人预测），失败的工人在 failures 中附带原因，
+ * 二者均按请求中的工人顺序排列。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Data
+@ApiModel(description = "AI 风险预测 - 批量预测结果")
+public class RiskBatchPredictionVO {
+
+    @ApiModelProperty(value = "请求的工人数（去重后）", example = "30")
+    private Integer requestedCount;
+
+    @ApiModelProperty(value = "预测成功的工人数", example = "29")
+    private Integer successCount;
+
+    @ApiModelProperty(value = "预测失败的工人数", example = "1")
+    private Integer failedCount;
+
+    @ApiModelProperty(value = "直接复用缓存结果的工人数", example = "6")
+    private Integer cachedCount;
+
+    @ApiModelProperty(value = "实际发送给模型的提示词数", example = "3")
+    private Integer promptCount;
+
+    @ApiModelProperty(value = "各工人预测结果")
+    private List<RiskPredictionVO> predictions;
+
+    @ApiModelProperty(value = "预测失败的工人及原因")
+    private List<Failure> failures;
+
+    /**
+     * 单个工人的失败原因。
+     */
+    @Data
+    @ApiModel(description = "AI 风险预测 - 批量预测失败项")
+    public static class Failure {
+
+        @ApiModelProperty(value = "工人 ID", example = "7")
+        private Long workerId;
+
+        @ApiModelProperty(value = "失败原因", example = "【参数校验失败】该工人暂无历史风险记录，无法进行预测！")
+        private String reason;
+    }
+}
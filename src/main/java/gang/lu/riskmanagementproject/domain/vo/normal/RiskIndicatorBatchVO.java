@@ -0,0 +1,52 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 风险指标批量写入结果视图对象。
+ * <p>
+ * 逐行返回写入结果，行号与请求体中的下标一一对应，被拒绝的行附带拒绝原因。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-02
+ */
+@Data
+@ApiModel(description = "风险指标 - 批量写入结果")
+public class RiskIndicatorBatchVO {
+
+    @ApiModelProperty(value = "提交总条数", example = "1000")
+    private Integer totalCount;
+
+    @ApiModelProperty(value = "写入成功条数", example = "998")
+    private Integer acceptedCount;
+
+    @ApiModelProperty(value = "被拒绝条数", example = "2")
+    private Integer rejectedCount;
+
+    @ApiModelProperty(value = "逐行写入结果")
+    private List<RowResult> rows;
+
+    /**
+     * 单行写入结果。
+     */
+    @Data
+    @ApiModel(description = "风险指标 - 单行写入结果")
+    public static class RowResult {
+
+        @ApiModelProperty(value = "请求体中的行下标（从 0 开始）", example = "0")
+        private Integer index;
+
+        @ApiModelProperty(value = "是否写入成功", example = "true")
+        private Boolean accepted;
+
+        @ApiModelProperty(value = "写入成功时的记录 ID", example = "1024")
+        private Long id;
+
+        @ApiModelProperty(value = "被拒绝时的原因", example = "【参数校验失败】心率值无效！需在1-300bpm范围内！")
+        private String reason;
+    }
+}
@@ -0,0 +1,58 @@
+package gang.lu.riskmanagementproject.domain.vo.normal;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 风险指标 NDJSON 流式写入汇总视图对象。
+ * <p>
+ * 流式写入不逐行返回结果，仅返回计数与有限条数的拒绝样例，响应体大小与上报行数无关。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-03
+ */
+@Data
+@ApiModel(description = "风险指标 - 流式写入汇总")
+public class RiskIndicatorStreamVO {
+
+    @ApiModelProperty(value = "读取到的总行数", example = "20000")
+    private Integer totalCount;
+
+    @ApiModelProperty(value = "写入成功条数", example = "19990")
+    private Integer acceptedCount;
+
+    @ApiModelProperty(value = "被拒绝条数", example = "10")
+    private Integer rejectedCount;
+
+    @ApiModelProperty(value = "落库批次数", example = "20")
+    private Integer batchCount;
+
+    @ApiModelProperty(value = "是否因流解析失败提前终止", example = "false")
+    private Boolean aborted;
+
+    @ApiModelProperty(value = "终止原因（未终止时为空）")
+    private String abortReason;
+
+    @ApiModelProperty(value = "耗时（毫秒）", example = "850")
+    private Long elapsedMillis;
+
+    @ApiModelProperty(value = "拒绝样例（数量受配置上限约束）")
+    private List<RejectedLine> rejectedSamples;
+
+    /**
+     * 被拒绝的行
+     */
+    @Data
+    @ApiModel(description = "风险指标 - 流式写入拒绝行")
+    public static class RejectedLine {
+
+        @ApiModelProperty(value = "行号（从 1 开始）", example = "42")
+        private Integer line;
+
+        @ApiModelProperty(value = "拒绝原因", example = "【参数校验失败】心率值无效！需在1-300bpm范围内！")
+        private String reason;
+    }
+}
@@ -7,7 +7,7 @@ import lombok.Data;
 import java.util.List;
 
 /**
- * 当日各 4 小时时间段高风险工人数统计结果视图对象。
+ * 当日各时间段高风险工人数统计结果视图对象（每段宽度可配置，默认 4 小时）。
  * <p>
  * 高风险口径：中风险 + 高风险 + 严重风险，按工人去重统计。
  *
@@ -15,13 +15,13 @@ import java.util.List;
  * @since 2026-02-07
  */
 @Data
-@ApiModel(description = "当日 4 小时时间段高风险工人数统计结果")
+@ApiModel(description = "当日各时间段高风险工人数统计结果")
 public class RiskTimePeriodCountVO {
 
     @ApiModelProperty(value = "统计日期（yyyy-MM-dd）", example = "2026-02-01")
     private String statDate;
 
-    @ApiModelProperty(value = "各时间段统计列表（共 6 段，每段 4 小时）")
+    @ApiModelProperty(value = "各时间段统计列表（共 24 / bucketHours 段，按起始小时升序）")
     private List<TimePeriodItem> periodItems;
 
     /**
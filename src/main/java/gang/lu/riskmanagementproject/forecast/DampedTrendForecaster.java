@@ -0,0 +1,55 @@
+package gang.lu.riskmanagementproject.forecast;
+
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 阻尼趋势指数平滑（Gardner & McKenzie）
+ * <p>
+ * <pre>
+ * level = α·x + (1-α)·(level + φ·trend)
+ * trend = β·(level - prevLevel) + (1-β)·φ·trend
+ * 第 h 步预测 = level + (φ + φ² + … + φ^h)·trend
+ * </pre>
+ * φ = 1 时即 Holt 线性趋势，由 {@link HoltForecaster} 复用
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Component
+@RequiredArgsConstructor
+public class DampedTrendForecaster implements FatigueForecaster {
+
+    private final ForecastProperty forecastProperty;
+
+    @Override
+    public ForecasterType type() {
+        return ForecasterType.DAMPED_TREND;
+    }
+
+    @Override
+    public void forecast(double[] history, int length, double[] out) {
+        smooth(history, length, forecastProperty.getTrendAlpha(), forecastProperty.getTrendBeta(),
+                forecastProperty.getDampedPhi(), out);
+    }
+
+    static void smooth(double[] history, int length, double alpha, double beta, double phi, double[] out) {
+        double level = history[0];
+        // 初始斜率取前两点之差，只有一个点时无趋势
+        double trend = length > 1 ? history[1] - history[0] : 0.0;
+        for (int i = 1; i < length; i++) {
+            double prevLevel = level;
+            level = alpha * history[i] + (1 - alpha) * (level + phi * trend);
+            trend = beta * (level - prevLevel) + (1 - beta) * phi * trend;
+        }
+        double damping = 0.0;
+        double phiPower = 1.0;
+        for (int h = 0; h < out.length; h++) {
+            phiPower *= phi;
+            damping += phiPower;
+            out[h] = level + damping * trend;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gang.lu.riskmanagementproject.forecast;
+
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * 指数加权移动平均（简单指数平滑）
+ * <p>
+ * {@code level = α·x + (1-α)·level}，各步预测值均为最终水平
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Component
+@RequiredArgsConstructor
+public class EwmaForecaster implements FatigueForecaster {
+
+    private final ForecastProperty forecastProperty;
+
+    @Override
+    public ForecasterType type() {
+        return ForecasterType.EWMA;
+    }
+
+    @Override
+    public void forecast(double[] history, int length, double[] out) {
+        double alpha = forecastProperty.getEwmaAlpha();
+        double level = history[0];
+        for (int i = 1; i < length; i++) {
+            level = alpha * history[i] + (1 - alpha) * level;
+        }
+        Arrays.fill(out, level);
+    }
+}
@@ -0,0 +1,31 @@
+package gang.lu.riskmanagementproject.forecast;
+
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+
+/**
+ * 疲劳序列预测方法
+ * <p>
+ * 实现类注册为 Spring Bean，由 {@code FatiguePredictHelper} 按 {@link #type()} 收集；
+ * 新增方法只需新增实现类与枚举值。实现类须无状态、线程安全，预测过程不分配对象。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+public interface FatigueForecaster {
+
+    /**
+     * 方法类型
+     *
+     * @return 对应的枚举值
+     */
+    ForecasterType type();
+
+    /**
+     * 预测未来若干步
+     *
+     * @param history 历史序列（时间正序，最旧在前）
+     * @param length  有效长度，只使用 {@code history[0, length)}，至少为 1
+     * @param out     预测结果，写满 {@code out.length} 步（原始量纲，未截断、未取整）
+     */
+    void forecast(double[] history, int length, double[] out);
+}
@@ -0,0 +1,30 @@
+package gang.lu.riskmanagementproject.forecast;
+
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holt 线性趋势指数平滑：水平与斜率分别平滑，第 h 步预测 = level + h·trend
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Component
+@RequiredArgsConstructor
+public class HoltForecaster implements FatigueForecaster {
+
+    private final ForecastProperty forecastProperty;
+
+    @Override
+    public ForecasterType type() {
+        return ForecasterType.HOLT;
+    }
+
+    @Override
+    public void forecast(double[] history, int length, double[] out) {
+        DampedTrendForecaster.smooth(history, length, forecastProperty.getTrendAlpha(),
+                forecastProperty.getTrendBeta(), 1.0, out);
+    }
+}
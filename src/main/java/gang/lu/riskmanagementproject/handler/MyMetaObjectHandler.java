@@ -5,6 +5,7 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.CREATE_TIME;
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.UPDATE_TIME;
@@ -19,13 +20,25 @@ import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.U
 public class MyMetaObjectHandler implements MetaObjectHandler {
     @Override
     public void insertFill(MetaObject metaObject) {
-        // 只在字段值为 null 时填充
-        this.strictInsertFill(metaObject, CREATE_TIME, LocalDateTime.class, LocalDateTime.now());
-        this.strictInsertFill(metaObject, UPDATE_TIME, LocalDateTime.class, LocalDateTime.now());
+        // 只在字段值为 null 时填充；两列取同一时刻
+        LocalDateTime now = now();
+        this.strictInsertFill(metaObject, CREATE_TIME, LocalDateTime.class, now);
+        this.strictInsertFill(metaObject, UPDATE_TIME, LocalDateTime.class, now);
     }
 
 
     @Override
     public void updateFill(MetaObject metaObject) {
+        // 按实体更新时总是覆盖（实体通常是先查出的整行，旧值非空），内存中的实体与库中一致
+        this.setFieldValByName(UPDATE_TIME, now(), metaObject);
+    }
+
+    /**
+     * 截断到秒，与 timestamp 列精度一致（否则库中按四舍五入存储，内存值与库中不一致）。
+     * <p>
+     * 绕过自动填充、自行设置记录时间的写入路径（写入缓冲、流式写入）也须使用此时钟。
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
     }
 }
\ No newline at end of file
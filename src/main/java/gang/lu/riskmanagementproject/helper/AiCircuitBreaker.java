@@ -0,0 +1,113 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.CircuitState;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
+import static gang.lu.riskmanagementproject.message.FailedMessages.AI_CIRCUIT_OPEN;
+
+/**
+ * 千问调用熔断器
+ * <p>
+ * 上游变慢或不可用时，每个请求都要等满调用截止时间才失败；熔断后直接返回 503，不再发起调用：
+ * <ul>
+ *   <li>关闭：正常放行，连续失败达到阈值后打开；</li>
+ *   <li>打开：直接拒绝，持续时间到期后转为半开；</li>
+ *   <li>半开：只放行一次探测调用，成功则关闭，失败则重新打开，探测期间其余调用仍被拒绝。</li>
+ * </ul>
+ * 调用方在发起请求前调用 {@link #acquire}，结束后必须调用 {@link #onSuccess} 或 {@link #onFailure} 之一。
+ * 调用频率低（受千问并发上限约束），状态转换直接加锁。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiCircuitBreaker {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final DashScopeProperty dashScopeProperty;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probing;
+    private long openCount;
+    private long rejectedCount;
+
+    /**
+     * 申请一次调用
+     *
+     * @throws BizException 熔断中（503）
+     */
+    public synchronized void acquire() {
+        if (state == CircuitState.CLOSED) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (state == CircuitState.OPEN && now >= openUntil) {
+            state = CircuitState.HALF_OPEN;
+            probing = false;
+            log.info(LOG_AI_BREAKER_HALF_OPEN);
+        }
+        if (state == CircuitState.HALF_OPEN && !probing) {
+            probing = true;
+            return;
+        }
+        rejectedCount++;
+        long retryAfterSeconds = Math.max(1L, (openUntil - now + MILLIS_PER_SECOND - 1) / MILLIS_PER_SECOND);
+        throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, String.format(AI_CIRCUIT_OPEN, retryAfterSeconds));
+    }
+
+    /**
+     * 调用成功（或上游正常响应了非服务端错误）
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != CircuitState.CLOSED) {
+            state = CircuitState.CLOSED;
+            probing = false;
+            log.info(LOG_AI_BREAKER_CLOSED);
+        }
+    }
+
+    /**
+     * 调用失败（超时、连接失败、5xx / 429）
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        boolean probeFailed = state == CircuitState.HALF_OPEN;
+        boolean thresholdReached = state == CircuitState.CLOSED
+                && consecutiveFailures >= dashScopeProperty.getBreakerFailureThreshold();
+        if (probeFailed || thresholdReached) {
+            state = CircuitState.OPEN;
+            probing = false;
+            openUntil = System.currentTimeMillis() + dashScopeProperty.getBreakerOpenMs();
+            openCount++;
+            log.warn(LOG_AI_BREAKER_OPENED, consecutiveFailures, dashScopeProperty.getBreakerOpenMs());
+        }
+    }
+
+    public synchronized CircuitState state() {
+        return state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long openCount() {
+        return openCount;
+    }
+
+    public synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+}
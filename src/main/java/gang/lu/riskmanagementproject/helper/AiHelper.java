@@ -1,23 +1,31 @@
 package gang.lu.riskmanagementproject.helper;
 
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gang.lu.riskmanagementproject.domain.vo.normal.AiClientStatsVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
 import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import gang.lu.riskmanagementproject.util.FutureUtil;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import okio.BufferedSource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.InterruptedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static gang.lu.riskmanagementproject.common.ai.AiPromptConstants.*;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.AI_DEFAULT_RISK;
@@ -31,6 +39,9 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 
 /**
  * AI 调用助手：负责 Prompt 构建、Qwen 接口调用、响应解析。
+ * <p>
+ * Qwen 调用走千问专用客户端的异步回调，同步调用只是在调用线程中等待其完成。
+ * 批量预测把多名工人的紧凑历史按 token 预算装进少量提示词，一次调用返回多名工人的结果。
  *
  * @author Franz Liszt
  * @version 1.0
@@ -41,9 +52,18 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 @Component
 public class AiHelper {
 
-    private final OkHttpClient okHttpClient;
+    private static final char ASCII_LIMIT = 128;
+
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    /**
+     * 千问专用客户端（{@code OkHttpConfig#dashScopeHttpClient}）
+     */
+    @Qualifier("dashScopeHttpClient")
+    private final OkHttpClient dashScopeHttpClient;
     private final DashScopeProperty dashScopeProperty;
     private final ObjectMapper objectMapper;
+    private final AiCircuitBreaker aiCircuitBreaker;
 
     /**
      * 构建优化后的提示词（增强约束性、规范性）
@@ -92,54 +112,323 @@ public class AiHelper {
     }
 
     /**
-     * 调用千问（替换硬编码常量，优化HashMap初始化）
+     * 构建批量提示词：把多名工人的历史压缩为紧凑行格式，按输入 token 预算与每个提示词的工人数上限
+     * 依次装箱，每个提示词要求模型以 JSON 数组逐个工人返回。
+     * <p>
+     * 单名工人的历史超出预算时独占一个提示词（不截断记录）。
+     *
+     * @param histories 工人ID → 送给模型的历史记录（正序），按迭代顺序装箱
+     * @return 批量提示词，工人不跨提示词
+     */
+    public List<BatchPrompt> buildBatchPrompts(Map<Long, List<RiskIndicatorVO>> histories) {
+        String footer = buildBatchFooter();
+        int fixedTokens = estimateTokens(PROMPT_HEADER) + estimateTokens(PROMPT_BATCH_DATA_DESC) + estimateTokens(footer);
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern(PROMPT_BATCH_TIME_PATTERN);
+
+        List<BatchPrompt> prompts = new ArrayList<>();
+        Map<Long, Integer> recordCounts = new LinkedHashMap<>();
+        StringBuilder body = new StringBuilder();
+        int tokens = fixedTokens;
+        for (Map.Entry<Long, List<RiskIndicatorVO>> entry : histories.entrySet()) {
+            String block = compactHistory(entry.getKey(), entry.getValue(), timeFormatter);
+            int blockTokens = estimateTokens(block);
+            boolean full = tokens + blockTokens > dashScopeProperty.getBatchPromptTokenBudget()
+                    || recordCounts.size() >= dashScopeProperty.getBatchMaxWorkersPerPrompt();
+            if (!recordCounts.isEmpty() && full) {
+                prompts.add(packBatchPrompt(recordCounts, body, footer, tokens));
+                recordCounts = new LinkedHashMap<>();
+                body.setLength(0);
+                tokens = fixedTokens;
+            }
+            recordCounts.put(entry.getKey(), entry.getValue().size());
+            body.append(block);
+            tokens += blockTokens;
+        }
+        if (!recordCounts.isEmpty()) {
+            prompts.add(packBatchPrompt(recordCounts, body, footer, tokens));
+        }
+        return prompts;
+    }
+
+    /**
+     * 同步调用千问（在当前线程等待异步调用完成，受调用截止时间约束）
      */
     public String callQwen(String userPrompt) {
+        return FutureUtil.join(callQwenAsync(userPrompt));
+    }
+
+    /**
+     * 异步调用千问：请求在千问专用客户端的调度线程中执行，调用线程立即返回。
+     * <p>
+     * 熔断中直接以 503 失败；超过调用截止时间以 504 失败；连接失败 503；非 2xx 502。
+     * 超时、连接失败、5xx / 429 计入熔断器失败次数。
+     *
+     * @param userPrompt 提示词
+     * @return 模型返回的 content 文本
+     */
+    public CompletableFuture<String> callQwenAsync(String userPrompt) {
+        return callQwenAsync(userPrompt, dashScopeProperty.getMaxTokens());
+    }
+
+    /**
+     * 指定输出上限的异步调用（批量提示词按工人数放宽 max_tokens），其余同 {@link #callQwenAsync(String)}
+     *
+     * @param userPrompt 提示词
+     * @param maxTokens  本次调用的最大输出 token 数
+     * @return 模型返回的 content 文本
+     */
+    public CompletableFuture<String> callQwenAsync(String userPrompt, int maxTokens) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Request request;
         try {
-            int initialRequestSize = 3;
-            Map<String, Object> requestMap = new HashMap<>(initialRequestSize);
-            requestMap.put(MODEL, dashScopeProperty.getModel());
-            requestMap.put(MAX_TOKENS, dashScopeProperty.getMaxTokens());
-            int initialMessageSize = 2;
-            requestMap.put(MESSAGES, new Object[]{
-                    new HashMap<String, Object>(initialMessageSize) {{
-                        put(ROLE, USER);
-                        put(CONTENT, userPrompt);
-                    }}
-            });
-
-            String requestJson = objectMapper.writeValueAsString(requestMap);
-
-            Request request = new Request.Builder()
-                    .url(dashScopeProperty.getBaseUrl() + PATH_CHAT_COMPLETIONS)
-                    .post(RequestBody.create(requestJson, MediaType.parse(MEDIA_TYPE_JSON)))
-                    .addHeader(HEADER_AUTHORIZATION, AUTHORIZATION_BEARER_PREFIX + dashScopeProperty.getApiKey())
-                    .addHeader(HEADER_CONTENT_TYPE, MEDIA_TYPE_JSON)
-                    .build();
-
-            log.info(LOG_AI_CALL_QWEN_MODEL, dashScopeProperty.getModel());
-
-            try (Response response = okHttpClient.newCall(request).execute()) {
-                if (!response.isSuccessful() || response.body() == null) {
-                    log.error(LOG_AI_QWEN_NON_2XX, response.code());
-                    throw new BizException(HttpStatus.BAD_GATEWAY, AI_MODEL_INVALID);
+            request = buildQwenRequest(userPrompt, maxTokens, false);
+            aiCircuitBreaker.acquire();
+        } catch (IOException e) {
+            log.error(LOG_AI_QWEN_CONNECTION_EXCEPTION, e);
+            future.completeExceptionally(new BizException(HttpStatus.SERVICE_UNAVAILABLE, AI_MODEL_CONNECTION_FAIL));
+            return future;
+        } catch (BizException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        log.info(LOG_AI_CALL_QWEN_MODEL, dashScopeProperty.getModel());
+        dashScopeHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failCall(future, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                String body;
+                try (Response r = response) {
+                    if (!r.isSuccessful() || r.body() == null) {
+                        failResponse(future, r.code());
+                        return;
+                    }
+                    body = r.body().string();
+                } catch (IOException e) {
+                    // 读取响应体时超时或断开
+                    failCall(future, e);
+                    return;
+                }
+                aiCircuitBreaker.onSuccess();
+                try {
+                    future.complete(extractContent(body));
+                } catch (Exception e) {
+                    log.error(LOG_AI_PARSE_RESPONSE_FAILED, body, e);
+                    future.completeExceptionally(
+                            new BizException(HttpStatus.INTERNAL_SERVER_ERROR, AI_RESPONSE_RESOLVE_FAILURE));
                 }
-                String body = response.body().string();
-                // 打印 AI 原始返回，方便排查
-                log.info(LOG_AI_QWEN_RAW_RESPONSE, body);
-                // OpenAI 格式: choices[0].message.content
-                JsonNode root = objectMapper.readTree(body);
-                String content = root.path(CHOICES).get(0)
-                        .path(MESSAGE).path(CONTENT).asText();
-                log.debug(LOG_AI_EXTRACT_CONTENT, content);
-                return content;
             }
+        });
+        return future;
+    }
+
+    /**
+     * 流式调用千问（{@code stream: true}）：逐行读取上游 SSE 响应，每个增量片段回调一次 {@code onDelta}，
+     * 结束后以完整文本完成 Future。
+     * <p>
+     * 回调在千问客户端的调度线程中同步执行，不应阻塞：回调耗时直接占用该调用的并发名额（{@code max-requests}），
+     * 并计入截止时间（{@code call-timeout-ms}，覆盖整个流），回调一直阻塞时调用到期后被取消、按超时失败。
+     * 失败语义与熔断同 {@link #callQwenAsync}。回调抛出异常时立即取消调用，Future 以该异常失败
+     * （不计为上游失败，也不按响应解析失败处理）。
+     *
+     * @param userPrompt 提示词
+     * @param onDelta    增量文本回调
+     * @return 拼接后的完整 content 文本
+     */
+    public CompletableFuture<String> streamQwen(String userPrompt, Consumer<String> onDelta) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = buildQwenRequest(userPrompt, dashScopeProperty.getMaxTokens(), true);
+            aiCircuitBreaker.acquire();
         } catch (IOException e) {
             log.error(LOG_AI_QWEN_CONNECTION_EXCEPTION, e);
-            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, AI_MODEL_CONNECTION_FAIL);
+            future.completeExceptionally(new BizException(HttpStatus.SERVICE_UNAVAILABLE, AI_MODEL_CONNECTION_FAIL));
+            return future;
+        } catch (BizException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        log.info(LOG_AI_CALL_QWEN_STREAM, dashScopeProperty.getModel());
+        long start = System.currentTimeMillis();
+        dashScopeHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failCall(future, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                StringBuilder content = new StringBuilder();
+                long firstDeltaMs = -1;
+                RuntimeException callbackError = null;
+                try (Response r = response) {
+                    if (!r.isSuccessful() || r.body() == null) {
+                        failResponse(future, r.code());
+                        return;
+                    }
+                    BufferedSource source = r.body().source();
+                    String line;
+                    while ((line = source.readUtf8Line()) != null) {
+                        if (!line.startsWith(SSE_DATA_PREFIX)) {
+                            continue;
+                        }
+                        String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+                        if (SSE_DONE.equals(data)) {
+                            break;
+                        }
+                        String delta = extractDelta(data);
+                        if (StrUtil.isEmpty(delta)) {
+                            continue;
+                        }
+                        if (firstDeltaMs < 0) {
+                            firstDeltaMs = System.currentTimeMillis() - start;
+                        }
+                        content.append(delta);
+                        try {
+                            onDelta.accept(delta);
+                        } catch (RuntimeException e) {
+                            // 回调方已无法继续消费（如推送失败），不再读取上游
+                            callbackError = e;
+                            call.cancel();
+                            break;
+                        }
+                    }
+                } catch (JsonProcessingException | RuntimeException e) {
+                    // 增量片段解析失败（JsonProcessingException 也是 IOException，须先于下方捕获，不计为连接失败）
+                    log.error(LOG_AI_PARSE_RESPONSE_FAILED, content, e);
+                    aiCircuitBreaker.onSuccess();
+                    future.completeExceptionally(
+                            new BizException(HttpStatus.INTERNAL_SERVER_ERROR, AI_RESPONSE_RESOLVE_FAILURE));
+                    return;
+                } catch (IOException e) {
+                    // 读取过程中超过截止时间或连接断开
+                    failCall(future, e);
+                    return;
+                }
+                // 上游响应正常，回调失败不计入熔断
+                aiCircuitBreaker.onSuccess();
+                if (ObjectUtil.isNotNull(callbackError)) {
+                    log.warn(LOG_AI_STREAM_CALLBACK_FAILED, content.length(), callbackError);
+                    future.completeExceptionally(callbackError);
+                    return;
+                }
+                log.info(LOG_AI_QWEN_STREAM_DONE, firstDeltaMs, System.currentTimeMillis() - start, content.length());
+                log.debug(LOG_AI_EXTRACT_CONTENT, content);
+                future.complete(content.toString());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 千问客户端状态（熔断器、并发请求数与连接池）
+     */
+    public AiClientStatsVO stats() {
+        Dispatcher dispatcher = dashScopeHttpClient.dispatcher();
+        ConnectionPool pool = dashScopeHttpClient.connectionPool();
+        AiClientStatsVO vo = new AiClientStatsVO();
+        vo.setCircuitState(aiCircuitBreaker.state());
+        vo.setConsecutiveFailures(aiCircuitBreaker.consecutiveFailures());
+        vo.setOpenCount(aiCircuitBreaker.openCount());
+        vo.setRejectedCount(aiCircuitBreaker.rejectedCount());
+        vo.setRunningCalls(dispatcher.runningCallsCount());
+        vo.setQueuedCalls(dispatcher.queuedCallsCount());
+        vo.setMaxRequests(dispatcher.getMaxRequests());
+        vo.setConnectionCount(pool.connectionCount());
+        vo.setIdleConnectionCount(pool.idleConnectionCount());
+        return vo;
+    }
+
+    /**
+     * 构建 OpenAI 兼容格式的请求（替换硬编码常量，优化HashMap初始化）
+     */
+    private Request buildQwenRequest(String userPrompt, int maxTokens, boolean stream) throws IOException {
+        int initialRequestSize = 4;
+        Map<String, Object> requestMap = new HashMap<>(initialRequestSize);
+        requestMap.put(MODEL, dashScopeProperty.getModel());
+        requestMap.put(MAX_TOKENS, maxTokens);
+        if (stream) {
+            requestMap.put(STREAM, true);
+        }
+        int initialMessageSize = 2;
+        requestMap.put(MESSAGES, new Object[]{
+                new HashMap<String, Object>(initialMessageSize) {{
+                    put(ROLE, USER);
+                    put(CONTENT, userPrompt);
+                }}
+        });
+
+        String requestJson = objectMapper.writeValueAsString(requestMap);
+
+        return new Request.Builder()
+                .url(dashScopeProperty.getBaseUrl() + PATH_CHAT_COMPLETIONS)
+                .post(RequestBody.create(requestJson, MediaType.parse(MEDIA_TYPE_JSON)))
+                .addHeader(HEADER_AUTHORIZATION, AUTHORIZATION_BEARER_PREFIX + dashScopeProperty.getApiKey())
+                .addHeader(HEADER_CONTENT_TYPE, MEDIA_TYPE_JSON)
+                .build();
+    }
+
+    /**
+     * 提取 choices[0].message.content（OpenAI 格式）
+     */
+    private String extractContent(String body) throws IOException {
+        // 打印 AI 原始返回，方便排查
+        log.info(LOG_AI_QWEN_RAW_RESPONSE, body);
+        JsonNode root = objectMapper.readTree(body);
+        String content = root.path(CHOICES).get(0)
+                .path(MESSAGE).path(CONTENT).asText();
+        log.debug(LOG_AI_EXTRACT_CONTENT, content);
+        return content;
+    }
+
+    /**
+     * 提取流式片段 choices[0].delta.content（无内容的片段返回空串）
+     */
+    private String extractDelta(String data) throws IOException {
+        return objectMapper.readTree(data).path(CHOICES).path(0)
+                .path(DELTA).path(CONTENT).asText("");
+    }
+
+    /**
+     * 连接失败 / 超过截止时间：计入熔断并以 503 / 504 失败
+     */
+    private void failCall(CompletableFuture<String> future, IOException e) {
+        aiCircuitBreaker.onFailure();
+        if (e instanceof InterruptedIOException) {
+            log.error(LOG_AI_QWEN_TIMEOUT, dashScopeProperty.getCallTimeoutMs());
+            future.completeExceptionally(new BizException(HttpStatus.GATEWAY_TIMEOUT, AI_MODEL_TIMEOUT));
+        } else {
+            log.error(LOG_AI_QWEN_CONNECTION_EXCEPTION, e);
+            future.completeExceptionally(new BizException(HttpStatus.SERVICE_UNAVAILABLE, AI_MODEL_CONNECTION_FAIL));
         }
     }
 
+    /**
+     * 非 2xx 响应：5xx / 429 计入熔断，以 502 失败
+     */
+    private void failResponse(CompletableFuture<String> future, int code) {
+        if (isUpstreamFault(code)) {
+            aiCircuitBreaker.onFailure();
+        } else {
+            aiCircuitBreaker.onSuccess();
+        }
+        log.error(LOG_AI_QWEN_NON_2XX, code);
+        future.completeExceptionally(new BizException(HttpStatus.BAD_GATEWAY, AI_MODEL_INVALID));
+    }
+
+    /**
+     * 上游服务端错误或限流（计入熔断）；其余 4xx 说明上游可达
+     */
+    private static boolean isUpstreamFault(int code) {
+        return code >= HttpStatus.INTERNAL_SERVER_ERROR.value() || code == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
     /**
      * 解析响应
      */
@@ -152,25 +441,153 @@ public class AiHelper {
                         .replace(AI_TEXT_TICK_PATTERN, "")
                         .trim();
             }
-            JsonNode node = objectMapper.readTree(json);
-            RiskPredictionVO vo = new RiskPredictionVO();
-            vo.setWorkerId(workerId);
-            vo.setRecordCount(recordCount);
-            vo.setPredictedRiskLevel(node.path(AI_FIELD_PREDICTED_RISK).asText(AI_DEFAULT_RISK));
-            vo.setRiskTrend(node.path(AI_FIELD_RISK_TREND).asText(AI_DEFAULT_TREND));
-            vo.setAnalysisSummary(node.path(AI_FIELD_ANALYSIS).asText(""));
-            vo.setConfidenceNote(node.path(AI_FIELD_CONFIDENCE).asText(""));
-
-            List<String> suggestions = new ArrayList<>();
-            JsonNode sugNode = node.path(AI_FIELD_SUGGESTIONS);
-            if (sugNode.isArray()) {
-                sugNode.forEach(s -> suggestions.add(s.asText()));
+            return toPredictionVO(workerId, recordCount, objectMapper.readTree(json));
+        } catch (Exception e) {
+            log.error(LOG_AI_PARSE_RESPONSE_FAILED, aiText, e);
+            throw new BizException(HttpStatus.INTERNAL_SERVER_ERROR, AI_RESPONSE_RESOLVE_FAILURE);
+        }
+    }
+
+    /**
+     * 解析批量响应：按 worker_id 拆分 JSON 数组，不属于该提示词的工人与重复项忽略
+     *
+     * @param batch  发送的批量提示词
+     * @param aiText 模型返回的 content 文本
+     * @return 工人ID → 预测结果（模型遗漏的工人不在其中）
+     */
+    public Map<Long, RiskPredictionVO> parseBatchResponse(BatchPrompt batch, String aiText) {
+        try {
+            String json = aiText.trim();
+            if (json.contains(AI_TEXT_TICK_PATTERN)) {
+                json = json.replace(AI_TEXT_JSON_PATTERN, "")
+                        .replace(AI_TEXT_TICK_PATTERN, "")
+                        .trim();
+            }
+            JsonNode root = objectMapper.readTree(json);
+            // 只剩一名工人时模型偶尔省略外层数组
+            Iterable<JsonNode> items = root.isArray() ? root : Collections.singletonList(root);
+            Map<Long, RiskPredictionVO> result = new LinkedHashMap<>();
+            for (JsonNode node : items) {
+                long workerId = node.path(AI_FIELD_WORKER_ID).asLong();
+                Integer recordCount = batch.getRecordCounts().get(workerId);
+                if (ObjectUtil.isNotNull(recordCount) && !result.containsKey(workerId)) {
+                    result.put(workerId, toPredictionVO(workerId, recordCount, node));
+                }
             }
-            vo.setSuggestions(suggestions);
-            return vo;
+            return result;
         } catch (Exception e) {
             log.error(LOG_AI_PARSE_RESPONSE_FAILED, aiText, e);
             throw new BizException(HttpStatus.INTERNAL_SERVER_ERROR, AI_RESPONSE_RESOLVE_FAILURE);
         }
     }
+
+    /**
+     * 单个工人的 JSON 对象 → VO
+     */
+    private RiskPredictionVO toPredictionVO(Long workerId, int recordCount, JsonNode node) {
+        RiskPredictionVO vo = new RiskPredictionVO();
+        vo.setWorkerId(workerId);
+        vo.setRecordCount(recordCount);
+        vo.setPredictedRiskLevel(node.path(AI_FIELD_PREDICTED_RISK).asText(AI_DEFAULT_RISK));
+        vo.setRiskTrend(node.path(AI_FIELD_RISK_TREND).asText(AI_DEFAULT_TREND));
+        vo.setAnalysisSummary(node.path(AI_FIELD_ANALYSIS).asText(""));
+        vo.setConfidenceNote(node.path(AI_FIELD_CONFIDENCE).asText(""));
+
+        List<String> suggestions = new ArrayList<>();
+        JsonNode sugNode = node.path(AI_FIELD_SUGGESTIONS);
+        if (sugNode.isArray()) {
+            sugNode.forEach(s -> suggestions.add(s.asText()));
+        }
+        vo.setSuggestions(suggestions);
+        return vo;
+    }
+
+    /**
+     * 单名工人的紧凑历史：标题行 + 每条记录一行逗号分隔值（时间只保留到分钟，疲劳度保留 1 位小数）
+     */
+    private static String compactHistory(Long workerId, List<RiskIndicatorVO> history, DateTimeFormatter timeFormatter) {
+        StringBuilder sb = new StringBuilder(32 + history.size() * 32);
+        sb.append(String.format(PROMPT_BATCH_WORKER_TITLE, workerId));
+        for (RiskIndicatorVO r : history) {
+            sb.append(String.format(PROMPT_BATCH_ROW_FORMAT,
+                    ObjectUtil.isNotNull(r.getCreateTime()) ? r.getCreateTime().format(timeFormatter) : PROMPT_UNKNOWN,
+                    ObjectUtil.isNotNull(r.getHeartRate()) ? r.getHeartRate() : 0,
+                    ObjectUtil.isNotNull(r.getRespiratoryRate()) ? r.getRespiratoryRate() : 0,
+                    ObjectUtil.isNotNull(r.getFatiguePercent()) ? r.getFatiguePercent() : 0.0,
+                    ObjectUtil.isNotNull(r.getRiskLevel()) ? r.getRiskLevel().getValue() : PROMPT_UNKNOWN,
+                    Boolean.TRUE.equals(r.getAlertFlag()) ? PROMPT_ALERT_YES : PROMPT_ALERT_NO
+            ));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 批量提示词的任务与 JSON 数组格式要求
+     */
+    private static String buildBatchFooter() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(PROMPT_BATCH_TASK_REQUIRE);
+        sb.append(PROMPT_TASK_1);
+        sb.append(PROMPT_TASK_2);
+        sb.append(PROMPT_BATCH_FORMAT_REQUIRE);
+        sb.append("[\n  {\n");
+        sb.append("    \"").append(AI_FIELD_WORKER_ID).append("\": ").append(PROMPT_JSON_FIELD_WORKER_ID_DESC).append(",\n");
+        sb.append("    \"").append(AI_FIELD_PREDICTED_RISK).append("\": ").append(PROMPT_JSON_FIELD_PREDICTED_RISK_DESC).append(",\n");
+        sb.append("    \"").append(AI_FIELD_RISK_TREND).append("\": ").append(PROMPT_JSON_FIELD_TREND_DESC).append(",\n");
+        sb.append("    \"").append(AI_FIELD_ANALYSIS).append("\": ").append(PROMPT_JSON_FIELD_ANALYSIS_DESC).append(",\n");
+        sb.append("    \"").append(AI_FIELD_SUGGESTIONS).append("\": ").append(PROMPT_JSON_FIELD_SUGGESTIONS_DESC).append(",\n");
+        sb.append("    \"").append(AI_FIELD_CONFIDENCE).append("\": ").append(PROMPT_JSON_FIELD_CONFIDENCE_DESC).append("\n");
+        sb.append("  }\n]");
+        return sb.toString();
+    }
+
+    /**
+     * 组装一个批量提示词，max_tokens 按工人数放宽
+     */
+    private BatchPrompt packBatchPrompt(Map<Long, Integer> recordCounts, CharSequence body, String footer, int tokens) {
+        String prompt = PROMPT_HEADER + PROMPT_BATCH_DATA_DESC + body + footer;
+        int maxTokens = recordCounts.size() * dashScopeProperty.getBatchOutputTokensPerWorker();
+        log.debug(LOG_AI_BATCH_PROMPT_BUILT, recordCounts.keySet(), tokens);
+        return new BatchPrompt(recordCounts, prompt, tokens, maxTokens);
+    }
+
+    /**
+     * 粗略估算 token 数：非 ASCII 字符与数字各算 1 个（千问分词器将数字逐位切分），其余 ASCII 字符 4 个算 1 个
+     */
+    static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int otherAscii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ASCII_LIMIT || Character.isDigit(c)) {
+                tokens++;
+            } else {
+                otherAscii++;
+            }
+        }
+        return tokens + (otherAscii + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN;
+    }
+
+    /**
+     * 批量提示词：所含工人（及各自记录条数）、提示词文本、估算输入 token 数与本次调用的 max_tokens
+     */
+    @Getter
+    public static final class BatchPrompt {
+
+        private final Map<Long, Integer> recordCounts;
+        private final String prompt;
+        private final int estimatedTokens;
+        private final int maxTokens;
+
+        private BatchPrompt(Map<Long, Integer> recordCounts, String prompt, int estimatedTokens, int maxTokens) {
+            this.recordCounts = recordCounts;
+            this.prompt = prompt;
+            this.estimatedTokens = estimatedTokens;
+            this.maxTokens = maxTokens;
+        }
+
+        public Set<Long> getWorkerIds() {
+            return recordCounts.keySet();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import gang.lu.riskmanagementproject.property.CacheProperty;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import gang.lu.riskmanagementproject.util.FutureUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static gang.lu.riskmanagementproject.common.ai.AiPromptConstants.PROMPT_TEMPLATE_VERSION;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_AI_CACHE_COALESCED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_AI_CACHE_HIT;
+
+/**
+ * 千问风险预测结果缓存
+ * <p>
+ * 一次千问调用耗时数秒，而看板反复打开、带 AI 分析的报告下载都会对同一批数据重复预测。
+ * 此处按内容寻址缓存解析后的 {@link RiskPredictionVO}：
+ * <ul>
+ *   <li>缓存键为（模型、提示词模板版本、工人ID、每条记录的 ID 与各项指标值）的 SHA-256，
+ *       工人新增或修正了指标、切换模型、修改提示词后键自然变化，无需主动失效；</li>
+ *   <li>按容量 LRU 淘汰，按有效期过期，调用失败不缓存；</li>
+ *   <li>同一键的并发请求只有第一个回源，其余等待其结果（失败时一并收到同一异常）。</li>
+ * </ul>
+ * 缓存中的 VO 为共享实例，调用方只读不改。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiPredictionCache {
+
+    private static final String CACHE_NAME = "ai-prediction";
+
+    private static final char FIELD_SEPARATOR = '|';
+
+    private static final char ROW_SEPARATOR = '\n';
+
+    private final CacheProperty cacheProperty;
+    private final DashScopeProperty dashScopeProperty;
+
+    private LRUCache<String, RiskPredictionVO> predictions;
+
+    private final ConcurrentHashMap<String, CompletableFuture<RiskPredictionVO>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        predictions = CacheUtil.newLRUCache(cacheProperty.getAiPredictionCapacity(), cacheProperty.getAiPredictionTtlMs());
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param workerId 工人ID
+     * @param history  送给模型的历史记录（正序）
+     * @return 十六进制 SHA-256
+     */
+    public String key(Long workerId, List<RiskIndicatorVO> history) {
+        StringBuilder sb = new StringBuilder(64 + history.size() * 64);
+        sb.append(dashScopeProperty.getModel()).append(FIELD_SEPARATOR)
+                .append(PROMPT_TEMPLATE_VERSION).append(FIELD_SEPARATOR)
+                .append(workerId).append(ROW_SEPARATOR);
+        for (RiskIndicatorVO r : history) {
+            sb.append(r.getId()).append(FIELD_SEPARATOR)
+                    .append(r.getCreateTime()).append(FIELD_SEPARATOR)
+                    .append(r.getHeartRate()).append(FIELD_SEPARATOR)
+                    .append(r.getRespiratoryRate()).append(FIELD_SEPARATOR)
+                    .append(r.getFatiguePercent()).append(FIELD_SEPARATOR)
+                    .append(ObjectUtil.isNotNull(r.getRiskLevel()) ? r.getRiskLevel().getValue() : null)
+                    .append(FIELD_SEPARATOR)
+                    .append(r.getAlertFlag()).append(ROW_SEPARATOR);
+        }
+        return DigestUtil.sha256Hex(sb.toString());
+    }
+
+    /**
+     * 读取缓存的预测结果，未命中时在当前线程同步回源（同一键的并发请求只回源一次）
+     *
+     * @param key         {@link #key} 计算的缓存键
+     * @param workerId    工人ID（日志用）
+     * @param recordCount 历史记录条数（日志用）
+     * @param loader      回源：构建提示词、调用千问并解析
+     * @return 预测结果
+     */
+    public RiskPredictionVO get(String key, Long workerId, int recordCount, Supplier<RiskPredictionVO> loader) {
+        return FutureUtil.join(getAsync(key, workerId, recordCount,
+                () -> CompletableFuture.completedFuture(loader.get())));
+    }
+
+    /**
+     * 异步读取缓存的预测结果，未命中时回源（同一键的并发请求只回源一次）
+     * <p>
+     * 返回的 Future 可能被多个请求共享，调用方不得取消或修改。
+     *
+     * @param key         {@link #key} 计算的缓存键
+     * @param workerId    工人ID（日志用）
+     * @param recordCount 历史记录条数（日志用）
+     * @param loader      回源：构建提示词、异步调用千问并解析
+     * @return 预测结果
+     */
+    public CompletableFuture<RiskPredictionVO> getAsync(String key, Long workerId, int recordCount,
+                                                        Supplier<CompletableFuture<RiskPredictionVO>> loader) {
+        if (!cacheProperty.isAiPredictionEnabled()) {
+            return load(loader);
+        }
+        RiskPredictionVO cached = predictions.get(key, false);
+        if (ObjectUtil.isNotNull(cached)) {
+            hitCount.increment();
+            log.info(LOG_AI_CACHE_HIT, workerId, recordCount);
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<RiskPredictionVO> own = new CompletableFuture<>();
+        CompletableFuture<RiskPredictionVO> running = inFlight.putIfAbsent(key, own);
+        if (ObjectUtil.isNotNull(running)) {
+            coalescedCount.increment();
+            log.info(LOG_AI_CACHE_COALESCED, workerId);
+            return running;
+        }
+        // 上一个回源者先写缓存再移出 inFlight，两次查找之间可能恰好错过
+        cached = predictions.get(key, false);
+        if (ObjectUtil.isNotNull(cached)) {
+            hitCount.increment();
+            inFlight.remove(key, own);
+            own.complete(cached);
+            return own;
+        }
+        missCount.increment();
+        load(loader).whenComplete((vo, e) -> {
+            if (ObjectUtil.isNull(e)) {
+                predictions.put(key, vo);
+            }
+            inFlight.remove(key, own);
+            if (ObjectUtil.isNull(e)) {
+                own.complete(vo);
+            } else {
+                own.completeExceptionally(FutureUtil.unwrap(e));
+            }
+        });
+        return own;
+    }
+
+    /**
+     * 只读缓存不回源（批量预测先挑出命中的工人，其余打包调用后经 {@link #put} 写回）
+     *
+     * @param key {@link #key} 计算的缓存键
+     * @return 缓存的预测结果，未命中或缓存关闭时为 null
+     */
+    public RiskPredictionVO getIfPresent(String key) {
+        if (!cacheProperty.isAiPredictionEnabled()) {
+            return null;
+        }
+        RiskPredictionVO cached = predictions.get(key, false);
+        if (ObjectUtil.isNotNull(cached)) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * 写入预测结果（缓存关闭时忽略）
+     *
+     * @param key {@link #key} 计算的缓存键
+     * @param vo  预测结果，写入后视为只读
+     */
+    public void put(String key, RiskPredictionVO vo) {
+        if (cacheProperty.isAiPredictionEnabled()) {
+            predictions.put(key, vo);
+        }
+    }
+
+    /**
+     * 命中统计
+     */
+    public CacheStatsVO stats() {
+        long hits = hitCount.sum() + coalescedCount.sum();
+        long misses = missCount.sum();
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setCacheName(CACHE_NAME);
+        vo.setSize(predictions.size());
+        vo.setHitCount(hitCount.sum());
+        vo.setNegativeHitCount(0L);
+        vo.setCoalescedCount(coalescedCount.sum());
+        vo.setMissCount(misses);
+        vo.setHitRate(hits + misses == 0 ? 0D : (double) hits / (hits + misses));
+        return vo;
+    }
+
+    /**
+     * 回源（同步抛出的异常也转为失败的 Future）
+     */
+    private static CompletableFuture<RiskPredictionVO> load(Supplier<CompletableFuture<RiskPredictionVO>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException | Error e) {
+            CompletableFuture<RiskPredictionVO> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.common.Result;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import gang.lu.riskmanagementproject.util.FutureUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.CONTENT;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_AI_SSE_CLIENT_GONE;
+import static gang.lu.riskmanagementproject.common.http.HttpConstants.*;
+import static gang.lu.riskmanagementproject.message.FailedMessages.AI_MODEL_TIMEOUT;
+import static gang.lu.riskmanagementproject.message.FailedMessages.COMMON_SYSTEM_ERROR;
+import static gang.lu.riskmanagementproject.message.SuccessMessages.AI_ANALYZE_SUCCESS;
+
+/**
+ * AI 风险分析 SSE 推送助手
+ * <p>
+ * 把流式预测转为浏览器可直接消费的 Server-Sent Events：
+ * <ul>
+ *   <li>{@code delta}：模型输出的增量文本，{@code {"content": "..."}}；</li>
+ *   <li>{@code result}：最终解析结果，结构同非流式接口的 {@link Result}；</li>
+ *   <li>{@code error}：失败原因，结构同全局异常处理返回的 {@link Result}。</li>
+ * </ul>
+ * {@code result} / {@code error} 之后连接关闭。客户端中途断开时停止推送，模型调用继续完成并写入预测缓存。
+ * <p>
+ * {@code delta} 在千问客户端的调度线程中同步写出：客户端读取过慢、Servlet 输出缓冲写满时会阻塞该线程，
+ * 最长阻塞到千问调用的截止时间（{@code dashscope.call-timeout-ms}）后调用被取消；
+ * 期间占用一个千问并发名额（{@code dashscope.max-requests}），因此并发 SSE 连接数受该上限约束。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiStreamHelper {
+
+    private final DashScopeProperty dashScopeProperty;
+
+    /**
+     * 创建 SSE 连接并转发流式预测
+     *
+     * @param workerId   工人ID（日志用）
+     * @param prediction 以增量回调发起流式预测；同步抛出的校验异常直接向上抛出，按普通 JSON 错误返回
+     * @return 交给 Spring MVC 的 SseEmitter
+     */
+    public SseEmitter relay(Long workerId,
+                            Function<Consumer<String>, CompletableFuture<RiskPredictionVO>> prediction) {
+        SseEmitter emitter = new SseEmitter(dashScopeProperty.getDeferredTimeoutMs());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+        emitter.onTimeout(() -> finish(emitter, open, workerId, SSE_EVENT_ERROR,
+                Result.error(HttpStatus.GATEWAY_TIMEOUT, AI_MODEL_TIMEOUT)));
+
+        prediction.apply(delta -> send(emitter, open, workerId, SSE_EVENT_DELTA,
+                        Collections.singletonMap(CONTENT, delta)))
+                .whenComplete((vo, e) -> {
+                    if (e == null) {
+                        finish(emitter, open, workerId, SSE_EVENT_RESULT, Result.ok(AI_ANALYZE_SUCCESS, vo));
+                    } else {
+                        finish(emitter, open, workerId, SSE_EVENT_ERROR, toErrorResult(FutureUtil.unwrap(e)));
+                    }
+                });
+        return emitter;
+    }
+
+    private static void finish(SseEmitter emitter, AtomicBoolean open, Long workerId, String event, Object data) {
+        if (send(emitter, open, workerId, event, data) && open.compareAndSet(true, false)) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * 推送一个事件（JSON 数据，换行已转义，不会破坏 SSE 分帧）
+     *
+     * @return 连接仍可用
+     */
+    private static boolean send(SseEmitter emitter, AtomicBoolean open, Long workerId, String event, Object data) {
+        if (!open.get()) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            if (open.compareAndSet(true, false)) {
+                log.info(LOG_AI_SSE_CLIENT_GONE, workerId);
+            }
+            return false;
+        }
+    }
+
+    private static Result<Void> toErrorResult(Throwable e) {
+        if (e instanceof BizException) {
+            BizException biz = (BizException) e;
+            return Result.error(biz.getStatus(), biz.getMessage());
+        }
+        return Result.error(HttpStatus.INTERNAL_SERVER_ERROR, COMMON_SYSTEM_ERROR);
+    }
+}
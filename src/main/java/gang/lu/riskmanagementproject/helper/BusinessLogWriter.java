@@ -0,0 +1,112 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.property.BusinessLogProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_BIZ_QUEUE_DROPPED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_BIZ_WRITER_FAILED;
+
+/**
+ * 业务操作日志异步输出
+ * <p>
+ * 请求线程只把「待输出的日志」放入有界队列，入参 / 返回值的 JSON 序列化与消息格式化
+ * 都在单个后台线程中完成，请求线程不再为日志付出序列化开销。
+ *
+ * <p><b>行为约定：</b>
+ * <ul>
+ *   <li>队列满时直接丢弃并计数，不阻塞请求线程，丢弃数由后台线程汇总告警；</li>
+ *   <li>日志中的入参 / 返回值在输出时才序列化，反映的是输出时刻的对象状态；</li>
+ *   <li>未启用异步或已关闭时在调用线程同步输出；应用关闭时先输出完队列剩余日志。</li>
+ * </ul>
+ *
+ * @author Franz Liszt
+ * @since 2026-03-11
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BusinessLogWriter {
+
+    private static final String WRITER_THREAD_NAME = "business-log-writer";
+
+    private static final long POLL_TIMEOUT_MS = 200L;
+
+    private static final long DRAIN_TIMEOUT_MS = 3000L;
+
+    private final BusinessLogProperty businessLogProperty;
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private BlockingQueue<Runnable> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!businessLogProperty.isAsyncEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(businessLogProperty.getQueueCapacity());
+        running = true;
+        writer = new Thread(this::runWriteLoop, WRITER_THREAD_NAME);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(DRAIN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 提交一条待输出的日志
+     *
+     * @param task 输出动作（在后台线程中执行，内部完成格式化与序列化）
+     */
+    public void submit(Runnable task) {
+        if (!running) {
+            task.run();
+            return;
+        }
+        if (!queue.offer(task)) {
+            droppedCount.increment();
+        }
+    }
+
+    private void runWriteLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable task = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    task.run();
+                }
+                long dropped = droppedCount.sumThenReset();
+                if (dropped > 0) {
+                    log.warn(LOG_BIZ_QUEUE_DROPPED, dropped);
+                }
+            } catch (InterruptedException e) {
+                // 由 running 标志控制退出，保证关闭时队列排空
+                Thread.interrupted();
+            } catch (Exception e) {
+                log.error(LOG_BIZ_WRITER_FAILED, e);
+            }
+        }
+    }
+}
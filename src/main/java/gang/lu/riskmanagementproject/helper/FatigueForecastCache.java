@@ -0,0 +1,105 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.domain.vo.normal.FatiguePredictionVO;
+import gang.lu.riskmanagementproject.util.ConcurrentLongMap;
+import gang.lu.riskmanagementproject.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 工人疲劳批量预测结果缓存
+ * <p>
+ * 保存每个工人最近一次批量预测（定时任务或批量预测接口）的结果，供看板一次性读取全部在岗工人的预测，
+ * 无需再次推理；结果中的预测时间用于判断新旧。工人删除后由 {@code WorkerServiceImpl} 清理。
+ * 全部工人的批量预测以整表替换写入，已离线或历史不足的工人不再保留上一轮的旧结果。
+ * 写入（部分写入、整表替换、删除清理）互斥执行，且不会用较旧的预测覆盖较新的预测：
+ * 整表替换在推理期间若有指定工人的批量预测先写入，替换时保留这些更新的结果；读取不加锁。
+ * 缓存中的 VO 为共享实例，调用方只读不改。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-16
+ */
+@Component
+public class FatigueForecastCache {
+
+    private final Object writeLock = new Object();
+
+    private volatile ConcurrentLongMap<FatiguePredictionVO> forecasts = new ConcurrentLongMap<>();
+
+    /**
+     * 写入指定工人的批量预测结果（其余工人的结果保留；已有更新的预测时不覆盖）
+     */
+    public void putAll(Collection<FatiguePredictionVO> vos) {
+        synchronized (writeLock) {
+            ConcurrentLongMap<FatiguePredictionVO> current = forecasts;
+            for (FatiguePredictionVO vo : vos) {
+                if (!isNewer(current.get(vo.getWorkerId()), vo.getPredictTime())) {
+                    current.put(vo.getWorkerId(), vo);
+                }
+            }
+        }
+    }
+
+    /**
+     * 以全部工人的批量预测结果替换整个缓存
+     *
+     * @param vos         本轮预测结果
+     * @param predictTime 本轮预测时间；缓存中晚于该时间的结果（推理期间写入的指定工人预测）保留
+     */
+    public void replaceAll(Collection<FatiguePredictionVO> vos, LocalDateTime predictTime) {
+        synchronized (writeLock) {
+            ConcurrentLongMap<FatiguePredictionVO> replacement = new ConcurrentLongMap<>();
+            vos.forEach(vo -> replacement.put(vo.getWorkerId(), vo));
+            forecasts.forEach((workerId, vo) -> {
+                if (isNewer(vo, predictTime)) {
+                    replacement.put(workerId, vo);
+                }
+            });
+            forecasts = replacement;
+        }
+    }
+
+    /**
+     * 读取指定工人的最近预测结果
+     *
+     * @param workerIds 工人ID；为空时返回全部
+     * @return 已有预测结果的工人，按工人ID排序
+     */
+    public List<FatiguePredictionVO> list(Collection<Long> workerIds) {
+        ConcurrentLongMap<FatiguePredictionVO> current = forecasts;
+        List<FatiguePredictionVO> result = new ArrayList<>();
+        if (ObjectUtil.isEmpty(workerIds)) {
+            current.forEach((workerId, vo) -> result.add(vo));
+        } else {
+            for (Long workerId : workerIds) {
+                FatiguePredictionVO vo = current.get(workerId);
+                if (ObjectUtil.isNotNull(vo)) {
+                    result.add(vo);
+                }
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.getWorkerId(), b.getWorkerId()));
+        return result;
+    }
+
+    /**
+     * 工人删除后调用（在事务内调用时延迟到提交后生效）
+     */
+    public void evictWorkers(Collection<Long> workerIds) {
+        List<Long> ids = new ArrayList<>(workerIds);
+        TransactionUtil.afterCommit(() -> {
+            synchronized (writeLock) {
+                ids.forEach(id -> forecasts.remove(id));
+            }
+        });
+    }
+
+    private static boolean isNewer(FatiguePredictionVO cached, LocalDateTime predictTime) {
+        return ObjectUtil.isNotNull(cached) && cached.getPredictTime().isAfter(predictTime);
+    }
+}
@@ -0,0 +1,157 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import gang.lu.riskmanagementproject.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.api.Updater;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LSTM_MODEL_EVICTED;
+
+/**
+ * 工人疲劳 LSTM 模型缓存
+ * <p>
+ * 以工人 ID 为键，保存训练好的网络及其 Min-Max 归一化参数、训练时最新一条读数的 ID，
+ * 使稳态请求只做推理，有新读数时只对新增部分微调。
+ * <p>
+ * 按网络参数 + 优化器状态估算每个模型的内存占用，总占用超过
+ * {@code lstm.model-cache.max-memory-mb} 时按最近最少使用淘汰。
+ * 条目本身不是线程安全的，调用方需在同一工人的锁内使用（见 {@link FatiguePredictHelper}）。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-14
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FatigueModelCache {
+
+    private final LstmProperty lstmProperty;
+
+    /**
+     * 访问顺序的 LinkedHashMap，迭代首个元素即最近最少使用
+     */
+    private final LinkedHashMap<Long, FatigueModel> models = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * 获取工人的缓存模型
+     *
+     * @param workerId 工人ID
+     * @return 缓存模型；未缓存时返回 null
+     */
+    public synchronized FatigueModel get(long workerId) {
+        return models.get(workerId);
+    }
+
+    /**
+     * 缓存工人模型（替换已有模型），超出内存上限时淘汰最近最少使用的其他模型
+     *
+     * @param workerId 工人ID
+     * @param model    训练好的模型
+     */
+    public synchronized void put(long workerId, FatigueModel model) {
+        FatigueModel old = models.put(workerId, model);
+        if (ObjectUtil.isNotNull(old)) {
+            totalBytes -= old.sizeBytes;
+        }
+        totalBytes += model.sizeBytes;
+        long budget = lstmProperty.getModelCacheMaxMemoryMb() * 1024 * 1024;
+        Iterator<Map.Entry<Long, FatigueModel>> it = models.entrySet().iterator();
+        while (totalBytes > budget && it.hasNext()) {
+            Map.Entry<Long, FatigueModel> eldest = it.next();
+            if (eldest.getKey() == workerId) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().sizeBytes;
+            it.remove();
+            log.debug(LOG_LSTM_MODEL_EVICTED, eldest.getKey(), totalBytes / 1024);
+        }
+    }
+
+    /**
+     * 移除工人的缓存模型（显式重训前调用）
+     *
+     * @param workerId 工人ID
+     */
+    public synchronized void remove(long workerId) {
+        FatigueModel old = models.remove(workerId);
+        if (ObjectUtil.isNotNull(old)) {
+            totalBytes -= old.sizeBytes;
+        }
+    }
+
+    /**
+     * 工人删除后调用（在事务内调用时延迟到提交后生效）
+     */
+    public void evictWorkers(Collection<Long> workerIds) {
+        List<Long> ids = new ArrayList<>(workerIds);
+        TransactionUtil.afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    /**
+     * 当前缓存的模型数
+     */
+    public synchronized int size() {
+        return models.size();
+    }
+
+    /**
+     * 当前估算的内存占用（字节）
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 缓存的模型及其归一化参数
+     */
+    static final class FatigueModel {
+        final MultiLayerNetwork network;
+        final double min;
+        final double range;
+        final long sizeBytes;
+        /**
+         * 已参与训练的最新一条读数ID，之后的读数视为新增
+         */
+        long lastRecordId;
+
+        FatigueModel(MultiLayerNetwork network, double min, double range, long lastRecordId) {
+            this.network = network;
+            this.min = min;
+            this.range = range;
+            this.lastRecordId = lastRecordId;
+            this.sizeBytes = estimateBytes(network);
+        }
+
+        /**
+         * 值是否落在训练时的归一化范围内（超出则需全量重训）
+         */
+        boolean covers(double value) {
+            return value >= min && value <= min + range;
+        }
+
+        private static long estimateBytes(MultiLayerNetwork network) {
+            INDArray params = network.params();
+            long bytes = params.length() * params.dataType().width();
+            Updater updater = network.getUpdater(false);
+            INDArray state = ObjectUtil.isNull(updater) ? null : updater.getStateViewArray();
+            if (ObjectUtil.isNotNull(state)) {
+                bytes += state.length() * state.dataType().width();
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.util.ModelSerializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LSTM_MODEL_LOADED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LSTM_MODEL_LOAD_FAILED;
+
+/**
+ * 离线疲劳模型注册表
+ * <p>
+ * 模型文件由 {@link FatigueModelTrainer} 写入 {@code lstm.offline.model-dir}，目录结构为
+ * {@code <model-dir>/<global | 工种枚举名>/fatigue-<版本>.zip}，版本为训练时间戳，文件名按字典序即新旧顺序。
+ * <p>
+ * 启动完成后及每隔 {@code lstm.offline.reload-interval-ms} 扫描目录，发现更新的版本即加载并原子替换，
+ * 推理中的请求继续使用旧模型，无需重启即可切换到新模型。
+ * <p>
+ * 离线模型固定按疲劳百分比的取值范围 [0, {@value #FATIGUE_MAX}] 归一化，不依赖单个工人的历史范围。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-15
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FatigueModelRegistry {
+
+    /**
+     * 全局模型（不区分工种）的目录名
+     */
+    static final String GLOBAL_KEY = "global";
+
+    static final String FILE_PREFIX = "fatigue-";
+
+    static final String FILE_SUFFIX = ".zip";
+
+    /**
+     * 离线模型的归一化上限（疲劳百分比最大值）
+     */
+    static final double FATIGUE_MAX = 100.0;
+
+    /**
+     * 各计算线程持有的网络副本：模型名 → 副本，同一模型名只保留当前线程最近使用的版本
+     */
+    private static final ThreadLocal<Map<String, Replica>> REPLICAS = ThreadLocal.withInitial(HashMap::new);
+
+    private final LstmProperty lstmProperty;
+
+    private final Map<String, OfflineModel> models = new ConcurrentHashMap<>();
+
+    /**
+     * 扫描模型目录，加载比当前更新的模型版本（加载失败保留旧模型）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${lstm.offline.reload-interval-ms:60000}",
+            fixedDelayString = "${lstm.offline.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        if (!lstmProperty.isOfflineEnabled()) {
+            return;
+        }
+        Path root = Paths.get(lstmProperty.getOfflineModelDir());
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> keyDirs;
+        try (Stream<Path> stream = Files.list(root)) {
+            keyDirs = stream.filter(Files::isDirectory).collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(LOG_LSTM_MODEL_LOAD_FAILED, root, e.getMessage());
+            return;
+        }
+        for (Path keyDir : keyDirs) {
+            List<Path> artifacts = listArtifacts(keyDir);
+            if (artifacts.isEmpty()) {
+                continue;
+            }
+            Path latest = artifacts.get(artifacts.size() - 1);
+            String key = keyDir.getFileName().toString();
+            String version = versionOf(latest);
+            OfflineModel current = models.get(key);
+            if (ObjectUtil.isNotNull(current) && current.version.equals(version)) {
+                continue;
+            }
+            try {
+                MultiLayerNetwork network = ModelSerializer.restoreMultiLayerNetwork(latest.toFile(), false);
+                models.put(key, new OfflineModel(key, version, network));
+                log.info(LOG_LSTM_MODEL_LOADED, key, version);
+            } catch (Exception e) {
+                log.warn(LOG_LSTM_MODEL_LOAD_FAILED, latest, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 查找工人可用的离线模型：优先工种模型，没有时使用全局模型
+     *
+     * @param workType 工人工种（可为 null）
+     * @return 离线模型；未启用或尚无模型文件时返回 null
+     */
+    public OfflineModel find(WorkType workType) {
+        if (!lstmProperty.isOfflineEnabled()) {
+            return null;
+        }
+        OfflineModel model = ObjectUtil.isNull(workType) ? null : models.get(workType.name());
+        return ObjectUtil.isNotNull(model) ? model : models.get(GLOBAL_KEY);
+    }
+
+    /**
+     * 当前已加载的模型版本
+     *
+     * @return 模型名（global / 工种枚举名）→ 版本
+     */
+    public Map<String, String> versions() {
+        Map<String, String> versions = new TreeMap<>();
+        models.forEach((key, model) -> versions.put(key, model.version));
+        return versions;
+    }
+
+    /**
+     * 模型目录下的模型文件，按版本从旧到新排序（写入中的临时文件不计入）
+     */
+    static List<Path> listArtifacts(Path keyDir) {
+        if (!Files.isDirectory(keyDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> stream = Files.list(keyDir)) {
+            return stream
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(LOG_LSTM_MODEL_LOAD_FAILED, keyDir, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static String versionOf(Path artifact) {
+        String name = artifact.getFileName().toString();
+        return name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+    }
+
+    /**
+     * 已加载的离线模型（只用于推理）
+     * <p>
+     * 递推推理使用 {@code rnnTimeStep}，隐藏状态保存在网络对象中，不能跨线程共享；
+     * 副本统一存放在注册表级的 {@link #REPLICAS} 中，按模型名每个线程只保留一份，
+     * 模型被新版本替换后，线程下次使用时克隆新版本并覆盖旧副本。
+     */
+    static final class OfflineModel {
+        final String key;
+        final String version;
+        final MultiLayerNetwork network;
+
+        OfflineModel(String key, String version, MultiLayerNetwork network) {
+            this.key = key;
+            this.version = version;
+            this.network = network;
+        }
+
+        /**
+         * 当前线程专用的网络副本（版本不一致时重新克隆）
+         */
+        MultiLayerNetwork replica() {
+            Map<String, Replica> replicas = REPLICAS.get();
+            Replica replica = replicas.get(key);
+            if (ObjectUtil.isNull(replica) || !replica.version.equals(version)) {
+                replica = new Replica(version, network.clone());
+                replicas.put(key, replica);
+            }
+            return replica.network;
+        }
+    }
+
+    /**
+     * 线程私有的网络副本及其来源版本
+     */
+    private static final class Replica {
+        final String version;
+        final MultiLayerNetwork network;
+
+        Replica(String version, MultiLayerNetwork network) {
+            this.version = version;
+            this.network = network;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.po.Worker;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
+import gang.lu.riskmanagementproject.mapper.WorkerMapper;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.util.ModelSerializer;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
+import static gang.lu.riskmanagementproject.helper.FatigueModelRegistry.*;
+
+/**
+ * 离线疲劳模型训练器
+ * <p>
+ * 流式扫描 {@code t_risk_indicator} 全表，按工人切成定长滑动窗口样本（不足一个窗口的短序列整段作为一个样本，
+ * 以掩码补齐），训练一个全局模型，以及样本数达到 {@code lstm.offline.min-samples} 的各工种模型，
+ * 用 {@link ModelSerializer} 写入版本化的模型目录，写完后通知 {@link FatigueModelRegistry} 热加载。
+ * <p>
+ * 训练只在单个后台线程中执行，同一时刻最多一次；请求线程和定时任务线程只负责提交。
+ * 先写临时文件再原子改名，注册表不会读到写了一半的模型。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-15
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FatigueModelTrainer {
+
+    private static final String TRAINER_THREAD_NAME = "fatigue-model-trainer";
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * 样本打乱的随机种子（与网络初始化种子一致，训练结果可复现）
+     */
+    private static final long SHUFFLE_SEED = 42L;
+
+    private final LstmProperty lstmProperty;
+    private final RiskIndicatorMapper riskIndicatorMapper;
+    private final WorkerMapper workerMapper;
+    private final FatigueModelRegistry fatigueModelRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, TRAINER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交一次离线训练
+     *
+     * @return 是否已提交；上一次训练尚未结束时返回 false
+     */
+    public boolean submit() {
+        if (!running.compareAndSet(false, true)) {
+            log.info(LOG_LSTM_OFFLINE_TRAIN_RUNNING);
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                trainAll();
+            } catch (Exception e) {
+                log.error(LOG_LSTM_OFFLINE_TRAIN_FAILED, e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 是否正在训练
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    // ======================== 内部方法 ========================
+
+    private void trainAll() throws IOException {
+        // 1. 工人 → 工种（工人表较小，只查两列）
+        Map<Long, WorkType> workTypes = new HashMap<>();
+        for (Worker worker : workerMapper.selectList(
+                Wrappers.<Worker>lambdaQuery().select(Worker::getId, Worker::getWorkType))) {
+            workTypes.put(worker.getId(), worker.getWorkType());
+        }
+
+        // 2. 流式扫描全表，按工人切窗口
+        WindowCollector collector = new WindowCollector(workTypes);
+        riskIndicatorMapper.scanFatigueSeries(ctx -> collector.accept(ctx.getResultObject()));
+        collector.finish();
+        log.info(LOG_LSTM_OFFLINE_TRAIN_START, collector.workerCount, collector.all.size());
+
+        // 3. 全局模型 + 样本充足的工种模型，同一批次使用同一版本号
+        String version = LocalDateTime.now().format(VERSION_FORMAT);
+        trainAndSave(GLOBAL_KEY, collector.all, version);
+        for (Map.Entry<WorkType, List<double[]>> entry : collector.byWorkType.entrySet()) {
+            trainAndSave(entry.getKey().name(), entry.getValue(), version);
+        }
+
+        // 4. 立即热加载，不等下一次扫描
+        fatigueModelRegistry.reload();
+    }
+
+    private void trainAndSave(String key, List<double[]> windows, String version) throws IOException {
+        if (windows.size() < lstmProperty.getOfflineMinSamples()) {
+            log.info(LOG_LSTM_OFFLINE_TRAIN_SKIPPED, key, windows.size(), lstmProperty.getOfflineMinSamples());
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<DataSet> batches = toBatches(windows);
+        MultiLayerNetwork network = FatiguePredictHelper.buildModel(lstmProperty);
+        Random random = new Random(SHUFFLE_SEED);
+        for (int epoch = 0; epoch < lstmProperty.getOfflineEpochs(); epoch++) {
+            Collections.shuffle(batches, random);
+            for (DataSet batch : batches) {
+                network.fit(batch);
+            }
+        }
+
+        Path keyDir = Paths.get(lstmProperty.getOfflineModelDir(), key);
+        Files.createDirectories(keyDir);
+        Path target = keyDir.resolve(FILE_PREFIX + version + FILE_SUFFIX);
+        Path temp = keyDir.resolve(target.getFileName() + TEMP_SUFFIX);
+        // 只用于推理，不保存优化器状态
+        ModelSerializer.writeModel(network, temp.toFile(), false);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        pruneOldVersions(keyDir);
+        log.info(LOG_LSTM_OFFLINE_TRAIN_SAVED, key, windows.size(), target, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 把窗口打包成 [batch, 1, windowSize] 的小批量，短窗口尾部补零并以掩码屏蔽
+     */
+    private List<DataSet> toBatches(List<double[]> windows) {
+        List<double[]> shuffled = new ArrayList<>(windows);
+        Collections.shuffle(shuffled, new Random(SHUFFLE_SEED));
+        int timeSteps = lstmProperty.getOfflineWindowSize();
+        int batchSize = Math.max(1, lstmProperty.getOfflineBatchSize());
+        List<DataSet> batches = new ArrayList<>();
+        for (int from = 0; from < shuffled.size(); from += batchSize) {
+            int size = Math.min(batchSize, shuffled.size() - from);
+            double[] features = new double[size * timeSteps];
+            double[] labels = new double[size * timeSteps];
+            double[] mask = new double[size * timeSteps];
+            for (int b = 0; b < size; b++) {
+                double[] window = shuffled.get(from + b);
+                int offset = b * timeSteps;
+                for (int t = 0; t < window.length - 1; t++) {
+                    features[offset + t] = window[t] / FATIGUE_MAX;
+                    labels[offset + t] = window[t + 1] / FATIGUE_MAX;
+                    mask[offset + t] = 1.0;
+                }
+            }
+            long[] shape = {size, 1, timeSteps};
+            long[] maskShape = {size, timeSteps};
+            batches.add(new DataSet(
+                    Nd4j.create(features, shape, 'c'),
+                    Nd4j.create(labels, shape, 'c'),
+                    Nd4j.create(mask, maskShape, 'c'),
+                    Nd4j.create(mask, maskShape, 'c')));
+        }
+        return batches;
+    }
+
+    private void pruneOldVersions(Path keyDir) throws IOException {
+        List<Path> artifacts = FatigueModelRegistry.listArtifacts(keyDir);
+        int keep = Math.max(1, lstmProperty.getOfflineKeepVersions());
+        for (int i = 0; i < artifacts.size() - keep; i++) {
+            Files.deleteIfExists(artifacts.get(i));
+        }
+    }
+
+    /**
+     * 按工人聚合扫描结果（结果已按工人、时间排序），每个工人只保留最近的若干条，换工人时切窗口
+     */
+    private final class WindowCollector {
+        private final Map<Long, WorkType> workTypes;
+        private final List<double[]> all = new ArrayList<>();
+        private final Map<WorkType, List<double[]>> byWorkType = new EnumMap<>(WorkType.class);
+        private final double[] ring;
+        private final int windowLength;
+        private final int stride;
+        private long currentWorkerId = -1L;
+        private long seen;
+        private int workerCount;
+
+        private WindowCollector(Map<Long, WorkType> workTypes) {
+            this.workTypes = workTypes;
+            this.ring = new double[Math.max(2, lstmProperty.getOfflineMaxHistoryPerWorker())];
+            // 窗口含 windowSize 个输入步 + 1 个标签步
+            this.windowLength = lstmProperty.getOfflineWindowSize() + 1;
+            this.stride = Math.max(1, lstmProperty.getOfflineWindowSize() / 2);
+        }
+
+        private void accept(RiskIndicator row) {
+            if (row.getWorkerId() != currentWorkerId) {
+                finish();
+                currentWorkerId = row.getWorkerId();
+                seen = 0;
+            }
+            ring[(int) (seen++ % ring.length)] = row.getFatiguePercent();
+        }
+
+        private void finish() {
+            int length = (int) Math.min(seen, ring.length);
+            if (currentWorkerId < 0 || length < Math.max(2, lstmProperty.getMinHistory())) {
+                return;
+            }
+            workerCount++;
+            // 展开环形缓冲为时间正序
+            double[] series = new double[length];
+            long first = seen - length;
+            for (int i = 0; i < length; i++) {
+                series[i] = ring[(int) ((first + i) % ring.length)];
+            }
+            WorkType workType = workTypes.get(currentWorkerId);
+            if (length <= windowLength) {
+                add(series, workType);
+                return;
+            }
+            int from = 0;
+            for (; from + windowLength <= length; from += stride) {
+                add(Arrays.copyOfRange(series, from, from + windowLength), workType);
+            }
+            // 步长不整除时补一个与末尾对齐的窗口，最近的读数总能参与训练
+            if (from - stride + windowLength < length) {
+                add(Arrays.copyOfRange(series, length - windowLength, length), workType);
+            }
+        }
+
+        private void add(double[] window, WorkType workType) {
+            all.add(window);
+            if (ObjectUtil.isNotNull(workType)) {
+                byWorkType.computeIfAbsent(workType, k -> new ArrayList<>()).add(window);
+            }
+        }
+    }
+}
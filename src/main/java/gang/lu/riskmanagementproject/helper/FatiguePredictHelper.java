@@ -1,10 +1,19 @@
 package gang.lu.riskmanagementproject.helper;
 
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
 import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.forecast.FatigueForecaster;
+import gang.lu.riskmanagementproject.helper.FatigueModelCache.FatigueModel;
+import gang.lu.riskmanagementproject.helper.FatigueModelRegistry.OfflineModel;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
 import gang.lu.riskmanagementproject.property.LstmProperty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
 import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
 import org.deeplearning4j.nn.conf.layers.LSTM;
 import org.deeplearning4j.nn.conf.layers.RnnOutputLayer;
@@ -12,6 +21,13 @@ import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
 import org.deeplearning4j.nn.weights.WeightInit;
 import org.deeplearning4j.optimize.listeners.ScoreIterationListener;
 import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.factory.Nd4j;
@@ -20,8 +36,8 @@ import org.nd4j.linalg.lossfunctions.LossFunctions;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
+import javax.annotation.PostConstruct;
+import java.util.*;
 
 import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
 import static gang.lu.riskmanagementproject.message.FailedMessages.LSTM_PREDICT_FAILED;
@@ -29,16 +45,30 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.LSTM_PREDICT_
 /**
  * LSTM 疲劳预测核心组件。
  * <p>
- * 每次调用 {@link #predict} 时执行以下流程：
+ * {@link FatigueModelRegistry} 中已有离线训练的模型（工种模型优先，其次全局模型）时，
+ * 以最近一个训练窗口长度的历史直接推理，请求线程不做任何训练。
+ * <p>
+ * 尚无离线模型（如首次部署、离线模型未启用）或显式重训时，使用工人自己的模型，
+ * 模型缓存在 {@link FatigueModelCache} 中，调用 {@link #predict} 时：
  * <ol>
- *   <li>对输入序列做 Min-Max 归一化（基于训练集范围，防止量纲影响）；</li>
- *   <li>构建 many-to-one RNN 样本，将全序列送入单层 LSTM 训练；</li>
- *   <li>滚动推理 6 步，将上一步预测值追加到窗口；</li>
- *   <li>反归一化后返回原始量纲预测值列表，并截断到 [0, 100]。</li>
+ *   <li>未缓存、显式重训、缓存模型未覆盖的读数被淘汰出历史窗口，或新读数超出训练时的归一化范围：
+ *       对全序列做 Min-Max 归一化并从头训练，结果写入缓存；</li>
+ *   <li>命中缓存且有新读数：沿用缓存的归一化参数，只对新增读数微调少量轮次；</li>
+ *   <li>命中缓存且无新读数：直接推理；</li>
+ *   <li>以完整历史为输入做一次前向计算，之后用 {@code rnnTimeStep} 只把上一步预测值作为新时间步递推，
+ *       共 6 步，反归一化后截断到 [0, 100]。</li>
  * </ol>
  * <p>
- * <b>适用场景：</b>嵌入式、数据量小（≤ 200 条）的即时训练模式。
- * 若需提升性能，可改为离线训练 + 加载序列化模型文件的方式。
+ * 推理的输入与输出都分配在线程级 ND4J 工作区中，按整块 {@code double[]} 一次拷贝，
+ * 首次推理后工作区内存被复用，每次预测几乎不再申请堆外内存。
+ * {@code rnnTimeStep} 会在网络内保存隐藏状态，共享的离线模型按线程各持有一个副本（见 {@link OfflineModel#replica()}）。
+ * <p>
+ * 同一工人的训练与推理在分段锁内串行执行（网络对象非线程安全），
+ * 并发请求同一工人时只有第一个训练，其余等待后直接命中缓存。
+ * <p>
+ * 另可选用 {@link FatigueForecaster} 统计方法（指数平滑 / 线性趋势 / 阻尼趋势，见 {@link #forecast}），
+ * 直接在 double[] 上计算，耗时为微秒级；自动选择时历史不足 {@code forecast.auto-lstm-min-history}
+ * 条使用阻尼趋势（短序列上 LSTM 难以学到有效模式），否则使用 LSTM。
  *
  * @author Franz Liszt
  * @since 2026-02-27
@@ -48,93 +78,401 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.LSTM_PREDICT_
 @RequiredArgsConstructor
 public class FatiguePredictHelper {
 
+    /**
+     * 工人分段锁数量（2 的幂）
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String INFER_WORKSPACE_ID = "FATIGUE_LSTM_INFER";
+
+    /**
+     * 推理工作区：首次推理后按实际用量分配，不足时扩容，之后每次推理复用
+     */
+    private static final WorkspaceConfiguration INFER_WORKSPACE_CONFIG = WorkspaceConfiguration.builder()
+            .initialSize(0)
+            .policyAllocation(AllocationPolicy.OVERALLOCATE)
+            .overallocationLimit(0.2)
+            .policyLearning(LearningPolicy.FIRST_LOOP)
+            .policySpill(SpillPolicy.REALLOCATE)
+            .policyReset(ResetPolicy.BLOCK_LEFT)
+            .build();
+
     private final LstmProperty lstmProperty;
+    private final FatigueModelCache fatigueModelCache;
+    private final FatigueModelRegistry fatigueModelRegistry;
+    private final ForecastProperty forecastProperty;
+    private final List<FatigueForecaster> forecasterList;
+
+    private final Object[] locks = createLocks();
+
+    private final Map<ForecasterType, FatigueForecaster> forecasters = new EnumMap<>(ForecasterType.class);
+
+    @PostConstruct
+    public void init() {
+        for (FatigueForecaster forecaster : forecasterList) {
+            forecasters.put(forecaster.type(), forecaster);
+        }
+    }
 
     /**
-     * 训练 LSTM 并滚动推理未来6步的疲劳百分比。
+     * 确定实际使用的预测方法：未指定或自动时按历史长度选择
      *
-     * @param historyValues 历史疲劳百分比序列（时间正序，最旧在前，长度 ≥ 最小历史记录限制）
+     * @param requested     请求指定的方法（可为 null）
+     * @param historyLength 有效历史记录条数
+     * @return LSTM 或某个统计方法，不会返回 {@link ForecasterType#AUTO}
+     */
+    public ForecasterType resolveForecaster(ForecasterType requested, int historyLength) {
+        if (ObjectUtil.isNotNull(requested) && requested != ForecasterType.AUTO) {
+            return requested;
+        }
+        // 不低于 LSTM 的最少条数，避免自动选择后再因历史不足被拒绝
+        int lstmMinHistory = Math.max(forecastProperty.getAutoLstmMinHistory(), lstmProperty.getMinHistory());
+        return historyLength < lstmMinHistory
+                ? ForecasterType.DAMPED_TREND
+                : ForecasterType.LSTM;
+    }
+
+    /**
+     * 使用统计方法预测未来6步的疲劳百分比（不训练、不加锁）。
+     *
+     * @param workerId 工人ID（仅用于日志）
+     * @param type     统计方法（非 LSTM / AUTO）
+     * @param values   疲劳百分比序列（时间正序，至少 1 条）
+     * @return 未来 6 步预测值列表（截断到 [0, 100]，精确到小数点后两位）
+     */
+    public List<Double> forecast(Long workerId, ForecasterType type, double[] values) {
+        FatigueForecaster forecaster = forecasters.get(type);
+        long start = System.nanoTime();
+        double[] out = new double[lstmProperty.getPredictSteps()];
+        forecaster.forecast(values, values.length, out);
+        long costMicros = (System.nanoTime() - start) / 1_000;
+        List<Double> predictions = new ArrayList<>(out.length);
+        for (double v : out) {
+            predictions.add(toFatigue(v, 0.0, 1.0));
+        }
+        log.info(LOG_FORECAST_COMPLETE, workerId, type.getValue(), costMicros, predictions);
+        return predictions;
+    }
+
+    /**
+     * 使用离线模型或工人的缓存模型（必要时训练或微调）滚动推理未来6步的疲劳百分比。
+     *
+     * @param workerId 工人ID
+     * @param workType 工人工种（用于选择离线模型，可为 null）
+     * @param history  历史风险指标（时间正序，最旧在前，疲劳百分比非空，长度 ≥ 最小历史记录限制）
+     * @param retrain  是否不使用离线模型，丢弃工人的缓存模型并全量重训
      * @return 未来 6 步预测值列表（原始量纲 %，精确到小数点后两位）
      * @throws BizException 模型训练或推理异常时抛出
      */
-    public List<Double> predict(List<Double> historyValues) {
-        int n = historyValues.size();
-        log.info(LOG_LSTM_START_TRAINING,
-                n, lstmProperty.getEpochs(), lstmProperty.getHiddenSize());
+    public List<Double> predict(Long workerId, WorkType workType, List<RiskIndicator> history, boolean retrain) {
+        int n = history.size();
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = history.get(i).getFatiguePercent().doubleValue();
+        }
 
-        try {
-            // 1. Min-Max 归一化
-            double min = historyValues.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-            double max = historyValues.stream().mapToDouble(Double::doubleValue).max().orElse(1.0);
-            double range = (max - min) < 1e-6 ? 1.0 : (max - min);
-            double[] normalized = historyValues.stream()
-                    .mapToDouble(v -> (v - min) / range)
-                    .toArray();
-            // 2. 构建 RNN 训练样本（many-to-one）
-            // shape: [batchSize=1, features=1, timeSteps=n-1]
-            // 输入：t=0...n-2，标签：t=1...n-1（每步预测下一步）
-            int timeSteps = n - 1;
-            INDArray input = Nd4j.zeros(1, 1, timeSteps);
-            INDArray labels = Nd4j.zeros(1, 1, timeSteps);
-            for (int i = 0; i < timeSteps; i++) {
-                input.putScalar(new int[]{0, 0, i}, normalized[i]);
-                labels.putScalar(new int[]{0, 0, i}, normalized[i + 1]);
+        OfflineModel offline = retrain ? null : fatigueModelRegistry.find(workType);
+        if (ObjectUtil.isNotNull(offline)) {
+            log.info(LOG_LSTM_OFFLINE_INFER, workerId, offline.key, offline.version);
+            try {
+                // 与训练窗口等长，超出部分对离线模型没有意义
+                double[] window = Arrays.copyOfRange(values,
+                        Math.max(0, n - lstmProperty.getOfflineWindowSize()), n);
+                List<Double> predictions = rollingPredict(offline.replica(), 0.0,
+                        FatigueModelRegistry.FATIGUE_MAX, window);
+                log.info(LOG_LSTM_REASON_COMPLETE, predictions);
+                return predictions;
+            } catch (Exception e) {
+                log.error(LOG_LSTM_REASON_FAILED, e);
+                throw new BizException(HttpStatus.INTERNAL_SERVER_ERROR, LSTM_PREDICT_FAILED);
             }
-            DataSet trainingData = new DataSet(input, labels);
-
-            // 3. 构建并训练 LSTM 网络
-            MultiLayerNetwork model = buildModel();
-            // ScoreIterationListener 仅在最后一个 epoch 打印，减少日志噪声
-            model.addListeners(new ScoreIterationListener(lstmProperty.getEpochs()));
-            for (int epoch = 0; epoch < lstmProperty.getEpochs(); epoch++) {
-                model.fit(trainingData);
+        }
+
+        long lastRecordId = history.get(n - 1).getId();
+        synchronized (lockFor(workerId)) {
+            try {
+                FatigueModel model = resolveModel(workerId, history, values, lastRecordId, retrain);
+                List<Double> predictions = rollingPredict(model.network, model.min, model.range, values);
+                log.info(LOG_LSTM_REASON_COMPLETE, predictions);
+                return predictions;
+            } catch (Exception e) {
+                // 训练 / 微调中途失败的模型状态不可信，丢弃
+                fatigueModelCache.remove(workerId);
+                log.error(LOG_LSTM_REASON_FAILED, e);
+                throw new BizException(HttpStatus.INTERNAL_SERVER_ERROR, LSTM_PREDICT_FAILED);
             }
-            log.info(LOG_LSTM_TRAINING_COMPLETE);
-
-            // 4. 滚动推理：以末尾窗口滚动预测未来 6 步
-            // 初始窗口 = 归一化后的最后 timeSteps 个值
-            double[] window = new double[timeSteps];
-            System.arraycopy(normalized, 0, window, 0, timeSteps);
-            List<Double> predictions = new ArrayList<>(lstmProperty.getPredictSteps());
-            for (int step = 0; step < lstmProperty.getPredictSteps(); step++) {
-                // 每次推理前重置 RNN 状态，确保独立
-                model.rnnClearPreviousState();
-                INDArray inferInput = Nd4j.zeros(1, 1, timeSteps);
-                for (int i = 0; i < timeSteps; i++) {
-                    inferInput.putScalar(new int[]{0, 0, i}, window[i]);
+        }
+    }
+
+    /**
+     * 批量滚动推理多个工人未来6步的疲劳百分比（只使用离线模型）。
+     * <p>
+     * 按所用离线模型及窗口长度分组（{@code rnnTimeStep} 不支持掩码，同一批次的序列须等长），
+     * 每组按 {@code lstm.fleet.batch-size} 打包成 [N, 1, T] 小批量，先整体前向一次，
+     * 之后每个预测步只以 [N, 1] 的上一步预测值递推一次，结果与逐个推理一致。
+     *
+     * @param histories 工人ID → 疲劳百分比序列（时间正序）
+     * @param workTypes 工人ID → 工种（用于选择离线模型）
+     * @return 工人ID → 预测序列；没有可用离线模型的工人不在结果中
+     * @throws BizException 推理异常时抛出
+     */
+    public Map<Long, List<Double>> predictBatch(Map<Long, double[]> histories, Map<Long, WorkType> workTypes) {
+        // 1. 按离线模型（按引用区分）及窗口长度分组
+        int windowSize = lstmProperty.getOfflineWindowSize();
+        Map<OfflineModel, Map<Integer, List<Long>>> groups = new IdentityHashMap<>();
+        for (Map.Entry<Long, double[]> entry : histories.entrySet()) {
+            OfflineModel model = fatigueModelRegistry.find(workTypes.get(entry.getKey()));
+            if (ObjectUtil.isNotNull(model)) {
+                groups.computeIfAbsent(model, k -> new TreeMap<>())
+                        .computeIfAbsent(Math.min(windowSize, entry.getValue().length), k -> new ArrayList<>())
+                        .add(entry.getKey());
+            }
+        }
+        // 2. 每组分块批量推理
+        Map<Long, List<Double>> result = new HashMap<>(histories.size() * 2);
+        int batchSize = Math.max(1, lstmProperty.getFleetBatchSize());
+        try {
+            for (Map.Entry<OfflineModel, Map<Integer, List<Long>>> group : groups.entrySet()) {
+                MultiLayerNetwork network = group.getKey().replica();
+                int workerCount = 0;
+                for (Map.Entry<Integer, List<Long>> sameLength : group.getValue().entrySet()) {
+                    List<Long> workerIds = sameLength.getValue();
+                    for (int from = 0; from < workerIds.size(); from += batchSize) {
+                        List<Long> chunk = workerIds.subList(from, Math.min(from + batchSize, workerIds.size()));
+                        rollingPredictBatch(network, chunk, sameLength.getKey(), histories, result);
+                    }
+                    workerCount += workerIds.size();
                 }
-                // 取最后一个时间步的输出作为预测值
-                INDArray output = model.output(inferInput);
-                double predNorm = output.getDouble(0, 0, timeSteps - 1);
-                double predOrigin = predNorm * range + min;
-                // 截断到合法疲劳范围 [0, 100]
-                predOrigin = Math.max(0.0, Math.min(100.0, predOrigin));
-                // 保留两位小数
-                predictions.add(Math.round(predOrigin * 100.0) / 100.0);
-                // 滑动窗口：丢最旧一步，追加本步预测的归一化值
-                System.arraycopy(window, 1, window, 0, timeSteps - 1);
-                window[timeSteps - 1] = predNorm;
+                log.info(LOG_LSTM_BATCH_COMPLETE, group.getKey().key, group.getKey().version, workerCount);
             }
-
-            log.info(LOG_LSTM_REASON_COMPLETE, predictions);
-            return predictions;
-
         } catch (Exception e) {
             log.error(LOG_LSTM_REASON_FAILED, e);
             throw new BizException(HttpStatus.INTERNAL_SERVER_ERROR, LSTM_PREDICT_FAILED);
         }
+        return result;
     }
 
     // ======================== 内部方法 ========================
 
     /**
-     * 构建单层 LSTM + RnnOutputLayer 网络并完成初始化。
+     * 一个等长小批量的递推推理，结果写入 result
+     */
+    private void rollingPredictBatch(MultiLayerNetwork network, List<Long> workerIds, int timeSteps,
+                                     Map<Long, double[]> histories, Map<Long, List<Double>> result) {
+        int size = workerIds.size();
+        // 各工人取最近 timeSteps 条历史，按 [0, 100] 归一化，按 [N, 1, T] 的 c 顺序平铺
+        double[] features = new double[size * timeSteps];
+        for (int b = 0; b < size; b++) {
+            double[] values = histories.get(workerIds.get(b));
+            int offset = values.length - timeSteps;
+            for (int t = 0; t < timeSteps; t++) {
+                features[b * timeSteps + t] = values[offset + t] / FatigueModelRegistry.FATIGUE_MAX;
+            }
+        }
+        double[][] predNorm = rollForward(network, features, size, timeSteps, lstmProperty.getPredictSteps());
+        for (int b = 0; b < size; b++) {
+            result.put(workerIds.get(b), toFatigueList(predNorm[b], 0.0, FatigueModelRegistry.FATIGUE_MAX));
+        }
+    }
+
+    /**
+     * 取得可直接推理的模型：命中缓存则按需微调，否则全量训练
+     */
+    private FatigueModel resolveModel(Long workerId, List<RiskIndicator> history, double[] values,
+                                      long lastRecordId, boolean retrain) {
+        if (!lstmProperty.isModelCacheEnabled()) {
+            return train(values, lastRecordId);
+        }
+        if (retrain) {
+            fatigueModelCache.remove(workerId);
+        }
+        FatigueModel cached = fatigueModelCache.get(workerId);
+        if (ObjectUtil.isNotNull(cached)) {
+            int trainedIndex = indexOfRecord(history, cached.lastRecordId);
+            if (trainedIndex == values.length - 1) {
+                log.info(LOG_LSTM_MODEL_HIT, workerId);
+                return cached;
+            }
+            if (trainedIndex >= 0 && coversTail(cached, values, trainedIndex + 1)) {
+                fineTune(workerId, cached, values, trainedIndex, lastRecordId);
+                return cached;
+            }
+            log.info(LOG_LSTM_MODEL_STALE, workerId);
+        }
+        FatigueModel trained = train(values, lastRecordId);
+        fatigueModelCache.put(workerId, trained);
+        return trained;
+    }
+
+    /**
+     * 全量训练：按全序列计算归一化参数并从头训练
+     */
+    private FatigueModel train(double[] values, long lastRecordId) {
+        log.info(LOG_LSTM_START_TRAINING,
+                values.length, lstmProperty.getEpochs(), lstmProperty.getHiddenSize());
+        // 1. Min-Max 归一化参数
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double v : values) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double range = (max - min) < 1e-6 ? 1.0 : (max - min);
+
+        // 2. 构建并训练 LSTM 网络
+        MultiLayerNetwork network = buildModel(lstmProperty);
+        // ScoreIterationListener 仅在最后一个 epoch 打印，减少日志噪声
+        network.addListeners(new ScoreIterationListener(lstmProperty.getEpochs()));
+        fit(network, min, range, values, 0, lstmProperty.getEpochs());
+        log.info(LOG_LSTM_TRAINING_COMPLETE);
+        // 训练后再建条目，内存估算包含优化器状态
+        return new FatigueModel(network, min, range, lastRecordId);
+    }
+
+    /**
+     * 增量微调：只用上次训练的最后一条读数及其后的新读数构成样本
+     */
+    private void fineTune(Long workerId, FatigueModel model, double[] values, int trainedIndex,
+                          long lastRecordId) {
+        log.info(LOG_LSTM_FINE_TUNE, workerId, values.length - 1 - trainedIndex,
+                lstmProperty.getFineTuneEpochs());
+        fit(model.network, model.min, model.range, values, trainedIndex, lstmProperty.getFineTuneEpochs());
+        model.lastRecordId = lastRecordId;
+    }
+
+    /**
+     * 以 values[from...] 构建 RNN 样本并训练指定轮次
+     * <p>
+     * shape: [batchSize=1, features=1, timeSteps]，输入 t 步，标签 t+1 步（每步预测下一步）
+     */
+    private static void fit(MultiLayerNetwork network, double min, double range,
+                            double[] values, int from, int epochs) {
+        int timeSteps = values.length - 1 - from;
+        double[] features = new double[timeSteps];
+        double[] labels = new double[timeSteps];
+        for (int i = 0; i < timeSteps; i++) {
+            features[i] = (values[from + i] - min) / range;
+            labels[i] = (values[from + i + 1] - min) / range;
+        }
+        long[] shape = {1, 1, timeSteps};
+        DataSet trainingData = new DataSet(Nd4j.create(features, shape, 'c'), Nd4j.create(labels, shape, 'c'));
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            network.fit(trainingData);
+        }
+    }
+
+    /**
+     * 递推推理：以完整历史为输入预测下一步，再逐步以本步预测值为输入递推，共预测 6 步
+     */
+    private List<Double> rollingPredict(MultiLayerNetwork network, double min, double range, double[] values) {
+        int timeSteps = values.length;
+        double[] features = new double[timeSteps];
+        for (int i = 0; i < timeSteps; i++) {
+            features[i] = (values[i] - min) / range;
+        }
+        double[][] predNorm = rollForward(network, features, 1, timeSteps, lstmProperty.getPredictSteps());
+        return toFatigueList(predNorm[0], min, range);
+    }
+
+    /**
+     * 在当前线程的推理工作区中递推 predictSteps 步（推理前后清空网络的 RNN 状态）
+     *
+     * @param features  [batch, 1, timeSteps] 按 c 顺序平铺的归一化输入
+     * @return [batch][predictSteps] 归一化预测值
+     */
+    private static double[][] rollForward(MultiLayerNetwork network, double[] features, int batch, int timeSteps,
+                                          int predictSteps) {
+        double[][] predNorm = new double[batch][predictSteps];
+        network.rnnClearPreviousState();
+        try (MemoryWorkspace ws = Nd4j.getWorkspaceManager()
+                .getAndActivateWorkspace(INFER_WORKSPACE_CONFIG, INFER_WORKSPACE_ID)) {
+            // 1. 完整历史整体前向一次，取最后一个时间步的输出
+            INDArray output = network.rnnTimeStep(
+                    Nd4j.create(features, new long[]{batch, 1, timeSteps}, 'c'), ws);
+            INDArray next = Nd4j.create(DataType.FLOAT, batch, 1);
+            for (int b = 0; b < batch; b++) {
+                predNorm[b][0] = output.getDouble(b, 0, timeSteps - 1);
+                next.putScalar(b, predNorm[b][0]);
+            }
+            // 2. 之后每步只输入上一步的预测值 [batch, 1]，隐藏状态保存在网络中
+            for (int step = 1; step < predictSteps; step++) {
+                output = network.rnnTimeStep(next, ws);
+                for (int b = 0; b < batch; b++) {
+                    predNorm[b][step] = output.getDouble(b, 0);
+                    next.putScalar(b, predNorm[b][step]);
+                }
+            }
+        } finally {
+            network.rnnClearPreviousState();
+        }
+        return predNorm;
+    }
+
+    private static List<Double> toFatigueList(double[] predNorm, double min, double range) {
+        List<Double> predictions = new ArrayList<>(predNorm.length);
+        for (double v : predNorm) {
+            predictions.add(toFatigue(v, min, range));
+        }
+        return predictions;
+    }
+
+    /**
+     * 反归一化，截断到合法疲劳范围 [0, 100] 并保留两位小数
+     */
+    private static double toFatigue(double predNorm, double min, double range) {
+        double predOrigin = Math.max(0.0, Math.min(100.0, predNorm * range + min));
+        return Math.round(predOrigin * 100.0) / 100.0;
+    }
+
+    /**
+     * 新读数是否都在缓存模型的归一化范围内
+     */
+    private static boolean coversTail(FatigueModel model, double[] values, int from) {
+        for (int i = from; i < values.length; i++) {
+            if (!model.covers(values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从后往前查找读数在历史中的下标（新读数通常只有几条）
+     *
+     * @return 下标；不在本次历史窗口内时返回 -1
+     */
+    private static int indexOfRecord(List<RiskIndicator> history, long recordId) {
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).getId() == recordId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object lockFor(Long workerId) {
+        return locks[Long.hashCode(workerId) & (LOCK_STRIPES - 1)];
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    /**
+     * 构建单层 LSTM + RnnOutputLayer 网络并完成初始化（工人模型与离线模型共用同一结构）。
      *
+     * @param lstmProperty LSTM 参数
      * @return 已初始化的 {@link MultiLayerNetwork}
      */
-    private MultiLayerNetwork buildModel() {
+    static MultiLayerNetwork buildModel(LstmProperty lstmProperty) {
         MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
                 .seed(42)
+                .trainingWorkspaceMode(WorkspaceMode.ENABLED)
+                .inferenceWorkspaceMode(WorkspaceMode.ENABLED)
                 .weightInit(WeightInit.XAVIER)
                 .updater(new Adam(lstmProperty.getAdamLearningRate()))
                 .list()
@@ -154,4 +492,4 @@ public class FatiguePredictHelper {
         model.init();
         return model;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,182 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.domain.vo.normal.LatencyStatsVO;
+import gang.lu.riskmanagementproject.util.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 耗时指标登记表
+ * <p>
+ * 由日志切面与 SQL 耗时拦截器在每次调用结束时写入（不受日志级别与采样影响），按分类 + 名称各维护一个
+ * {@link LatencyHistogram}；同名方法（如多个服务的同名操作）合并统计。
+ * <p>
+ * 每个名称同时维护两份统计：自启动（或上次清空）起的累计值，以及按自然分钟轮换的窗口值。
+ * 累计分位数会被历史数据稀释，排查「当前是否变慢」时应查看上一个完整分钟的窗口统计。
+ * 窗口在写入或查询时惰性轮换，不依赖定时任务。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-12
+ */
+@Component
+public class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {0.50, 0.95, 0.99};
+
+    private static final double NANOS_PER_MS = 1_000_000D;
+
+    private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<MetricCategory, Map<String, WindowedHistogram>> histograms = new EnumMap<>(MetricCategory.class);
+
+    public LatencyRecorder() {
+        for (MetricCategory category : MetricCategory.values()) {
+            histograms.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 记录一次调用耗时
+     *
+     * @param category 分类
+     * @param name     注解名称
+     * @param nanos    耗时（纳秒）
+     * @param error    是否以异常结束
+     */
+    public void record(MetricCategory category, String name, long nanos, boolean error) {
+        record(category, name, nanos, error, currentMinute());
+    }
+
+    void record(MetricCategory category, String name, long nanos, boolean error, long minute) {
+        Map<String, WindowedHistogram> byName = histograms.get(category);
+        WindowedHistogram histogram = byName.get(name);
+        if (histogram == null) {
+            histogram = byName.computeIfAbsent(name, key -> new WindowedHistogram());
+        }
+        histogram.record(nanos, error, minute);
+    }
+
+    /**
+     * 查询耗时统计（按 P99 降序，最慢的在前）
+     *
+     * @param category   分类；为 null 时返回全部
+     * @param lastMinute true 时返回上一个完整分钟的窗口统计（该分钟无调用的名称不返回），false 时返回累计统计
+     * @return 统计列表
+     */
+    public List<LatencyStatsVO> stats(MetricCategory category, boolean lastMinute) {
+        return stats(category, lastMinute, currentMinute());
+    }
+
+    List<LatencyStatsVO> stats(MetricCategory category, boolean lastMinute, long minute) {
+        List<LatencyStatsVO> result = new ArrayList<>();
+        histograms.forEach((cat, byName) -> {
+            if (category != null && category != cat) {
+                return;
+            }
+            byName.forEach((name, histogram) -> {
+                LatencyHistogram.Snapshot snapshot = lastMinute
+                        ? histogram.previousMinute(minute).snapshot(PERCENTILES)
+                        : histogram.cumulative.snapshot(PERCENTILES);
+                if (!lastMinute || snapshot.getCount() > 0) {
+                    result.add(toVo(cat, name, snapshot));
+                }
+            });
+        });
+        result.sort(Comparator.comparing(LatencyStatsVO::getP99Ms).reversed());
+        return result;
+    }
+
+    /**
+     * 清空统计
+     *
+     * @param category 分类；为 null 时清空全部
+     */
+    public void reset(MetricCategory category) {
+        histograms.forEach((cat, byName) -> {
+            if (category == null || category == cat) {
+                byName.values().forEach(WindowedHistogram::reset);
+            }
+        });
+    }
+
+    private static LatencyStatsVO toVo(MetricCategory category, String name, LatencyHistogram.Snapshot snapshot) {
+        LatencyStatsVO vo = new LatencyStatsVO();
+        vo.setCategory(category);
+        vo.setName(name);
+        vo.setCount(snapshot.getCount());
+        vo.setErrorCount(snapshot.getErrorCount());
+        vo.setMeanMs(toMs(snapshot.getMeanNanos()));
+        vo.setP50Ms(toMs(snapshot.getPercentileNanos(0)));
+        vo.setP95Ms(toMs(snapshot.getPercentileNanos(1)));
+        vo.setP99Ms(toMs(snapshot.getPercentileNanos(2)));
+        vo.setMaxMs(toMs(snapshot.getMaxNanos()));
+        return vo;
+    }
+
+    private static double toMs(long nanos) {
+        return Math.round(nanos / NANOS_PER_MS * 1000D) / 1000D;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 累计直方图 + 当前分钟 / 上一分钟两个窗口直方图
+     * <p>
+     * 跨分钟时把上一分钟的直方图清空后复用为当前分钟，不分配新对象；轮换瞬间仍持有旧引用的写入
+     * 可能计入相邻的窗口（与 {@link LatencyHistogram#reset()} 的并发语义一致）。
+     */
+    private static final class WindowedHistogram {
+        private final LatencyHistogram cumulative = new LatencyHistogram();
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram previous = new LatencyHistogram();
+        private volatile long currentMinute;
+
+        private void record(long nanos, boolean error, long minute) {
+            cumulative.record(nanos, error);
+            rotate(minute);
+            current.record(nanos, error);
+        }
+
+        private LatencyHistogram previousMinute(long minute) {
+            rotate(minute);
+            return previous;
+        }
+
+        private void rotate(long minute) {
+            if (minute <= currentMinute) {
+                return;
+            }
+            synchronized (this) {
+                if (minute <= currentMinute) {
+                    return;
+                }
+                LatencyHistogram recycled = previous;
+                recycled.reset();
+                if (minute == currentMinute + 1) {
+                    previous = current;
+                    current = recycled;
+                } else {
+                    // 中间有整分钟没有调用，两个窗口都应为空
+                    current.reset();
+                }
+                currentMinute = minute;
+            }
+        }
+
+        private synchronized void reset() {
+            cumulative.reset();
+            current.reset();
+            previous.reset();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.domain.vo.normal.ComputePoolStatsVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.factory.Nd4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
+import static gang.lu.riskmanagementproject.message.FailedMessages.*;
+
+/**
+ * LSTM 计算线程池（准入控制）
+ * <p>
+ * LSTM 训练 / 推理是纯 CPU 计算，若直接在 Tomcat 请求线程中执行，突发的预测请求会占满 CPU 与请求线程，
+ * 拖慢所有 CRUD 接口。所有 LSTM 计算统一提交到这里：
+ * <ul>
+ *   <li>固定线程数（默认等于 CPU 核数）+ 有界队列，队列满时立即返回 429，不排队等待；</li>
+ *   <li>调用方最多等待 {@code lstm.compute.timeout-ms}（含排队与执行），超时返回 503；
+ *       仍在排队的任务随之移出队列，已开始执行的任务继续完成（训练结果照常写入模型缓存）；</li>
+ *   <li>ND4J 的 OpenMP / BLAS 线程数固定为 {@code lstm.compute.nd4j-threads}（默认 核数 / 线程数），
+ *       线程池与 OpenMP 合计不超过 CPU 核数，避免超额订阅；</li>
+ *   <li>定时任务等后台调用使用 {@link #executeInBackground}：不设等待超时，队列满时在调用线程直接执行，
+ *       后台计算不会因准入控制被丢弃；</li>
+ *   <li>每个任务的排队耗时与执行耗时记入 {@link LatencyRecorder}（分类「计算队列」），
+ *       队列深度等实时状态见 {@link #stats()}。</li>
+ * </ul>
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LstmComputeExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "lstm-compute-";
+
+    /**
+     * 排队耗时指标名后缀（执行耗时直接使用任务名）
+     */
+    private static final String QUEUE_WAIT_SUFFIX = "（排队）";
+
+    private final LstmProperty lstmProperty;
+    private final LatencyRecorder latencyRecorder;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+    private int nd4jThreads;
+
+    @PostConstruct
+    public void start() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = lstmProperty.getComputePoolSize() > 0 ? lstmProperty.getComputePoolSize() : cores;
+        nd4jThreads = lstmProperty.getComputeNd4jThreads() > 0
+                ? lstmProperty.getComputeNd4jThreads()
+                : Math.max(1, cores / poolSize);
+        // ND4J 线程数为全局设置，离线训练线程同样受限
+        Nd4j.getEnvironment().setMaxThreads(nd4jThreads);
+        Nd4j.getEnvironment().setMaxMasterThreads(nd4jThreads);
+        Nd4j.factory().blas().setMaxThreads(nd4jThreads);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, lstmProperty.getComputeQueueCapacity())),
+                r -> {
+                    Thread thread = new Thread(r, THREAD_NAME_PREFIX + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info(LOG_LSTM_COMPUTE_STARTED, poolSize, lstmProperty.getComputeQueueCapacity(), nd4jThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 在计算线程池中执行任务，并在当前线程等待结果
+     *
+     * @param taskName 任务名（用于耗时统计与日志）
+     * @param task     计算任务
+     * @return 任务结果
+     * @throws BizException 队列已满（429）、等待超时（503）；任务自身抛出的运行时异常原样抛出
+     */
+    public <T> T execute(String taskName, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = submit(taskName, task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn(LOG_LSTM_COMPUTE_REJECTED, taskName, executor.getQueue().size());
+            throw new BizException(HttpStatus.TOO_MANY_REQUESTS, LSTM_COMPUTE_BUSY);
+        }
+
+        try {
+            return future.get(lstmProperty.getComputeTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(taskName, future);
+            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, LSTM_COMPUTE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(taskName, future);
+            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, LSTM_COMPUTE_TIMEOUT);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 后台调用（定时任务等）：在计算线程池中执行并一直等待结果，不受请求级准入控制
+     * <p>
+     * 队列已满时不返回 429，而是在调用线程直接执行；不设等待超时，调用线程被中断时放弃结果。
+     *
+     * @param taskName 任务名（用于耗时统计与日志）
+     * @param task     计算任务
+     * @return 任务结果
+     * @throws BizException 调用线程被中断（503）；任务自身抛出的运行时异常原样抛出
+     */
+    public <T> T executeInBackground(String taskName, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = submit(taskName, task);
+        } catch (RejectedExecutionException e) {
+            log.warn(LOG_LSTM_COMPUTE_INLINE, taskName, executor.getQueue().size());
+            return timed(taskName, task);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, LSTM_COMPUTE_TIMEOUT);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 线程池实时状态
+     */
+    public ComputePoolStatsVO stats() {
+        ComputePoolStatsVO vo = new ComputePoolStatsVO();
+        vo.setPoolSize(executor.getCorePoolSize());
+        vo.setActiveCount(executor.getActiveCount());
+        vo.setQueueSize(executor.getQueue().size());
+        vo.setQueueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        vo.setCompletedCount(executor.getCompletedTaskCount());
+        vo.setRejectedCount(rejectedCount.sum());
+        vo.setTimeoutCount(timeoutCount.sum());
+        vo.setNd4jThreads(nd4jThreads);
+        return vo;
+    }
+
+    /**
+     * 调用方放弃等待：仍在排队的任务移出队列，已开始执行的任务不中断
+     */
+    private void abandon(String taskName, Future<?> future) {
+        timeoutCount.increment();
+        future.cancel(false);
+        executor.remove((Runnable) future);
+        log.warn(LOG_LSTM_COMPUTE_TIMEOUT, taskName, lstmProperty.getComputeTimeoutMs());
+    }
+
+    /**
+     * 提交任务，记录排队耗时
+     */
+    private <T> Future<T> submit(String taskName, Supplier<T> task) {
+        long submitNanos = System.nanoTime();
+        return executor.submit(() -> {
+            latencyRecorder.record(MetricCategory.COMPUTE, taskName + QUEUE_WAIT_SUFFIX,
+                    System.nanoTime() - submitNanos, false);
+            return timed(taskName, task);
+        });
+    }
+
+    /**
+     * 在当前线程执行任务，记录执行耗时
+     */
+    private <T> T timed(String taskName, Supplier<T> task) {
+        long startNanos = System.nanoTime();
+        boolean error = true;
+        try {
+            T result = task.get();
+            error = false;
+            return result;
+        } finally {
+            latencyRecorder.record(MetricCategory.COMPUTE, taskName, System.nanoTime() - startNanos, error);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new BizException(LSTM_PREDICT_FAILED, cause);
+    }
+}
@@ -1,14 +1,39 @@
 package gang.lu.riskmanagementproject.helper;
 
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import gang.lu.riskmanagementproject.domain.dto.query.PageQueryDTO;
+import gang.lu.riskmanagementproject.domain.enums.field.CountMode;
+import gang.lu.riskmanagementproject.domain.po.BasePO;
+import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.mapper.PageCountMapper;
 import gang.lu.riskmanagementproject.property.PageProperty;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.FILTERED;
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.ROWS;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_COUNT_ESTIMATE_FAILED;
 import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_PAGING;
+import static gang.lu.riskmanagementproject.common.global.GlobalSimbolConstants.*;
+import static gang.lu.riskmanagementproject.message.FailedMessages.PAGE_CURSOR_INVALID;
 
 /**
  * 全局分页工具类
@@ -23,6 +48,17 @@ import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG
 public final class PageHelper {
 
     private final PageProperty pageProperty;
+    private final PageCountMapper pageCountMapper;
+
+    /**
+     * 总数缓存：键为「实体 + 过滤条件 + 参数值」，精确统计结果写入，估算模式读取
+     */
+    private LRUCache<String, Long> countCache;
+
+    @PostConstruct
+    public void init() {
+        countCache = CacheUtil.newLRUCache(pageProperty.COUNT_CACHE_CAPACITY, pageProperty.COUNT_CACHE_TTL_MS);
+    }
 
     /**
      * 处理分页参数（自动适配业务自定义规则）
@@ -68,4 +104,147 @@ public final class PageHelper {
         queryDTO.setPageNum(ObjectUtil.defaultIfNull(queryDTO.getPageNum(), pageProperty.DEFAULT_NUM))
                 .setPageSize(ObjectUtil.defaultIfNull(queryDTO.getPageSize(), pageProperty.DEFAULT_SIZE));
     }
-}
\ No newline at end of file
+
+    // ======================== 总数统计模式 ========================
+
+    /**
+     * 解析总数统计模式
+     *
+     * @param pageQuery   分页参数DTO
+     * @param defaultMode 未指定时的默认模式
+     * @return 统计模式
+     */
+    public CountMode resolveCountMode(PageQueryDTO pageQuery, CountMode defaultMode) {
+        CountMode mode = EnumConvertUtil.toEnum(pageQuery.getCountModeValue(), CountMode.class);
+        return ObjectUtil.defaultIfNull(mode, defaultMode);
+    }
+
+    /**
+     * 按统计模式回填总数与总页数
+     * <ul>
+     *   <li>精确：调用 exactCount，并写入总数缓存；</li>
+     *   <li>估算：缓存有效期内直接复用，否则取 EXPLAIN 估算行数，估算失败时回退精确统计；</li>
+     *   <li>不统计：total / pages 置空。</li>
+     * </ul>
+     *
+     * @param pageVO      分页视图（游标分页 current 为空，不回填总页数）
+     * @param mode        统计模式
+     * @param entityClass 实体类型
+     * @param wrapper     仅含过滤条件的查询条件（不能包含游标条件）
+     * @param exactCount  精确统计方式（普通分页精确模式取分页插件已统计的结果；估算回退时会被调用并缓存，
+     *                    必须真正执行 COUNT，不能取关闭了 searchCount 的分页结果）
+     */
+    public <T> void fillTotal(PageVO<?> pageVO, CountMode mode, Class<T> entityClass,
+                              LambdaQueryWrapper<T> wrapper, LongSupplier exactCount) {
+        Long total = null;
+        if (mode == CountMode.EXACT) {
+            total = exactCount.getAsLong();
+            countCache.put(countCacheKey(entityClass, wrapper), total);
+        } else if (mode == CountMode.APPROXIMATE) {
+            String key = countCacheKey(entityClass, wrapper);
+            total = countCache.get(key, false);
+            if (ObjectUtil.isNull(total)) {
+                total = ObjectUtil.defaultIfNull(estimateTotal(entityClass, wrapper), exactCount::getAsLong);
+                countCache.put(key, total);
+            }
+        }
+        pageVO.setTotal(total);
+        pageVO.setTotalApproximate(mode == CountMode.APPROXIMATE ? Boolean.TRUE : null);
+        if (ObjectUtil.isNotNull(pageVO.getCurrent())) {
+            pageVO.setPages(ObjectUtil.isNull(total) ? null : (total + pageVO.getSize() - 1) / pageVO.getSize());
+        }
+    }
+
+    /**
+     * EXPLAIN 估算命中行数（rows × filtered%），失败返回 null
+     */
+    private <T> Long estimateTotal(Class<T> entityClass, LambdaQueryWrapper<T> wrapper) {
+        String tableName = TableInfoHelper.getTableInfo(entityClass).getTableName();
+        try {
+            List<Map<String, Object>> plan = pageCountMapper.explainSelect(tableName, wrapper);
+            if (CollUtil.isEmpty(plan) || !(plan.get(0).get(ROWS) instanceof Number)) {
+                return null;
+            }
+            double rows = ((Number) plan.get(0).get(ROWS)).doubleValue();
+            Object filtered = plan.get(0).get(FILTERED);
+            double ratio = filtered instanceof Number ? ((Number) filtered).doubleValue() / 100 : 1D;
+            return Math.round(rows * ratio);
+        } catch (Exception e) {
+            log.warn(LOG_COUNT_ESTIMATE_FAILED, tableName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 只取过滤条件（不含排序），参数按占位符名排序，保证相同条件得到相同的键
+     */
+    private static <T> String countCacheKey(Class<T> entityClass, LambdaQueryWrapper<T> wrapper) {
+        return entityClass.getName() + wrapper.getExpression().getNormal().getSqlSegment()
+                + new TreeMap<>(wrapper.getParamNameValuePairs());
+    }
+
+    // ======================== 游标（keyset）分页 ========================
+
+    /**
+     * 将子类构建的查询条件改造为游标分页查询
+     * <p>
+     * 过滤条件保留，原排序替换为 {@code (create_time DESC, id DESC)}：游标必须与排序键一致，
+     * 且排序键须唯一、不可变（update_time 会随修改变化，不能作为游标）。多查一条用于判断是否还有下一页。
+     *
+     * @param wrapper  子类构建的查询条件
+     * @param cursor   上一页返回的游标，首页为空
+     * @param pageSize 每页条数
+     */
+    public <T extends BasePO> void applyCursor(LambdaQueryWrapper<T> wrapper, String cursor, int pageSize) {
+        wrapper.getExpression().getOrderBy().clear();
+        if (StrUtil.isNotBlank(cursor)) {
+            CursorPosition position = decodeCursor(cursor);
+            wrapper.apply(KEYSET_CONDITION, position.createTime, position.id);
+        }
+        wrapper.last(KEYSET_ORDER_BY + LIMIT + (pageSize + 1));
+    }
+
+    /**
+     * 截去多查的一条，并以当前页最后一条记录生成下一页游标
+     *
+     * @param rows     {@link #applyCursor} 查询结果（最多 pageSize + 1 条），原地截断为当前页
+     * @param pageSize 每页条数
+     * @return 下一页游标；无更多数据时返回 null
+     */
+    public <T extends BasePO> String trimToNextCursor(List<T> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return null;
+        }
+        rows.subList(pageSize, rows.size()).clear();
+        T last = rows.get(pageSize - 1);
+        String raw = last.getCreateTime() + KEYSET_CURSOR_SPLITER + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CursorPosition decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(KEYSET_CURSOR_SPLITER);
+            if (split <= 0) {
+                throw new BizException(HttpStatus.BAD_REQUEST, PAGE_CURSOR_INVALID);
+            }
+            return new CursorPosition(LocalDateTime.parse(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BizException(HttpStatus.BAD_REQUEST, PAGE_CURSOR_INVALID);
+        }
+    }
+
+    /**
+     * 游标位置：上一页最后一条记录的 (create_time, id)
+     */
+    private static final class CursorPosition {
+        private final LocalDateTime createTime;
+        private final Long id;
+
+        private CursorPosition(LocalDateTime createTime, Long id) {
+            this.createTime = createTime;
+            this.id = id;
+        }
+    }
+}
@@ -22,8 +22,6 @@ import gang.lu.riskmanagementproject.common.pdf.PdfColors;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
 import gang.lu.riskmanagementproject.exception.BizException;
-import gang.lu.riskmanagementproject.mapper.WorkerMapper;
-import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -57,8 +55,7 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 @RequiredArgsConstructor
 public class PdfHelper {
 
-    private final WorkerMapper workerMapper;
-    private final GeneralValidator generalValidator;
+    private final WorkerCache workerCache;
 
     // ======================== PDF生成入口 ========================
 
@@ -143,10 +140,8 @@ public class PdfHelper {
         doc.add(buildSectionTitle(LABEL_SECTION_INFO, font));
 
         Table table = buildTwoColTable();
-        // 先校验id
-        generalValidator.validateIdExist(workerId, workerMapper, WORKER_NOT_EXIST);
-        // 空值兜底
-        String workerCodeStr = workerMapper.selectById(workerId).getWorkerCode();
+        // 校验id并取工号（读取工人缓存）
+        String workerCodeStr = workerCache.requireById(workerId).getWorkerCode();
         String recordCountStr = history != null ? String.valueOf(history.size()) : "0";
         String timeSpanStr = history != null ? resolveTimeSpan(history) : LABEL_NO_DATA;
 
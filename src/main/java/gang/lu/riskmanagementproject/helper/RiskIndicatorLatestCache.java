@@ -0,0 +1,240 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
+import gang.lu.riskmanagementproject.util.ConcurrentLongMap;
+import gang.lu.riskmanagementproject.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LATEST_CACHE_WARMED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LATEST_CACHE_WARM_FAILED;
+
+/**
+ * 工人最新风险指标内存表
+ * <p>
+ * 以工人 ID（原始 long）为键，常驻每个工人 create_time 最大的一条风险指标，
+ * 替代 {@code selectLatestByWorkerId} 的 {@code ORDER BY create_time DESC LIMIT 1} 查询。
+ *
+ * <p><b>一致性维护：</b>
+ * <ul>
+ *   <li>启动完成后从数据库整表预热；预热成功前未命中时回退数据库查询；</li>
+ *   <li>新增（单条 / 批量 / 流式 / 写入缓冲 / 视频分析）落库后调用 {@link #offer}，仅当更新时才替换；</li>
+ *   <li>修改后调用 {@link #onUpdated}，记录被改到其他工人名下时重新加载原工人；</li>
+ *   <li>删除指标 / 删除工人后调用 {@link #evictIndicators} / {@link #evictWorkers}；</li>
+ *   <li>在事务内调用时，变更延迟到事务提交后生效，回滚则不生效。</li>
+ * </ul>
+ * <p>
+ * 同时维护按「工人当前风险等级」分桶的人数计数：每次条目替换都在段锁内对新旧等级做增减，
+ * 风险等级分布统计可 O(1) 读取，由 {@link #repair} 配合定时对账兜底。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-04
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskIndicatorLatestCache {
+
+    private final RiskIndicatorMapper riskIndicatorMapper;
+
+    private final ConcurrentLongMap<RiskIndicator> latest = new ConcurrentLongMap<>();
+
+    /**
+     * 下标为 {@link RiskLevel#ordinal()}，值为当前处于该等级的工人数
+     */
+    private final AtomicLongArray riskLevelCounts = new AtomicLongArray(RiskLevel.values().length);
+
+    private volatile boolean warmed;
+
+    /**
+     * 启动完成后预热（数据库不可用时仅告警，不影响启动）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            for (RiskIndicator po : riskIndicatorMapper.selectLatestPerWorker()) {
+                apply(po.getWorkerId(), old -> isNewer(po, old) ? po : old);
+            }
+            warmed = true;
+            log.info(LOG_LATEST_CACHE_WARMED, latest.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn(LOG_LATEST_CACHE_WARM_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取工人最新风险指标
+     *
+     * @param workerId 工人ID
+     * @return 最新指标；工人无记录时返回 null
+     */
+    public RiskIndicator get(long workerId) {
+        RiskIndicator cached = latest.get(workerId);
+        if (ObjectUtil.isNotNull(cached) || warmed) {
+            return cached;
+        }
+        RiskIndicator fromDb = riskIndicatorMapper.selectLatestByWorkerId(workerId);
+        if (ObjectUtil.isNotNull(fromDb)) {
+            apply(workerId, old -> isNewer(fromDb, old) ? fromDb : old);
+        }
+        return fromDb;
+    }
+
+    /**
+     * 新记录落库后调用，比现有记录更新时替换
+     */
+    public void offer(RiskIndicator po) {
+        if (ObjectUtil.isNull(po) || ObjectUtil.isNull(po.getWorkerId())) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> apply(po.getWorkerId(), old -> isNewer(po, old) ? po : old));
+    }
+
+    /**
+     * 批量新记录落库后调用
+     */
+    public void offerAll(Collection<RiskIndicator> pos) {
+        pos.forEach(this::offer);
+    }
+
+    /**
+     * 记录修改后调用
+     * <p>
+     * 工人ID被修改时，原工人名下缓存的可能正是这条记录，需要重新加载原工人
+     */
+    public void onUpdated(RiskIndicator po) {
+        if (ObjectUtil.isNull(po) || ObjectUtil.isNull(po.getId())) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            reloadWorkersHolding(Collections.singleton(po.getId()), po.getWorkerId());
+            apply(po.getWorkerId(), old -> isNewer(po, old) ? po : old);
+        });
+    }
+
+    /**
+     * 指标记录删除后调用
+     */
+    public void evictIndicators(Collection<Long> indicatorIds) {
+        Set<Long> ids = new HashSet<>(indicatorIds);
+        TransactionUtil.afterCommit(() -> reloadWorkersHolding(ids, null));
+    }
+
+    /**
+     * 工人删除后调用（指标记录随工人级联删除）
+     */
+    public void evictWorkers(Collection<Long> workerIds) {
+        List<Long> ids = new ArrayList<>(workerIds);
+        TransactionUtil.afterCommit(() -> ids.forEach(workerId -> apply(workerId, old -> null)));
+    }
+
+    /**
+     * 是否已完成预热（未预热时内存计数不完整，不应作为统计结果）
+     */
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    /**
+     * 当前处于指定风险等级的工人数
+     */
+    public long countByRiskLevel(RiskLevel riskLevel) {
+        return riskLevelCounts.get(riskLevel.ordinal());
+    }
+
+    /**
+     * 以数据库为准修复内存表
+     * <p>
+     * 用数据库中各工人最新记录覆盖内存条目（内存中更新的记录保留），
+     * 并移除数据库中已无记录的工人；计数随条目替换同步修正
+     */
+    public void repair() {
+        Map<Long, RiskIndicator> fromDb = new HashMap<>();
+        for (RiskIndicator po : riskIndicatorMapper.selectLatestPerWorker()) {
+            fromDb.merge(po.getWorkerId(), po, (a, b) -> isNewer(b, a) ? b : a);
+        }
+        fromDb.forEach((workerId, po) -> apply(workerId, old -> {
+            if (ObjectUtil.isNull(old) || !isNewer(old, po) || Objects.equals(old.getId(), po.getId())) {
+                return po;
+            }
+            return old;
+        }));
+        List<Long> missing = new ArrayList<>();
+        latest.forEach((workerId, po) -> {
+            if (!fromDb.containsKey(workerId)) {
+                missing.add(workerId);
+            }
+        });
+        missing.forEach(workerId -> apply(workerId, old -> null));
+        warmed = true;
+    }
+
+    /**
+     * 所有条目变更的唯一入口：段锁内完成替换，并按新旧风险等级调整计数
+     */
+    private void apply(long workerId, UnaryOperator<RiskIndicator> remapping) {
+        latest.compute(workerId, old -> {
+            RiskIndicator updated = remapping.apply(old);
+            RiskLevel oldLevel = ObjectUtil.isNull(old) ? null : old.getRiskLevel();
+            RiskLevel newLevel = ObjectUtil.isNull(updated) ? null : updated.getRiskLevel();
+            if (oldLevel != newLevel) {
+                if (ObjectUtil.isNotNull(oldLevel)) {
+                    riskLevelCounts.decrementAndGet(oldLevel.ordinal());
+                }
+                if (ObjectUtil.isNotNull(newLevel)) {
+                    riskLevelCounts.incrementAndGet(newLevel.ordinal());
+                }
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * 找到缓存值为指定记录的工人并从数据库重新加载
+     * <p>
+     * 需要遍历整表，仅用于修改 / 删除这类低频路径
+     *
+     * @param indicatorIds  被修改或删除的指标ID
+     * @param skipWorkerId  无需重新加载的工人ID（可为 null）
+     */
+    private void reloadWorkersHolding(Set<Long> indicatorIds, Long skipWorkerId) {
+        List<Long> stale = new ArrayList<>();
+        latest.forEach((workerId, po) -> {
+            if (indicatorIds.contains(po.getId()) && !Objects.equals(workerId, skipWorkerId)) {
+                stale.add(workerId);
+            }
+        });
+        for (Long workerId : stale) {
+            RiskIndicator fresh = riskIndicatorMapper.selectLatestByWorkerId(workerId);
+            // 仅替换仍指向失效记录的条目，期间并发写入的更新记录保留
+            apply(workerId, old -> ObjectUtil.isNotNull(old) && indicatorIds.contains(old.getId()) ? fresh : old);
+        }
+    }
+
+    private static boolean isNewer(RiskIndicator candidate, RiskIndicator current) {
+        if (ObjectUtil.isNull(current) || Objects.equals(candidate.getId(), current.getId())) {
+            return true;
+        }
+        if (ObjectUtil.isNull(candidate.getCreateTime()) || ObjectUtil.isNull(current.getCreateTime())) {
+            return ObjectUtil.isNotNull(candidate.getCreateTime());
+        }
+        int cmp = candidate.getCreateTime().compareTo(current.getCreateTime());
+        if (cmp != 0) {
+            return cmp > 0;
+        }
+        // 时间相同按自增ID取较大者
+        return ObjectUtil.isNotNull(candidate.getId())
+                && (ObjectUtil.isNull(current.getId()) || candidate.getId() > current.getId());
+    }
+}
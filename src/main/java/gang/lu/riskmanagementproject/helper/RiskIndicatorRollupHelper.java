@@ -0,0 +1,188 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjectUtil;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicatorHourly;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorHourlyMapper;
+import gang.lu.riskmanagementproject.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_ROLLUP_BACKFILL_DAY;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_ROLLUP_BUCKET_FAILED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_ROLLUP_RECORD_FAILED;
+
+/**
+ * 风险指标小时汇总维护
+ * <p>
+ * 写入路径：明细落库后调用 {@link #record}，先在内存中按（工人，小时）预聚合，
+ * 再以一条 {@code INSERT ... ON DUPLICATE KEY UPDATE} 合并到汇总表（最高等级取较大值）。
+ * <p>
+ * 修正路径：明细被修改或删除时最高等级无法增量回退，由 {@link #recompute} 从明细表重算受影响的（工人，小时）桶；
+ * {@link #backfill} 按天整体重建，定时任务会周期性重建最近几天，历史数据可通过接口手动回填。
+ * <p>
+ * 汇总写入均在调用方事务提交后、以独立事务（REQUIRES_NEW）执行：明细回滚时不写汇总，
+ * 汇总写入失败（死锁、锁等待超时等）只告警、由定时重建兜底，不会把明细事务标记为仅回滚。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-06
+ */
+@Slf4j
+@Component
+public class RiskIndicatorRollupHelper {
+
+    /**
+     * 预聚合行排序（固定加锁顺序，降低并发 upsert 死锁概率）
+     */
+    private static final Comparator<RiskIndicatorHourly> ROW_ORDER = Comparator
+            .comparing(RiskIndicatorHourly::getWorkerId)
+            .thenComparing(RiskIndicatorHourly::getHourStart);
+
+    private final RiskIndicatorHourlyMapper hourlyMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 汇总增量写入使用的独立事务
+     */
+    private final TransactionTemplate requiresNewTemplate;
+
+    public RiskIndicatorRollupHelper(RiskIndicatorHourlyMapper hourlyMapper,
+                                     TransactionTemplate transactionTemplate) {
+        this.hourlyMapper = hourlyMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.requiresNewTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 将已落库的明细合并到小时汇总（调用方事务提交后执行，失败仅告警，由定时重建兜底，不影响明细写入）
+     *
+     * @param pos 已落库的风险指标
+     */
+    public void record(Collection<RiskIndicator> pos) {
+        if (CollUtil.isEmpty(pos)) {
+            return;
+        }
+        Map<String, RiskIndicatorHourly> merged = new HashMap<>();
+        for (RiskIndicator po : pos) {
+            if (ObjectUtil.isNull(po) || ObjectUtil.isNull(po.getWorkerId()) || ObjectUtil.isNull(po.getCreateTime())) {
+                continue;
+            }
+            LocalDateTime hourStart = po.getCreateTime().truncatedTo(ChronoUnit.HOURS);
+            int rank = rankOf(po.getRiskLevel());
+            merged.merge(po.getWorkerId() + "@" + hourStart,
+                    new RiskIndicatorHourly()
+                            .setWorkerId(po.getWorkerId())
+                            .setHourStart(hourStart)
+                            .setMaxRiskRank(rank)
+                            .setSampleCount(1),
+                    (a, b) -> a.setMaxRiskRank(Math.max(a.getMaxRiskRank(), b.getMaxRiskRank()))
+                            .setSampleCount(a.getSampleCount() + b.getSampleCount()));
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+        List<RiskIndicatorHourly> rows = new ArrayList<>(merged.values());
+        rows.sort(ROW_ORDER);
+        TransactionUtil.afterCommit(() -> {
+            try {
+                requiresNewTemplate.executeWithoutResult(status -> hourlyMapper.upsertBatch(rows));
+            } catch (Exception e) {
+                log.warn(LOG_ROLLUP_RECORD_FAILED, rows.size(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 将单条已落库明细合并到小时汇总
+     */
+    public void record(RiskIndicator po) {
+        if (ObjectUtil.isNotNull(po)) {
+            record(Collections.singletonList(po));
+        }
+    }
+
+    /**
+     * 从明细表重算给定明细所在的（工人，小时）桶（明细修改或删除后调用，调用方事务提交后执行）
+     * <p>
+     * 桶内已无明细时删除该桶；失败仅告警，由定时重建兜底。
+     *
+     * @param pos 受影响的明细（只需 workerId 与 createTime；修改时应同时传入修改前后的值）
+     */
+    public void recompute(Collection<RiskIndicator> pos) {
+        Map<String, RiskIndicatorHourly> buckets = new HashMap<>();
+        for (RiskIndicator po : pos) {
+            if (ObjectUtil.isNull(po) || ObjectUtil.isNull(po.getWorkerId()) || ObjectUtil.isNull(po.getCreateTime())) {
+                continue;
+            }
+            LocalDateTime hourStart = po.getCreateTime().truncatedTo(ChronoUnit.HOURS);
+            buckets.putIfAbsent(po.getWorkerId() + "@" + hourStart,
+                    new RiskIndicatorHourly().setWorkerId(po.getWorkerId()).setHourStart(hourStart));
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<RiskIndicatorHourly> keys = new ArrayList<>(buckets.values());
+        keys.sort(ROW_ORDER);
+        TransactionUtil.afterCommit(() -> {
+            try {
+                requiresNewTemplate.executeWithoutResult(status -> {
+                    hourlyMapper.deleteBuckets(keys);
+                    hourlyMapper.rebuildBuckets(keys);
+                });
+            } catch (Exception e) {
+                log.warn(LOG_ROLLUP_BUCKET_FAILED, keys.size(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 从明细表按天重建小时汇总（每天一个事务：先删后插）
+     *
+     * @param from 起始日期（含）
+     * @param to   结束日期（含）
+     * @return 重建的天数
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = start.plusDays(1);
+            Integer rows = transactionTemplate.execute(status -> {
+                hourlyMapper.deleteByRange(start, end);
+                return hourlyMapper.rebuildByRange(start, end);
+            });
+            log.info(LOG_ROLLUP_BACKFILL_DAY, day, rows);
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * 统计某天按指定宽度分段的高风险去重工人数
+     *
+     * @param statDate    统计日期
+     * @param bucketHours 每段小时数（24 的约数）
+     * @return List<Map(period, count)>
+     */
+    public List<Map<String, Object>> countHighRiskWorkerByBucket(LocalDate statDate, int bucketHours) {
+        LocalDateTime start = statDate.atStartOfDay();
+        return hourlyMapper.countHighRiskWorkerByBucket(start, start.plusDays(1), bucketHours);
+    }
+
+    /**
+     * 风险等级 → 汇总表等级序号（与数据库 enum 下标一致，null 按低风险计）
+     */
+    private static int rankOf(RiskLevel riskLevel) {
+        return ObjectUtil.isNull(riskLevel) ? 1 : riskLevel.ordinal() + 1;
+    }
+}
@@ -0,0 +1,170 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.*;
+import static gang.lu.riskmanagementproject.common.global.GlobalFormatConstants.DEFAULT_DATE_TIME_FORMAT;
+import static gang.lu.riskmanagementproject.message.FailedMessages.*;
+
+/**
+ * 风险指标 NDJSON 流解析器
+ * <p>
+ * 基于 Jackson 流式 {@link JsonParser} 逐个读取顶层 JSON 对象（换行分隔），
+ * 字段直接写入 {@link RiskIndicator} 持久化对象，不构建 JsonNode 树，也不经过 DTO 转换，
+ * 内存占用与请求体大小无关。
+ * <p>
+ * 类型不匹配或数值超出字段范围的字段按缺失处理，由后续业务校验给出原因；未知字段直接跳过。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-03
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskIndicatorStreamParser {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 基于输入流创建解析器（不缓冲整个请求体）
+     */
+    public JsonParser open(InputStream in) throws IOException {
+        return objectMapper.getFactory().createParser(in);
+    }
+
+    /**
+     * 读取下一行记录
+     *
+     * @param parser 解析器
+     * @return 解析结果；流结束时返回 null
+     * @throws IOException JSON 语法错误或读取失败，此后流不可恢复
+     */
+    public StreamRow next(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (ObjectUtil.isNull(token)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return StreamRow.rejected(RISK_INDICATOR_STREAM_ROW_NOT_OBJECT);
+        }
+        RiskIndicator po = new RiskIndicator();
+        String reason = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case STREAM_WORKER_ID:
+                    if (fitsLong(parser, value)) {
+                        po.setWorkerId(parser.getLongValue());
+                    }
+                    break;
+                case STREAM_HEART_RATE:
+                    if (fitsInt(parser, value)) {
+                        po.setHeartRate(parser.getIntValue());
+                    }
+                    break;
+                case STREAM_RESPIRATORY_RATE:
+                    if (fitsInt(parser, value)) {
+                        po.setRespiratoryRate(parser.getIntValue());
+                    }
+                    break;
+                case STREAM_FATIGUE_PERCENT:
+                    if (value.isNumeric()) {
+                        po.setFatiguePercent(parser.getDoubleValue());
+                    }
+                    break;
+                case STREAM_RISK_LEVEL:
+                    if (value == JsonToken.VALUE_STRING) {
+                        po.setRiskLevel(EnumConvertUtil.toEnum(parser.getText(), RiskLevel.class));
+                    }
+                    if (ObjectUtil.isNull(po.getRiskLevel())) {
+                        reason = ObjectUtil.defaultIfNull(reason, RISK_INDICATOR_STREAM_LEVEL_INVALID);
+                    }
+                    break;
+                case STREAM_ALERT_FLAG:
+                    if (value.isBoolean()) {
+                        po.setAlertFlag(parser.getBooleanValue());
+                    }
+                    break;
+                case STREAM_CREATE_TIME:
+                    if (value == JsonToken.VALUE_STRING) {
+                        try {
+                            po.setCreateTime(LocalDateTime.parse(parser.getText(), TIME_FORMATTER));
+                        } catch (DateTimeParseException e) {
+                            reason = ObjectUtil.defaultIfNull(reason, RISK_INDICATOR_STREAM_TIME_INVALID);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+            // 嵌套对象 / 数组整体跳过，标量上调用为空操作
+            parser.skipChildren();
+        }
+        if (ObjectUtil.isNull(po.getRiskLevel())) {
+            reason = ObjectUtil.defaultIfNull(reason, RISK_LEVEL_EMPTY);
+        }
+        if (ObjectUtil.isNull(po.getAlertFlag())) {
+            reason = ObjectUtil.defaultIfNull(reason, RISK_INDICATOR_STREAM_ALERT_FLAG_EMPTY);
+        }
+        return ObjectUtil.isNull(reason) ? StreamRow.accepted(po) : StreamRow.rejected(reason);
+    }
+
+    /**
+     * 整数且在 int 范围内（超出范围时 getIntValue 会抛出异常并终止整个流，此处按缺失处理）
+     */
+    private static boolean fitsInt(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT;
+    }
+
+    /**
+     * 整数且在 long 范围内
+     */
+    private static boolean fitsLong(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+    }
+
+    /**
+     * 单行解析结果
+     */
+    @Getter
+    public static final class StreamRow {
+
+        private final RiskIndicator po;
+        private final String reason;
+
+        private StreamRow(RiskIndicator po, String reason) {
+            this.po = po;
+            this.reason = reason;
+        }
+
+        static StreamRow accepted(RiskIndicator po) {
+            return new StreamRow(po, null);
+        }
+
+        static StreamRow rejected(String reason) {
+            return new StreamRow(null, reason);
+        }
+
+        public boolean isAccepted() {
+            return ObjectUtil.isNotNull(po);
+        }
+    }
+}
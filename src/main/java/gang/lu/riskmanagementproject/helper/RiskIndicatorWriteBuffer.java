@@ -0,0 +1,278 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
+import gang.lu.riskmanagementproject.property.IngestProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
+import static gang.lu.riskmanagementproject.message.FailedMessages.*;
+
+/**
+ * 风险指标写入缓冲（write-behind）
+ * <p>
+ * 位于 {@code t_risk_indicator} 单条插入之前，将突发的写入请求暂存在有界队列中，
+ * 由单个刷写线程按「攒满 flushSize 条」或「首条入队后等待 flushIntervalMs」两个条件之一
+ * 触发批量落库，一个批次对应一次 JDBC batch + 一次提交，从而避免每条记录各占一个连接和事务。
+ *
+ * <p><b>行为约定：</b>
+ * <ul>
+ *   <li>队列满时生产者最多阻塞 offerTimeoutMs，超时返回 503，由调用方重试（背压）；</li>
+ *   <li>批量落库失败时回退为逐条写入，避免单条脏数据拖垮整批；</li>
+ *   <li>应用关闭时停止接收新数据，并在 drainTimeoutMs 内将队列剩余数据全部落库；
+ *       超时仍未落库的记录移出队列，其 Future 以 503 异常完成，不会被当作已落库。</li>
+ * </ul>
+ * 入队时「检查运行状态 + 放入队列」在读锁内完成，关闭时在写锁内置为停止，
+ * 刷写线程看到停止标志时不会再有记录进入队列，关闭前已受理的记录都会被排空或明确失败。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-02
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskIndicatorWriteBuffer {
+
+    private static final String FLUSHER_THREAD_NAME = "risk-indicator-flusher";
+
+    /**
+     * 刷写线程单次等待上限：等待凑批期间按此间隔检查关闭标志，关闭时不必等满 flushIntervalMs
+     */
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final IngestProperty ingestProperty;
+    private final RiskIndicatorRollupHelper rollupHelper;
+
+    /**
+     * 读锁：入队；写锁：关闭（保证关闭后没有入队中的记录）
+     */
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private BlockingQueue<PendingRow> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!ingestProperty.isBufferEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(ingestProperty.getBufferCapacity());
+        running = true;
+        flusher = new Thread(this::runFlushLoop, FLUSHER_THREAD_NAME);
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info(LOG_BUFFER_STARTED, ingestProperty.getBufferCapacity(), ingestProperty.getFlushSize(),
+                ingestProperty.getFlushIntervalMs(), ingestProperty.getDurability());
+    }
+
+    @PreDestroy
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        log.info(LOG_BUFFER_DRAINING, queue.size());
+        try {
+            flusher.join(ingestProperty.getDrainTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive() || !queue.isEmpty()) {
+            // 未被刷写线程取走的记录不再落库，明确失败，避免调用方误以为已写入
+            List<PendingRow> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.forEach(row -> row.future.completeExceptionally(
+                    new BizException(HttpStatus.SERVICE_UNAVAILABLE, RISK_INDICATOR_BUFFER_CLOSED)));
+            log.warn(LOG_BUFFER_DRAIN_TIMEOUT, abandoned.size());
+            return;
+        }
+        log.info(LOG_BUFFER_STOPPED);
+    }
+
+    /**
+     * 缓冲是否可用
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * 将一条风险指标放入缓冲队列
+     *
+     * @param po 待写入的风险指标（createTime 建议由调用方在入队时设置）
+     * @return 所在批次提交后完成的 Future，完成时 po 已回填主键
+     */
+    public CompletableFuture<RiskIndicator> enqueue(RiskIndicator po) {
+        PendingRow row = new PendingRow(po);
+        boolean offered;
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, RISK_INDICATOR_BUFFER_CLOSED);
+            }
+            offered = queue.offer(row, ingestProperty.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        if (!offered) {
+            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, RISK_INDICATOR_BUFFER_FULL);
+        }
+        return row.future;
+    }
+
+    /**
+     * 等待某条记录所在批次落库（FLUSH 模式使用）
+     * <p>
+     * 等待超时（或被中断）时记录仍在队列中、稍后照常落库，返回 null 由调用方按「已受理」处理，
+     * 不能当作失败让客户端重试，否则会重复写入。
+     *
+     * @param future {@link #enqueue} 返回的 Future
+     * @return 已回填主键的风险指标；等待超时时为 null
+     * @throws BizException 记录落库失败或因关闭被丢弃
+     */
+    public RiskIndicator awaitFlushed(CompletableFuture<RiskIndicator> future) {
+        try {
+            return future.get(ingestProperty.getAckTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn(LOG_BUFFER_ACK_TIMEOUT, ingestProperty.getAckTimeoutMs());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn(LOG_BUFFER_ACK_TIMEOUT, ingestProperty.getAckTimeoutMs());
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BizException) {
+                throw (BizException) e.getCause();
+            }
+            throw new BizException(RISK_INDICATOR_BUFFER_FLUSH_FAILED, e.getCause());
+        }
+    }
+
+    // ======================== 刷写线程 ========================
+
+    private void runFlushLoop() {
+        int flushSize = ingestProperty.getFlushSize();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(ingestProperty.getFlushIntervalMs());
+        List<PendingRow> batch = new ArrayList<>(flushSize);
+        // 关闭后继续循环，直到队列排空
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(Math.min(intervalNanos, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    // 关闭时不再等待凑批，立即刷写已取出的记录
+                    if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingRow next = queue.poll(Math.min(remaining, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 刷写线程不响应中断，由 running 标志控制退出，保证关闭时数据排空
+                Thread.interrupted();
+            } catch (Exception e) {
+                log.error(LOG_BUFFER_FLUSHER_FAILED, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingRow> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            insertBatch(batch);
+            List<RiskIndicator> saved = new ArrayList<>(batch.size());
+            batch.forEach(row -> saved.add(row.po));
+            rollupHelper.record(saved);
+            batch.forEach(row -> row.future.complete(row.po));
+            log.debug(LOG_BUFFER_FLUSH, batch.size(), System.currentTimeMillis() - start, queue.size());
+        } catch (Exception e) {
+            log.warn(LOG_BUFFER_FLUSH_FAILED, batch.size(), e);
+            insertOneByOne(batch);
+        }
+    }
+
+    /**
+     * 一个批次 = 一次 JDBC batch + 一次提交，主键在 flushStatements 时回填
+     */
+    private void insertBatch(List<PendingRow> batch) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            RiskIndicatorMapper mapper = session.getMapper(RiskIndicatorMapper.class);
+            try {
+                for (PendingRow row : batch) {
+                    mapper.insert(row.po);
+                }
+                session.flushStatements();
+                session.commit();
+            } catch (RuntimeException e) {
+                session.rollback();
+                // 回滚后主键回填结果无效，清空以便逐条重试
+                batch.forEach(row -> row.po.setId(null));
+                throw e;
+            }
+        }
+    }
+
+    private void insertOneByOne(List<PendingRow> batch) {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            RiskIndicatorMapper mapper = session.getMapper(RiskIndicatorMapper.class);
+            for (PendingRow row : batch) {
+                try {
+                    mapper.insert(row.po);
+                    rollupHelper.record(row.po);
+                    row.future.complete(row.po);
+                } catch (Exception e) {
+                    log.error(LOG_BUFFER_ROW_FAILED, row.po.getWorkerId(), e);
+                    row.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 队列元素：待写入记录 + 落库确认
+     */
+    private static final class PendingRow {
+        private final RiskIndicator po;
+        private final CompletableFuture<RiskIndicator> future = new CompletableFuture<>();
+
+        private PendingRow(RiskIndicator po) {
+            this.po = po;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package gang.lu.riskmanagementproject.helper;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import gang.lu.riskmanagementproject.domain.po.Worker;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.mapper.WorkerMapper;
+import gang.lu.riskmanagementproject.property.CacheProperty;
+import gang.lu.riskmanagementproject.util.LongBloomFilter;
+import gang.lu.riskmanagementproject.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.ID;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_WORKER_FILTER_FAILED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_WORKER_FILTER_REBUILT;
+import static gang.lu.riskmanagementproject.message.FailedMessages.WORKER_NOT_EXIST;
+
+/**
+ * 工人信息本地缓存
+ * <p>
+ * 工人信息写少读多，指标写入、预警新增、AI / LSTM 预测、报告导出、视频分析都要先确认工人存在，
+ * 此处按 ID 和工号双索引缓存，避免每次都查询 {@code t_worker}：
+ * <ul>
+ *   <li>正向缓存：ID → 工人，工号 → ID；按容量 LRU 淘汰，按有效期过期；</li>
+ *   <li>负向缓存：确认不存在的 ID / 工号短期记住，重复的错误 ID 不再打到数据库；</li>
+ *   <li>工号索引只记录 ID，命中后还要核对工人当前工号，工号被修改后旧索引自动失效。</li>
+ * </ul>
+ * <p>
+ * 工人新增 / 修改 / 删除后由 {@code WorkerServiceImpl} 调用 {@link #onSaved} / {@link #invalidate}：
+ * 立即失效一次，事务提交后再失效一次，防止提交前被并发读回旧值。
+ * 缓存中的工人对象为共享实例，调用方只读不改。
+ * <p>
+ * 另维护全部工人 ID 的布隆过滤器：启动后及定时整表重建，新增工人实时加入；
+ * 过滤器判定一定不存在的 ID 直接返回，不查库，也供批量存在性校验预先排除。
+ * 重建期间新增的 ID 另行记录，切换后并入新过滤器；新增工人在事务提交后再加入一次，
+ * 因为提交前开始的重建读不到未提交的行。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-09
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkerCache {
+
+    private static final String CACHE_NAME = "worker";
+
+    /**
+     * 过滤器最小预计容量（工人表较小时预留增长空间）
+     */
+    private static final long MIN_FILTER_INSERTIONS = 1024L;
+
+    private final WorkerMapper workerMapper;
+    private final CacheProperty cacheProperty;
+
+    private LRUCache<Long, Worker> workerById;
+    private LRUCache<String, Long> idByCode;
+    private LRUCache<Long, Boolean> missingIds;
+    private LRUCache<String, Boolean> missingCodes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private volatile LongBloomFilter idFilter;
+    private volatile boolean rebuilding;
+
+    /**
+     * 重建期间新增的 ID，切换后并入新过滤器
+     */
+    private final Set<Long> addedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        workerById = CacheUtil.newLRUCache(cacheProperty.getWorkerCapacity(), cacheProperty.getWorkerTtlMs());
+        idByCode = CacheUtil.newLRUCache(cacheProperty.getWorkerCapacity(), cacheProperty.getWorkerTtlMs());
+        missingIds = CacheUtil.newLRUCache(cacheProperty.getWorkerNegativeCapacity(), cacheProperty.getWorkerNegativeTtlMs());
+        missingCodes = CacheUtil.newLRUCache(cacheProperty.getWorkerNegativeCapacity(), cacheProperty.getWorkerNegativeTtlMs());
+    }
+
+    /**
+     * 按 ID 获取工人
+     *
+     * @param id 工人ID
+     * @return 工人；不存在时返回 null
+     */
+    public Worker getById(Long id) {
+        if (ObjectUtil.isNull(id)) {
+            return null;
+        }
+        Worker cached = workerById.get(id, false);
+        if (ObjectUtil.isNotNull(cached)) {
+            hitCount.increment();
+            return cached;
+        }
+        LongBloomFilter filter = idFilter;
+        if (ObjectUtil.isNotNull(missingIds.get(id, false))
+                || (ObjectUtil.isNotNull(filter) && !filter.mightContain(id))) {
+            negativeHitCount.increment();
+            return null;
+        }
+        missCount.increment();
+        Worker loaded = workerMapper.selectById(id);
+        if (ObjectUtil.isNull(loaded)) {
+            missingIds.put(id, Boolean.TRUE);
+        } else {
+            put(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 按 ID 获取工人，不存在时抛出 404（替代 {@code validateIdExist(workerId, workerMapper, ...)}）
+     *
+     * @param id 工人ID
+     * @return 工人（不为 null）
+     */
+    public Worker requireById(Long id) {
+        Worker worker = getById(id);
+        if (ObjectUtil.isNull(worker)) {
+            throw new BizException(HttpStatus.NOT_FOUND, WORKER_NOT_EXIST);
+        }
+        return worker;
+    }
+
+    /**
+     * 按工号获取工人
+     *
+     * @param workerCode 工号
+     * @return 工人；工号为空或不存在时返回 null
+     */
+    public Worker getByCode(String workerCode) {
+        if (StrUtil.isBlank(workerCode)) {
+            return null;
+        }
+        Long id = idByCode.get(workerCode, false);
+        if (ObjectUtil.isNotNull(id)) {
+            Worker cached = workerById.get(id, false);
+            if (ObjectUtil.isNotNull(cached) && workerCode.equals(cached.getWorkerCode())) {
+                hitCount.increment();
+                return cached;
+            }
+        }
+        if (ObjectUtil.isNotNull(missingCodes.get(workerCode, false))) {
+            negativeHitCount.increment();
+            return null;
+        }
+        missCount.increment();
+        Worker loaded = workerMapper.selectOne(
+                new LambdaQueryWrapper<Worker>().eq(Worker::getWorkerCode, workerCode));
+        if (ObjectUtil.isNull(loaded)) {
+            idByCode.remove(workerCode);
+            missingCodes.put(workerCode, Boolean.TRUE);
+        } else {
+            put(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 工人新增 / 修改后调用：失效旧条目，并清除该 ID 与工号的「不存在」标记
+     *
+     * @param worker 落库后的工人
+     */
+    public void onSaved(Worker worker) {
+        if (ObjectUtil.isNull(worker) || ObjectUtil.isNull(worker.getId())) {
+            return;
+        }
+        Long id = worker.getId();
+        String workerCode = worker.getWorkerCode();
+        // 先于提交加入过滤器：多放只会增加误判，不会漏判；提交后再加入一次，
+        // 防止提交前已开始的重建读不到该行、切换后的新过滤器漏掉它
+        putIdFilter(id);
+        Runnable action = () -> {
+            putIdFilter(id);
+            workerById.remove(id);
+            missingIds.remove(id);
+            if (StrUtil.isNotBlank(workerCode)) {
+                missingCodes.remove(workerCode);
+            }
+        };
+        action.run();
+        TransactionUtil.afterCommit(action);
+    }
+
+    /**
+     * 工人删除后调用（工号索引在下次按工号查询时自行校正）
+     *
+     * @param ids 已删除的工人ID
+     */
+    public void invalidate(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        Runnable action = () -> idList.forEach(workerById::remove);
+        action.run();
+        TransactionUtil.afterCommit(action);
+    }
+
+    /**
+     * 当前工人 ID 过滤器
+     *
+     * @return 过滤器；未启用或尚未构建完成时返回 null
+     */
+    public LongBloomFilter idFilter() {
+        return idFilter;
+    }
+
+    /**
+     * 从数据库整表重建工人 ID 过滤器（只查主键列）
+     * <p>
+     * 失败时停用过滤器，按 ID 查询全部回退数据库
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${cache.worker.bloom-rebuild-interval-ms:300000}",
+            fixedDelayString = "${cache.worker.bloom-rebuild-interval-ms:300000}")
+    public void rebuildIdFilter() {
+        if (!cacheProperty.isWorkerBloomEnabled()) {
+            idFilter = null;
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long total = workerMapper.selectCount(null);
+            LongBloomFilter rebuilt = new LongBloomFilter(
+                    Math.max(total * 2, MIN_FILTER_INSERTIONS), cacheProperty.getWorkerBloomFpp());
+            addedDuringRebuild.clear();
+            rebuilding = true;
+            List<Object> ids = workerMapper.selectObjs(Wrappers.<Worker>query().select(ID));
+            for (Object id : ids) {
+                if (id instanceof Number) {
+                    rebuilt.put(((Number) id).longValue());
+                }
+            }
+            // 先切换再结束记录：此后新增的 ID 直接写入新过滤器，此前记录的 ID 在下面并入
+            idFilter = rebuilt;
+            rebuilding = false;
+            addedDuringRebuild.forEach(rebuilt::put);
+            log.info(LOG_WORKER_FILTER_REBUILT, ids.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            idFilter = null;
+            log.warn(LOG_WORKER_FILTER_FAILED, e.getMessage());
+        } finally {
+            rebuilding = false;
+            addedDuringRebuild.clear();
+        }
+    }
+
+    /**
+     * 命中统计
+     */
+    public CacheStatsVO stats() {
+        long hits = hitCount.sum() + negativeHitCount.sum();
+        long misses = missCount.sum();
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setCacheName(CACHE_NAME);
+        vo.setSize(workerById.size());
+        vo.setHitCount(hitCount.sum());
+        vo.setNegativeHitCount(negativeHitCount.sum());
+        vo.setMissCount(misses);
+        vo.setHitRate(hits + misses == 0 ? 0D : (double) hits / (hits + misses));
+        return vo;
+    }
+
+    private void putIdFilter(long id) {
+        // 先记录再写当前过滤器：与重建的「切换 → 结束记录 → 并入」顺序配合，任何交错下都不会漏掉
+        if (rebuilding) {
+            addedDuringRebuild.add(id);
+        }
+        LongBloomFilter current = idFilter;
+        if (ObjectUtil.isNotNull(current)) {
+            current.put(id);
+        }
+    }
+
+    private void put(Worker worker) {
+        workerById.put(worker.getId(), worker);
+        if (StrUtil.isNotBlank(worker.getWorkerCode())) {
+            idByCode.put(worker.getWorkerCode(), worker.getId());
+        }
+    }
+}
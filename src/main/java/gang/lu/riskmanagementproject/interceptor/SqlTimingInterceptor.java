@@ -0,0 +1,218 @@
+package gang.lu.riskmanagementproject.interceptor;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.helper.LatencyRecorder;
+import gang.lu.riskmanagementproject.property.SqlMonitorProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_SLOW_SQL;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_SLOW_SQL_BATCH;
+
+/**
+ * SQL 语句耗时拦截器
+ * <p>
+ * 在 {@link StatementHandler} 层计时，覆盖 Mapper 方法、分页插件生成的 COUNT 语句以及条件构造器语句，
+ * 按 MappedStatement ID（去掉包名，如 {@code RiskIndicatorMapper.selectLatestByWorkerId}）
+ * 记入 {@link LatencyRecorder}，可通过 {@code /api/metrics/latency} 查看各语句的分位数耗时
+ * （默认为启动以来的累计值，{@code lastMinute=true} 为上一个完整分钟的窗口值）。
+ * <p>
+ * 批量执行器的 {@code batch} 只是攒语句，真正执行发生在 {@code flushStatements}，
+ * 因此批量语句在 {@link Executor#flushStatements()} 处计时，按批次中的语句分别记录。
+ * 执行器在 {@code commit} 内部自行刷写时不经过插件代理，此处在 {@link Executor#commit(boolean)} 之前
+ * 先经代理目标刷写一次并计时，提交时已无待刷写语句（行为不变）。
+ * <p>
+ * 已知缺口：批量会话中执行查询时，{@code BatchExecutor} 会在查询前内部刷写待执行语句，
+ * 这部分耗时不单独计入批量语句（只体现在整体响应时间中）。本项目的批量会话均在提交前显式刷写。
+ * <p>
+ * 只有超过阈值的语句才会拼接 SQL 与绑定参数并输出慢 SQL 日志，正常语句只做一次计时与直方图记录。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-13
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {}),
+        @Signature(type = Executor.class, method = "commit", args = {boolean.class})
+})
+public class SqlTimingInterceptor implements Interceptor {
+
+    private static final double NANOS_PER_MS = 1_000_000D;
+
+    private static final String COMMIT = "commit";
+
+    private final LatencyRecorder latencyRecorder;
+    private final SqlMonitorProperty sqlMonitorProperty;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!sqlMonitorProperty.isEnabled()) {
+            return invocation.proceed();
+        }
+        if (COMMIT.equals(invocation.getMethod().getName())) {
+            flushBeforeCommit((Executor) invocation.getTarget());
+            return invocation.proceed();
+        }
+        long startNanos = System.nanoTime();
+        Object result = null;
+        boolean error = true;
+        try {
+            result = invocation.proceed();
+            error = false;
+            return result;
+        } finally {
+            long costNanos = System.nanoTime() - startNanos;
+            if (invocation.getTarget() instanceof Executor) {
+                afterFlush(result, costNanos, error);
+            } else {
+                afterStatement((StatementHandler) invocation.getTarget(), result, costNanos, error);
+            }
+        }
+    }
+
+    private void afterStatement(StatementHandler handler, Object result, long costNanos, boolean error) {
+        PluginUtils.MPStatementHandler mpHandler = PluginUtils.mpStatementHandler(handler);
+        MappedStatement ms = mpHandler.mappedStatement();
+        String statementId = shortId(ms.getId());
+        latencyRecorder.record(MetricCategory.SQL, statementId, costNanos, error);
+        if (isSlow(costNanos)) {
+            BoundSql boundSql = mpHandler.boundSql();
+            log.warn(LOG_SLOW_SQL, statementId, formatMs(costNanos), rowsOf(result),
+                    truncate(compact(boundSql.getSql())), truncate(String.valueOf(bindParameters(ms.getConfiguration(), boundSql))));
+        }
+    }
+
+    /**
+     * 提交前显式刷写并计时（否则由执行器在 commit 内部刷写，绕过拦截）
+     */
+    private void flushBeforeCommit(Executor executor) throws SQLException {
+        long startNanos = System.nanoTime();
+        List<BatchResult> result = null;
+        boolean error = true;
+        try {
+            result = executor.flushStatements();
+            error = false;
+        } finally {
+            afterFlush(result, System.nanoTime() - startNanos, error);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void afterFlush(Object result, long costNanos, boolean error) {
+        if (!(result instanceof List) || ((List<?>) result).isEmpty()) {
+            return;
+        }
+        List<BatchResult> batchResults = (List<BatchResult>) result;
+        // 一次 flush 可能包含多条语句，耗时按语句条数均摊
+        long perStatementNanos = costNanos / batchResults.size();
+        for (BatchResult batchResult : batchResults) {
+            String statementId = shortId(batchResult.getMappedStatement().getId());
+            latencyRecorder.record(MetricCategory.SQL, statementId, perStatementNanos, error);
+            if (isSlow(costNanos)) {
+                log.warn(LOG_SLOW_SQL_BATCH, statementId, formatMs(costNanos),
+                        batchResult.getParameterObjects().size(), sumUpdateCounts(batchResult.getUpdateCounts()),
+                        truncate(compact(batchResult.getSql())));
+            }
+        }
+    }
+
+    private boolean isSlow(long costNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(costNanos) >= sqlMonitorProperty.getSlowThresholdMs();
+    }
+
+    /**
+     * 按 MyBatis {@code DefaultParameterHandler} 的取值规则还原绑定参数（仅慢 SQL 调用）
+     */
+    private static List<Object> bindParameters(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(mappings.size());
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                values.add(boundSql.getAdditionalParameter(property));
+            } else if (parameterObject == null) {
+                values.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                values.add(parameterObject);
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                values.add(metaObject.getValue(property));
+            }
+        }
+        return values;
+    }
+
+    private static Object rowsOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        return result;
+    }
+
+    private static long sumUpdateCounts(int[] updateCounts) {
+        long rows = 0;
+        for (int count : updateCounts) {
+            if (count > 0) {
+                rows += count;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 去掉包名：gang.lu.xxx.mapper.WorkerMapper.selectById → WorkerMapper.selectById
+     */
+    private static String shortId(String id) {
+        int methodDot = id.lastIndexOf('.');
+        int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+        return classDot >= 0 ? id.substring(classDot + 1) : id;
+    }
+
+    private static String compact(String sql) {
+        return sql == null ? null : sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private String truncate(String text) {
+        int max = sqlMonitorProperty.getMaxLogLength();
+        if (text == null || text.length() <= max) {
+            return text;
+        }
+        return text.substring(0, max) + "...(" + text.length() + ")";
+    }
+
+    private static String formatMs(long nanos) {
+        return String.format("%.3f", nanos / NANOS_PER_MS);
+    }
+}
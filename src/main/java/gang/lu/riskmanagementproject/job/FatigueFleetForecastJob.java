@@ -0,0 +1,44 @@
+package gang.lu.riskmanagementproject.job;
+
+import gang.lu.riskmanagementproject.helper.FatigueModelRegistry;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import gang.lu.riskmanagementproject.service.RiskAiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LSTM_FLEET_FAILED;
+
+/**
+ * 全部在岗工人疲劳批量预测定时任务
+ * <p>
+ * 每隔 {@code lstm.fleet.interval-ms} 用离线模型批量预测全部非离线状态的工人，
+ * 结果替换整个批量预测缓存供看板读取；尚无离线模型时跳过。
+ * 推理提交到 LSTM 计算线程池但不受请求级准入控制，不会因队列已满或等待超时而跳过本轮。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FatigueFleetForecastJob {
+
+    private final RiskAiService riskAiService;
+    private final FatigueModelRegistry fatigueModelRegistry;
+    private final LstmProperty lstmProperty;
+
+    @Scheduled(initialDelayString = "${lstm.fleet.interval-ms:300000}",
+            fixedDelayString = "${lstm.fleet.interval-ms:300000}")
+    public void forecastFleet() {
+        if (!lstmProperty.isFleetEnabled() || fatigueModelRegistry.versions().isEmpty()) {
+            return;
+        }
+        try {
+            riskAiService.predictFatigueFleet(lstmProperty.getFleetHistory());
+        } catch (Exception e) {
+            log.error(LOG_LSTM_FLEET_FAILED, e);
+        }
+    }
+}
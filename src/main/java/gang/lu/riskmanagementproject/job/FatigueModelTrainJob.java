@@ -0,0 +1,31 @@
+package gang.lu.riskmanagementproject.job;
+
+import gang.lu.riskmanagementproject.helper.FatigueModelTrainer;
+import gang.lu.riskmanagementproject.property.LstmProperty;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * LSTM 疲劳模型离线训练定时任务
+ * <p>
+ * 只负责按 {@code lstm.offline.train-cron} 提交训练，训练在 {@link FatigueModelTrainer} 的后台线程中执行，
+ * 不占用定时任务线程，其他定时任务不受影响。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-15
+ */
+@Component
+@RequiredArgsConstructor
+public class FatigueModelTrainJob {
+
+    private final FatigueModelTrainer fatigueModelTrainer;
+    private final LstmProperty lstmProperty;
+
+    @Scheduled(cron = "${lstm.offline.train-cron:0 0 3 * * ?}")
+    public void train() {
+        if (lstmProperty.isOfflineEnabled()) {
+            fatigueModelTrainer.submit();
+        }
+    }
+}
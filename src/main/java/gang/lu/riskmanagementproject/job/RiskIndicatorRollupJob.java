@@ -0,0 +1,43 @@
+package gang.lu.riskmanagementproject.job;
+
+import gang.lu.riskmanagementproject.helper.RiskIndicatorRollupHelper;
+import gang.lu.riskmanagementproject.property.StatisticProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_ROLLUP_REBUILD_FAILED;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_ROLLUP_REBUILD_START;
+
+/**
+ * 风险指标小时汇总定时重建任务
+ * <p>
+ * 增量合并只能抬高某小时的最高风险等级，明细被修改或删除后汇总可能偏高，
+ * 因此每天定时从明细表重建最近 {@code rollupRebuildDays} 天的汇总。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-06
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskIndicatorRollupJob {
+
+    private final RiskIndicatorRollupHelper rollupHelper;
+    private final StatisticProperty statisticProperty;
+
+    @Scheduled(cron = "${statistic.rollup-rebuild-cron:0 30 2 * * ?}")
+    public void rebuildRecentDays() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(Math.max(1, statisticProperty.getRollupRebuildDays()) - 1L);
+        log.info(LOG_ROLLUP_REBUILD_START, from, to);
+        try {
+            rollupHelper.backfill(from, to);
+        } catch (Exception e) {
+            log.error(LOG_ROLLUP_REBUILD_FAILED, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gang.lu.riskmanagementproject.job;
+
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorLatestCache;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
+import gang.lu.riskmanagementproject.property.StatisticProperty;
+import gang.lu.riskmanagementproject.util.StatisticalUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
+
+/**
+ * 风险等级分布对账任务
+ * <p>
+ * 定期将 {@link RiskIndicatorLatestCache} 中增量维护的各等级工人数与 SQL 统计结果比对，
+ * 发现偏差时告警，并按配置以数据库为准修复内存表。
+ * <p>
+ * SQL 执行期间若有新写入，内存计数会发生变化，此时结果不具可比性，跳过本轮。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-05
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskLevelReconcileJob {
+
+    private static final RiskLevel[] LEVELS = RiskLevel.values();
+
+    private final RiskIndicatorLatestCache latestCache;
+    private final RiskIndicatorMapper riskIndicatorMapper;
+    private final StatisticProperty statisticProperty;
+
+    @Scheduled(fixedDelayString = "${statistic.reconcile-interval-ms:300000}",
+            initialDelayString = "${statistic.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            // 启动预热失败时在此补做
+            if (!latestCache.isWarmed()) {
+                latestCache.repair();
+                log.info(LOG_RECONCILE_LATE_WARMED);
+                return;
+            }
+            long[] before = snapshot();
+            Map<String, Map<String, Object>> dbCountMap = riskIndicatorMapper.countDistinctWorkerByRiskLevel();
+            long[] after = snapshot();
+            if (!Arrays.equals(before, after)) {
+                log.debug(LOG_RECONCILE_SKIPPED);
+                return;
+            }
+            boolean drift = false;
+            for (RiskLevel level : LEVELS) {
+                long memory = after[level.ordinal()];
+                long db = StatisticalUtil.getCountFromMap(dbCountMap, level.getValue());
+                if (memory != db) {
+                    drift = true;
+                    log.warn(LOG_RECONCILE_DRIFT, level.getValue(), memory, db);
+                }
+            }
+            if (!drift) {
+                log.debug(LOG_RECONCILE_OK);
+                return;
+            }
+            if (statisticProperty.isReconcileRepair()) {
+                latestCache.repair();
+                log.info(LOG_RECONCILE_REPAIRED);
+            }
+        } catch (Exception e) {
+            log.warn(LOG_RECONCILE_FAILED, e.getMessage());
+        }
+    }
+
+    private long[] snapshot() {
+        long[] counts = new long[LEVELS.length];
+        for (RiskLevel level : LEVELS) {
+            counts[level.ordinal()] = latestCache.countByRiskLevel(level);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,31 @@
+package gang.lu.riskmanagementproject.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 分页总数估算 Mapper 接口
+ * </p>
+ *
+ * @author Franz Liszt
+ * @since 2026-03-08
+ */
+@Mapper
+public interface PageCountMapper {
+
+    /**
+     * 对分页查询条件执行 EXPLAIN，用于估算命中行数
+     *
+     * @param tableName 表名（取自实体元数据，非用户输入）
+     * @param wrapper   分页查询条件
+     * @return EXPLAIN 结果行（含 rows、filtered）
+     */
+    List<Map<String, Object>> explainSelect(@Param("tableName") String tableName,
+                                            @Param(Constants.WRAPPER) Wrapper<?> wrapper);
+}
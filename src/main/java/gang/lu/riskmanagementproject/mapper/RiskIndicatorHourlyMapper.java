@@ -0,0 +1,75 @@
+package gang.lu.riskmanagementproject.mapper;
+
+import gang.lu.riskmanagementproject.domain.po.RiskIndicatorHourly;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 风险指标小时汇总表 Mapper 接口
+ * </p>
+ *
+ * @author Franz Liszt
+ * @since 2026-03-06
+ */
+@Mapper
+public interface RiskIndicatorHourlyMapper {
+
+    /**
+     * 增量合并小时汇总（最高等级取较大值，条数累加）
+     *
+     * @param rows 按（工人ID，小时）预聚合后的汇总行
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("rows") List<RiskIndicatorHourly> rows);
+
+    /**
+     * 删除时间范围内的小时汇总
+     *
+     * @param start 起始时间（含）
+     * @param end   结束时间（不含）
+     * @return 删除行数
+     */
+    int deleteByRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 删除指定的（工人ID，小时）汇总桶
+     *
+     * @param keys 汇总桶（只使用 workerId 与 hourStart）
+     * @return 删除行数
+     */
+    int deleteBuckets(@Param("keys") List<RiskIndicatorHourly> keys);
+
+    /**
+     * 从明细表重建指定的（工人ID，小时）汇总桶（桶内无明细时不生成）
+     *
+     * @param keys 汇总桶（只使用 workerId 与 hourStart）
+     * @return 影响行数
+     */
+    int rebuildBuckets(@Param("keys") List<RiskIndicatorHourly> keys);
+
+    /**
+     * 从明细表重建时间范围内的小时汇总
+     *
+     * @param start 起始时间（含）
+     * @param end   结束时间（不含）
+     * @return 影响行数
+     */
+    int rebuildByRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按指定小时宽度分段统计时间范围内的高风险（非低风险）去重工人数
+     *
+     * @param start       起始时间（含）
+     * @param end         结束时间（不含）
+     * @param bucketHours 每段小时数
+     * @return List<Map(period=时间段起始小时, count=人数)>，无数据的时间段不返回
+     */
+    List<Map<String, Object>> countHighRiskWorkerByBucket(@Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end,
+                                                          @Param("bucketHours") int bucketHours);
+}
@@ -5,11 +5,12 @@ import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.PERIOD;
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.RISK_LEVEL;
 
 /**
@@ -32,7 +33,16 @@ public interface RiskIndicatorMapper extends BaseMapper<RiskIndicator> {
     RiskIndicator selectLatestByWorkerId(@Param("workerId") Long workerId);
 
     /**
-     * 统计去重工人的风险等级分布
+     * 查询每个工人的最新一条记录（用于启动时预热最新指标缓存）
+     * <p>
+     * 同一工人存在 create_time 相同的多条记录时会全部返回，由调用方按 ID 取舍
+     *
+     * @return 各工人最新指标
+     */
+    List<RiskIndicator> selectLatestPerWorker();
+
+    /**
+     * 统计去重工人的风险等级分布（每个工人按其最新一条记录的风险等级计数）
      *
      * @return Map<风险等级, 子Map(包含risk_level和count)>
      */
@@ -40,11 +50,31 @@ public interface RiskIndicatorMapper extends BaseMapper<RiskIndicator> {
     Map<String, Map<String, Object>> countDistinctWorkerByRiskLevel();
 
     /**
-     * 统计当日各4小时时间段内高风险（非低风险）的去重工人数
+     * 流式扫描全表疲劳百分比序列（仅 worker_id / id / fatigue_percent，按工人、时间正序）
+     * <p>
+     * 用于离线训练，结果逐行交给 handler，不在内存中堆积整表
+     *
+     * @param handler 逐行处理器
+     */
+    void scanFatigueSeries(ResultHandler<RiskIndicator> handler);
+
+    /**
+     * 一次查询多个工人各自最近 limit 条疲劳百分比（仅 id / worker_id / fatigue_percent，按工人、时间正序）
+     *
+     * @param workerIds 工人ID集合（非空）
+     * @param limit     每个工人最多返回的条数
+     * @return 疲劳百分比非空的记录
+     */
+    List<RiskIndicator> selectRecentFatigueByWorkers(@Param("workerIds") Collection<Long> workerIds,
+                                                     @Param("limit") int limit);
+
+    /**
+     * 一次查询多个工人各自最近 limit 条完整记录（按工人、时间正序），用于批量 AI 风险预测
      *
-     * @param statDate 统计日期（yyyy-MM-dd）
-     * @return Map<时间段标识(0/4/8/12/16/20), 子Map(period=时间段标识, count=人数)>
+     * @param workerIds 工人ID集合（非空）
+     * @param limit     每个工人最多返回的条数
+     * @return 风险指标记录
      */
-    @MapKey(PERIOD)
-    List<Map<String, Object>> countHighRiskWorkerByTimePeriod(@Param("statDate") String statDate);
+    List<RiskIndicator> selectRecentByWorkers(@Param("workerIds") Collection<Long> workerIds,
+                                              @Param("limit") int limit);
 }
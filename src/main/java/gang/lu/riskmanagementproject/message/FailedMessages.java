@@ -83,6 +83,19 @@ public interface FailedMessages {
     String RISK_INDICATOR_DELETE_BATCH_ID_INVALID = "【风险指标操作失败】批量删除风险指标失败，请检查ID合法性！";
     String RISK_RECORD_START_TIME_INVALID         = "【参数校验失败】风险指标记录开始时间不能晚于当前时间！";
     String RISK_RECORD_END_TIME_INVALID           = "【参数校验失败】风险指标记录结束时间不能晚于当前时间！";
+    String RISK_INDICATOR_BATCH_EMPTY             = "【参数校验失败】批量写入的风险指标列表不能为空！";
+    String RISK_INDICATOR_BATCH_TOO_LARGE         = "【参数校验失败】单次批量写入最多支持 %d 条风险指标！";
+    String RISK_INDICATOR_ROW_NULL                = "【参数校验失败】风险指标记录不能为空！";
+    String RISK_INDICATOR_STREAM_ROW_NOT_OBJECT   = "【参数校验失败】每行必须是一个 JSON 对象！";
+    String RISK_INDICATOR_STREAM_LEVEL_INVALID    = "【参数校验失败】风险等级无效！允许值为：低风险 / 中风险 / 高风险 / 严重风险！";
+    String RISK_INDICATOR_STREAM_TIME_INVALID     = "【参数校验失败】记录时间格式无效！格式应为 yyyy-MM-dd HH:mm:ss！";
+    String RISK_INDICATOR_STREAM_ALERT_FLAG_EMPTY = "【参数校验失败】是否触发报警不能为空！";
+    String RISK_INDICATOR_STREAM_READ_FAILED      = "【参数解析失败】第 %d 行起 NDJSON 流解析失败，后续数据已忽略！";
+    String RISK_PERIOD_HOURS_INVALID              = "【参数校验失败】时间段宽度无效！需为 24 的约数（1/2/3/4/6/8/12/24 小时）！";
+    String RISK_ROLLUP_RANGE_INVALID              = "【参数校验失败】回填日期范围无效！起始日期不能晚于结束日期，且跨度不能超过 %d 天！";
+    String RISK_INDICATOR_BUFFER_FULL             = "【风险指标操作失败】写入缓冲区已满，请稍后重试！";
+    String RISK_INDICATOR_BUFFER_CLOSED           = "【风险指标操作失败】写入缓冲区已关闭，暂不接收新数据！";
+    String RISK_INDICATOR_BUFFER_FLUSH_FAILED     = "【风险指标操作失败】批量落库失败，请稍后重试！";
 
     // ==============================4. 工作区域业务失败信息================================
 
@@ -118,6 +131,7 @@ public interface FailedMessages {
 
     String PAGE_NUMBER_INVALID = "【参数校验失败】页码不能小于1！";
     String PAGE_SIZE_INVALID   = "【参数校验失败】每页条数需在1-100之间！";
+    String PAGE_CURSOR_INVALID = "【参数校验失败】分页游标无效，请从第一页重新查询！";
 
     // ==============================7. 算法服务异常信息================================
 
@@ -134,6 +148,11 @@ public interface FailedMessages {
     String AI_MODEL_INVALID            = "【模型调用失败】AI 服务暂不可用！";
     String AI_MODEL_CONNECTION_FAIL    = "【模型调用失败】AI 服务连接失败！";
     String AI_RESPONSE_RESOLVE_FAILURE = "【响应解析失败】AI 响应解析失败，请重试！";
+    String AI_MODEL_TIMEOUT            = "【模型调用失败】AI 服务响应超时，请稍后重试！";
+    String AI_CIRCUIT_OPEN             = "【模型调用失败】AI 服务暂时不稳定，已暂停调用，请 %d 秒后重试！";
+    String AI_BATCH_WORKERS_EMPTY      = "【参数校验失败】批量预测的工人ID列表不能为空！";
+    String AI_BATCH_TOO_MANY           = "【参数校验失败】单次批量 AI 预测最多支持 %d 名工人！";
+    String AI_BATCH_RESULT_MISSING     = "【响应解析失败】AI 批量响应中缺少该工人的结果，请单独重试！";
     String PDF_LIMIT_INVALID           = "【参数校验失败】PDF 可接受历史记录范围为1-100条！";
     String PDF_GENERATE_FAILED         = "【PDF生成失败】PDF 生成失败，请稍后重试！";
     String PDF_FONT_NOT_FOUND          = "【服务器内部错误】字体文件未找到: %s！";
@@ -142,6 +161,11 @@ public interface FailedMessages {
 
     String LSTM_HISTORY_TOO_FEW  = "【参数校验失败】历史记录不足，LSTM 预测至少需要 %d 条有效数据！";
     String LSTM_HISTORY_TOO_MANY = "【参数校验失败】历史记录超出上限，最多支持 %d 条数据参与训练！";
+    String FORECAST_HISTORY_FEW  = "【参数校验失败】历史记录不足，统计方法预测至少需要 %d 条有效数据！";
     String LSTM_PREDICT_FAILED   = "【LSTM预测失败】模型训练或推理过程中发生异常，请稍后重试！";
+    String LSTM_BATCH_TOO_MANY   = "【参数校验失败】单次批量预测最多支持 %d 名工人！";
+    String LSTM_OFFLINE_MISSING  = "【LSTM预测失败】尚无可用的离线模型，请先完成离线训练！";
+    String LSTM_COMPUTE_BUSY     = "【LSTM预测失败】预测请求过多，计算队列已满，请稍后重试！";
+    String LSTM_COMPUTE_TIMEOUT  = "【LSTM预测失败】等待计算资源超时，请稍后重试！";
 
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ public interface SuccessMessages {
     String ALERT_RECORD_UPDATE_SUCCESS           = "修改预警记录成功！";
     String ALERT_RECORD_GET_SUCCESS              = "查询预警记录成功！";
     String ALERT_RECORD_GET_COUNT_SUCCESS        = "查询预警记录成功，共%s条！";
+    String ALERT_RECORD_GET_PAGE_SUCCESS         = "查询预警记录成功，本页%s条！";
     String ALERT_RECORD_DELETE_SUCCESS           = "删除预警记录成功！";
     String ALERT_RECORD_BATCH_DELETE_SUCCESS     = "批量删除预警记录成功！";
     String ALERT_RECORD_MARK_HANDLED_SUCCESS     = "标记预警记录为已处理成功！";
@@ -34,10 +35,15 @@ public interface SuccessMessages {
     // ==============================2. 风险指标================================
 
     String RISK_INDICATOR_ADD_SUCCESS                        = "新增风险指标成功！";
+    String RISK_INDICATOR_ADD_ACCEPTED                       = "新增风险指标已受理，稍后落库！";
+    String RISK_INDICATOR_BATCH_ADD_SUCCESS                  = "批量新增风险指标完成，成功%s条，失败%s条！";
+    String RISK_INDICATOR_STREAM_ADD_SUCCESS                 = "流式写入风险指标完成，共%s行，成功%s条，失败%s条！";
+    String RISK_INDICATOR_ROLLUP_BACKFILL_SUCCESS            = "回填风险指标小时汇总完成，共%s天！";
     String RISK_INDICATOR_UPDATE_SUCCESS                     = "修改风险指标成功！";
     String RISK_INDICATOR_GET_SUCCESS                        = "查询风险指标成功！";
     String RISK_INDICATOR_GET_LATEST_SUCCESS                 = "查询工人最新风险指标成功！";
     String RISK_INDICATOR_GET_COUNT_SUCCESS                  = "查询风险指标记录成功，共%s条！";
+    String RISK_INDICATOR_GET_PAGE_SUCCESS                   = "查询风险指标记录成功，本页%s条！";
     String RISK_INDICATOR_DELETE_SUCCESS                     = "删除风险指标成功！";
     String RISK_INDICATOR_BATCH_DELETE_SUCCESS               = "批量删除风险指标成功！";
     String RISK_INDICATOR_STATISTIC_RISK_LEVEL_COUNT_SUCCESS = "统计工人风险等级分布成功！";
@@ -50,6 +56,7 @@ public interface SuccessMessages {
     String WORK_AREA_GET_SUCCESS                        = "查询工作区域成功！";
     String WORK_AREA_GET_BY_CODE_SUCCESS                = "按编码查询工作区域成功，共%s条！";
     String WORK_AREA_GET_COUNT_SUCCESS                  = "查询工作区域信息成功，共%s条！";
+    String WORK_AREA_GET_PAGE_SUCCESS                   = "查询工作区域信息成功，本页%s条！";
     String WORK_AREA_DELETE_SUCCESS                     = "删除工作区域成功！";
     String WORK_AREA_DELETE_BATCH_SUCCESS               = "批量删除工作区域成功！";
     String WORK_AREA_STATISTIC_RISK_LEVEL_COUNT_SUCCESS = "统计工作区域风险等级分布成功！";
@@ -60,14 +67,31 @@ public interface SuccessMessages {
     String WORKER_UPDATE_SUCCESS                      = "修改工人信息成功！";
     String WORKER_GET_SUCCESS                         = "查询工人信息成功！";
     String WORKER_GET_COUNT_SUCCESS                   = "查询工人信息成功，共%s条！";
+    String WORKER_GET_PAGE_SUCCESS                    = "查询工人信息成功，本页%s条！";
     String WORKER_DELETE_SUCCESS                      = "删除工人信息成功！";
     String WORKER_DELETE_BATCH_SUCCESS                = "批量删除工人信息成功！";
     String WORKER_STATISTIC_COUNT_BY_STATUS_SUCCESS   = "统计工人状态分布成功！";
     String WORKER_STATISTIC_COUNT_BY_WORKTYPE_SUCCESS = "统计工人工种分布成功！";
+    String WORKER_CACHE_STATS_SUCCESS                 = "查询工人缓存统计成功！";
 
     // ==============================5. 视频 & AI================================
 
     String VIDEO_ANALYZE_SUCCESS = "视频分析成功！";
     String AI_ANALYZE_SUCCESS    = "AI 智能分析成功！";
     String LSTM_PREDICT_SUCCESS  = "疲劳预测成功！";
-}
\ No newline at end of file
+    String LSTM_RETRAIN_SUCCESS  = "疲劳模型重训并预测成功！";
+    String LSTM_OFFLINE_TRAIN_SUBMITTED = "离线训练已提交，完成后自动加载新模型！";
+    String LSTM_OFFLINE_TRAIN_RUNNING   = "离线训练正在进行中，请稍后再试！";
+    String LSTM_OFFLINE_MODELS_SUCCESS  = "查询离线模型版本成功！";
+    String LSTM_BATCH_PREDICT_SUCCESS   = "批量疲劳预测成功，共%s名工人！";
+    String LSTM_BATCH_LATEST_SUCCESS    = "查询最近批量预测结果成功，共%s名工人！";
+    String AI_BATCH_ANALYZE_SUCCESS     = "AI 批量智能分析完成，成功%s名，失败%s名！";
+
+    // ==============================6. 运行指标================================
+
+    String METRICS_LATENCY_SUCCESS       = "查询耗时统计成功，共%s项！";
+    String METRICS_LATENCY_RESET_SUCCESS = "清空耗时统计成功！";
+    String METRICS_COMPUTE_SUCCESS       = "查询计算线程池状态成功！";
+    String METRICS_AI_CACHE_SUCCESS      = "查询 AI 预测缓存统计成功！";
+    String METRICS_AI_CLIENT_SUCCESS     = "查询 AI 客户端状态成功！";
+}
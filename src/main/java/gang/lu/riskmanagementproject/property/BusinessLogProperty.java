@@ -0,0 +1,34 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/11 09:40
+ * @description 业务操作日志参数
+ */
+@Data
+@Component
+public class BusinessLogProperty {
+
+    /**
+     * 是否异步输出（入参 / 返回值的序列化与格式化移出请求线程）
+     */
+    @Value("${business-log.async-enabled:true}")
+    private boolean asyncEnabled;
+
+    /**
+     * 异步日志队列容量，队列满时直接丢弃，不阻塞请求线程
+     */
+    @Value("${business-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * 是否按 {@code @BusinessLog#sampleRate} 采样（排查问题时可关闭以记录全部调用）
+     */
+    @Value("${business-log.sampling-enabled:true}")
+    private boolean samplingEnabled;
+}
@@ -0,0 +1,76 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/9 10:15
+ * @description 本地缓存参数
+ */
+@Data
+@Component
+public class CacheProperty {
+
+    /**
+     * 工人缓存最大条目数（LRU 淘汰）
+     */
+    @Value("${cache.worker.capacity:10000}")
+    private int workerCapacity;
+
+    /**
+     * 工人缓存有效期（毫秒），兜底其他进程直接改库造成的不一致
+     */
+    @Value("${cache.worker.ttl-ms:600000}")
+    private long workerTtlMs;
+
+    /**
+     * 不存在的工人 ID / 工号缓存最大条目数
+     */
+    @Value("${cache.worker.negative-capacity:10000}")
+    private int workerNegativeCapacity;
+
+    /**
+     * 不存在的工人 ID / 工号缓存有效期（毫秒），应明显短于正向缓存
+     */
+    @Value("${cache.worker.negative-ttl-ms:30000}")
+    private long workerNegativeTtlMs;
+
+    /**
+     * 是否启用工人 ID 布隆过滤器（确认不存在的 ID 不再查库）
+     */
+    @Value("${cache.worker.bloom-enabled:true}")
+    private boolean workerBloomEnabled;
+
+    /**
+     * 工人 ID 布隆过滤器误判率
+     */
+    @Value("${cache.worker.bloom-fpp:0.01}")
+    private double workerBloomFpp;
+
+    /**
+     * 工人 ID 布隆过滤器重建间隔（毫秒），清除已删除 ID 并兜底其他进程直接插入的工人
+     */
+    @Value("${cache.worker.bloom-rebuild-interval-ms:300000}")
+    private long workerBloomRebuildIntervalMs;
+
+    /**
+     * 是否缓存千问风险预测结果（同一工人最近记录未变化时直接复用）
+     */
+    @Value("${cache.ai-prediction.enabled:true}")
+    private boolean aiPredictionEnabled;
+
+    /**
+     * 千问风险预测缓存最大条目数（LRU 淘汰）
+     */
+    @Value("${cache.ai-prediction.capacity:2000}")
+    private int aiPredictionCapacity;
+
+    /**
+     * 千问风险预测缓存有效期（毫秒），到期后即使数据未变化也重新分析
+     */
+    @Value("${cache.ai-prediction.ttl-ms:1800000}")
+    private long aiPredictionTtlMs;
+}
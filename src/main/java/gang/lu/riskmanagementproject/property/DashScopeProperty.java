@@ -25,4 +25,88 @@ public class DashScopeProperty {
 
     @Value("${dashscope.base-url}")
     private String baseUrl;
-}
\ No newline at end of file
+
+    /**
+     * 建立连接超时（毫秒）
+     */
+    @Value("${dashscope.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    /**
+     * 单次调用截止时间（毫秒），覆盖连接、发送与读取整个过程，到期后取消调用
+     */
+    @Value("${dashscope.call-timeout-ms:30000}")
+    private long callTimeoutMs;
+
+    /**
+     * 最大并发请求数，超出的请求在客户端排队（不占用 Web 线程）
+     */
+    @Value("${dashscope.max-requests:16}")
+    private int maxRequests;
+
+    /**
+     * 连接池最大空闲连接数
+     */
+    @Value("${dashscope.max-idle-connections:8}")
+    private int maxIdleConnections;
+
+    /**
+     * 空闲连接保活时间（毫秒）
+     */
+    @Value("${dashscope.keep-alive-ms:300000}")
+    private long keepAliveMs;
+
+    /**
+     * 连续失败多少次后熔断（超时、连接失败、5xx / 429 计为失败）
+     */
+    @Value("${dashscope.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    /**
+     * 熔断持续时间（毫秒），到期后放行一次探测调用
+     */
+    @Value("${dashscope.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    /**
+     * 异步接口等待结果的超时（毫秒），应略大于单次调用截止时间
+     */
+    @Value("${dashscope.deferred-timeout-ms:35000}")
+    private long deferredTimeoutMs;
+
+    /**
+     * 批量预测单次请求最多工人数
+     */
+    @Value("${dashscope.batch.max-workers:50}")
+    private int batchMaxWorkers;
+
+    /**
+     * 单个批量提示词的输入 token 预算（估算值），超出后另起一个提示词
+     */
+    @Value("${dashscope.batch.prompt-token-budget:3000}")
+    private int batchPromptTokenBudget;
+
+    /**
+     * 单个批量提示词最多打包的工人数
+     */
+    @Value("${dashscope.batch.max-workers-per-prompt:8}")
+    private int batchMaxWorkersPerPrompt;
+
+    /**
+     * 每名工人预留的输出 token 数，批量请求的 max_tokens = 工人数 × 该值
+     */
+    @Value("${dashscope.batch.output-tokens-per-worker:400}")
+    private int batchOutputTokensPerWorker;
+
+    /**
+     * 批量预测同时在途的提示词数
+     */
+    @Value("${dashscope.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    /**
+     * 批量接口等待结果的超时（毫秒），提示词多于并发数时需分轮调用，应大于单次调用截止时间的数倍
+     */
+    @Value("${dashscope.batch.deferred-timeout-ms:120000}")
+    private long batchDeferredTimeoutMs;
+}
@@ -0,0 +1,52 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/17 09:30
+ * @description 疲劳统计预测方法参数
+ */
+@Data
+@Component
+public class ForecastProperty {
+
+    /**
+     * 自动选择时使用 LSTM 所需的最少历史条数，不足时使用阻尼趋势
+     */
+    @Value("${forecast.auto-lstm-min-history:20}")
+    private int autoLstmMinHistory;
+
+    /**
+     * 统计方法（指数平滑 / 线性趋势 / 阻尼趋势）所需的最少有效历史条数，与 LSTM 的最少条数分开校验
+     */
+    @Value("${forecast.min-history:3}")
+    private int minHistory;
+
+    /**
+     * 指数平滑的平滑系数（0-1，越大越贴近最新读数）
+     */
+    @Value("${forecast.ewma-alpha:0.5}")
+    private double ewmaAlpha;
+
+    /**
+     * 趋势方法的水平平滑系数（0-1）
+     */
+    @Value("${forecast.trend-alpha:0.5}")
+    private double trendAlpha;
+
+    /**
+     * 趋势方法的斜率平滑系数（0-1）
+     */
+    @Value("${forecast.trend-beta:0.3}")
+    private double trendBeta;
+
+    /**
+     * 阻尼趋势的阻尼系数（0-1，越小斜率衰减越快）
+     */
+    @Value("${forecast.damped-phi:0.9}")
+    private double dampedPhi;
+}
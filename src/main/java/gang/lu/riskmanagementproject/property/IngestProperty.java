@@ -0,0 +1,102 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/2 10:12
+ * @description 风险指标批量写入参数
+ */
+@Data
+@Component
+public class IngestProperty {
+
+    /**
+     * 单次批量写入允许的最大条数
+     */
+    @Value("${ingest.batch-max-size:5000}")
+    private int batchMaxSize;
+
+    /**
+     * MyBatis 批量执行器每次 flush 的语句条数
+     */
+    @Value("${ingest.jdbc-batch-size:1000}")
+    private int jdbcBatchSize;
+
+    /**
+     * NDJSON 流式写入时每批落库的条数（内存中最多暂存一批）
+     */
+    @Value("${ingest.stream-batch-size:1000}")
+    private int streamBatchSize;
+
+    /**
+     * NDJSON 流式写入汇总中最多返回的拒绝样例条数
+     */
+    @Value("${ingest.stream-max-rejected-samples:100}")
+    private int streamMaxRejectedSamples;
+
+    /**
+     * 是否启用写入缓冲（关闭时单条新增直接同步落库）
+     */
+    @Value("${ingest.buffer.enabled:false}")
+    private boolean bufferEnabled;
+
+    /**
+     * 写入缓冲队列容量
+     */
+    @Value("${ingest.buffer.capacity:10000}")
+    private int bufferCapacity;
+
+    /**
+     * 攒满多少条触发一次批量落库
+     */
+    @Value("${ingest.buffer.flush-size:500}")
+    private int flushSize;
+
+    /**
+     * 首条入队后最长等待多久触发批量落库（毫秒）
+     */
+    @Value("${ingest.buffer.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    /**
+     * 持久化模式：ENQUEUE 入队即返回，FLUSH 落库后返回
+     */
+    @Value("${ingest.buffer.durability:FLUSH}")
+    private Durability durability;
+
+    /**
+     * 队列满时生产者最长阻塞时间（毫秒），超时则拒绝
+     */
+    @Value("${ingest.buffer.offer-timeout-ms:200}")
+    private long offerTimeoutMs;
+
+    /**
+     * FLUSH 模式下等待落库确认的最长时间（毫秒），超时按已受理（202）返回，记录稍后落库
+     */
+    @Value("${ingest.buffer.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    /**
+     * 关闭时等待队列排空的最长时间（毫秒）
+     */
+    @Value("${ingest.buffer.drain-timeout-ms:10000}")
+    private long drainTimeoutMs;
+
+    /**
+     * 写入缓冲持久化模式
+     */
+    public enum Durability {
+        /**
+         * 入队成功即确认，吞吐最高，进程崩溃时可能丢失未落库数据
+         */
+        ENQUEUE,
+        /**
+         * 所在批次提交成功后才确认
+         */
+        FLUSH
+    }
+}
@@ -43,4 +43,99 @@ public class LstmProperty {
      */
     @Value("${lstm.hidden-size}")
     private int hiddenSize;
+    /**
+     * 命中缓存模型且有新读数时的增量微调轮次
+     */
+    @Value("${lstm.fine-tune-epochs:10}")
+    private int fineTuneEpochs;
+    /**
+     * 是否缓存每个工人训练好的模型（关闭后每次请求都重新训练）
+     */
+    @Value("${lstm.model-cache.enabled:true}")
+    private boolean modelCacheEnabled;
+    /**
+     * 模型缓存内存上限（MB），按参数与优化器状态估算，超出后按最近最少使用淘汰
+     */
+    @Value("${lstm.model-cache.max-memory-mb:64}")
+    private long modelCacheMaxMemoryMb;
+    /**
+     * 是否使用离线训练的模型（启用且已有模型文件时，预测请求只加载模型推理）
+     */
+    @Value("${lstm.offline.enabled:true}")
+    private boolean offlineEnabled;
+    /**
+     * 离线模型文件目录
+     */
+    @Value("${lstm.offline.model-dir:models/fatigue}")
+    private String offlineModelDir;
+    /**
+     * 离线训练样本窗口长度（时间步）
+     */
+    @Value("${lstm.offline.window-size:30}")
+    private int offlineWindowSize;
+    /**
+     * 离线训练时每个工人参与训练的最近记录条数上限
+     */
+    @Value("${lstm.offline.max-history-per-worker:500}")
+    private int offlineMaxHistoryPerWorker;
+    /**
+     * 离线训练轮次
+     */
+    @Value("${lstm.offline.epochs:20}")
+    private int offlineEpochs;
+    /**
+     * 离线训练小批量大小
+     */
+    @Value("${lstm.offline.batch-size:64}")
+    private int offlineBatchSize;
+    /**
+     * 单独训练工种模型所需的最少样本数
+     */
+    @Value("${lstm.offline.min-samples:50}")
+    private int offlineMinSamples;
+    /**
+     * 每个离线模型保留的历史版本数
+     */
+    @Value("${lstm.offline.keep-versions:3}")
+    private int offlineKeepVersions;
+    /**
+     * 是否定时批量预测全部在岗工人
+     */
+    @Value("${lstm.fleet.enabled:true}")
+    private boolean fleetEnabled;
+    /**
+     * 批量预测时每个工人使用的最近记录条数
+     */
+    @Value("${lstm.fleet.history:30}")
+    private int fleetHistory;
+    /**
+     * 单次批量预测允许指定的最大工人数
+     */
+    @Value("${lstm.fleet.max-workers:5000}")
+    private int fleetMaxWorkers;
+    /**
+     * 每次 ND4J 推理打包的工人数
+     */
+    @Value("${lstm.fleet.batch-size:1024}")
+    private int fleetBatchSize;
+    /**
+     * LSTM 计算线程数（0 表示等于 CPU 核数）
+     */
+    @Value("${lstm.compute.pool-size:0}")
+    private int computePoolSize;
+    /**
+     * 计算任务排队上限，排满后新请求直接返回 429
+     */
+    @Value("${lstm.compute.queue-capacity:16}")
+    private int computeQueueCapacity;
+    /**
+     * 调用方等待计算结果的超时时间（毫秒，含排队），超时返回 503
+     */
+    @Value("${lstm.compute.timeout-ms:30000}")
+    private long computeTimeoutMs;
+    /**
+     * 每个 ND4J 运算使用的 OpenMP / BLAS 线程数（0 表示 CPU 核数 / 计算线程数）
+     */
+    @Value("${lstm.compute.nd4j-threads:0}")
+    private int computeNd4jThreads;
 }
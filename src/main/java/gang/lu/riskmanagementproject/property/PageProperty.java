@@ -32,4 +32,16 @@ public class PageProperty {
     @Value("${spring.page.max-size:100}")
     public Integer MAX_SIZE;
 
+    /**
+     * 总数缓存有效期（毫秒），估算模式在有效期内直接复用
+     */
+    @Value("${spring.page.count-cache-ttl-ms:60000}")
+    public Long COUNT_CACHE_TTL_MS;
+
+    /**
+     * 总数缓存最大条目数（按查询条件区分，LRU 淘汰）
+     */
+    @Value("${spring.page.count-cache-capacity:1024}")
+    public Integer COUNT_CACHE_CAPACITY;
+
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/13 10:05
+ * @description SQL 语句耗时监控参数
+ */
+@Data
+@Component
+public class SqlMonitorProperty {
+
+    /**
+     * 是否启用语句耗时统计
+     */
+    @Value("${sql-monitor.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 慢 SQL 阈值（毫秒），超过时输出 SQL、绑定参数与行数
+     */
+    @Value("${sql-monitor.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    /**
+     * 慢 SQL 日志中 SQL 与参数的最大打印长度（超出截断，避免大 IN 列表撑爆日志）
+     */
+    @Value("${sql-monitor.max-log-length:2000}")
+    private int maxLogLength;
+}
@@ -0,0 +1,52 @@
+package gang.lu.riskmanagementproject.property;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Franz Liszt
+ * @version 1.0
+ * @date 2026/3/5 09:42
+ * @description 统计相关参数
+ */
+@Data
+@Component
+public class StatisticProperty {
+
+    /**
+     * 风险等级分布对账间隔（毫秒）
+     */
+    @Value("${statistic.reconcile-interval-ms:300000}")
+    private long reconcileIntervalMs;
+
+    /**
+     * 对账发现偏差时是否以数据库为准修复内存计数
+     */
+    @Value("${statistic.reconcile-repair:true}")
+    private boolean reconcileRepair;
+
+    /**
+     * 时间段统计默认每段小时数（须为 24 的约数）
+     */
+    @Value("${statistic.period-hours:4}")
+    private int periodHours;
+
+    /**
+     * 小时汇总定时重建的 cron 表达式
+     */
+    @Value("${statistic.rollup-rebuild-cron:0 30 2 * * ?}")
+    private String rollupRebuildCron;
+
+    /**
+     * 定时重建覆盖最近多少天（含当天），用于修正明细修改 / 删除造成的偏差
+     */
+    @Value("${statistic.rollup-rebuild-days:2}")
+    private int rollupRebuildDays;
+
+    /**
+     * 手动回填单次允许的最大天数
+     */
+    @Value("${statistic.rollup-backfill-max-days:366}")
+    private int rollupBackfillMaxDays;
+}
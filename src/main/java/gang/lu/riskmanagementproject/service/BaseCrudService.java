@@ -67,6 +67,17 @@ public interface BaseCrudService<PO, DTO, VO, Q extends PageQueryDTO> extends IS
      */
     PageVO<VO> search(Q queryDTO);
 
+    /**
+     * 游标（keyset）分页组合查询
+     * <p>
+     * 按 (create_time, id) 倒序，以上一页最后一条记录定位下一页，深翻页耗时不随页码增长；
+     * 不执行 COUNT 查询，返回 nextCursor 代替 total / pages
+     *
+     * @param queryDTO 查询dto（cursor 为空时查询首页）
+     * @return 分页视图
+     */
+    PageVO<VO> searchByCursor(Q queryDTO);
+
     // ======================== 子类需实现的差异化方法 ========================
 
 
@@ -1,8 +1,15 @@
 package gang.lu.riskmanagementproject.service;
 
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
 import gang.lu.riskmanagementproject.domain.vo.normal.FatiguePredictionVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskBatchPredictionVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * AI 风险分析服务接口
  * <p>
@@ -28,11 +35,92 @@ public interface RiskAiService {
     RiskPredictionVO predictRisk(Long workerId, int limit);
 
     /**
-     * 基于工人历史生理指标，使用内嵌 LSTM 模型预测未来 6 次疲劳百分比。
+     * {@link #predictRisk} 的异步版本：校验失败时直接抛出，千问调用不占用调用线程
+     *
+     * @param workerId 具体工人id
+     * @param limit    历史记录条数
+     * @return 预测信息（超时 504、熔断 / 连接失败 503、上游错误 502 以 {@code BizException} 失败）
+     */
+    CompletableFuture<RiskPredictionVO> predictRiskAsync(Long workerId, int limit);
+
+    /**
+     * {@link #predictRisk} 的流式版本：模型输出的增量文本实时回调，结束后返回解析结果
+     *
+     * @param workerId 具体工人id
+     * @param limit    历史记录条数
+     * @param onDelta  增量文本回调（在 HTTP 客户端线程中执行，不应阻塞）；命中缓存时不回调
+     * @return 预测信息（失败语义同 {@link #predictRiskAsync}）
+     */
+    CompletableFuture<RiskPredictionVO> predictRiskStream(Long workerId, int limit, Consumer<String> onDelta);
+
+    /**
+     * 批量预测多名工人未来风险：多名工人的历史打包进少量提示词，以有限并发调用模型，结果按工人拆分。
+     * <p>
+     * 单名工人失败（不存在、无历史、所在提示词调用失败、模型遗漏）只记入该工人的失败原因，不影响其他工人。
+     *
+     * @param workerIds 工人ID列表（非空，重复ID只预测一次）
+     * @param limit     每名工人参与分析的历史记录条数
+     * @return 批量预测结果（参数校验失败时直接抛出）
+     */
+    CompletableFuture<RiskBatchPredictionVO> predictRiskBatch(List<Long> workerIds, int limit);
+
+    /**
+     * 基于工人历史生理指标，使用内嵌 LSTM 模型或统计方法预测未来 6 次疲劳百分比。
+     *
+     * @param workerId   工人 ID
+     * @param limit      参与训练的最近历史记录条数5-200之间
+     * @param forecaster 预测方法；null 或 {@link ForecasterType#AUTO} 时按历史长度自动选择
+     * @return 疲劳预测结果 VO，包含预测序列、趋势描述、风险提示与实际使用的预测方法
+     */
+    FatiguePredictionVO predictFatigue(Long workerId, Integer limit, ForecasterType forecaster);
+
+    /**
+     * 丢弃工人的缓存 LSTM 模型，按最近历史全量重训后预测未来 6 次疲劳百分比。
      *
      * @param workerId 工人 ID
      * @param limit    参与训练的最近历史记录条数5-200之间
-     * @return LSTM 疲劳预测结果 VO，包含预测序列、趋势描述与风险提示
+     * @return LSTM 疲劳预测结果 VO
+     */
+    FatiguePredictionVO retrainFatigue(Long workerId, Integer limit);
+
+    /**
+     * 使用离线模型一次性批量预测多个工人未来 6 次疲劳百分比，结果写入批量预测缓存。
+     *
+     * @param workerIds 工人ID列表；为空时预测全部非离线状态的工人
+     * @param limit     每个工人参与推理的最近历史记录条数5-200之间
+     * @return 各工人预测结果（历史记录不足的工人不在结果中）
+     */
+    List<FatiguePredictionVO> predictFatigueBatch(List<Long> workerIds, Integer limit);
+
+    /**
+     * 定时任务使用：批量预测全部非离线状态的工人，并以结果替换整个批量预测缓存。
+     * <p>
+     * 推理不受请求级准入控制（无 429 / 等待超时），见 {@code LstmComputeExecutor#executeInBackground}。
+     *
+     * @param limit 每个工人参与推理的最近历史记录条数5-200之间
+     * @return 各工人预测结果（历史记录不足的工人不在结果中）
+     */
+    List<FatiguePredictionVO> predictFatigueFleet(Integer limit);
+
+    /**
+     * 查询最近一次批量预测的结果（不做推理）
+     *
+     * @param workerIds 工人ID列表；为空时返回全部
+     * @return 已有批量预测结果的工人
+     */
+    List<FatiguePredictionVO> getLatestFatigueBatch(List<Long> workerIds);
+
+    /**
+     * 提交一次 LSTM 疲劳模型离线训练（后台执行，完成后自动热加载）
+     *
+     * @return 是否已提交；上一次训练尚未结束时返回 false
+     */
+    boolean trainFatigueModel();
+
+    /**
+     * 查询当前已加载的离线疲劳模型版本
+     *
+     * @return 模型名（global / 工种）→ 版本
      */
-    FatiguePredictionVO predictFatigue(Long workerId, Integer limit);
+    Map<String, String> getFatigueModelVersions();
 }
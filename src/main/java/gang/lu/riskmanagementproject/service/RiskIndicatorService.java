@@ -3,11 +3,15 @@ package gang.lu.riskmanagementproject.service;
 import gang.lu.riskmanagementproject.domain.dto.RiskIndicatorDTO;
 import gang.lu.riskmanagementproject.domain.dto.query.RiskIndicatorQueryDTO;
 import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorBatchVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorStreamVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskLevelCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskTimePeriodCountVO;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * <p>
@@ -19,6 +23,30 @@ import java.time.LocalDate;
  */
 public interface RiskIndicatorService extends BaseCrudService<RiskIndicator, RiskIndicatorDTO, RiskIndicatorVO, RiskIndicatorQueryDTO> {
 
+    /**
+     * 经写入缓冲新增风险指标（攒批落库，不开启事务；写入缓冲未启用时使用 {@link #add}）
+     *
+     * @param dto 风险指标
+     * @return 风险指标 VO；ENQUEUE 模式或等待落库超时时无主键（已受理，稍后落库）
+     */
+    RiskIndicatorVO addBuffered(RiskIndicatorDTO dto);
+
+    /**
+     * 批量新增风险指标（逐行校验，合法行通过 JDBC 批量写入，非法行返回拒绝原因）
+     *
+     * @param dtoList 风险指标列表
+     * @return 逐行写入结果
+     */
+    RiskIndicatorBatchVO batchAdd(List<RiskIndicatorDTO> dtoList);
+
+    /**
+     * NDJSON 流式写入风险指标（边读边校验，按批落库，返回汇总）
+     *
+     * @param in 请求体输入流，每行一个 JSON 对象
+     * @return 写入汇总
+     */
+    RiskIndicatorStreamVO streamAdd(InputStream in);
+
     /**
      * 由工人id查询对应工人最新一次的风险指标信息
      *
@@ -36,10 +64,20 @@ public interface RiskIndicatorService extends BaseCrudService<RiskIndicator, Ris
     RiskLevelCountVO countDistinctWorkerByRiskLevel();
 
     /**
-     * 统计当日各4小时时间段高风险工人数
+     * 统计当日各时间段高风险工人数（基于小时汇总表）
      *
-     * @param statDate 统计日期（不传则默认当天）
+     * @param statDate    统计日期（不传则默认当天）
+     * @param bucketHours 每段小时数（24 的约数，不传则取配置值）
      * @return 时间段统计结果
      */
-    RiskTimePeriodCountVO countHighRiskWorkerByTimePeriod(LocalDate statDate);
+    RiskTimePeriodCountVO countHighRiskWorkerByTimePeriod(LocalDate statDate, Integer bucketHours);
+
+    /**
+     * 从明细表按天回填小时汇总
+     *
+     * @param from 起始日期（含）
+     * @param to   结束日期（含）
+     * @return 回填的天数
+     */
+    int backfillHourlyRollup(LocalDate from, LocalDate to);
 }
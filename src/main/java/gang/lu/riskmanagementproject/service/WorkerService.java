@@ -3,6 +3,7 @@ package gang.lu.riskmanagementproject.service;
 import gang.lu.riskmanagementproject.domain.dto.WorkerDTO;
 import gang.lu.riskmanagementproject.domain.dto.query.WorkerQueryDTO;
 import gang.lu.riskmanagementproject.domain.po.Worker;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.WorkerVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerStatusCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerTypeCountVO;
@@ -49,4 +50,11 @@ public interface WorkerService extends BaseCrudService<Worker, WorkerDTO, Worker
      * @return WorkerPO
      */
     Worker getWorkerByCodeWithOutVerify(String workerCode);
+
+    /**
+     * 工人缓存命中统计
+     *
+     * @return 缓存统计VO
+     */
+    CacheStatsVO getWorkerCacheStats();
 }
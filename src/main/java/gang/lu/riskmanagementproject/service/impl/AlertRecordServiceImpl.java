@@ -2,6 +2,7 @@ package gang.lu.riskmanagementproject.service.impl;
 
 
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import gang.lu.riskmanagementproject.annotation.BusinessLog;
 import gang.lu.riskmanagementproject.converter.AlertRecordConverter;
@@ -15,9 +16,10 @@ import gang.lu.riskmanagementproject.domain.vo.statistical.alert.AlertUnhandledC
 import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.helper.PageHelper;
 import gang.lu.riskmanagementproject.helper.QueryWrapperHelper;
+import gang.lu.riskmanagementproject.helper.WorkerCache;
 import gang.lu.riskmanagementproject.mapper.AlertRecordMapper;
-import gang.lu.riskmanagementproject.mapper.WorkerMapper;
 import gang.lu.riskmanagementproject.service.AlertRecordService;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
 import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -42,15 +44,15 @@ public class AlertRecordServiceImpl
         extends BaseCrudServiceImpl<AlertRecord, AlertRecordDTO, AlertRecordVO, AlertRecordQueryDTO, AlertRecordMapper, AlertRecordConverter>
         implements AlertRecordService {
 
-    private final WorkerMapper workerMapper;
+    private final WorkerCache workerCache;
 
     public AlertRecordServiceImpl(AlertRecordMapper alertRecordMapper,
                                   AlertRecordConverter alertRecordConverter,
                                   GeneralValidator generalValidator,
-                                  WorkerMapper workerMapper,
+                                  WorkerCache workerCache,
                                   PageHelper pageHelper) {
         super(alertRecordMapper, alertRecordConverter, generalValidator, pageHelper);
-        this.workerMapper = workerMapper;
+        this.workerCache = workerCache;
     }
 
     // ======================== 通用CRUD ========================
@@ -99,7 +101,8 @@ public class AlertRecordServiceImpl
      * 根据ID查询预警记录
      */
     @Override
-    @BusinessLog(value = GET_ALERT_RECORD, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_ALERT_RECORD, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public AlertRecordVO getOneById(Long id) {
         return super.getOneById(id);
     }
@@ -108,7 +111,8 @@ public class AlertRecordServiceImpl
      * 多条件分页查询预警记录
      */
     @Override
-    @BusinessLog(value = GET_ALERT_RECORD_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_ALERT_RECORD_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public PageVO<AlertRecordVO> search(AlertRecordQueryDTO queryDTO) {
         return super.search(queryDTO);
     }
@@ -120,7 +124,7 @@ public class AlertRecordServiceImpl
      */
     @Override
     public void validateAdd(AlertRecordDTO dto) {
-        generalValidator.validateIdExist(dto.getWorkerId(), workerMapper, WORKER_NOT_EXIST);
+        workerCache.requireById(dto.getWorkerId());
     }
 
     /**
@@ -130,7 +134,7 @@ public class AlertRecordServiceImpl
     public void validateUpdate(Long id, AlertRecordDTO dto) {
         Long newWorkerId = dto.getWorkerId();
         if (ObjectUtil.isNotNull(newWorkerId)) {
-            generalValidator.validateIdExist(newWorkerId, workerMapper, WORKER_NOT_EXIST);
+            workerCache.requireById(newWorkerId);
         }
     }
 
@@ -163,6 +167,21 @@ public class AlertRecordServiceImpl
 
     // ======================== 模板方法 ========================
 
+    @Override
+    protected void applyEnumValues(AlertRecordDTO dto, AlertRecord po) {
+        if (StrUtil.isNotBlank(dto.getAlertLevelValue())) {
+            po.setAlertLevel(EnumConvertUtil.toEnum(dto.getAlertLevelValue(), AlertLevel.class));
+        }
+    }
+
+    /**
+     * 未传是否已处理时由列默认值填充
+     */
+    @Override
+    protected boolean needsReloadAfterInsert(AlertRecord po) {
+        return ObjectUtil.hasNull(po.getIsHandled(), po.getAlertLevel());
+    }
+
     @Override
     protected String getNotFoundMsg() {
         return ALERT_RECORD_NOT_EXIST;
@@ -192,9 +211,8 @@ public class AlertRecordServiceImpl
     @Transactional(rollbackFor = Exception.class)
     @BusinessLog(value = HANDLE_ALERT_RECORD, recordParams = true, logLevel = BusinessLog.LogLevel.WARN)
     public void markAlertRecordAsHandled(Long id, String handledBy) {
-        generalValidator.validateIdExist(id, baseMapper, ALERT_RECORD_NOT_EXIST);
+        AlertRecord alertRecord = generalValidator.validateIdExist(id, baseMapper, ALERT_RECORD_NOT_EXIST);
         generalValidator.validateStringNotBlank(handledBy, HANDLED_BY, HANDLE_ALERT_RECORD);
-        AlertRecord alertRecord = baseMapper.selectById(id);
         if (alertRecord.getIsHandled()) {
             throw new BizException(HttpStatus.BAD_REQUEST, ALERT_RECORD_ALREADY_HANDLED_ERROR);
         }
@@ -10,6 +10,7 @@ import gang.lu.riskmanagementproject.service.AlgorithmService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,6 +35,10 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.ALGORITHM_UNR
 @RequiredArgsConstructor
 public class AlgorithmServiceImpl implements AlgorithmService {
 
+    /**
+     * 算法服务客户端（{@code OkHttpConfig#okHttpClient}）
+     */
+    @Qualifier("okHttpClient")
     private final OkHttpClient okHttpClient;
     private final AlgorithmProperty algorithmProperty;
     private final ObjectMapper objectMapper;
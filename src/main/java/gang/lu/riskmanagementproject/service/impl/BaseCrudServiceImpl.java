@@ -7,17 +7,21 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import gang.lu.riskmanagementproject.converter.PageConverter;
 import gang.lu.riskmanagementproject.domain.dto.query.PageQueryDTO;
+import gang.lu.riskmanagementproject.domain.enums.field.CountMode;
 import gang.lu.riskmanagementproject.domain.po.BasePO;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
 import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.helper.PageHelper;
 import gang.lu.riskmanagementproject.service.BaseCrudService;
 import gang.lu.riskmanagementproject.util.BasicConvertUtil;
+import gang.lu.riskmanagementproject.util.LongBloomFilter;
 import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * 通用CRUD服务实现（模板方法）
@@ -49,13 +53,14 @@ public abstract class BaseCrudServiceImpl<
     public VO add(DTO dto) {
         // 1. 业务特有校验（子类实现）
         this.validateAdd(dto);
-        // 2. DTO转PO
+        // 2. DTO转PO（含字符串枚举）
         PO po = converter.dtoToPo(dto);
-        // 4. 插入数据库
-        baseMapper.insert(po);
-        generalValidator.validateDbOperateResult(1);
-        // 5. 重新查询（确保枚举字段正确）
-        PO inserted = baseMapper.selectById(po.getId());
+        this.applyEnumValues(dto, po);
+        // 3. 插入数据库（主键回填，创建 / 更新时间由 MyMetaObjectHandler 填充）
+        generalValidator.validateDbOperateResult(baseMapper.insert(po));
+        // 4. 仅当存在数据库生成的列值时重新查询，否则直接使用内存中的PO
+        PO inserted = this.needsReloadAfterInsert(po) ? baseMapper.selectById(po.getId()) : po;
+        this.afterAdd(inserted);
         // 5. PO转VO返回
         return converter.poToVo(inserted);
     }
@@ -64,11 +69,12 @@ public abstract class BaseCrudServiceImpl<
     public void delete(Long id) {
         // 1. 业务特有校验
         this.validateDelete(id);
-        // 2. 通用存在性校验
-        generalValidator.validateIdExist(id, baseMapper, getNotFoundMsg());
+        // 2. 通用存在性校验（只查主键）
+        generalValidator.validateIdPresent(id, baseMapper, getNotFoundMsg());
         // 3. 删除
         baseMapper.deleteById(id);
         generalValidator.validateDbOperateResult(1);
+        this.afterDelete(Collections.singletonList(id));
     }
 
     @Override
@@ -81,11 +87,12 @@ public abstract class BaseCrudServiceImpl<
         if (CollUtil.isEmpty(idList)) {
             throw new BizException(HttpStatus.BAD_REQUEST, getBatchIdEmptyMsg());
         }
-        // 4. 通用批量存在性校验（无强转）
-        generalValidator.validateBatchIdsExist(idList, baseMapper, getBatchNotFoundMsg());
+        // 4. 通用批量存在性校验（分块只查主键）
+        generalValidator.validateBatchIdsExist(idList, baseMapper, getBatchNotFoundMsg(), getIdFilter());
         // 5. 批量删除
         int affectedRows = baseMapper.deleteBatchIds(idList);
         generalValidator.validateBatchDbOperateResult(affectedRows, idList.size());
+        this.afterDelete(idList);
     }
 
     @Override
@@ -94,15 +101,15 @@ public abstract class BaseCrudServiceImpl<
         this.validateUpdate(id, dto);
         // 2. 通用存在性校验
         PO existingPO = generalValidator.validateIdExist(id, baseMapper, getNotFoundMsg());
-        // 3. DTO更新PO（空值不覆盖）
+        // 3. DTO更新PO（空值不覆盖，含字符串枚举）
         converter.updatePoFromDto(dto, existingPO);
+        this.applyEnumValues(dto, existingPO);
         existingPO.setId(id);
-        // 4. 更新数据库
-        baseMapper.updateById(existingPO);
-        generalValidator.validateDbOperateResult(1);
-        // 5. 返回最新VO
-        PO updated = baseMapper.selectById(id);
-        return converter.poToVo(updated);
+        // 4. 更新数据库（更新时间由 MyMetaObjectHandler 同步到内存PO）
+        generalValidator.validateDbOperateResult(baseMapper.updateById(existingPO));
+        // 5. 已加载的整行合并本次修改即为最新数据，无需重新查询
+        this.afterUpdate(existingPO);
+        return converter.poToVo(existingPO);
     }
 
     @Override
@@ -119,12 +126,102 @@ public abstract class BaseCrudServiceImpl<
         Page<PO> poPage = pageHelper.buildPage(queryDTO, getBusinessScene());
         // 3. 子类构建查询条件
         LambdaQueryWrapper<PO> wrapper = buildQueryWrapper(queryDTO);
-        // 4. 通用分页查询
-        poPage = this.page(poPage, wrapper);
-        // 5. 通用PO分页转VO分页
-        return converter.pagePoToPageVO(poPage);
+        // 4. 通用分页查询（仅精确模式由分页插件执行 COUNT）
+        CountMode countMode = pageHelper.resolveCountMode(queryDTO, CountMode.EXACT);
+        poPage.setSearchCount(countMode == CountMode.EXACT);
+        Page<PO> resultPage = this.page(poPage, wrapper);
+        // 5. 通用PO分页转VO分页，按统计模式回填总数（估算模式未执行 COUNT，回退时须真实统计）
+        PageVO<VO> pageVO = converter.pagePoToPageVO(resultPage);
+        LongSupplier exactCount = countMode == CountMode.EXACT
+                ? resultPage::getTotal
+                : () -> baseMapper.selectCount(wrapper);
+        pageHelper.fillTotal(pageVO, countMode, getEntityClass(), wrapper, exactCount);
+        return pageVO;
+    }
+
+    @Override
+    public PageVO<VO> searchByCursor(Q queryDTO) {
+        // 1. 业务特有校验（与普通分页一致）
+        this.validateSearch(queryDTO);
+        // 2. 通用每页条数处理
+        int pageSize = pageHelper.handlePageParams(queryDTO, getBusinessScene())[1];
+        // 3. 子类构建查询条件，改造为游标查询（多查一条判断是否有下一页）
+        LambdaQueryWrapper<PO> wrapper = buildQueryWrapper(queryDTO);
+        pageHelper.applyCursor(wrapper, queryDTO.getCursor(), pageSize);
+        List<PO> rows = baseMapper.selectList(wrapper);
+        // 4. 截取当前页并生成下一页游标
+        String nextCursor = pageHelper.trimToNextCursor(rows, pageSize);
+        PageVO<VO> pageVO = converter.cursorPoToPageVO(rows, pageSize, nextCursor);
+        // 5. 按统计模式回填总数（默认不统计；统计时使用不含游标条件的查询条件）
+        CountMode countMode = pageHelper.resolveCountMode(queryDTO, CountMode.NONE);
+        if (countMode != CountMode.NONE) {
+            LambdaQueryWrapper<PO> countWrapper = buildQueryWrapper(queryDTO);
+            pageHelper.fillTotal(pageVO, countMode, getEntityClass(), countWrapper,
+                    () -> baseMapper.selectCount(countWrapper));
+        }
+        return pageVO;
+    }
+
+
+    // ======================== 子类可选覆盖的回调（默认空实现） ========================
+
+    /**
+     * 将 DTO 中以字符串传入的枚举值写入PO（MapStruct 不会把 {@code xxxValue} 映射到 {@code xxx}）
+     * <p>
+     * 新增与修改共用，空值不覆盖，与转换器的空值策略一致
+     *
+     * @param dto 数据传输对象
+     * @param po  待写入的实体
+     */
+    protected void applyEnumValues(DTO dto, PO po) {
+    }
+
+    /**
+     * 插入后是否需要重新查询
+     * <p>
+     * 未传值的列由数据库默认值填充时，内存中的PO与库中不一致，子类按实际情况返回 true
+     *
+     * @param po 已插入的实体（已回填主键）
+     * @return 默认 false，直接使用内存中的PO
+     */
+    protected boolean needsReloadAfterInsert(PO po) {
+        return false;
+    }
+
+    /**
+     * 新增落库后回调（如刷新本地缓存）
+     *
+     * @param po 已落库的实体
+     */
+    protected void afterAdd(PO po) {
+    }
+
+    /**
+     * 修改落库后回调（如刷新本地缓存）
+     *
+     * @param po 修改后的实体
+     */
+    protected void afterUpdate(PO po) {
+    }
+
+    /**
+     * 删除后回调（如清理本地缓存）
+     *
+     * @param ids 已删除的ID列表
+     */
+    protected void afterDelete(List<Long> ids) {
     }
 
+    /**
+     * 批量存在性校验使用的 ID 布隆过滤器（默认不使用）
+     * <p>
+     * 只有所有插入都经过本服务、能保证过滤器覆盖全部已提交 ID 的表才可覆写，否则会误判不存在
+     *
+     * @return 过滤器；返回 null 时直接查库
+     */
+    protected LongBloomFilter getIdFilter() {
+        return null;
+    }
 
     // ======================== 子类必须实现的抽象方法（差异化文案） ========================
 
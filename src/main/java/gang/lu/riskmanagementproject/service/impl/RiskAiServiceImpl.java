@@ -1,37 +1,55 @@
 package gang.lu.riskmanagementproject.service.impl;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import gang.lu.riskmanagementproject.annotation.BusinessLog;
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.domain.enums.field.Status;
+import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
 import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.po.Worker;
 import gang.lu.riskmanagementproject.domain.vo.normal.FatiguePredictionVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskBatchPredictionVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
 import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.helper.AiHelper;
+import gang.lu.riskmanagementproject.helper.AiPredictionCache;
+import gang.lu.riskmanagementproject.helper.FatigueForecastCache;
+import gang.lu.riskmanagementproject.helper.FatigueModelRegistry;
+import gang.lu.riskmanagementproject.helper.FatigueModelTrainer;
 import gang.lu.riskmanagementproject.helper.FatiguePredictHelper;
+import gang.lu.riskmanagementproject.helper.LstmComputeExecutor;
+import gang.lu.riskmanagementproject.helper.WorkerCache;
 import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
 import gang.lu.riskmanagementproject.mapper.WorkerMapper;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
 import gang.lu.riskmanagementproject.property.LstmProperty;
 import gang.lu.riskmanagementproject.property.RecordLimitProperty;
 import gang.lu.riskmanagementproject.property.WarnProperty;
 import gang.lu.riskmanagementproject.service.RiskAiService;
 import gang.lu.riskmanagementproject.converter.RiskIndicatorConverter;
-import gang.lu.riskmanagementproject.validator.GeneralValidator;
+import gang.lu.riskmanagementproject.util.FutureUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static gang.lu.riskmanagementproject.common.ai.LstmWarningConstants.*;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.*;
 import static gang.lu.riskmanagementproject.common.global.GlobalBusinessConstants.*;
-import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_AI_READY_TO_SEND;
-import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.LOG_LSTM_ANALYSING;
+import static gang.lu.riskmanagementproject.common.global.GlobalLogConstants.*;
 import static gang.lu.riskmanagementproject.common.global.GlobalSimbolConstants.LIMIT;
 import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 
@@ -46,14 +64,21 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 public class RiskAiServiceImpl implements RiskAiService {
 
     private final AiHelper aiHelper;
+    private final AiPredictionCache aiPredictionCache;
     private final RiskIndicatorMapper riskIndicatorMapper;
     private final RiskIndicatorConverter riskIndicatorConverter;
-    private final WorkerMapper workerMapper;
-    private final GeneralValidator generalValidator;
+    private final WorkerCache workerCache;
     private final RecordLimitProperty recordLimitProperty;
     private final LstmProperty lstmProperty;
+    private final ForecastProperty forecastProperty;
     private final FatiguePredictHelper fatiguePredictHelper;
     private final WarnProperty warnProperty;
+    private final FatigueModelTrainer fatigueModelTrainer;
+    private final FatigueModelRegistry fatigueModelRegistry;
+    private final FatigueForecastCache fatigueForecastCache;
+    private final LstmComputeExecutor lstmComputeExecutor;
+    private final WorkerMapper workerMapper;
+    private final DashScopeProperty dashScopeProperty;
 
     /**
      * 查询历史数据，调用 Qwen 模型，返回风险预测。
@@ -70,38 +95,220 @@ public class RiskAiServiceImpl implements RiskAiService {
             logLevel = BusinessLog.LogLevel.INFO
     )
     public RiskPredictionVO predictRisk(Long workerId, int limit) {
+        List<RiskIndicatorVO> history = queryAiHistory(workerId, limit);
 
-        // 1. 校验工人存在
-        generalValidator.validateIdExist(workerId, workerMapper, WORKER_NOT_EXIST);
+        // 4. 数据未变化时复用缓存结果；否则构建 Prompt → 调用 AI → 解析响应
+        String cacheKey = aiPredictionCache.key(workerId, history);
+        return aiPredictionCache.get(cacheKey, workerId, history.size(), () -> {
+            log.info(LOG_AI_READY_TO_SEND, workerId, history.size());
+            String prompt = aiHelper.buildPrompt(workerId, history);
+            String aiResponse = aiHelper.callQwen(prompt);
+            return aiHelper.parseAiResponse(workerId, history.size(), aiResponse);
+        });
+    }
 
-        // 2. 校验 limit 范围
-        if (limit < recordLimitProperty.getMIN_RECORDS() || limit > recordLimitProperty.getMAX_RECORDS()) {
-            throw new BizException(HttpStatus.BAD_REQUEST, LIMIT_INVALID);
+    /**
+     * 异步版本：校验与查询在调用线程完成，千问调用在千问客户端的调度线程中完成，调用线程不等待。
+     * <p>
+     * 耗时按 Future 完成时间记录（见 {@code BusinessLogAspect}）。
+     */
+    @Override
+    @BusinessLog(
+            value = AI_RISK_PREDICTION,
+            recordParams = true,
+            recordResult = true,
+            logLevel = BusinessLog.LogLevel.INFO
+    )
+    public CompletableFuture<RiskPredictionVO> predictRiskAsync(Long workerId, int limit) {
+        List<RiskIndicatorVO> history = queryAiHistory(workerId, limit);
+
+        String cacheKey = aiPredictionCache.key(workerId, history);
+        return aiPredictionCache.getAsync(cacheKey, workerId, history.size(), () -> {
+            log.info(LOG_AI_READY_TO_SEND, workerId, history.size());
+            String prompt = aiHelper.buildPrompt(workerId, history);
+            return aiHelper.callQwenAsync(prompt)
+                    .thenApply(aiResponse -> aiHelper.parseAiResponse(workerId, history.size(), aiResponse));
+        });
+    }
+
+    /**
+     * 流式版本：模型输出的增量文本经 {@code onDelta} 逐段转发，完整输出解析后完成 Future。
+     * <p>
+     * 最近记录未变化时直接返回缓存结果，不产生增量；相同数据的预测正在进行时等待其结果，
+     * 增量只推送给发起调用的请求。
+     */
+    @Override
+    @BusinessLog(
+            value = AI_RISK_STREAM,
+            recordParams = true,
+            recordResult = true,
+            logLevel = BusinessLog.LogLevel.INFO
+    )
+    public CompletableFuture<RiskPredictionVO> predictRiskStream(Long workerId, int limit, Consumer<String> onDelta) {
+        List<RiskIndicatorVO> history = queryAiHistory(workerId, limit);
+
+        String cacheKey = aiPredictionCache.key(workerId, history);
+        return aiPredictionCache.getAsync(cacheKey, workerId, history.size(), () -> {
+            log.info(LOG_AI_READY_TO_SEND, workerId, history.size());
+            String prompt = aiHelper.buildPrompt(workerId, history);
+            return aiHelper.streamQwen(prompt, onDelta)
+                    .thenApply(aiResponse -> aiHelper.parseAiResponse(workerId, history.size(), aiResponse));
+        });
+    }
+
+    /**
+     * 批量版本：一次查询全部工人的最近记录，命中缓存的工人直接采用，其余由 {@link AiHelper#buildBatchPrompts}
+     * 按 token 预算装进少量提示词，以有限并发异步调用，结果按 worker_id 拆分并写回缓存。
+     * <p>
+     * 失败按工人记录：不存在、无历史、所在提示词调用或解析失败、模型遗漏，均不影响其他工人。
+     */
+    @Override
+    @BusinessLog(value = AI_RISK_BATCH, recordParams = true)
+    public CompletableFuture<RiskBatchPredictionVO> predictRiskBatch(List<Long> workerIds, int limit) {
+        // 1. 校验工人列表与 limit（去重保序）
+        if (CollUtil.isEmpty(workerIds)) {
+            throw new BizException(HttpStatus.BAD_REQUEST, AI_BATCH_WORKERS_EMPTY);
+        }
+        Set<Long> ids = new LinkedHashSet<>(workerIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new BizException(HttpStatus.BAD_REQUEST, AI_BATCH_WORKERS_EMPTY);
         }
+        if (ids.size() > dashScopeProperty.getBatchMaxWorkers()) {
+            throw new BizException(HttpStatus.BAD_REQUEST,
+                    String.format(AI_BATCH_TOO_MANY, dashScopeProperty.getBatchMaxWorkers()));
+        }
+        validateAiLimit(limit);
 
-        // 3. 查询历史记录（取最新 N 条，倒序后再正序给 AI）
-        List<RiskIndicator> poList = riskIndicatorMapper.selectList(
-                new LambdaQueryWrapper<RiskIndicator>()
-                        .eq(RiskIndicator::getWorkerId, workerId)
-                        .orderByDesc(RiskIndicator::getCreateTime)
-                        .last(LIMIT + limit)
-        );
-        java.util.Collections.reverse(poList);
+        // 2. 不存在的工人记为失败，其余一次查询最近记录并按工人切分
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (Long workerId : ids) {
+            if (ObjectUtil.isNull(workerCache.getById(workerId))) {
+                failures.put(workerId, WORKER_NOT_EXIST);
+            } else {
+                existing.add(workerId);
+            }
+        }
+        Map<Long, List<RiskIndicatorVO>> histories = existing.isEmpty()
+                ? Collections.emptyMap()
+                : riskIndicatorMapper.selectRecentByWorkers(existing, limit).stream()
+                .collect(Collectors.groupingBy(RiskIndicator::getWorkerId,
+                        Collectors.mapping(riskIndicatorConverter::poToVo, Collectors.toList())));
 
-        List<RiskIndicatorVO> history = poList.stream()
-                .map(riskIndicatorConverter::poToVo)
-                .collect(Collectors.toList());
+        // 3. 命中缓存的工人直接采用，其余按请求顺序待打包
+        Map<Long, RiskPredictionVO> predictions = new ConcurrentHashMap<>();
+        Map<Long, List<RiskIndicatorVO>> pending = new LinkedHashMap<>();
+        Map<Long, String> cacheKeys = new HashMap<>();
+        for (Long workerId : existing) {
+            List<RiskIndicatorVO> history = histories.get(workerId);
+            if (CollUtil.isEmpty(history)) {
+                failures.put(workerId, RISK_INDICATOR_EMPTY);
+                continue;
+            }
+            String cacheKey = aiPredictionCache.key(workerId, history);
+            RiskPredictionVO cached = aiPredictionCache.getIfPresent(cacheKey);
+            if (ObjectUtil.isNotNull(cached)) {
+                predictions.put(workerId, cached);
+            } else {
+                pending.put(workerId, history);
+                cacheKeys.put(workerId, cacheKey);
+            }
+        }
+        int cachedCount = predictions.size();
 
-        if (ObjectUtil.isNull(history) || history.isEmpty()) {
-            throw new BizException(HttpStatus.BAD_REQUEST, RISK_INDICATOR_EMPTY);
+        // 4. 装箱为批量提示词，以有限并发调用，每个提示词结束后按工人拆分结果
+        List<AiHelper.BatchPrompt> prompts = aiHelper.buildBatchPrompts(pending);
+        int concurrency = dashScopeProperty.getBatchConcurrency();
+        log.info(LOG_AI_BATCH_PACKED, ids.size(), cachedCount, prompts.size(), concurrency);
+        return FutureUtil.runBounded(prompts, concurrency, batch ->
+                        aiHelper.callQwenAsync(batch.getPrompt(), batch.getMaxTokens())
+                                .thenApply(aiResponse -> aiHelper.parseBatchResponse(batch, aiResponse))
+                                .whenComplete((result, e) ->
+                                        collectBatch(batch, result, e, cacheKeys, predictions, failures)))
+                .thenApply(v -> buildBatchVO(ids, predictions, failures, cachedCount, prompts.size()));
+    }
+
+    /**
+     * 单个批量提示词结束：调用失败时其中所有工人记为失败；成功时逐个工人取结果并写回缓存，遗漏的工人记为失败
+     */
+    private void collectBatch(AiHelper.BatchPrompt batch, Map<Long, RiskPredictionVO> result, Throwable e,
+                              Map<Long, String> cacheKeys, Map<Long, RiskPredictionVO> predictions,
+                              Map<Long, String> failures) {
+        if (ObjectUtil.isNotNull(e)) {
+            Throwable cause = FutureUtil.unwrap(e);
+            String reason = cause instanceof BizException ? cause.getMessage() : COMMON_SYSTEM_ERROR;
+            log.warn(LOG_AI_BATCH_PROMPT_FAILED, batch.getWorkerIds(), reason);
+            batch.getWorkerIds().forEach(workerId -> failures.put(workerId, reason));
+            return;
         }
+        for (Long workerId : batch.getWorkerIds()) {
+            RiskPredictionVO vo = result.get(workerId);
+            if (ObjectUtil.isNull(vo)) {
+                log.warn(LOG_AI_BATCH_RESULT_MISSING, workerId);
+                failures.put(workerId, AI_BATCH_RESULT_MISSING);
+            } else {
+                predictions.put(workerId, vo);
+                aiPredictionCache.put(cacheKeys.get(workerId), vo);
+            }
+        }
+    }
 
-        log.info(LOG_AI_READY_TO_SEND, workerId, history.size());
+    /**
+     * 按请求顺序组装批量结果
+     */
+    private RiskBatchPredictionVO buildBatchVO(Set<Long> ids, Map<Long, RiskPredictionVO> predictions,
+                                               Map<Long, String> failures, int cachedCount, int promptCount) {
+        List<RiskPredictionVO> succeeded = new ArrayList<>(predictions.size());
+        List<RiskBatchPredictionVO.Failure> failed = new ArrayList<>(failures.size());
+        for (Long workerId : ids) {
+            RiskPredictionVO vo = predictions.get(workerId);
+            if (ObjectUtil.isNotNull(vo)) {
+                succeeded.add(vo);
+                continue;
+            }
+            RiskBatchPredictionVO.Failure failure = new RiskBatchPredictionVO.Failure();
+            failure.setWorkerId(workerId);
+            failure.setReason(failures.getOrDefault(workerId, COMMON_SYSTEM_ERROR));
+            failed.add(failure);
+        }
+        RiskBatchPredictionVO vo = new RiskBatchPredictionVO();
+        vo.setRequestedCount(ids.size());
+        vo.setSuccessCount(succeeded.size());
+        vo.setFailedCount(failed.size());
+        vo.setCachedCount(cachedCount);
+        vo.setPromptCount(promptCount);
+        vo.setPredictions(succeeded);
+        vo.setFailures(failed);
+        return vo;
+    }
+
+    /**
+     * 校验工人与 limit，查询送给 AI 的历史记录（最新 N 条，正序）
+     */
+    private List<RiskIndicatorVO> queryAiHistory(Long workerId, int limit) {
+
+        // 1. 校验工人存在
+        workerCache.requireById(workerId);
+
+        // 2. 校验 limit 范围
+        validateAiLimit(limit);
 
-        // 4. 构建 Prompt → 调用 AI → 解析响应
-        String prompt = aiHelper.buildPrompt(workerId, history);
-        String aiResponse = aiHelper.callQwen(prompt);
-        return aiHelper.parseAiResponse(workerId, history.size(), aiResponse);
+        // 3. 查询历史记录（取最新 N 条，倒序后再正序给 AI）
+        List<RiskIndicatorVO> history = queryHistoryVO(workerId, limit);
+        if (history.isEmpty()) {
+            throw new BizException(HttpStatus.BAD_REQUEST, RISK_INDICATOR_EMPTY);
+        }
+        return history;
+    }
+
+    /**
+     * 校验送给 AI 的历史记录条数范围
+     */
+    private void validateAiLimit(int limit) {
+        if (limit < recordLimitProperty.getMIN_RECORDS() || limit > recordLimitProperty.getMAX_RECORDS()) {
+            throw new BizException(HttpStatus.BAD_REQUEST, LIMIT_INVALID);
+        }
     }
 
     /**
@@ -118,50 +325,232 @@ public class RiskAiServiceImpl implements RiskAiService {
             recordResult = true,
             logLevel = BusinessLog.LogLevel.INFO
     )
-    public FatiguePredictionVO predictFatigue(Long workerId, Integer limit) {
-        // 1. 校验工人存在
-        generalValidator.validateIdExist(workerId, workerMapper, WORKER_NOT_EXIST);
-        // 2. 校验历史记录条数范围
-        if (limit < lstmProperty.getMinHistory()) {
-            throw new BizException(HttpStatus.BAD_REQUEST,
-                    String.format(LSTM_HISTORY_TOO_FEW, lstmProperty.getMinHistory()));
+    public FatiguePredictionVO predictFatigue(Long workerId, Integer limit, ForecasterType forecaster) {
+        return doPredictFatigue(workerId, limit, forecaster, false);
+    }
+
+    /**
+     * 丢弃工人的缓存 LSTM 模型，按最近历史全量重训后预测（数据被修正、模型效果变差时手动触发）。
+     *
+     * @param workerId 工人 ID
+     * @param limit    参与训练的最近历史记录条数5-200之间
+     * @return LSTM 疲劳预测结果 VO
+     */
+    @Override
+    @BusinessLog(
+            value = LSTM_FATIGUE_RETRAIN,
+            recordParams = true,
+            recordResult = true,
+            logLevel = BusinessLog.LogLevel.INFO
+    )
+    public FatiguePredictionVO retrainFatigue(Long workerId, Integer limit) {
+        return doPredictFatigue(workerId, limit, ForecasterType.LSTM, true);
+    }
+
+    /**
+     * 批量预测：一次查询全部工人的历史，按离线模型分组打包成 [N, 1, T] 小批量推理。
+     * <p>
+     * 只使用离线模型（工人各自的模型无法合并推理），尚无离线模型时直接返回 503。
+     */
+    @Override
+    @BusinessLog(value = LSTM_FATIGUE_BATCH, recordParams = true)
+    public List<FatiguePredictionVO> predictFatigueBatch(List<Long> workerIds, Integer limit) {
+        return doPredictFatigueBatch(workerIds, limit, false);
+    }
+
+    @Override
+    @BusinessLog(value = LSTM_FATIGUE_FLEET, recordParams = true)
+    public List<FatiguePredictionVO> predictFatigueFleet(Integer limit) {
+        return doPredictFatigueBatch(null, limit, true);
+    }
+
+    /**
+     * 批量预测的公共流程
+     *
+     * @param workerIds  工人ID列表；为空时预测全部非离线工人，并以结果替换整个批量预测缓存
+     * @param limit      每个工人参与推理的最近历史记录条数
+     * @param background 是否为后台调用（不受请求级准入控制）
+     */
+    private List<FatiguePredictionVO> doPredictFatigueBatch(List<Long> workerIds, Integer limit,
+                                                            boolean background) {
+        // 1. 校验历史记录条数范围与离线模型（批量预测只使用 LSTM）
+        validateHistoryLimit(limit, true);
+        if (fatigueModelRegistry.versions().isEmpty()) {
+            throw new BizException(HttpStatus.SERVICE_UNAVAILABLE, LSTM_OFFLINE_MISSING);
         }
-        if (limit > lstmProperty.getMaxHistory()) {
-            throw new BizException(HttpStatus.BAD_REQUEST,
-                    String.format(LSTM_HISTORY_TOO_MANY, lstmProperty.getMaxHistory()));
+
+        // 2. 确定工人及工种（未指定时取全部非离线工人）
+        Map<Long, WorkType> workTypes = new LinkedHashMap<>();
+        boolean fleet = CollUtil.isEmpty(workerIds);
+        if (fleet) {
+            for (Worker worker : workerMapper.selectList(Wrappers.<Worker>lambdaQuery()
+                    .select(Worker::getId, Worker::getWorkType)
+                    .ne(Worker::getStatus, Status.OFFLINE))) {
+                workTypes.put(worker.getId(), worker.getWorkType());
+            }
+        } else {
+            if (workerIds.size() > lstmProperty.getFleetMaxWorkers()) {
+                throw new BizException(HttpStatus.BAD_REQUEST,
+                        String.format(LSTM_BATCH_TOO_MANY, lstmProperty.getFleetMaxWorkers()));
+            }
+            for (Long workerId : workerIds) {
+                workTypes.put(workerId, workerCache.requireById(workerId).getWorkType());
+            }
+        }
+        if (workTypes.isEmpty()) {
+            if (fleet) {
+                fatigueForecastCache.replaceAll(Collections.emptyList(), LocalDateTime.now());
+            }
+            return Collections.emptyList();
         }
 
+        // 3. 一次查询所有工人的最近历史，按工人切分（历史不足的工人跳过）
+        Map<Long, double[]> histories = groupFatigueHistories(
+                riskIndicatorMapper.selectRecentFatigueByWorkers(workTypes.keySet(), limit));
+
+        // 4. 批量推理并组装 VO
+        Supplier<Map<Long, List<Double>>> task = () -> fatiguePredictHelper.predictBatch(histories, workTypes);
+        Map<Long, List<Double>> predictedMap = background
+                ? lstmComputeExecutor.executeInBackground(LSTM_FATIGUE_FLEET, task)
+                : lstmComputeExecutor.execute(LSTM_FATIGUE_BATCH, task);
+        LocalDateTime predictTime = LocalDateTime.now();
+        List<FatiguePredictionVO> vos = new ArrayList<>(predictedMap.size());
+        for (Long workerId : workTypes.keySet()) {
+            List<Double> predicted = predictedMap.get(workerId);
+            if (ObjectUtil.isNotNull(predicted)) {
+                vos.add(buildFatigueVO(workerId, histories.get(workerId).length, predicted,
+                        ForecasterType.LSTM, predictTime));
+            }
+        }
+        if (fleet) {
+            fatigueForecastCache.replaceAll(vos, predictTime);
+        } else {
+            fatigueForecastCache.putAll(vos);
+        }
+        return vos;
+    }
+
+    @Override
+    public List<FatiguePredictionVO> getLatestFatigueBatch(List<Long> workerIds) {
+        return fatigueForecastCache.list(workerIds);
+    }
+
+    @Override
+    @BusinessLog(value = LSTM_OFFLINE_TRAIN, recordResult = true)
+    public boolean trainFatigueModel() {
+        return fatigueModelTrainer.submit();
+    }
+
+    @Override
+    public Map<String, String> getFatigueModelVersions() {
+        return fatigueModelRegistry.versions();
+    }
+
+    // ======================== 内部方法 ========================
+
+    private FatiguePredictionVO doPredictFatigue(Long workerId, Integer limit, ForecasterType forecaster,
+                                                 boolean retrain) {
+        // 1. 校验工人存在（工种用于选择离线模型）
+        Worker worker = workerCache.requireById(workerId);
+        // 2. 校验历史记录条数范围（下限按请求的预测方法：LSTM 或统计方法）
+        validateHistoryLimit(limit, forecaster == ForecasterType.LSTM);
+
         // 3. 查询历史风险指标（时间正序，便于 LSTM 学习时序关系）
         List<RiskIndicator> poList = queryHistoryPO(workerId, limit);
 
-        // 4. 提取疲劳百分比序列（过滤 null 值）
-        List<Double> fatigueHistory = poList.stream()
+        // 4. 过滤疲劳百分比为 null 的记录
+        List<RiskIndicator> fatigueHistory = poList.stream()
                 .filter(p -> p.getFatiguePercent() != null)
-                .map(p -> p.getFatiguePercent().doubleValue())
                 .collect(Collectors.toList());
 
-        if (fatigueHistory.size() < lstmProperty.getMinHistory()) {
-            throw new BizException(HttpStatus.BAD_REQUEST,
-                    String.format(LSTM_HISTORY_TOO_FEW, lstmProperty.getMinHistory()));
-        }
+        // 5. 确定预测方法后再按该方法校验有效历史条数：统计方法在当前线程直接计算；
+        //    LSTM 提交到计算线程池，使用离线模型推理，无离线模型时使用工人缓存模型
+        ForecasterType used = fatiguePredictHelper.resolveForecaster(forecaster, fatigueHistory.size());
+        validateHistorySize(fatigueHistory.size(), used == ForecasterType.LSTM);
 
         log.info(LOG_LSTM_ANALYSING, workerId, fatigueHistory.size());
 
-        // 5. 调用 LSTM 预测器（即时训练 + 滚动推理）
-        List<Double> predicted = fatiguePredictHelper.predict(fatigueHistory);
+        List<Double> predicted;
+        if (used == ForecasterType.LSTM) {
+            predicted = lstmComputeExecutor.execute(retrain ? LSTM_FATIGUE_RETRAIN : LSTM_FATIGUE_PREDICTION,
+                    () -> fatiguePredictHelper.predict(workerId, worker.getWorkType(), fatigueHistory, retrain));
+        } else {
+            double[] values = new double[fatigueHistory.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = fatigueHistory.get(i).getFatiguePercent();
+            }
+            predicted = fatiguePredictHelper.forecast(workerId, used, values);
+        }
 
         // 6. 生成趋势描述与风险提示，组装 VO
+        return buildFatigueVO(workerId, fatigueHistory.size(), predicted, used, LocalDateTime.now());
+    }
+
+    /**
+     * 校验请求的历史记录条数：下限只对明确指定 LSTM 时取 LSTM 的最少条数，
+     * 自动选择与统计方法取统计方法的最少条数（自动选择在历史不足时不会选 LSTM）
+     */
+    private void validateHistoryLimit(Integer limit, boolean lstm) {
+        validateHistorySize(limit, lstm);
+        if (limit > lstmProperty.getMaxHistory()) {
+            throw new BizException(HttpStatus.BAD_REQUEST,
+                    String.format(LSTM_HISTORY_TOO_MANY, lstmProperty.getMaxHistory()));
+        }
+    }
+
+    /**
+     * 按实际使用的预测方法校验有效历史条数
+     */
+    private void validateHistorySize(int size, boolean lstm) {
+        if (lstm) {
+            if (size < lstmProperty.getMinHistory()) {
+                throw new BizException(HttpStatus.BAD_REQUEST,
+                        String.format(LSTM_HISTORY_TOO_FEW, lstmProperty.getMinHistory()));
+            }
+        } else if (size < forecastProperty.getMinHistory()) {
+            throw new BizException(HttpStatus.BAD_REQUEST,
+                    String.format(FORECAST_HISTORY_FEW, forecastProperty.getMinHistory()));
+        }
+    }
+
+    /**
+     * 按工人切分批量查询结果（已按工人、时间正序），历史不足最小条数的工人不参与预测
+     */
+    private Map<Long, double[]> groupFatigueHistories(List<RiskIndicator> rows) {
+        Map<Long, double[]> histories = new HashMap<>();
+        int from = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i < rows.size() && rows.get(i).getWorkerId().equals(rows.get(from).getWorkerId())) {
+                continue;
+            }
+            if (i - from >= lstmProperty.getMinHistory()) {
+                double[] values = new double[i - from];
+                for (int j = from; j < i; j++) {
+                    values[j - from] = rows.get(j).getFatiguePercent();
+                }
+                histories.put(rows.get(from).getWorkerId(), values);
+            }
+            from = i;
+        }
+        return histories;
+    }
+
+    /**
+     * 生成趋势描述与风险提示，组装 VO
+     */
+    private FatiguePredictionVO buildFatigueVO(Long workerId, int historyCount, List<Double> predicted,
+                                               ForecasterType forecaster, LocalDateTime predictTime) {
         return FatiguePredictionVO.builder()
                 .workerId(workerId)
-                .historyCount(fatigueHistory.size())
+                .historyCount(historyCount)
                 .predictedFatigueList(predicted)
                 .trend(buildTrend(predicted))
                 .riskTip(buildRiskTip(predicted))
+                .forecaster(forecaster)
+                .predictTime(predictTime)
                 .build();
     }
 
-    // ======================== 内部方法 ========================
-
     /**
      * 查询历史风险指标 PO（取最新 limit 条，正序排列）。
      */
@@ -1,7 +1,11 @@
 package gang.lu.riskmanagementproject.service.impl;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fasterxml.jackson.core.JsonParser;
 import gang.lu.riskmanagementproject.annotation.BusinessLog;
 import gang.lu.riskmanagementproject.converter.RiskIndicatorConverter;
 import gang.lu.riskmanagementproject.domain.dto.RiskIndicatorDTO;
@@ -9,23 +13,43 @@ import gang.lu.riskmanagementproject.domain.dto.query.RiskIndicatorQueryDTO;
 import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
 import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorBatchVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorStreamVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskLevelCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskTimePeriodCountVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.handler.MyMetaObjectHandler;
 import gang.lu.riskmanagementproject.helper.PageHelper;
 import gang.lu.riskmanagementproject.helper.QueryWrapperHelper;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorLatestCache;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorRollupHelper;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorStreamParser;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorWriteBuffer;
+import gang.lu.riskmanagementproject.helper.WorkerCache;
 import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
 import gang.lu.riskmanagementproject.mapper.WorkerMapper;
+import gang.lu.riskmanagementproject.property.IngestProperty;
+import gang.lu.riskmanagementproject.property.StatisticProperty;
 import gang.lu.riskmanagementproject.service.RiskIndicatorService;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import gang.lu.riskmanagementproject.util.LongHashSet;
 import gang.lu.riskmanagementproject.util.StatisticalUtil;
 import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import gang.lu.riskmanagementproject.validator.MedicalValidator;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static gang.lu.riskmanagementproject.common.global.GlobalBusinessConstants.*;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.*;
@@ -46,22 +70,46 @@ public class RiskIndicatorServiceImpl
 
     private final WorkerMapper workerMapper;
     private final MedicalValidator medicalValidator;
+    private final IngestProperty ingestProperty;
+    private final Validator validator;
+    private final RiskIndicatorWriteBuffer writeBuffer;
+    private final RiskIndicatorStreamParser streamParser;
+    private final RiskIndicatorLatestCache latestCache;
+    private final RiskIndicatorRollupHelper rollupHelper;
+    private final StatisticProperty statisticProperty;
+    private final WorkerCache workerCache;
 
     public RiskIndicatorServiceImpl(RiskIndicatorMapper riskIndicatorMapper,
                                     RiskIndicatorConverter riskIndicatorConverter,
                                     GeneralValidator generalValidator,
                                     WorkerMapper workerMapper,
                                     MedicalValidator medicalValidator,
-                                    PageHelper pageHelper) {
+                                    PageHelper pageHelper,
+                                    IngestProperty ingestProperty,
+                                    Validator validator,
+                                    RiskIndicatorWriteBuffer writeBuffer,
+                                    RiskIndicatorStreamParser streamParser,
+                                    RiskIndicatorLatestCache latestCache,
+                                    RiskIndicatorRollupHelper rollupHelper,
+                                    StatisticProperty statisticProperty,
+                                    WorkerCache workerCache) {
         super(riskIndicatorMapper, riskIndicatorConverter, generalValidator, pageHelper);
         this.medicalValidator = medicalValidator;
         this.workerMapper = workerMapper;
+        this.ingestProperty = ingestProperty;
+        this.validator = validator;
+        this.writeBuffer = writeBuffer;
+        this.streamParser = streamParser;
+        this.latestCache = latestCache;
+        this.rollupHelper = rollupHelper;
+        this.statisticProperty = statisticProperty;
+        this.workerCache = workerCache;
     }
 
     // ======================== 通用CRUD ========================
 
     /**
-     * 新增风险指标
+     * 新增风险指标（同步写入：插入、回查与汇总在同一事务内）
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -71,40 +119,79 @@ public class RiskIndicatorServiceImpl
     }
 
     /**
-     * 删除风险指标
+     * 经写入缓冲新增风险指标
+     * <p>
+     * ENQUEUE 模式入队即返回（无主键），FLUSH 模式等待所在批次提交后返回。
+     * 此处不开启事务，避免等待批次期间占用连接。
+     */
+    @Override
+    @BusinessLog(value = ADD_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    public RiskIndicatorVO addBuffered(RiskIndicatorDTO dto) {
+        validateAdd(dto);
+        RiskIndicator po = converter.dtoToPo(dto);
+        applyEnumValues(dto, po);
+        // 以到达时间作为记录时间，不受排队延迟影响（截断到秒，缓存与汇总看到的时间与库中一致）
+        po.setCreateTime(MyMetaObjectHandler.now());
+        CompletableFuture<RiskIndicator> future = writeBuffer.enqueue(po);
+        future.thenAccept(latestCache::offer);
+        if (ingestProperty.getDurability() == IngestProperty.Durability.ENQUEUE) {
+            return converter.poToVo(po);
+        }
+        // 等待超时时记录仍在队列中、稍后落库，按已受理返回（无主键），避免调用方重试造成重复写入
+        RiskIndicator flushed = writeBuffer.awaitFlushed(future);
+        return converter.poToVo(ObjectUtil.isNotNull(flushed) ? flushed : po);
+    }
+
+    /**
+     * 删除风险指标（提交后重算所在的小时汇总桶）
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
     @BusinessLog(value = DELETE_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.WARN)
     public void delete(Long id) {
+        List<RiskIndicator> affected = selectRollupKeys(Collections.singletonList(id));
         super.delete(id);
+        rollupHelper.recompute(affected);
     }
 
     /**
-     * 批量删除风险指标
+     * 批量删除风险指标（提交后重算所在的小时汇总桶）
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
     @BusinessLog(value = BATCH_DELETE_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.WARN)
     public void batchDelete(Iterable<Long> ids) {
-        super.batchDelete(ids);
+        List<Long> idList = new ArrayList<>();
+        if (ObjectUtil.isNotNull(ids)) {
+            ids.forEach(idList::add);
+        }
+        List<RiskIndicator> affected = selectRollupKeys(idList);
+        super.batchDelete(idList);
+        rollupHelper.recompute(affected);
     }
 
     /**
-     * 修改风险指标
+     * 修改风险指标（提交后重算修改前后所在的小时汇总桶，工人被修改时两者不同）
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
     @BusinessLog(value = UPDATE_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
     public RiskIndicatorVO update(Long id, RiskIndicatorDTO dto) {
-        return super.update(id, dto);
+        List<RiskIndicator> affected = selectRollupKeys(Collections.singletonList(id));
+        RiskIndicatorVO vo = super.update(id, dto);
+        RiskIndicator updated = new RiskIndicator().setWorkerId(vo.getWorkerId());
+        updated.setCreateTime(vo.getCreateTime());
+        affected.add(updated);
+        rollupHelper.recompute(affected);
+        return vo;
     }
 
     /**
      * 根据ID查询风险指标
      */
     @Override
-    @BusinessLog(value = GET_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public RiskIndicatorVO getOneById(Long id) {
         return super.getOneById(id);
     }
@@ -113,7 +200,8 @@ public class RiskIndicatorServiceImpl
      * 多条件分页查询风险指标
      */
     @Override
-    @BusinessLog(value = GET_RISK_INDICATOR_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_RISK_INDICATOR_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public PageVO<RiskIndicatorVO> search(RiskIndicatorQueryDTO queryDTO) {
         return super.search(queryDTO);
     }
@@ -125,7 +213,7 @@ public class RiskIndicatorServiceImpl
      */
     @Override
     public void validateAdd(RiskIndicatorDTO dto) {
-        generalValidator.validateIdExist(dto.getWorkerId(), workerMapper, WORKER_NOT_EXIST);
+        workerCache.requireById(dto.getWorkerId());
         medicalValidator.validateHeartRate(dto.getHeartRate());
         medicalValidator.validateRespiratoryRate(dto.getRespiratoryRate());
         medicalValidator.validateFatiguePercent(dto.getFatiguePercent());
@@ -137,7 +225,7 @@ public class RiskIndicatorServiceImpl
     @Override
     public void validateUpdate(Long id, RiskIndicatorDTO dto) {
         if (ObjectUtil.isNotNull(dto.getWorkerId())) {
-            generalValidator.validateIdExist(dto.getWorkerId(), workerMapper, WORKER_NOT_EXIST);
+            workerCache.requireById(dto.getWorkerId());
         }
         medicalValidator.validateHeartRate(dto.getHeartRate());
         medicalValidator.validateRespiratoryRate(dto.getRespiratoryRate());
@@ -175,8 +263,52 @@ public class RiskIndicatorServiceImpl
                 .orderByDesc(RiskIndicator::getCreateTime);
     }
 
+    /**
+     * 查询明细所在的小时汇总桶（只取工人ID与记录时间）
+     */
+    private List<RiskIndicator> selectRollupKeys(List<Long> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return new ArrayList<>();
+        }
+        return baseMapper.selectList(Wrappers.<RiskIndicator>lambdaQuery()
+                .select(RiskIndicator::getId, RiskIndicator::getWorkerId, RiskIndicator::getCreateTime)
+                .in(RiskIndicator::getId, ids));
+    }
+
     // ======================== 模板方法 ========================
 
+    @Override
+    protected void applyEnumValues(RiskIndicatorDTO dto, RiskIndicator po) {
+        if (StrUtil.isNotBlank(dto.getRiskLevelValue())) {
+            po.setRiskLevel(EnumConvertUtil.toEnum(dto.getRiskLevelValue(), RiskLevel.class));
+        }
+    }
+
+    /**
+     * 生理指标、风险等级、报警标记均有列默认值，任一未传时重新查询
+     */
+    @Override
+    protected boolean needsReloadAfterInsert(RiskIndicator po) {
+        return ObjectUtil.hasNull(po.getHeartRate(), po.getRespiratoryRate(), po.getFatiguePercent(),
+                po.getRiskLevel(), po.getAlertFlag());
+    }
+
+    @Override
+    protected void afterAdd(RiskIndicator po) {
+        latestCache.offer(po);
+        rollupHelper.record(po);
+    }
+
+    @Override
+    protected void afterUpdate(RiskIndicator po) {
+        latestCache.onUpdated(po);
+    }
+
+    @Override
+    protected void afterDelete(List<Long> ids) {
+        latestCache.evictIndicators(ids);
+    }
+
     @Override
     protected String getNotFoundMsg() {
         return RISK_INDICATOR_NOT_EXIST;
@@ -200,44 +332,271 @@ public class RiskIndicatorServiceImpl
     // ======================== 个性化业务 ========================
 
     /**
-     * 根据工人ID查询最新风险指标
+     * 批量新增风险指标
+     * <p>
+     * 工人存在性通过一次 IN 查询完成，合法行经 MyBatis 批量执行器写入，
+     * 主键由自增回填，不再逐条回查。
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @BusinessLog(value = BATCH_ADD_RISK_INDICATOR, recordParams = false, logLevel = BusinessLog.LogLevel.INFO)
+    public RiskIndicatorBatchVO batchAdd(List<RiskIndicatorDTO> dtoList) {
+        if (CollUtil.isEmpty(dtoList)) {
+            throw new BizException(HttpStatus.BAD_REQUEST, RISK_INDICATOR_BATCH_EMPTY);
+        }
+        if (dtoList.size() > ingestProperty.getBatchMaxSize()) {
+            throw new BizException(HttpStatus.BAD_REQUEST,
+                    String.format(RISK_INDICATOR_BATCH_TOO_LARGE, ingestProperty.getBatchMaxSize()));
+        }
+
+        // 1. 一次性查出本批涉及的合法工人ID（分块只查主键，过滤器排除一定不存在的ID）
+        List<Long> workerIds = new ArrayList<>(dtoList.size());
+        for (RiskIndicatorDTO dto : dtoList) {
+            if (ObjectUtil.isNotNull(dto)) {
+                workerIds.add(dto.getWorkerId());
+            }
+        }
+        LongHashSet existWorkerIds = generalValidator.findExistIds(workerIds, workerMapper, workerCache.idFilter());
+
+        // 2. 逐行校验，合法行转换为PO
+        List<RiskIndicatorBatchVO.RowResult> rows = new ArrayList<>(dtoList.size());
+        List<RiskIndicator> acceptedPos = new ArrayList<>(dtoList.size());
+        List<RiskIndicatorBatchVO.RowResult> acceptedRows = new ArrayList<>(dtoList.size());
+        for (int i = 0; i < dtoList.size(); i++) {
+            RiskIndicatorDTO dto = dtoList.get(i);
+            RiskIndicatorBatchVO.RowResult row = new RiskIndicatorBatchVO.RowResult();
+            row.setIndex(i);
+            String reason = validateBatchRow(dto, existWorkerIds);
+            if (ObjectUtil.isNull(reason)) {
+                RiskIndicator po = converter.dtoToPo(dto);
+                applyEnumValues(dto, po);
+                acceptedPos.add(po);
+                acceptedRows.add(row);
+                row.setAccepted(true);
+            } else {
+                row.setAccepted(false);
+                row.setReason(reason);
+            }
+            rows.add(row);
+        }
+
+        // 3. 批量写入并回填主键
+        if (!acceptedPos.isEmpty()) {
+            saveBatch(acceptedPos, ingestProperty.getJdbcBatchSize());
+            latestCache.offerAll(acceptedPos);
+            rollupHelper.record(acceptedPos);
+            for (int i = 0; i < acceptedPos.size(); i++) {
+                acceptedRows.get(i).setId(acceptedPos.get(i).getId());
+            }
+        }
+
+        RiskIndicatorBatchVO vo = new RiskIndicatorBatchVO();
+        vo.setTotalCount(dtoList.size());
+        vo.setAcceptedCount(acceptedPos.size());
+        vo.setRejectedCount(dtoList.size() - acceptedPos.size());
+        vo.setRows(rows);
+        return vo;
+    }
+
+    /**
+     * 单行校验，返回拒绝原因；合法时返回 null
+     */
+    private String validateBatchRow(RiskIndicatorDTO dto, LongHashSet existWorkerIds) {
+        if (ObjectUtil.isNull(dto)) {
+            return RISK_INDICATOR_ROW_NULL;
+        }
+        Set<ConstraintViolation<RiskIndicatorDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (ObjectUtil.isNull(dto.getWorkerId()) || !existWorkerIds.contains(dto.getWorkerId())) {
+            return WORKER_NOT_EXIST;
+        }
+        return checkMedical(dto.getHeartRate(), dto.getRespiratoryRate(), dto.getFatiguePercent());
+    }
+
+    /**
+     * 生理指标校验，返回拒绝原因；合法时返回 null
+     */
+    private String checkMedical(Integer heartRate, Integer respiratoryRate, Double fatiguePercent) {
+        try {
+            medicalValidator.validateHeartRate(heartRate);
+            medicalValidator.validateRespiratoryRate(respiratoryRate);
+            medicalValidator.validateFatiguePercent(fatiguePercent);
+        } catch (BizException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * NDJSON 流式写入风险指标
+     * <p>
+     * 请求体不做整体缓冲：逐个对象解析为 PO，内存中最多暂存一批，
+     * 每批做一次工人存在性 IN 查询后通过 JDBC 批量写入，各批独立提交。
+     * 流解析失败时已落库的批次保留，剩余数据忽略并在汇总中标记终止。
+     */
+    @Override
+    @BusinessLog(value = STREAM_ADD_RISK_INDICATOR, recordParams = false, logLevel = BusinessLog.LogLevel.INFO)
+    public RiskIndicatorStreamVO streamAdd(InputStream in) {
+        long start = System.currentTimeMillis();
+        int batchSize = ingestProperty.getStreamBatchSize();
+        RiskIndicatorStreamVO vo = new RiskIndicatorStreamVO();
+        vo.setAcceptedCount(0);
+        vo.setRejectedCount(0);
+        vo.setBatchCount(0);
+        vo.setAborted(false);
+        vo.setRejectedSamples(new ArrayList<>());
+
+        List<RiskIndicator> pendingPos = new ArrayList<>(batchSize);
+        List<Integer> pendingLines = new ArrayList<>(batchSize);
+        int line = 0;
+        try (JsonParser parser = streamParser.open(in)) {
+            RiskIndicatorStreamParser.StreamRow row;
+            while (ObjectUtil.isNotNull(row = streamParser.next(parser))) {
+                line++;
+                String reason = row.isAccepted() ? validateStreamRow(row.getPo()) : row.getReason();
+                if (ObjectUtil.isNotNull(reason)) {
+                    rejectStreamLine(vo, line, reason);
+                    continue;
+                }
+                pendingPos.add(row.getPo());
+                pendingLines.add(line);
+                if (pendingPos.size() >= batchSize) {
+                    flushStreamBatch(pendingPos, pendingLines, vo);
+                }
+            }
+        } catch (IOException e) {
+            vo.setAborted(true);
+            vo.setAbortReason(String.format(RISK_INDICATOR_STREAM_READ_FAILED, line + 1));
+        }
+        flushStreamBatch(pendingPos, pendingLines, vo);
+
+        vo.setTotalCount(line);
+        vo.setElapsedMillis(System.currentTimeMillis() - start);
+        return vo;
+    }
+
+    /**
+     * 流式单行校验（工人存在性在批次落库前统一校验）
+     */
+    private String validateStreamRow(RiskIndicator po) {
+        if (ObjectUtil.isNull(po.getWorkerId())) {
+            return WORKER_NOT_EXIST;
+        }
+        if (ObjectUtil.isNull(po.getCreateTime())) {
+            po.setCreateTime(MyMetaObjectHandler.now());
+        } else {
+            po.setCreateTime(po.getCreateTime().truncatedTo(ChronoUnit.SECONDS));
+        }
+        return checkMedical(po.getHeartRate(), po.getRespiratoryRate(), po.getFatiguePercent());
+    }
+
+    private void rejectStreamLine(RiskIndicatorStreamVO vo, int line, String reason) {
+        vo.setRejectedCount(vo.getRejectedCount() + 1);
+        if (vo.getRejectedSamples().size() < ingestProperty.getStreamMaxRejectedSamples()) {
+            RiskIndicatorStreamVO.RejectedLine rejected = new RiskIndicatorStreamVO.RejectedLine();
+            rejected.setLine(line);
+            rejected.setReason(reason);
+            vo.getRejectedSamples().add(rejected);
+        }
+    }
+
+    private void flushStreamBatch(List<RiskIndicator> pendingPos, List<Integer> pendingLines, RiskIndicatorStreamVO vo) {
+        if (pendingPos.isEmpty()) {
+            return;
+        }
+        List<Long> workerIds = new ArrayList<>(pendingPos.size());
+        pendingPos.forEach(po -> workerIds.add(po.getWorkerId()));
+        LongHashSet existWorkerIds = generalValidator.findExistIds(workerIds, workerMapper, workerCache.idFilter());
+
+        List<RiskIndicator> accepted = new ArrayList<>(pendingPos.size());
+        for (int i = 0; i < pendingPos.size(); i++) {
+            RiskIndicator po = pendingPos.get(i);
+            if (ObjectUtil.isNotNull(po.getWorkerId()) && existWorkerIds.contains(po.getWorkerId())) {
+                accepted.add(po);
+            } else {
+                rejectStreamLine(vo, pendingLines.get(i), WORKER_NOT_EXIST);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            saveBatch(accepted, ingestProperty.getJdbcBatchSize());
+            latestCache.offerAll(accepted);
+            rollupHelper.record(accepted);
+            vo.setAcceptedCount(vo.getAcceptedCount() + accepted.size());
+            vo.setBatchCount(vo.getBatchCount() + 1);
+        }
+        pendingPos.clear();
+        pendingLines.clear();
+    }
+
+    /**
+     * 根据工人ID查询最新风险指标（读取内存表，不查询风险指标表）
      */
     @Override
-    @BusinessLog(value = GET_LATEST_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_LATEST_RISK_INDICATOR, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public RiskIndicatorVO getLatestRiskIndicatorByWorkerId(Long workerId) {
-        generalValidator.validateIdExist(workerId, workerMapper, WORKER_NOT_EXIST);
-        RiskIndicator latest = baseMapper.selectLatestByWorkerId(workerId);
+        workerCache.requireById(workerId);
+        RiskIndicator latest = latestCache.get(workerId);
         return ObjectUtil.isNull(latest) ? null : converter.poToVo(latest);
     }
 
     /**
      * 统计去重工人风险等级人数分布
+     * <p>
+     * 最新指标内存表预热完成后直接读取增量计数（O(1)），否则回退 SQL 统计
      */
     @Override
     @BusinessLog(value = GET_RISK_LEVEL_DISTRIBUTION, recordParams = false, logLevel = BusinessLog.LogLevel.INFO)
     public RiskLevelCountVO countDistinctWorkerByRiskLevel() {
-        Map<String, Map<String, Object>> riskCountMap = baseMapper.countDistinctWorkerByRiskLevel();
         RiskLevelCountVO vo = new RiskLevelCountVO();
-        vo.setLowRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.LOW_RISK.getValue()));
-        vo.setMediumRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.MEDIUM_RISK.getValue()));
-        vo.setHighRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.HIGH_RISK.getValue()));
-        vo.setVeryHighRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.VERY_HIGH_RISK.getValue()));
+        if (latestCache.isWarmed()) {
+            vo.setLowRiskCount((int) latestCache.countByRiskLevel(RiskLevel.LOW_RISK));
+            vo.setMediumRiskCount((int) latestCache.countByRiskLevel(RiskLevel.MEDIUM_RISK));
+            vo.setHighRiskCount((int) latestCache.countByRiskLevel(RiskLevel.HIGH_RISK));
+            vo.setVeryHighRiskCount((int) latestCache.countByRiskLevel(RiskLevel.VERY_HIGH_RISK));
+        } else {
+            Map<String, Map<String, Object>> riskCountMap = baseMapper.countDistinctWorkerByRiskLevel();
+            vo.setLowRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.LOW_RISK.getValue()));
+            vo.setMediumRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.MEDIUM_RISK.getValue()));
+            vo.setHighRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.HIGH_RISK.getValue()));
+            vo.setVeryHighRiskCount(StatisticalUtil.getCountFromMap(riskCountMap, RiskLevel.VERY_HIGH_RISK.getValue()));
+        }
         vo.setTotalCount(vo.getLowRiskCount() + vo.getMediumRiskCount() + vo.getHighRiskCount() + vo.getVeryHighRiskCount());
         return vo;
     }
 
     /**
      * 统计当日各时间段高风险工人数
+     * <p>
+     * 读取小时汇总表（每个工人每小时一行），按 bucketHours 合并后去重计数
      */
     @Override
     @BusinessLog(value = GET_HIGH_RISK_DISTRIBUTION_IN_PERIOD, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
-    public RiskTimePeriodCountVO countHighRiskWorkerByTimePeriod(LocalDate statDate) {
+    public RiskTimePeriodCountVO countHighRiskWorkerByTimePeriod(LocalDate statDate, Integer bucketHours) {
         LocalDate finalStatDate = ObjectUtil.defaultIfNull(statDate, LocalDate.now());
-        String statDateStr = finalStatDate.toString();
-        List<Map<String, Object>> periodList = baseMapper.countHighRiskWorkerByTimePeriod(statDateStr);
+        int finalBucketHours = ObjectUtil.defaultIfNull(bucketHours, statisticProperty.getPeriodHours());
+        if (!StatisticalUtil.isValidBucketHours(finalBucketHours)) {
+            throw new BizException(HttpStatus.BAD_REQUEST, RISK_PERIOD_HOURS_INVALID);
+        }
+        List<Map<String, Object>> periodList = rollupHelper.countHighRiskWorkerByBucket(finalStatDate, finalBucketHours);
         RiskTimePeriodCountVO resultVO = new RiskTimePeriodCountVO();
-        resultVO.setStatDate(statDateStr);
-        resultVO.setPeriodItems(StatisticalUtil.buildTimePeriodItems(periodList));
+        resultVO.setStatDate(finalStatDate.toString());
+        resultVO.setPeriodItems(StatisticalUtil.buildTimePeriodItems(periodList, finalBucketHours));
         return resultVO;
     }
+
+    /**
+     * 从明细表按天回填小时汇总（每天一个事务，部署后首次启用汇总表或修正历史数据时使用）
+     */
+    @Override
+    @BusinessLog(value = BACKFILL_RISK_INDICATOR_ROLLUP, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    public int backfillHourlyRollup(LocalDate from, LocalDate to) {
+        int maxDays = statisticProperty.getRollupBackfillMaxDays();
+        if (ObjectUtil.hasNull(from, to) || from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BizException(HttpStatus.BAD_REQUEST, String.format(RISK_ROLLUP_RANGE_INVALID, maxDays));
+        }
+        return rollupHelper.backfill(from, to);
+    }
 }
\ No newline at end of file
@@ -7,13 +7,12 @@ import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
 import gang.lu.riskmanagementproject.exception.BizException;
 import gang.lu.riskmanagementproject.helper.PdfHelper;
+import gang.lu.riskmanagementproject.helper.WorkerCache;
 import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
-import gang.lu.riskmanagementproject.mapper.WorkerMapper;
 import gang.lu.riskmanagementproject.property.RecordLimitProperty;
 import gang.lu.riskmanagementproject.service.RiskAiService;
 import gang.lu.riskmanagementproject.service.RiskReportService;
 import gang.lu.riskmanagementproject.converter.RiskIndicatorConverter;
-import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -42,9 +41,8 @@ public class RiskReportServiceImpl implements RiskReportService {
 
     private final RiskIndicatorMapper riskIndicatorMapper;
     private final RiskIndicatorConverter riskIndicatorConverter;
-    private final WorkerMapper workerMapper;
+    private final WorkerCache workerCache;
     private final RiskAiService riskAiService;
-    private final GeneralValidator generalValidator;
     private final PdfHelper pdfHelper;
     private final RecordLimitProperty recordLimitProperty;
 
@@ -68,7 +66,7 @@ public class RiskReportServiceImpl implements RiskReportService {
                           HttpServletResponse response) {
 
         // 1. 校验工人存在
-        generalValidator.validateIdExist(workerId, workerMapper, WORKER_NOT_EXIST);
+        workerCache.requireById(workerId);
 
         // 2. 校验 limit
         if (limit < recordLimitProperty.getMIN_RECORDS() || limit > recordLimitProperty.getMAX_RECORDS()) {
@@ -10,6 +10,8 @@ import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
 import gang.lu.riskmanagementproject.domain.po.Worker;
 import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
 import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorLatestCache;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorRollupHelper;
 import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
 import gang.lu.riskmanagementproject.service.AlgorithmService;
 import gang.lu.riskmanagementproject.service.VideoAnalysisService;
@@ -42,6 +44,8 @@ public class VideoAnalysisServiceImpl implements VideoAnalysisService {
     private final RiskIndicatorConverter riskIndicatorConverter;
     private final VideoValidator videoValidator;
     private final WorkerService workerService;
+    private final RiskIndicatorLatestCache latestCache;
+    private final RiskIndicatorRollupHelper rollupHelper;
 
     /**
      * 视频分析并持久化结果。
@@ -78,6 +82,8 @@ public class VideoAnalysisServiceImpl implements VideoAnalysisService {
         // 5. 回查，获取完整记录（含 DB 生成的时间戳）
         RiskIndicator saved = riskIndicatorMapper.selectById(indicator.getId());
         log.info(LOG_VIDEO_SAVE, workerId, saved.getRiskLevel());
+        latestCache.offer(saved);
+        rollupHelper.record(saved);
 
         return riskIndicatorConverter.poToVo(saved);
     }
@@ -17,6 +17,7 @@ import gang.lu.riskmanagementproject.helper.PageHelper;
 import gang.lu.riskmanagementproject.helper.QueryWrapperHelper;
 import gang.lu.riskmanagementproject.mapper.WorkAreaMapper;
 import gang.lu.riskmanagementproject.service.WorkAreaService;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
 import gang.lu.riskmanagementproject.util.StatisticalUtil;
 import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import org.springframework.http.HttpStatus;
@@ -98,7 +99,8 @@ public class WorkAreaServiceImpl
      * 根据ID查询工作区域
      */
     @Override
-    @BusinessLog(value = GET_WORK_AREA_BY_ID, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORK_AREA_BY_ID, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public WorkAreaVO getOneById(Long id) {
         return super.getOneById(id);
     }
@@ -107,7 +109,8 @@ public class WorkAreaServiceImpl
      * 多条件分页查询工作区域
      */
     @Override
-    @BusinessLog(value = GET_WORK_AREA_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORK_AREA_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public PageVO<WorkAreaVO> search(WorkAreaQueryDTO queryDTO) {
         return super.search(queryDTO);
     }
@@ -134,10 +137,10 @@ public class WorkAreaServiceImpl
      */
     @Override
     public void validateUpdate(Long id, WorkAreaDTO dto) {
-        WorkArea existArea = generalValidator.validateIdExist(id, baseMapper, WORK_AREA_NOT_EXIST);
+        // 存在性由通用修改流程校验，此处不再单独加载整行
         String newAreaCode = dto.getAreaCode();
 
-        if (StrUtil.isNotBlank(newAreaCode) && !newAreaCode.equals(existArea.getAreaCode())) {
+        if (StrUtil.isNotBlank(newAreaCode)) {
             boolean exists = lambdaQuery()
                     .eq(WorkArea::getAreaCode, newAreaCode)
                     .ne(WorkArea::getId, id)
@@ -163,6 +166,21 @@ public class WorkAreaServiceImpl
 
     // ======================== 模板方法 ========================
 
+    @Override
+    protected void applyEnumValues(WorkAreaDTO dto, WorkArea po) {
+        if (StrUtil.isNotBlank(dto.getAreaRiskLevelValue())) {
+            po.setAreaRiskLevel(EnumConvertUtil.toEnum(dto.getAreaRiskLevelValue(), AreaRiskLevel.class));
+        }
+    }
+
+    /**
+     * 未传区域风险等级时由列默认值填充
+     */
+    @Override
+    protected boolean needsReloadAfterInsert(WorkArea po) {
+        return ObjectUtil.isNull(po.getAreaRiskLevel());
+    }
+
     @Override
     protected String getNotFoundMsg() {
         return WORK_AREA_NOT_EXIST;
@@ -189,7 +207,8 @@ public class WorkAreaServiceImpl
      * 根据区域编码查询工作区域
      */
     @Override
-    @BusinessLog(value = GET_WORK_AREA_BY_CODE, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORK_AREA_BY_CODE, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public List<WorkAreaVO> getWorkAreaByCode(String areaCode) {
         generalValidator.validateStringNotBlank(areaCode, WORK_AREA_CODE, GET_WORK_AREA_BY_CODE);
 
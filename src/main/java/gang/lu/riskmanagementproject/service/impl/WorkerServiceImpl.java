@@ -10,15 +10,22 @@ import gang.lu.riskmanagementproject.domain.dto.query.WorkerQueryDTO;
 import gang.lu.riskmanagementproject.domain.enums.field.Status;
 import gang.lu.riskmanagementproject.domain.enums.field.WorkType;
 import gang.lu.riskmanagementproject.domain.po.Worker;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.PageVO;
 import gang.lu.riskmanagementproject.domain.vo.normal.WorkerVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerStatusCountVO;
 import gang.lu.riskmanagementproject.domain.vo.statistical.worker.WorkerTypeCountVO;
 import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.helper.FatigueForecastCache;
+import gang.lu.riskmanagementproject.helper.FatigueModelCache;
 import gang.lu.riskmanagementproject.helper.PageHelper;
 import gang.lu.riskmanagementproject.helper.QueryWrapperHelper;
+import gang.lu.riskmanagementproject.helper.RiskIndicatorLatestCache;
+import gang.lu.riskmanagementproject.helper.WorkerCache;
 import gang.lu.riskmanagementproject.mapper.WorkerMapper;
 import gang.lu.riskmanagementproject.service.WorkerService;
+import gang.lu.riskmanagementproject.util.EnumConvertUtil;
+import gang.lu.riskmanagementproject.util.LongBloomFilter;
 import gang.lu.riskmanagementproject.util.StatisticalUtil;
 import gang.lu.riskmanagementproject.validator.GeneralValidator;
 import org.springframework.http.HttpStatus;
@@ -47,11 +54,24 @@ public class WorkerServiceImpl
         extends BaseCrudServiceImpl<Worker, WorkerDTO, WorkerVO, WorkerQueryDTO, WorkerMapper, WorkerConverter>
         implements WorkerService {
 
+    private final RiskIndicatorLatestCache riskIndicatorLatestCache;
+    private final WorkerCache workerCache;
+    private final FatigueModelCache fatigueModelCache;
+    private final FatigueForecastCache fatigueForecastCache;
+
     public WorkerServiceImpl(WorkerMapper baseMapper,
                              WorkerConverter converter,
                              GeneralValidator generalValidator,
-                             PageHelper pageHelper) {
+                             PageHelper pageHelper,
+                             RiskIndicatorLatestCache riskIndicatorLatestCache,
+                             WorkerCache workerCache,
+                             FatigueModelCache fatigueModelCache,
+                             FatigueForecastCache fatigueForecastCache) {
         super(baseMapper, converter, generalValidator, pageHelper);
+        this.riskIndicatorLatestCache = riskIndicatorLatestCache;
+        this.workerCache = workerCache;
+        this.fatigueModelCache = fatigueModelCache;
+        this.fatigueForecastCache = fatigueForecastCache;
     }
 
     // ======================== 通用CRUD ========================
@@ -100,16 +120,18 @@ public class WorkerServiceImpl
      * 根据ID查询工人
      */
     @Override
-    @BusinessLog(value = GET_WORKER_BY_ID, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORKER_BY_ID, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public WorkerVO getOneById(Long id) {
-        return super.getOneById(id);
+        return converter.poToVo(workerCache.requireById(id));
     }
 
     /**
      * 多条件分页查询工人
      */
     @Override
-    @BusinessLog(value = GET_WORKER_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORKER_BY_MULTIPLY_CONDITION, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public PageVO<WorkerVO> search(WorkerQueryDTO queryDTO) {
         return super.search(queryDTO);
     }
@@ -176,6 +198,50 @@ public class WorkerServiceImpl
 
     // ======================== 模板方法 ========================
 
+    @Override
+    protected void applyEnumValues(WorkerDTO dto, Worker po) {
+        if (StrUtil.isNotBlank(dto.getWorkTypeValue())) {
+            po.setWorkType(EnumConvertUtil.toEnum(dto.getWorkTypeValue(), WorkType.class));
+        }
+        if (StrUtil.isNotBlank(dto.getStatusValue())) {
+            po.setStatus(EnumConvertUtil.toEnum(dto.getStatusValue(), Status.class));
+        }
+    }
+
+    /**
+     * 未传工龄时由列默认值填充
+     */
+    @Override
+    protected boolean needsReloadAfterInsert(Worker po) {
+        return ObjectUtil.hasNull(po.getWorkYears(), po.getWorkType(), po.getStatus());
+    }
+
+    @Override
+    protected void afterAdd(Worker po) {
+        workerCache.onSaved(po);
+    }
+
+    @Override
+    protected void afterUpdate(Worker po) {
+        workerCache.onSaved(po);
+    }
+
+    /**
+     * 风险指标随工人级联删除，同步清理最新指标缓存
+     */
+    @Override
+    protected void afterDelete(List<Long> ids) {
+        workerCache.invalidate(ids);
+        riskIndicatorLatestCache.evictWorkers(ids);
+        fatigueModelCache.evictWorkers(ids);
+        fatigueForecastCache.evictWorkers(ids);
+    }
+
+    @Override
+    protected LongBloomFilter getIdFilter() {
+        return workerCache.idFilter();
+    }
+
     @Override
     protected String getNotFoundMsg() {
         return WORKER_NOT_EXIST;
@@ -202,7 +268,8 @@ public class WorkerServiceImpl
      * 根据工号查询工人
      */
     @Override
-    @BusinessLog(value = GET_WORKER_BY_WORKCODE, recordParams = true, logLevel = BusinessLog.LogLevel.INFO)
+    @BusinessLog(value = GET_WORKER_BY_WORKCODE, recordParams = true, logLevel = BusinessLog.LogLevel.INFO,
+            sampleRate = HOT_READ_LOG_SAMPLE_RATE)
     public WorkerVO getWorkerByCode(String workerCode) {
         generalValidator.validateStringNotBlank(workerCode, WORKER_CODE, GET_WORKER_BY_WORKCODE);
 
@@ -251,9 +318,14 @@ public class WorkerServiceImpl
      */
     @Override
     public Worker getWorkerByCodeWithOutVerify(String workerCode) {
-        if (StrUtil.isBlank(workerCode)) {
-            return null;
-        }
-        return lambdaQuery().eq(Worker::getWorkerCode, workerCode).one();
+        return workerCache.getByCode(workerCode);
+    }
+
+    /**
+     * 工人缓存命中统计
+     */
+    @Override
+    public CacheStatsVO getWorkerCacheStats() {
+        return workerCache.stats();
     }
 }
\ No newline at end of file
@@ -0,0 +1,287 @@
+package gang.lu.riskmanagementproject.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 以原始 long 为键的并发哈希表
+ * <p>
+ * 用于以主键（工人 ID 等）为索引的常驻内存表，避免 {@code ConcurrentHashMap<Long, V>}
+ * 的装箱与 Node 对象开销。内部按键哈希分段，每段为开放寻址（线性探测）数组：
+ * <ul>
+ *   <li>读：{@link StampedLock} 乐观读，无写冲突时不加锁；</li>
+ *   <li>写：段内写锁，不同段之间互不阻塞；</li>
+ *   <li>value 不允许为 null，null 槽位即空槽。</li>
+ * </ul>
+ *
+ * @param <V> 值类型
+ * @author Franz Liszt
+ * @since 2026-03-04
+ */
+public class ConcurrentLongMap<V> {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 64;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    public ConcurrentLongMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param concurrency 期望的并发写线程数，向上取整为 2 的幂作为分段数
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap(int concurrency) {
+        int size = Integer.highestOneBit(Math.max(1, concurrency - 1)) << 1;
+        segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment<>();
+        }
+        segmentMask = size - 1;
+    }
+
+    public V get(long key) {
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * @return 旧值，不存在时返回 null
+     */
+    public V put(long key, V value) {
+        requireNonNull(value);
+        long hash = mix(key);
+        return segmentFor(hash).compute(key, hash, old -> value, true);
+    }
+
+    /**
+     * @return 被删除的值，不存在时返回 null
+     */
+    public V remove(long key) {
+        long hash = mix(key);
+        return segmentFor(hash).compute(key, hash, old -> null, true);
+    }
+
+    /**
+     * 原子地重新计算某个键的值（在段写锁内执行 remapping，勿在其中做耗时操作）
+     *
+     * @param remapping 入参为旧值（可能为 null），返回 null 表示删除
+     * @return 新值
+     */
+    public V compute(long key, UnaryOperator<V> remapping) {
+        long hash = mix(key);
+        return segmentFor(hash).compute(key, hash, remapping, false);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 逐段遍历（基于段快照，弱一致）
+     */
+    public void forEach(LongObjectConsumer<V> action) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    static long mix(long key) {
+        // MurmurHash3 fmix64，打散连续自增 ID
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static void requireNonNull(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+    }
+
+    /**
+     * long 键遍历回调
+     */
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    // ======================== 段实现 ========================
+
+    /**
+     * 键数组与值数组成对替换，保证乐观读拿到的是同一代数组
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Segment<V> {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(DEFAULT_SEGMENT_CAPACITY);
+        private volatile int size;
+
+        V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            V value = find(table, key, hash);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table t, long key, long hash) {
+            int mask = t.values.length - 1;
+            int idx = (int) hash & mask;
+            // 乐观读期间数组可能被并发修改，最多探测一轮，结果由 validate 兜底
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = t.values[idx];
+                if (value == null) {
+                    return null;
+                }
+                if (t.keys[idx] == key) {
+                    return (V) value;
+                }
+                idx = (idx + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * @param returnOld true 返回旧值，false 返回新值
+         */
+        @SuppressWarnings("unchecked")
+        V compute(long key, long hash, UnaryOperator<V> remapping, boolean returnOld) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.values.length - 1;
+                int idx = (int) hash & mask;
+                while (t.values[idx] != null && t.keys[idx] != key) {
+                    idx = (idx + 1) & mask;
+                }
+                V old = (V) t.values[idx];
+                V updated = remapping.apply(old);
+                if (updated == null) {
+                    if (old != null) {
+                        deleteAt(t, idx);
+                    }
+                } else if (old != null) {
+                    t.values[idx] = updated;
+                } else {
+                    t.keys[idx] = key;
+                    t.values[idx] = updated;
+                    size++;
+                    if (size * 2 > t.values.length) {
+                        table = rehash(t, t.values.length << 1);
+                    }
+                }
+                return returnOld ? old : updated;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 线性探测删除：向后搬移同一探测链上的元素，避免留下墓碑
+         */
+        private void deleteAt(Table t, int idx) {
+            int mask = t.values.length - 1;
+            int gap = idx;
+            int next = (gap + 1) & mask;
+            while (t.values[next] != null) {
+                int home = (int) mix(t.keys[next]) & mask;
+                // home 不在 (gap, next] 区间内时，可以搬到 gap
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    t.keys[gap] = t.keys[next];
+                    t.values[gap] = t.values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            t.values[gap] = null;
+            t.keys[gap] = 0L;
+            size--;
+        }
+
+        private static Table rehash(Table old, int capacity) {
+            int mask = capacity - 1;
+            Table t = new Table(capacity);
+            for (int i = 0; i < old.values.length; i++) {
+                if (old.values[i] != null) {
+                    int idx = (int) mix(old.keys[i]) & mask;
+                    while (t.values[idx] != null) {
+                        idx = (idx + 1) & mask;
+                    }
+                    t.keys[idx] = old.keys[i];
+                    t.values[idx] = old.values[i];
+                }
+            }
+            return t;
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(DEFAULT_SEGMENT_CAPACITY);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(LongObjectConsumer<V> action) {
+            long[] keys;
+            Object[] values;
+            long stamp = lock.readLock();
+            try {
+                keys = Arrays.copyOf(table.keys, table.keys.length);
+                values = Arrays.copyOf(table.values, table.values.length);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            // 在快照上回调，回调中修改本表不会死锁
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    action.accept(keys[i], (V) values[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package gang.lu.riskmanagementproject.util;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 异步结果工具类
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+public class FutureUtil {
+
+    private FutureUtil() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 等待 Future 完成，失败时原样抛出业务异常（不包装为 {@link CompletionException}）
+     *
+     * @param future 由调用方保证会在有限时间内完成（如带调用超时的 HTTP 请求）
+     * @return 结果
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 剥离 {@link CompletionException} / {@link ExecutionException} 包装，取得原始异常
+     */
+    public static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 以有限并发启动一组异步任务：先启动 concurrency 个，每结束一个再启动下一个，期间不占用等待线程。
+     * <p>
+     * 单个任务失败不影响其余任务；任务的结果与异常由 launcher 返回的 Future 自行处理。
+     *
+     * @param tasks       任务参数，按顺序启动
+     * @param concurrency 最多同时在途的任务数（小于 1 时按 1）
+     * @param launcher    启动一个任务（同步抛出的异常视为该任务失败）
+     * @return 全部任务结束后完成，不会异常完成
+     */
+    public static <T> CompletableFuture<Void> runBounded(List<T> tasks, int concurrency,
+                                                         Function<T, ? extends CompletionStage<?>> launcher) {
+        CompletableFuture<Void> all = new CompletableFuture<>();
+        if (tasks.isEmpty()) {
+            all.complete(null);
+            return all;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(tasks.size());
+        for (int i = 0; i < Math.min(Math.max(concurrency, 1), tasks.size()); i++) {
+            launchNext(tasks, next, remaining, all, launcher);
+        }
+        return all;
+    }
+
+    private static <T> void launchNext(List<T> tasks, AtomicInteger next, AtomicInteger remaining,
+                                       CompletableFuture<Void> all, Function<T, ? extends CompletionStage<?>> launcher) {
+        int index = next.getAndIncrement();
+        if (index >= tasks.size()) {
+            return;
+        }
+        CompletionStage<?> stage;
+        try {
+            stage = launcher.apply(tasks.get(index));
+        } catch (RuntimeException e) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            stage = failed;
+        }
+        stage.whenComplete((r, e) -> {
+            if (remaining.decrementAndGet() == 0) {
+                all.complete(null);
+            } else {
+                launchNext(tasks, next, remaining, all, launcher);
+            }
+        });
+    }
+}
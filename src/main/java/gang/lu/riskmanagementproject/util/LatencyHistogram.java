@@ -0,0 +1,159 @@
+package gang.lu.riskmanagementproject.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 纳秒耗时直方图（线程安全，HDR 风格对数-线性分桶）
+ * <p>
+ * 小于 {@code 2^SUB_BUCKET_BITS} 纳秒的值逐纳秒计数；更大的值按 2 的幂分段，
+ * 每段再等分为 {@code 2^(SUB_BUCKET_BITS-1)} 个子桶，相对误差不超过 1/64（约 1.6%）。
+ * 记录只做一次数组下标计算和一次原子自增，不分配对象；分位数在读取时扫描分桶计算。
+ * 超过 {@link #MAX_TRACKABLE_NANOS} 的值计入最后一个桶（最大值仍精确记录）。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-12
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+    /**
+     * 可区分的最大耗时（2^40 纳秒，约 18 分钟）
+     */
+    private static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒，负数按 0 计）
+     * @param error 是否以异常结束
+     */
+    public void record(long nanos, boolean error) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    /**
+     * 读取当前统计（与并发写入不加锁，各项之间可能有极小偏差）
+     *
+     * @param percentiles 需要计算的分位（0-1，升序）
+     * @return 快照
+     */
+    public Snapshot snapshot(double... percentiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        long[] values = new long[percentiles.length];
+        if (total > 0) {
+            int p = 0;
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT && p < percentiles.length; i++) {
+                seen += counts[i];
+                while (p < percentiles.length && seen >= Math.max(1L, (long) Math.ceil(percentiles[p] * total))) {
+                    values[p++] = Math.min(highestEquivalentValue(i), max);
+                }
+            }
+        }
+        return new Snapshot(count.sum(), errorCount.sum(), totalNanos.sum(), max, values);
+    }
+
+    /**
+     * 清空统计（并发写入期间清空，个别记录可能跨越新旧两个周期）
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * 分桶内可能的最大值（分位数按桶上界报告，不会低估）
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long errorCount;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] percentileNanos;
+
+        private Snapshot(long count, long errorCount, long totalNanos, long maxNanos, long[] percentileNanos) {
+            this.count = count;
+            this.errorCount = errorCount;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.percentileNanos = percentileNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0L : totalNanos / count;
+        }
+
+        /**
+         * @param i 构造快照时传入的分位下标
+         */
+        public long getPercentileNanos(int i) {
+            return percentileNanos[i];
+        }
+    }
+}
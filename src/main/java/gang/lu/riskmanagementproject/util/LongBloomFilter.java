@@ -0,0 +1,60 @@
+package gang.lu.riskmanagementproject.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 以原始 long 为元素的布隆过滤器（线程安全，只增不删）
+ * <p>
+ * {@link #mightContain} 返回 false 时元素一定不存在，返回 true 时可能存在（误判率约为构造时的 fpp），
+ * 因此只能用来「提前排除」，不能用来「确认存在」。所有新增元素都必须调用 {@link #put}，
+ * 否则会出现漏判；删除无法反映到过滤器中，只会增加误判，需定期重建。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-10
+ */
+public class LongBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率（0-1）
+     */
+    public LongBloomFilter(long expectedInsertions, double fpp) {
+        long n = Math.max(1L, expectedInsertions);
+        double p = Math.min(Math.max(fpp, 1e-6), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(Math.max(1, words));
+        this.bitSize = (long) bits.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(long value) {
+        long h1 = ConcurrentLongMap.mix(value);
+        long h2 = ConcurrentLongMap.mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long value) {
+        long h1 = ConcurrentLongMap.mix(value);
+        long h2 = ConcurrentLongMap.mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
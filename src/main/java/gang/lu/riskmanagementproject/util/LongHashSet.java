@@ -0,0 +1,97 @@
+package gang.lu.riskmanagementproject.util;
+
+/**
+ * 以原始 long 为元素的哈希集合（非线程安全）
+ * <p>
+ * 用于批量 ID 存在性校验等一次性集合运算，避免 {@code HashSet<Long>} 的装箱与 Node 对象开销。
+ * 开放寻址（线性探测），0 作为空槽标记，元素 0 单独记录；只支持添加与查询。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-10
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计元素个数，按负载因子 0.5 预分配
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        slots = new long[capacity];
+    }
+
+    /**
+     * @return 元素此前不存在时返回 true
+     */
+    public boolean add(long value) {
+        if (value == 0L) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int idx = (int) ConcurrentLongMap.mix(value) & mask;
+        while (slots[idx] != 0L) {
+            if (slots[idx] == value) {
+                return false;
+            }
+            idx = (idx + 1) & mask;
+        }
+        slots[idx] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0L) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int idx = (int) ConcurrentLongMap.mix(value) & mask;
+        while (slots[idx] != 0L) {
+            if (slots[idx] == value) {
+                return true;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != 0L) {
+                int idx = (int) ConcurrentLongMap.mix(value) & mask;
+                while (slots[idx] != 0L) {
+                    idx = (idx + 1) & mask;
+                }
+                slots[idx] = value;
+            }
+        }
+    }
+}
@@ -4,15 +4,15 @@ import cn.hutool.core.util.ObjectUtil;
 import gang.lu.riskmanagementproject.domain.vo.statistical.indicator.RiskTimePeriodCountVO;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.UNKNOWN_PERIOD;
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.COUNT;
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.PERIOD;
+import static gang.lu.riskmanagementproject.common.global.GlobalFormatConstants.PERIOD_DESC_FORMAT;
 
 /**
  * 统计数据处理工具类
@@ -26,22 +26,7 @@ import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.P
 @Slf4j
 public class StatisticalUtil {
 
-    /**
-     * 时间段起始小时 → 描述文本
-     * 使用 Map 替代 switch，新增时间段只需在此处添加一行，不必修改方法体
-     */
-    private static final Map<Integer, String> PERIOD_DESC_MAP;
-
-    static {
-        Map<Integer, String> map = new HashMap<>(8);
-        map.put(0, "00:00-04:00");
-        map.put(4, "04:00-08:00");
-        map.put(8, "08:00-12:00");
-        map.put(12, "12:00-16:00");
-        map.put(16, "16:00-20:00");
-        map.put(20, "20:00-24:00");
-        PERIOD_DESC_MAP = Collections.unmodifiableMap(map);
-    }
+    private static final int HOURS_OF_DAY = 24;
 
     private StatisticalUtil() {
         // 工具类禁止实例化
@@ -87,41 +72,57 @@ public class StatisticalUtil {
 
     /**
      * 将时间段原始数据列表转换为 {@link RiskTimePeriodCountVO.TimePeriodItem} 列表
+     * <p>
+     * 按宽度生成当天全部时间段，SQL 未返回的时间段计 0
      *
-     * @param periodList MyBatis 返回的时间段统计原始列表
-     * @return 时间段统计 Item 列表，入参为空时返回空列表
+     * @param periodList  MyBatis 返回的时间段统计原始列表（period=时间段起始小时, count=人数）
+     * @param bucketHours 每段小时数（24 的约数）
+     * @return 时间段统计 Item 列表，按起始小时升序
      */
     public static List<RiskTimePeriodCountVO.TimePeriodItem> buildTimePeriodItems(
-            List<Map<String, Object>> periodList) {
-        if (ObjectUtil.isEmpty(periodList)) {
-            return Collections.emptyList();
+            List<Map<String, Object>> periodList, int bucketHours) {
+        Map<Integer, Integer> countMap = new HashMap<>(HOURS_OF_DAY);
+        if (ObjectUtil.isNotEmpty(periodList)) {
+            for (Map<String, Object> itemMap : periodList) {
+                Object period = itemMap.get(PERIOD);
+                if (period instanceof Number) {
+                    countMap.put(((Number) period).intValue(), getCountFromSingleMap(itemMap));
+                }
+            }
         }
-        return periodList.stream()
-                .map(itemMap -> {
-                    Integer period = BasicConvertUtil.safeLongToInt((Long) itemMap.get(PERIOD), -1);
-                    Integer count = BasicConvertUtil.safeLongToInt((Long) itemMap.get(COUNT), 0);
-                    RiskTimePeriodCountVO.TimePeriodItem item = new RiskTimePeriodCountVO.TimePeriodItem();
-                    item.setHighRiskCount(count);
-                    item.setPeriodDesc(getPeriodDesc(period));
-                    return item;
-                })
-                .collect(Collectors.toList());
+        List<RiskTimePeriodCountVO.TimePeriodItem> items = new ArrayList<>(HOURS_OF_DAY / bucketHours);
+        for (int start = 0; start < HOURS_OF_DAY; start += bucketHours) {
+            RiskTimePeriodCountVO.TimePeriodItem item = new RiskTimePeriodCountVO.TimePeriodItem();
+            item.setPeriodDesc(getPeriodDesc(start, bucketHours));
+            item.setHighRiskCount(countMap.getOrDefault(start, 0));
+            items.add(item);
+        }
+        return items;
     }
 
     /**
-     * 根据时间段起始小时数获取描述文本
+     * 根据时间段起始小时数与宽度生成描述文本
      * <p>
-     * 例如传入 {@code 8} 返回 {@code "08:00-12:00"}；
-     * 传入 null 或未知值时返回 UNKNOWN_PERIOD。
+     * 例如传入 {@code (8, 4)} 返回 {@code "08:00-12:00"}；
+     * 传入 null 或与宽度不对齐的值时返回 UNKNOWN_PERIOD。
      *
-     * @param period 时间段起始小时数（0 / 4 / 8 / 12 / 16 / 20）
+     * @param period      时间段起始小时数
+     * @param bucketHours 每段小时数
      * @return 时间段描述字符串
      */
-    public static String getPeriodDesc(Integer period) {
-        if (ObjectUtil.isNull(period)) {
+    public static String getPeriodDesc(Integer period, int bucketHours) {
+        if (ObjectUtil.isNull(period) || !isValidBucketHours(bucketHours)
+                || period < 0 || period >= HOURS_OF_DAY || period % bucketHours != 0) {
             return UNKNOWN_PERIOD;
         }
-        return PERIOD_DESC_MAP.getOrDefault(period, UNKNOWN_PERIOD);
+        return String.format(PERIOD_DESC_FORMAT, period, period + bucketHours);
+    }
+
+    /**
+     * 时间段宽度是否合法（1 ~ 24 且为 24 的约数）
+     */
+    public static boolean isValidBucketHours(int bucketHours) {
+        return bucketHours > 0 && bucketHours <= HOURS_OF_DAY && HOURS_OF_DAY % bucketHours == 0;
     }
 
     /**
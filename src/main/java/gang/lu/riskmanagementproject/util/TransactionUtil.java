@@ -0,0 +1,37 @@
+package gang.lu.riskmanagementproject.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务工具类
+ * <p>
+ * 本地缓存等非事务资源需要与数据库提交保持一致时使用。
+ *
+ * @author Franz Liszt
+ * @since 2026-03-09
+ */
+public class TransactionUtil {
+
+    private TransactionUtil() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 存在活动事务时延迟到提交后执行（回滚则不执行），否则立即执行
+     *
+     * @param action 待执行的动作
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,20 +2,23 @@ package gang.lu.riskmanagementproject.validator;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import gang.lu.riskmanagementproject.annotation.ValidateLog;
 import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.util.LongBloomFilter;
+import gang.lu.riskmanagementproject.util.LongHashSet;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import static gang.lu.riskmanagementproject.common.global.GlobalBusinessConstants.*;
+import static gang.lu.riskmanagementproject.common.global.GlobalSimbolConstants.LIMIT_ONE;
 import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.ID_LIST;
 import static gang.lu.riskmanagementproject.common.field.FieldEnglishConstants.ID;
 import static gang.lu.riskmanagementproject.message.FailedMessages.*;
@@ -32,6 +35,11 @@ import static gang.lu.riskmanagementproject.message.FailedMessages.*;
 @Component
 public class GeneralValidator {
 
+    /**
+     * 存在性查询每批 ID 数（控制 IN 列表长度）
+     */
+    private static final int EXIST_CHECK_CHUNK_SIZE = 1000;
+
     /**
      * 字符串非空校验
      *
@@ -100,30 +108,71 @@ public class GeneralValidator {
     }
 
     /**
-     * 批量 ID 存在性校验
+     * 批量查询存在的 ID
+     * <p>
+     * 去重后按 {@link #EXIST_CHECK_CHUNK_SIZE} 分块执行 {@code SELECT id ... WHERE id IN (...)}，
+     * 只传输主键列，结果放入原始 long 集合；传入 ID 过滤器时，过滤器判定一定不存在的 ID 不再查库
+     *
+     * @param ids      待查询的 ID（可含重复与 null）
+     * @param mapper   对应表的 MyBatis-Plus Mapper
+     * @param idFilter 可选的 ID 布隆过滤器（必须覆盖该表全部已提交 ID，可为 null）
+     * @param <T>      实体类型
+     * @return 数据库中存在的 ID 集合
+     */
+    @ValidateLog(value = VALIDATE_FIND_EXIST_IDS, recordParams = false, logLevel = ValidateLog.LogLevel.DEBUG)
+    public <T> LongHashSet findExistIds(Collection<Long> ids, BaseMapper<T> mapper, LongBloomFilter idFilter) {
+        LongHashSet exist = new LongHashSet();
+        if (CollUtil.isEmpty(ids)) {
+            return exist;
+        }
+        LongHashSet seen = new LongHashSet(ids.size());
+        List<Long> chunk = new ArrayList<>(Math.min(ids.size(), EXIST_CHECK_CHUNK_SIZE));
+        for (Long id : ids) {
+            if (ObjectUtil.isNull(id) || !seen.add(id)) {
+                continue;
+            }
+            if (ObjectUtil.isNotNull(idFilter) && !idFilter.mightContain(id)) {
+                continue;
+            }
+            chunk.add(id);
+            if (chunk.size() == EXIST_CHECK_CHUNK_SIZE) {
+                selectExistIdsInto(chunk, mapper, exist);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            selectExistIdsInto(chunk, mapper, exist);
+        }
+        return exist;
+    }
+
+    /**
+     * 批量 ID 存在性校验（可先经 ID 布隆过滤器排除一定不存在的 ID）
      * <p>
      * 若 ID 列表中有任意 ID 在数据库中不存在，抛出异常并在错误信息中列出缺失的 ID
      *
      * @param ids         被校验的 ID 列表
      * @param mapper      对应表的 MyBatis-Plus Mapper
      * @param notExistMsg 不存在时的提示（支持 {@code %s} 占位符，传入缺失 ID 列表）
+     * @param idFilter    可选的 ID 布隆过滤器（可为 null）
      * @param <T>         实体类型
      * @throws BizException ID 列表为空或存在不存在的 ID 时抛出异常
      */
     @ValidateLog(value = VALIDATE_BATCH_ID_EXIST, logLevel = ValidateLog.LogLevel.WARN)
-    public <T> void validateBatchIdsExist(List<Long> ids, BaseMapper<T> mapper, String notExistMsg) {
+    public <T> void validateBatchIdsExist(List<Long> ids, BaseMapper<T> mapper, String notExistMsg,
+                                          LongBloomFilter idFilter) {
         if (CollUtil.isEmpty(ids)) {
             throw new BizException(HttpStatus.BAD_REQUEST,
                     String.format(COMMON_PARAM_EMPTY_ERROR, ID_LIST));
         }
-        List<T> existList = mapper.selectBatchIds(ids);
-        if (existList.size() != ids.size()) {
-            Set<Long> existIds = existList.stream()
-                    .map(item -> (Long) ReflectUtil.getFieldValue(item, ID))
-                    .collect(Collectors.toSet());
-            List<Long> notExistIds = ids.stream()
-                    .filter(id -> !existIds.contains(id))
-                    .collect(Collectors.toList());
+        LongHashSet existIds = findExistIds(ids, mapper, idFilter);
+        List<Long> notExistIds = new ArrayList<>();
+        for (Long id : ids) {
+            if (ObjectUtil.isNull(id) || !existIds.contains(id)) {
+                notExistIds.add(id);
+            }
+        }
+        if (!notExistIds.isEmpty()) {
             throw new BizException(HttpStatus.NOT_FOUND, String.format(notExistMsg, notExistIds));
         }
     }
@@ -149,6 +198,23 @@ public class GeneralValidator {
         return entity;
     }
 
+    /**
+     * 单 ID 存在性校验（只查主键列，不需要实体时使用）
+     *
+     * @param id          被校验的 ID
+     * @param mapper      对应表的 MyBatis-Plus Mapper
+     * @param notExistMsg 不存在时的提示
+     * @param <T>         实体类型
+     * @throws BizException 记录不存在时抛出 404 异常
+     */
+    @ValidateLog(value = VALIDATE_SINGLE_ID_EXIST, logLevel = ValidateLog.LogLevel.DEBUG)
+    public <T> void validateIdPresent(Long id, BaseMapper<T> mapper, String notExistMsg) {
+        if (ObjectUtil.isNull(id)
+                || CollUtil.isEmpty(mapper.selectObjs(Wrappers.<T>query().select(ID).eq(ID, id).last(LIMIT_ONE)))) {
+            throw new BizException(HttpStatus.NOT_FOUND, notExistMsg);
+        }
+    }
+
     /**
      * 时间范围校验：开始时间不能晚于结束时间
      * <p>
@@ -181,4 +247,12 @@ public class GeneralValidator {
                     String.format(COMMON_MIN_MAX_INVALID_ERROR, bizKey));
         }
     }
-}
\ No newline at end of file
+
+    private static <T> void selectExistIdsInto(List<Long> chunk, BaseMapper<T> mapper, LongHashSet into) {
+        for (Object id : mapper.selectObjs(Wrappers.<T>query().select(ID).in(ID, chunk))) {
+            if (id instanceof Number) {
+                into.add(((Number) id).longValue());
+            }
+        }
+    }
+}
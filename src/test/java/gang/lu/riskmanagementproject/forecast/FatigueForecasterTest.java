@@ -0,0 +1,119 @@
+package gang.lu.riskmanagementproject.forecast;
+
+import gang.lu.riskmanagementproject.domain.enums.field.ForecasterType;
+import gang.lu.riskmanagementproject.property.ForecastProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 统计预测方法单元测试：指数平滑 / 线性趋势 / 阻尼趋势的已知解、单点历史与有效长度
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class FatigueForecasterTest {
+
+    private static final double EPS = 1e-9;
+
+    private ForecastProperty property;
+    private EwmaForecaster ewma;
+    private HoltForecaster holt;
+    private DampedTrendForecaster damped;
+
+    @BeforeEach
+    void setUp() {
+        property = new ForecastProperty();
+        property.setEwmaAlpha(0.5);
+        property.setTrendAlpha(0.5);
+        property.setTrendBeta(0.3);
+        property.setDampedPhi(0.9);
+        ewma = new EwmaForecaster(property);
+        holt = new HoltForecaster(property);
+        damped = new DampedTrendForecaster(property);
+    }
+
+    @Test
+    void typesMatchTheirEnumValues() {
+        assertEquals(ForecasterType.EWMA, ewma.type());
+        assertEquals(ForecasterType.HOLT, holt.type());
+        assertEquals(ForecasterType.DAMPED_TREND, damped.type());
+    }
+
+    @Test
+    void constantSeriesIsForecastAsConstantByEveryMethod() {
+        double[] history = {42, 42, 42, 42, 42};
+        for (FatigueForecaster forecaster : new FatigueForecaster[]{ewma, holt, damped}) {
+            double[] out = forecast(forecaster, history, history.length);
+            for (double v : out) {
+                assertEquals(42, v, EPS, forecaster.type().getValue());
+            }
+        }
+    }
+
+    @Test
+    void ewmaMatchesHandComputedLevel() {
+        // level: 10 → 15 → 22.5 → 26.25
+        double[] out = forecast(ewma, new double[]{10, 20, 30, 30}, 4);
+        for (double v : out) {
+            assertEquals(26.25, v, EPS);
+        }
+    }
+
+    @Test
+    void holtExtrapolatesALinearSeriesExactly() {
+        // 初始斜率取前两点之差，完全线性的序列水平与斜率不再变化
+        double[] out = forecast(holt, new double[]{10, 12, 14, 16, 18}, 5);
+        for (int h = 0; h < out.length; h++) {
+            assertEquals(18 + 2 * (h + 1), out[h], EPS);
+        }
+    }
+
+    @Test
+    void dampedTrendFlattensTowardsAFiniteLimit() {
+        double[] history = {10, 12, 14, 16, 18};
+        double[] linear = forecast(holt, history, history.length);
+        double[] out = forecast(damped, history, history.length);
+
+        double previousStep = Double.MAX_VALUE;
+        for (int h = 0; h < out.length; h++) {
+            assertTrue(out[h] < linear[h]);
+            if (h > 0) {
+                // 仍在上升，但每步增幅按 phi 递减
+                double step = out[h] - out[h - 1];
+                assertTrue(step > 0 && step < previousStep);
+                previousStep = step;
+            }
+        }
+        // phi = 1 时与线性趋势一致
+        double[] undamped = new double[6];
+        DampedTrendForecaster.smooth(history, history.length, 0.5, 0.3, 1.0, undamped);
+        assertArrayEquals(linear, undamped, EPS);
+    }
+
+    @Test
+    void singlePointHistoryHasNoTrend() {
+        for (FatigueForecaster forecaster : new FatigueForecaster[]{ewma, holt, damped}) {
+            for (double v : forecast(forecaster, new double[]{55}, 1)) {
+                assertEquals(55, v, EPS, forecaster.type().getValue());
+            }
+        }
+    }
+
+    @Test
+    void onlyTheValidPrefixIsUsed() {
+        // 复用缓冲区时尾部可能残留旧数据，只读取 [0, length)
+        double[] buffer = {10, 12, 14, 1_000, -1_000};
+        for (FatigueForecaster forecaster : new FatigueForecaster[]{ewma, holt, damped}) {
+            assertArrayEquals(forecast(forecaster, new double[]{10, 12, 14}, 3),
+                    forecast(forecaster, buffer, 3), EPS, forecaster.type().getValue());
+        }
+    }
+
+    private static double[] forecast(FatigueForecaster forecaster, double[] history, int length) {
+        double[] out = new double[6];
+        forecaster.forecast(history, length, out);
+        return out;
+    }
+}
@@ -0,0 +1,129 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.CircuitState;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AiCircuitBreaker} 单元测试：关闭 → 打开 → 半开 → 关闭 / 重新打开的状态转换
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class AiCircuitBreakerTest {
+
+    private static final int THRESHOLD = 3;
+    private static final long OPEN_MS = 100L;
+
+    private AiCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        DashScopeProperty property = new DashScopeProperty();
+        property.setBreakerFailureThreshold(THRESHOLD);
+        property.setBreakerOpenMs(OPEN_MS);
+        breaker = new AiCircuitBreaker(property);
+    }
+
+    @Test
+    void staysClosedBelowThresholdAndSuccessResetsTheCount() {
+        for (int i = 0; i < THRESHOLD - 1; i++) {
+            breaker.acquire();
+            breaker.onFailure();
+        }
+        assertEquals(CircuitState.CLOSED, breaker.state());
+        assertEquals(THRESHOLD - 1, breaker.consecutiveFailures());
+
+        breaker.acquire();
+        breaker.onSuccess();
+        assertEquals(0, breaker.consecutiveFailures());
+
+        // 计数已清零，再失败 THRESHOLD - 1 次仍不打开
+        for (int i = 0; i < THRESHOLD - 1; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsWith503() {
+        trip();
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertEquals(1, breaker.openCount());
+        BizException e = assertThrows(BizException.class, breaker::acquire);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        assertThrows(BizException.class, breaker::acquire);
+        assertEquals(2, breaker.rejectedCount());
+    }
+
+    @Test
+    void lateFailuresWhileOpenDoNotExtendTheOpenPeriod() throws Exception {
+        trip();
+        // 打开前已放行的调用陆续失败返回
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(1, breaker.openCount());
+
+        Thread.sleep(OPEN_MS + 20);
+        assertDoesNotThrow(breaker::acquire);
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void halfOpenAdmitsExactlyOneProbe() throws Exception {
+        trip();
+        Thread.sleep(OPEN_MS + 20);
+
+        breaker.acquire();
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+        // 探测进行中，其余调用仍被拒绝
+        BizException e = assertThrows(BizException.class, breaker::acquire);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+    }
+
+    @Test
+    void successfulProbeCloses() throws Exception {
+        trip();
+        Thread.sleep(OPEN_MS + 20);
+
+        breaker.acquire();
+        breaker.onSuccess();
+
+        assertEquals(CircuitState.CLOSED, breaker.state());
+        assertEquals(0, breaker.consecutiveFailures());
+        assertDoesNotThrow(breaker::acquire);
+        assertDoesNotThrow(breaker::acquire);
+    }
+
+    @Test
+    void failedProbeReopensForAnotherFullPeriod() throws Exception {
+        trip();
+        Thread.sleep(OPEN_MS + 20);
+
+        breaker.acquire();
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertEquals(2, breaker.openCount());
+        assertThrows(BizException.class, breaker::acquire);
+
+        // 新的打开期结束后可再次探测
+        Thread.sleep(OPEN_MS + 20);
+        assertDoesNotThrow(breaker::acquire);
+        breaker.onSuccess();
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    private void trip() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            breaker.acquire();
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package gang.lu.riskmanagementproject.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static gang.lu.riskmanagementproject.common.field.FieldChineseConstants.AI_DEFAULT_RISK;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AiHelper} 批量预测单元测试：token 估算、按预算与工人数上限装箱、批量响应按 worker_id 拆分
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class AiHelperBatchTest {
+
+    private static final int OUTPUT_TOKENS_PER_WORKER = 400;
+
+    private DashScopeProperty property;
+    private AiHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        property = new DashScopeProperty();
+        property.setBatchPromptTokenBudget(100_000);
+        property.setBatchMaxWorkersPerPrompt(8);
+        property.setBatchOutputTokensPerWorker(OUTPUT_TOKENS_PER_WORKER);
+        helper = new AiHelper(null, property, new ObjectMapper(), null);
+    }
+
+    // ======================== token 估算 ========================
+
+    @Test
+    void estimatesDigitsAndNonAsciiAsOneTokenEach() {
+        assertEquals(0, AiHelper.estimateTokens(""));
+        assertEquals(1, AiHelper.estimateTokens("abcd"));
+        assertEquals(2, AiHelper.estimateTokens("abcde"));
+        assertEquals(3, AiHelper.estimateTokens("123"));
+        assertEquals(2, AiHelper.estimateTokens("工人"));
+        // 2 个汉字 + 2 位数字 + 5 个其他 ASCII（向上取整为 2）
+        assertEquals(6, AiHelper.estimateTokens("工人 42, ok"));
+    }
+
+    // ======================== 装箱 ========================
+
+    @Test
+    void emptyInputBuildsNoPrompts() {
+        assertTrue(helper.buildBatchPrompts(Collections.emptyMap()).isEmpty());
+    }
+
+    @Test
+    void splitsByWorkersPerPromptKeepingOrder() {
+        Map<Long, List<RiskIndicatorVO>> histories = histories(20, 3);
+
+        List<AiHelper.BatchPrompt> prompts = helper.buildBatchPrompts(histories);
+
+        assertEquals(3, prompts.size());
+        assertEquals(Arrays.asList(8, 8, 4), Arrays.asList(prompts.get(0).getWorkerIds().size(),
+                prompts.get(1).getWorkerIds().size(), prompts.get(2).getWorkerIds().size()));
+        List<Long> order = new ArrayList<>();
+        prompts.forEach(prompt -> order.addAll(prompt.getWorkerIds()));
+        assertEquals(new ArrayList<>(histories.keySet()), order);
+        for (AiHelper.BatchPrompt prompt : prompts) {
+            assertEquals(prompt.getWorkerIds().size() * OUTPUT_TOKENS_PER_WORKER, prompt.getMaxTokens());
+            for (Long workerId : prompt.getWorkerIds()) {
+                assertEquals(3, prompt.getRecordCounts().get(workerId));
+                assertTrue(prompt.getPrompt().contains("# 工人ID=" + workerId + "\n"));
+            }
+        }
+    }
+
+    @Test
+    void respectsTokenBudgetAndNeverSplitsAWorker() {
+        Map<Long, List<RiskIndicatorVO>> histories = histories(10, 5);
+        int singleWorker = helper.buildBatchPrompts(Collections.singletonMap(1L, histories.get(1L)))
+                .get(0).getEstimatedTokens();
+        // 预算约容纳 3 名工人
+        int perWorker = singleWorker - fixedTokens();
+        property.setBatchPromptTokenBudget(fixedTokens() + perWorker * 3 + perWorker / 2);
+
+        List<AiHelper.BatchPrompt> prompts = helper.buildBatchPrompts(histories);
+
+        assertEquals(4, prompts.size());
+        int workers = 0;
+        for (AiHelper.BatchPrompt prompt : prompts) {
+            assertTrue(prompt.getEstimatedTokens() <= property.getBatchPromptTokenBudget());
+            // 按块分别向上取整，估算值不低于整段文本的估算
+            assertTrue(prompt.getEstimatedTokens() >= AiHelper.estimateTokens(prompt.getPrompt()));
+            // 每名工人的全部记录都在同一提示词中
+            for (Long workerId : prompt.getWorkerIds()) {
+                String title = "# 工人ID=" + workerId + "\n";
+                int from = prompt.getPrompt().indexOf(title) + title.length();
+                assertEquals(5, countRows(prompt.getPrompt().substring(from)));
+            }
+            workers += prompt.getWorkerIds().size();
+        }
+        assertEquals(10, workers);
+    }
+
+    @Test
+    void oversizedWorkerGetsAPromptOfItsOwn() {
+        Map<Long, List<RiskIndicatorVO>> histories = new LinkedHashMap<>();
+        histories.put(1L, history(1L, 2));
+        histories.put(2L, history(2L, 200));
+        histories.put(3L, history(3L, 2));
+        property.setBatchPromptTokenBudget(fixedTokens() + 200);
+
+        List<AiHelper.BatchPrompt> prompts = helper.buildBatchPrompts(histories);
+
+        assertEquals(3, prompts.size());
+        assertEquals(Collections.singleton(2L), prompts.get(1).getWorkerIds());
+        assertEquals(200, prompts.get(1).getRecordCounts().get(2L));
+        assertTrue(prompts.get(1).getEstimatedTokens() > property.getBatchPromptTokenBudget());
+    }
+
+    // ======================== 批量响应解析 ========================
+
+    @Test
+    void splitsResponseByWorkerIdIgnoringStrangersAndDuplicates() {
+        AiHelper.BatchPrompt batch = batchOf(1L, 2L, 3L);
+        String aiText = "```json\n["
+                + item(2, "高风险") + ","
+                + item(1, "低风险") + ","
+                + item(99, "严重风险") + ","
+                + item(2, "低风险")
+                + "]\n```";
+
+        Map<Long, RiskPredictionVO> result = helper.parseBatchResponse(batch, aiText);
+
+        // 3 号工人被模型遗漏，99 号不属于该提示词，2 号重复时取第一个
+        assertEquals(new LinkedHashSet<>(Arrays.asList(2L, 1L)), result.keySet());
+        RiskPredictionVO vo = result.get(2L);
+        assertEquals(2L, vo.getWorkerId());
+        assertEquals("高风险", vo.getPredictedRiskLevel());
+        assertEquals(batch.getRecordCounts().get(2L), vo.getRecordCount());
+        assertEquals(Arrays.asList("休息", "补水"), vo.getSuggestions());
+    }
+
+    @Test
+    void acceptsASingleObjectWithoutTheOuterArray() {
+        Map<Long, RiskPredictionVO> result = helper.parseBatchResponse(batchOf(5L), item(5, "中风险"));
+        assertEquals("中风险", result.get(5L).getPredictedRiskLevel());
+    }
+
+    @Test
+    void missingFieldsFallBackToDefaults() {
+        Map<Long, RiskPredictionVO> result = helper.parseBatchResponse(batchOf(1L), "[{\"worker_id\": 1}]");
+        RiskPredictionVO vo = result.get(1L);
+        assertEquals(AI_DEFAULT_RISK, vo.getPredictedRiskLevel());
+        assertEquals("", vo.getAnalysisSummary());
+        assertTrue(vo.getSuggestions().isEmpty());
+    }
+
+    @Test
+    void malformedResponseIsAResolveFailure() {
+        BizException e = assertThrows(BizException.class,
+                () -> helper.parseBatchResponse(batchOf(1L), "[{\"worker_id\": 1,"));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, e.getStatus());
+    }
+
+    // ======================== 工具方法 ========================
+
+    private int fixedTokens() {
+        // 空历史工人的提示词 = 固定部分 + 工人标题
+        int titleOnly = helper.buildBatchPrompts(Collections.singletonMap(1L, Collections.emptyList()))
+                .get(0).getEstimatedTokens();
+        return titleOnly - AiHelper.estimateTokens("\n# 工人ID=1\n");
+    }
+
+    private AiHelper.BatchPrompt batchOf(Long... workerIds) {
+        Map<Long, List<RiskIndicatorVO>> histories = new LinkedHashMap<>();
+        for (Long workerId : workerIds) {
+            histories.put(workerId, history(workerId, workerId.intValue() + 1));
+        }
+        List<AiHelper.BatchPrompt> prompts = helper.buildBatchPrompts(histories);
+        assertEquals(1, prompts.size());
+        return prompts.get(0);
+    }
+
+    private static String item(long workerId, String risk) {
+        return "{\"worker_id\": " + workerId + ", \"predicted_risk_level\": \"" + risk + "\", "
+                + "\"risk_trend\": \"上升\", \"analysis_summary\": \"心率偏高\", "
+                + "\"suggestions\": [\"休息\", \"补水\"], \"confidence_note\": \"数据较少\"}";
+    }
+
+    private static Map<Long, List<RiskIndicatorVO>> histories(int workers, int records) {
+        Map<Long, List<RiskIndicatorVO>> histories = new LinkedHashMap<>();
+        for (long workerId = 1; workerId <= workers; workerId++) {
+            histories.put(workerId, history(workerId, records));
+        }
+        return histories;
+    }
+
+    private static List<RiskIndicatorVO> history(Long workerId, int records) {
+        List<RiskIndicatorVO> rows = new ArrayList<>(records);
+        LocalDateTime start = LocalDateTime.of(2026, 3, 17, 8, 0);
+        for (int i = 0; i < records; i++) {
+            RiskIndicatorVO vo = new RiskIndicatorVO();
+            vo.setWorkerId(workerId);
+            vo.setHeartRate(80 + i % 40);
+            vo.setRespiratoryRate(16 + i % 8);
+            vo.setFatiguePercent(30.0 + i % 50);
+            vo.setRiskLevel(RiskLevel.values()[i % RiskLevel.values().length]);
+            vo.setAlertFlag(i % 7 == 0);
+            vo.setCreateTime(start.plusMinutes(i));
+            rows.add(vo);
+        }
+        return rows;
+    }
+
+    /**
+     * 从工人标题之后数连续的数据行（到下一个标题或提示词尾部说明为止）
+     */
+    private static int countRows(String text) {
+        int rows = 0;
+        for (String line : text.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#") || !line.matches("\\d{2}-\\d{2} \\d{2}:\\d{2},.*")) {
+                break;
+            }
+            rows++;
+        }
+        return rows;
+    }
+}
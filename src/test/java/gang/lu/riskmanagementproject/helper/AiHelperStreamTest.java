@@ -0,0 +1,119 @@
+package gang.lu.riskmanagementproject.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gang.lu.riskmanagementproject.domain.enums.field.CircuitState;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import okhttp3.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AiHelper#streamQwen} 单元测试：以拦截器模拟千问 SSE 响应，验证增量回调、回调异常与响应解析失败的区分
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class AiHelperStreamTest {
+
+    private static final MediaType EVENT_STREAM = MediaType.get("text/event-stream");
+
+    private final AtomicReference<Call> lastCall = new AtomicReference<>();
+    private final List<String> deltas = new CopyOnWriteArrayList<>();
+
+    private DashScopeProperty property;
+    private AiCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        property = new DashScopeProperty();
+        property.setBaseUrl("http://qwen.test");
+        property.setApiKey("test-key");
+        property.setModel("qwen-plus");
+        property.setMaxTokens(512);
+        property.setCallTimeoutMs(5_000);
+        property.setBreakerFailureThreshold(1);
+        property.setBreakerOpenMs(60_000);
+        breaker = new AiCircuitBreaker(property);
+    }
+
+    @Test
+    void forwardsEveryDeltaAndCompletesWithFullContent() throws Exception {
+        AiHelper helper = helper(sse("{\"a\":", "1}") + "data: [DONE]\n\n");
+
+        String content = helper.streamQwen("prompt", deltas::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals("{\"a\":1}", content);
+        assertEquals(2, deltas.size());
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    @Test
+    void callbackFailureCancelsTheCallAndFailsWithTheCallbackException() throws Exception {
+        AiHelper helper = helper(sse("one", "two", "three") + "data: [DONE]\n\n");
+        IllegalStateException clientGone = new IllegalStateException("client gone");
+
+        CompletableFuture<String> future = helper.streamQwen("prompt", delta -> {
+            deltas.add(delta);
+            throw clientGone;
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(clientGone, e.getCause());
+        // 第一次回调失败后不再读取、不再回调
+        assertEquals(1, deltas.size());
+        assertTrue(lastCall.get().isCanceled());
+        // 上游本身正常，回调失败不计入熔断（阈值为 1 也不打开）
+        assertEquals(CircuitState.CLOSED, breaker.state());
+        assertEquals(0, breaker.consecutiveFailures());
+    }
+
+    @Test
+    void malformedUpstreamChunkIsAResolveFailure() {
+        AiHelper helper = helper("data: {not json\n\n");
+
+        CompletableFuture<String> future = helper.streamQwen("prompt", deltas::add);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BizException);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ((BizException) e.getCause()).getStatus());
+        assertTrue(deltas.isEmpty());
+    }
+
+    // ======================== 工具方法 ========================
+
+    private AiHelper helper(String body) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    lastCall.set(chain.call());
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create(body, EVENT_STREAM))
+                            .build();
+                })
+                .build();
+        return new AiHelper(client, property, new ObjectMapper(), breaker);
+    }
+
+    private static String sse(String... contents) {
+        StringBuilder sb = new StringBuilder();
+        for (String content : contents) {
+            String escaped = content.replace("\\", "\\\\").replace("\"", "\\\"");
+            sb.append("data: {\"choices\":[{\"delta\":{\"content\":\"").append(escaped).append("\"}}]}\n\n");
+        }
+        return sb.toString();
+    }
+}
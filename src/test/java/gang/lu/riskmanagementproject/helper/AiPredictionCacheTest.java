@@ -0,0 +1,222 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.vo.normal.CacheStatsVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskIndicatorVO;
+import gang.lu.riskmanagementproject.domain.vo.normal.RiskPredictionVO;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.property.CacheProperty;
+import gang.lu.riskmanagementproject.property.DashScopeProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AiPredictionCache} 单元测试：内容寻址缓存键、命中、失败不缓存、同键并发请求合并回源
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class AiPredictionCacheTest {
+
+    private static final Long WORKER_ID = 7L;
+
+    private CacheProperty cacheProperty;
+    private DashScopeProperty dashScopeProperty;
+    private AiPredictionCache cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cacheProperty = new CacheProperty();
+        cacheProperty.setAiPredictionEnabled(true);
+        cacheProperty.setAiPredictionCapacity(100);
+        cacheProperty.setAiPredictionTtlMs(60_000);
+        dashScopeProperty = new DashScopeProperty();
+        dashScopeProperty.setModel("qwen-plus");
+        cache = new AiPredictionCache(cacheProperty, dashScopeProperty);
+        cache.init();
+    }
+
+    @Test
+    void keyIsStableHexSha256() {
+        String key = cache.key(WORKER_ID, history());
+        assertEquals(key, cache.key(WORKER_ID, history()));
+        assertTrue(key.matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    void keyChangesWithEveryInputThatAffectsThePrompt() {
+        Set<String> keys = new HashSet<>();
+        keys.add(cache.key(WORKER_ID, history()));
+        keys.add(cache.key(8L, history()));
+
+        List<RiskIndicatorVO> edited = history();
+        edited.get(1).setHeartRate(121);
+        keys.add(cache.key(WORKER_ID, edited));
+
+        edited = history();
+        edited.get(1).setRiskLevel(null);
+        keys.add(cache.key(WORKER_ID, edited));
+
+        edited = history();
+        edited.get(0).setAlertFlag(true);
+        keys.add(cache.key(WORKER_ID, edited));
+
+        edited = history();
+        edited.add(row(3L, 90, 0.7));
+        keys.add(cache.key(WORKER_ID, edited));
+
+        // 少一条记录
+        keys.add(cache.key(WORKER_ID, history().subList(0, 1)));
+
+        dashScopeProperty.setModel("qwen-max");
+        keys.add(cache.key(WORKER_ID, history()));
+
+        assertEquals(8, keys.size());
+    }
+
+    @Test
+    void secondRequestIsServedFromCache() {
+        String key = cache.key(WORKER_ID, history());
+        RiskPredictionVO first = cache.get(key, WORKER_ID, 2, this::load);
+        RiskPredictionVO second = cache.get(key, WORKER_ID, 2, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertSame(first, cache.getIfPresent(key));
+        CacheStatsVO stats = cache.stats();
+        assertEquals(1L, stats.getMissCount());
+        assertEquals(2L, stats.getHitCount());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        String key = cache.key(WORKER_ID, history());
+        BizException e = assertThrows(BizException.class, () -> cache.get(key, WORKER_ID, 2, () -> {
+            loads.incrementAndGet();
+            throw new BizException(HttpStatus.GATEWAY_TIMEOUT, "timeout");
+        }));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatus());
+        assertNull(cache.getIfPresent(key));
+
+        assertNotNull(cache.get(key, WORKER_ID, 2, this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void concurrentRequestsForTheSameKeyLoadOnce() throws Exception {
+        String key = cache.key(WORKER_ID, history());
+        CompletableFuture<RiskPredictionVO> upstream = new CompletableFuture<>();
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<CompletableFuture<RiskPredictionVO>>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                return cache.getAsync(key, WORKER_ID, 2, () -> {
+                    loads.incrementAndGet();
+                    return upstream;
+                });
+            }));
+        }
+        go.countDown();
+        List<CompletableFuture<RiskPredictionVO>> results = new ArrayList<>();
+        for (Future<CompletableFuture<RiskPredictionVO>> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        // 回源尚未完成时所有请求都在等待同一次调用
+        assertEquals(1, loads.get());
+        results.forEach(result -> assertFalse(result.isDone()));
+        RiskPredictionVO vo = prediction();
+        upstream.complete(vo);
+        for (CompletableFuture<RiskPredictionVO> result : results) {
+            assertSame(vo, result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(callers - 1, cache.stats().getCoalescedCount());
+        assertSame(vo, cache.getIfPresent(key));
+    }
+
+    @Test
+    void coalescedWaitersReceiveTheSameFailureAndNextRequestRetries() {
+        String key = cache.key(WORKER_ID, history());
+        CompletableFuture<RiskPredictionVO> upstream = new CompletableFuture<>();
+        CompletableFuture<RiskPredictionVO> first = cache.getAsync(key, WORKER_ID, 2, () -> upstream);
+        CompletableFuture<RiskPredictionVO> second = cache.getAsync(key, WORKER_ID, 2, () -> {
+            throw new AssertionError("coalesced request must not load");
+        });
+
+        BizException failure = new BizException(HttpStatus.BAD_GATEWAY, "upstream");
+        upstream.completeExceptionally(new CompletionException(failure));
+
+        for (CompletableFuture<RiskPredictionVO> future : Arrays.asList(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertSame(failure, e.getCause());
+        }
+        // 失败后键已移出在途表，下一次请求重新回源
+        assertNotNull(cache.get(key, WORKER_ID, 2, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        cacheProperty.setAiPredictionEnabled(false);
+        String key = cache.key(WORKER_ID, history());
+
+        cache.get(key, WORKER_ID, 2, this::load);
+        cache.get(key, WORKER_ID, 2, this::load);
+        cache.put(key, prediction());
+
+        assertEquals(2, loads.get());
+        assertNull(cache.getIfPresent(key));
+    }
+
+    // ======================== 工具方法 ========================
+
+    private RiskPredictionVO load() {
+        loads.incrementAndGet();
+        return prediction();
+    }
+
+    private static RiskPredictionVO prediction() {
+        RiskPredictionVO vo = new RiskPredictionVO();
+        vo.setWorkerId(WORKER_ID);
+        vo.setPredictedRiskLevel("中风险");
+        return vo;
+    }
+
+    private static List<RiskIndicatorVO> history() {
+        List<RiskIndicatorVO> rows = new ArrayList<>();
+        rows.add(row(1L, 80, 0.4));
+        rows.add(row(2L, 120, 0.6));
+        return rows;
+    }
+
+    private static RiskIndicatorVO row(Long id, int heartRate, double fatigue) {
+        RiskIndicatorVO vo = new RiskIndicatorVO();
+        vo.setId(id);
+        vo.setWorkerId(WORKER_ID);
+        vo.setHeartRate(heartRate);
+        vo.setRespiratoryRate(18);
+        vo.setFatiguePercent(fatigue);
+        vo.setRiskLevel(RiskLevel.values()[0]);
+        vo.setAlertFlag(false);
+        vo.setCreateTime(LocalDateTime.of(2026, 3, 17, 9, 0).plusMinutes(id));
+        return vo;
+    }
+}
@@ -0,0 +1,76 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.vo.normal.FatiguePredictionVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FatigueForecastCache} 单元测试：整表替换与部分写入按预测时间取新，不丢失推理期间写入的更新结果
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class FatigueForecastCacheTest {
+
+    private static final LocalDateTime FLEET_TIME = LocalDateTime.of(2026, 3, 17, 9, 0);
+
+    private final FatigueForecastCache cache = new FatigueForecastCache();
+
+    @Test
+    void replaceAllDropsOlderEntriesAndWorkersMissingFromTheRound() {
+        cache.putAll(Arrays.asList(vo(1L, FLEET_TIME.minusMinutes(5)), vo(2L, FLEET_TIME.minusMinutes(5))));
+
+        cache.replaceAll(Collections.singletonList(vo(1L, FLEET_TIME)), FLEET_TIME);
+
+        List<FatiguePredictionVO> all = cache.list(null);
+        assertEquals(1, all.size());
+        assertEquals(FLEET_TIME, all.get(0).getPredictTime());
+    }
+
+    @Test
+    void replaceAllKeepsResultsWrittenDuringTheFleetRun() {
+        // 全员预测在 FLEET_TIME 完成推理，替换前指定工人的批量预测已写入更新的结果
+        cache.putAll(Arrays.asList(vo(1L, FLEET_TIME.plusSeconds(2)), vo(3L, FLEET_TIME.plusSeconds(2))));
+
+        cache.replaceAll(Arrays.asList(vo(1L, FLEET_TIME), vo(2L, FLEET_TIME)), FLEET_TIME);
+
+        List<FatiguePredictionVO> all = cache.list(null);
+        assertEquals(3, all.size());
+        assertEquals(FLEET_TIME.plusSeconds(2), all.get(0).getPredictTime());
+        assertEquals(FLEET_TIME, all.get(1).getPredictTime());
+        assertEquals(FLEET_TIME.plusSeconds(2), all.get(2).getPredictTime());
+    }
+
+    @Test
+    void putAllNeverOverwritesANewerResult() {
+        cache.putAll(Collections.singletonList(vo(1L, FLEET_TIME)));
+        cache.putAll(Collections.singletonList(vo(1L, FLEET_TIME.minusSeconds(1))));
+        assertEquals(FLEET_TIME, cache.list(Collections.singletonList(1L)).get(0).getPredictTime());
+
+        cache.putAll(Collections.singletonList(vo(1L, FLEET_TIME.plusSeconds(1))));
+        assertEquals(FLEET_TIME.plusSeconds(1), cache.list(Collections.singletonList(1L)).get(0).getPredictTime());
+    }
+
+    @Test
+    void evictRemovesWorkersImmediatelyOutsideTransactions() {
+        cache.putAll(Arrays.asList(vo(1L, FLEET_TIME), vo(2L, FLEET_TIME)));
+
+        cache.evictWorkers(Collections.singletonList(1L));
+
+        assertTrue(cache.list(Collections.singletonList(1L)).isEmpty());
+        assertEquals(1, cache.list(null).size());
+    }
+
+    private static FatiguePredictionVO vo(Long workerId, LocalDateTime predictTime) {
+        FatiguePredictionVO vo = new FatiguePredictionVO();
+        vo.setWorkerId(workerId);
+        vo.setPredictTime(predictTime);
+        return vo;
+    }
+}
@@ -0,0 +1,80 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.MetricCategory;
+import gang.lu.riskmanagementproject.domain.vo.normal.LatencyStatsVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LatencyRecorder} 单元测试：累计统计与按分钟轮换的窗口统计
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class LatencyRecorderTest {
+
+    private static final long MINUTE = 29_000_000L;
+    private static final String STATEMENT = "WorkerMapper.selectById";
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @Test
+    void lastMinuteShowsOnlyThePreviousCompleteMinute() {
+        record(MINUTE, 10, 1_000_000L);
+        record(MINUTE + 1, 3, 50_000_000L);
+
+        // 第 MINUTE + 1 分钟尚未结束，窗口为 MINUTE 分钟的 10 次快调用
+        LatencyStatsVO window = single(recorder.stats(MetricCategory.SQL, true, MINUTE + 1));
+        assertEquals(10L, window.getCount());
+        assertEquals(1.0, window.getP99Ms(), 0.02);
+
+        // 进入下一分钟后，窗口为刚结束那一分钟的 3 次慢调用，不再被之前的快调用稀释
+        window = single(recorder.stats(MetricCategory.SQL, true, MINUTE + 2));
+        assertEquals(3L, window.getCount());
+        assertEquals(50.0, window.getP50Ms(), 1.0);
+
+        LatencyStatsVO cumulative = single(recorder.stats(MetricCategory.SQL, false, MINUTE + 2));
+        assertEquals(13L, cumulative.getCount());
+        assertEquals(1.0, cumulative.getP50Ms(), 0.02);
+    }
+
+    @Test
+    void idleMinutesEmptyTheWindow() {
+        record(MINUTE, 5, 2_000_000L);
+
+        assertTrue(recorder.stats(MetricCategory.SQL, true, MINUTE + 5).isEmpty());
+        assertEquals(5L, single(recorder.stats(MetricCategory.SQL, false, MINUTE + 5)).getCount());
+
+        // 空闲后恢复调用，窗口只含新数据
+        record(MINUTE + 6, 2, 4_000_000L);
+        LatencyStatsVO window = single(recorder.stats(MetricCategory.SQL, true, MINUTE + 7));
+        assertEquals(2L, window.getCount());
+        assertEquals(4.0, window.getMaxMs(), 0.001);
+    }
+
+    @Test
+    void resetClearsCumulativeAndWindow() {
+        record(MINUTE, 4, 1_000_000L);
+        recorder.record(MetricCategory.BUSINESS, "新增风险指标", 1_000_000L, false, MINUTE);
+
+        recorder.reset(MetricCategory.SQL);
+
+        assertEquals(0L, single(recorder.stats(MetricCategory.SQL, false, MINUTE + 1)).getCount());
+        assertTrue(recorder.stats(MetricCategory.SQL, true, MINUTE + 1).isEmpty());
+        assertEquals(1L, single(recorder.stats(MetricCategory.BUSINESS, true, MINUTE + 1)).getCount());
+    }
+
+    private void record(long minute, int times, long nanos) {
+        for (int i = 0; i < times; i++) {
+            recorder.record(MetricCategory.SQL, STATEMENT, nanos, false, minute);
+        }
+    }
+
+    private static LatencyStatsVO single(List<LatencyStatsVO> stats) {
+        assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+}
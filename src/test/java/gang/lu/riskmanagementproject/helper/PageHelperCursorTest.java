@@ -0,0 +1,117 @@
+package gang.lu.riskmanagementproject.helper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.exception.BizException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PageHelper} 游标（keyset）分页单元测试：游标编码 / 解码往返、页尾截断、非法游标
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class PageHelperCursorTest {
+
+    private final PageHelper pageHelper = new PageHelper(null, null);
+
+    @Test
+    void noCursorWhenLastPage() {
+        List<RiskIndicator> rows = rows(3);
+        assertNull(pageHelper.trimToNextCursor(rows, 3));
+        assertEquals(3, rows.size());
+        assertNull(pageHelper.trimToNextCursor(new ArrayList<>(), 3));
+    }
+
+    @Test
+    void trimsExtraRowAndEncodesLastRowOfPage() {
+        List<RiskIndicator> rows = rows(4);
+        String cursor = pageHelper.trimToNextCursor(rows, 3);
+
+        assertEquals(3, rows.size());
+        assertNotNull(cursor);
+        // URL 安全、无填充，可直接放在查询参数中
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+        assertPosition(cursor, rows.get(2).getCreateTime(), rows.get(2).getId());
+    }
+
+    @Test
+    void roundTripsWholeSecondsAndNanoseconds() {
+        LocalDateTime[] times = {
+                LocalDateTime.of(2026, 3, 17, 10, 0),
+                LocalDateTime.of(2026, 3, 17, 10, 0, 5),
+                LocalDateTime.of(2026, 3, 17, 10, 0, 5, 123_456_789)
+        };
+        for (LocalDateTime time : times) {
+            List<RiskIndicator> rows = new ArrayList<>();
+            rows.add(row(Long.MAX_VALUE, time));
+            rows.add(row(1L, time));
+            assertPosition(pageHelper.trimToNextCursor(rows, 1), time, Long.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void firstPageHasNoKeysetConditionButFetchesOneExtraRow() {
+        LambdaQueryWrapper<RiskIndicator> wrapper = new LambdaQueryWrapper<>();
+        pageHelper.applyCursor(wrapper, null, 20);
+
+        assertTrue(wrapper.getSqlSegment().endsWith("LIMIT 21"));
+        assertTrue(wrapper.getParamNameValuePairs().isEmpty());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String[] cursors = {
+                "!!not-base64!!",
+                encode("no-separator"),
+                encode("|42"),
+                encode("2026-03-17T10:00|not-a-number"),
+                encode("not-a-time|42")
+        };
+        for (String cursor : cursors) {
+            BizException e = assertThrows(BizException.class,
+                    () -> pageHelper.applyCursor(new LambdaQueryWrapper<RiskIndicator>(), cursor, 10), cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        }
+    }
+
+    // ======================== 工具方法 ========================
+
+    private void assertPosition(String cursor, LocalDateTime createTime, Long id) {
+        LambdaQueryWrapper<RiskIndicator> wrapper = new LambdaQueryWrapper<>();
+        pageHelper.applyCursor(wrapper, cursor, 10);
+        // 参数在生成 SQL 片段时才写入 paramNameValuePairs
+        assertTrue(wrapper.getSqlSegment().endsWith("LIMIT 11"));
+        assertTrue(wrapper.getParamNameValuePairs().containsValue(createTime));
+        assertTrue(wrapper.getParamNameValuePairs().containsValue(id));
+    }
+
+    private static List<RiskIndicator> rows(int count) {
+        List<RiskIndicator> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 3, 17, 12, 0);
+        for (int i = 0; i < count; i++) {
+            rows.add(row(100L - i, start.minusSeconds(i)));
+        }
+        return rows;
+    }
+
+    private static RiskIndicator row(Long id, LocalDateTime createTime) {
+        RiskIndicator po = new RiskIndicator();
+        po.setId(id);
+        po.setCreateTime(createTime);
+        return po;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.enums.field.RiskLevel;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.domain.po.RiskIndicatorHourly;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorHourlyMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RiskIndicatorRollupHelper} 单元测试：汇总写入延迟到提交后、独立事务执行，失败不外抛；重算按桶去重
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class RiskIndicatorRollupHelperTest {
+
+    private static final LocalDateTime TEN_FIFTEEN = LocalDateTime.of(2026, 3, 17, 10, 15);
+
+    private RiskIndicatorHourlyMapper mapper;
+    private PlatformTransactionManager transactionManager;
+    private RiskIndicatorRollupHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(RiskIndicatorHourlyMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        helper = new RiskIndicatorRollupHelper(mapper, new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordRunsAfterCommitInNewTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        helper.record(Arrays.asList(row(1L, TEN_FIFTEEN, RiskLevel.values()[0]),
+                row(1L, TEN_FIFTEEN.plusMinutes(30), RiskLevel.values()[RiskLevel.values().length - 1])));
+
+        // 调用方事务提交前不写汇总
+        verifyNoInteractions(mapper);
+        commit();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RiskIndicatorHourly>> rows = ArgumentCaptor.forClass(List.class);
+        verify(mapper).upsertBatch(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(2, rows.getValue().get(0).getSampleCount());
+        assertEquals(RiskLevel.values().length, rows.getValue().get(0).getMaxRiskRank());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+    }
+
+    @Test
+    void recordFailureIsSwallowed() {
+        when(mapper.upsertBatch(anyList())).thenThrow(new CannotAcquireLockException("deadlock"));
+
+        assertDoesNotThrow(() -> helper.record(row(1L, TEN_FIFTEEN, null)));
+        verify(mapper).upsertBatch(anyList());
+    }
+
+    @Test
+    void recomputeRebuildsEachAffectedBucketOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        // 同一工人同一小时的两条 + 修改后换到另一工人
+        helper.recompute(Arrays.asList(row(1L, TEN_FIFTEEN, null), row(1L, TEN_FIFTEEN.plusMinutes(40), null),
+                row(2L, TEN_FIFTEEN, null)));
+        verifyNoInteractions(mapper);
+        commit();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RiskIndicatorHourly>> keys = ArgumentCaptor.forClass(List.class);
+        verify(mapper).deleteBuckets(keys.capture());
+        verify(mapper).rebuildBuckets(keys.getValue());
+        assertEquals(2, keys.getValue().size());
+        assertEquals(1L, keys.getValue().get(0).getWorkerId());
+        assertEquals(2L, keys.getValue().get(1).getWorkerId());
+        assertEquals(TEN_FIFTEEN.withMinute(0), keys.getValue().get(0).getHourStart());
+    }
+
+    @Test
+    void recomputeIgnoresEmptyInput() {
+        helper.recompute(Collections.emptyList());
+        verifyNoInteractions(mapper, transactionManager);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static RiskIndicator row(Long workerId, LocalDateTime createTime, RiskLevel riskLevel) {
+        RiskIndicator po = new RiskIndicator().setWorkerId(workerId).setRiskLevel(riskLevel);
+        po.setCreateTime(createTime);
+        return po;
+    }
+}
@@ -0,0 +1,220 @@
+package gang.lu.riskmanagementproject.helper;
+
+import gang.lu.riskmanagementproject.domain.po.RiskIndicator;
+import gang.lu.riskmanagementproject.exception.BizException;
+import gang.lu.riskmanagementproject.mapper.RiskIndicatorMapper;
+import gang.lu.riskmanagementproject.property.IngestProperty;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RiskIndicatorWriteBuffer} 单元测试：按条数 / 按时间刷写、背压超时、关闭排空与关闭竞态
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class RiskIndicatorWriteBufferTest {
+
+    private final AtomicLong idSequence = new AtomicLong();
+    private final AtomicInteger commitCount = new AtomicInteger();
+
+    /**
+     * 每次 insert 前等待的闸门，用于模拟数据库卡顿
+     */
+    private volatile CountDownLatch insertGate = new CountDownLatch(0);
+    private final CountDownLatch firstInsert = new CountDownLatch(1);
+
+    private IngestProperty property;
+    private RiskIndicatorWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        property = new IngestProperty();
+        property.setBufferEnabled(true);
+        property.setBufferCapacity(1000);
+        property.setFlushSize(10);
+        property.setFlushIntervalMs(10_000);
+        property.setOfferTimeoutMs(100);
+        property.setAckTimeoutMs(5_000);
+        property.setDrainTimeoutMs(5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        insertGate = new CountDownLatch(0);
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void flushesWhenBatchIsFull() throws Exception {
+        start();
+        List<CompletableFuture<RiskIndicator>> futures = enqueue(10);
+
+        // 间隔为 10 秒，攒满 10 条应立即刷写
+        for (CompletableFuture<RiskIndicator> future : futures) {
+            assertNotNull(future.get(2, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, commitCount.get());
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() throws Exception {
+        property.setFlushSize(100);
+        property.setFlushIntervalMs(50);
+        start();
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<RiskIndicator>> futures = enqueue(3);
+
+        for (CompletableFuture<RiskIndicator> future : futures) {
+            assertNotNull(future.get(2, TimeUnit.SECONDS).getId());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) >= 40);
+        assertEquals(1, commitCount.get());
+    }
+
+    @Test
+    void rejectsWith503WhenQueueStaysFull() throws Exception {
+        property.setBufferCapacity(1);
+        property.setFlushSize(1);
+        property.setFlushIntervalMs(1);
+        insertGate = new CountDownLatch(1);
+        start();
+
+        // 第 1 条被刷写线程取走并卡在 insert，第 2 条占满队列，第 3 条等待 offerTimeoutMs 后被拒绝
+        buffer.enqueue(newRow());
+        assertTrue(firstInsert.await(2, TimeUnit.SECONDS));
+        buffer.enqueue(newRow());
+        long startNanos = System.nanoTime();
+        BizException e = assertThrows(BizException.class, () -> buffer.enqueue(newRow()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) >= 90);
+        insertGate.countDown();
+    }
+
+    @Test
+    void stopDrainsQueuedRowsAndRejectsNewOnes() throws Exception {
+        property.setFlushSize(1000);
+        start();
+        List<CompletableFuture<RiskIndicator>> futures = enqueue(25);
+
+        buffer.stop();
+
+        for (CompletableFuture<RiskIndicator> future : futures) {
+            assertTrue(future.isDone());
+            assertNotNull(future.get().getId());
+        }
+        assertFalse(buffer.isEnabled());
+        BizException e = assertThrows(BizException.class, () -> buffer.enqueue(newRow()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+    }
+
+    @Test
+    void stopFailsRowsLeftAfterDrainTimeout() throws Exception {
+        property.setFlushSize(1);
+        property.setFlushIntervalMs(1);
+        property.setDrainTimeoutMs(100);
+        insertGate = new CountDownLatch(1);
+        start();
+        buffer.enqueue(newRow());
+        assertTrue(firstInsert.await(2, TimeUnit.SECONDS));
+        List<CompletableFuture<RiskIndicator>> queued = enqueue(5);
+
+        buffer.stop();
+
+        for (CompletableFuture<RiskIndicator> future : queued) {
+            assertTrue(future.isCompletedExceptionally());
+            BizException e = assertThrows(BizException.class, () -> buffer.awaitFlushed(future));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        insertGate.countDown();
+    }
+
+    @Test
+    void everyAcceptedRowIsSettledWhenStopRacesWithProducers() throws Exception {
+        property.setFlushSize(50);
+        property.setFlushIntervalMs(5);
+        start();
+        int producers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<CompletableFuture<RiskIndicator>> accepted = new CopyOnWriteArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        for (int i = 0; i < producers; i++) {
+            pool.execute(() -> {
+                try {
+                    go.await();
+                    while (true) {
+                        accepted.add(buffer.enqueue(newRow()));
+                    }
+                } catch (BizException | InterruptedException ignored) {
+                    // 关闭后入队被拒绝，生产者退出
+                }
+            });
+        }
+        go.countDown();
+        Thread.sleep(50);
+
+        buffer.stop();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        // 关闭前受理的每一条都必须已落库，没有滞留在队列中无人处理的记录
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<RiskIndicator> future : accepted) {
+            assertTrue(future.isDone());
+            assertNotNull(future.get().getId());
+        }
+        assertEquals(accepted.size(), idSequence.get());
+    }
+
+    // ======================== 工具方法 ========================
+
+    private void start() {
+        RiskIndicatorMapper mapper = mock(RiskIndicatorMapper.class);
+        when(mapper.insert(any())).thenAnswer(invocation -> {
+            firstInsert.countDown();
+            insertGate.await();
+            RiskIndicator po = invocation.getArgument(0);
+            po.setId(idSequence.incrementAndGet());
+            return 1;
+        });
+        SqlSession session = mock(SqlSession.class);
+        when(session.getMapper(RiskIndicatorMapper.class)).thenReturn(mapper);
+        doAnswer(invocation -> commitCount.incrementAndGet()).when(session).commit();
+        SqlSessionFactory factory = mock(SqlSessionFactory.class);
+        when(factory.openSession(any(ExecutorType.class), anyBoolean())).thenReturn(session);
+        when(factory.openSession(anyBoolean())).thenReturn(session);
+
+        buffer = new RiskIndicatorWriteBuffer(factory, property, mock(RiskIndicatorRollupHelper.class));
+        buffer.start();
+    }
+
+    private List<CompletableFuture<RiskIndicator>> enqueue(int count) {
+        List<CompletableFuture<RiskIndicator>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(buffer.enqueue(newRow()));
+        }
+        return futures;
+    }
+
+    private static RiskIndicator newRow() {
+        return new RiskIndicator().setWorkerId(1L);
+    }
+}
@@ -0,0 +1,210 @@
+package gang.lu.riskmanagementproject.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ConcurrentLongMap} 单元测试：与 {@link HashMap} 对照的随机操作、扩容、删除搬移，以及并发读写
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class ConcurrentLongMapTest {
+
+    @Test
+    void supportsZeroNegativeAndExtremeKeys() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        long[] keys = {0L, -1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long key : keys) {
+            assertNull(map.put(key, "v" + key));
+        }
+        assertEquals(keys.length, map.size());
+        for (long key : keys) {
+            assertEquals("v" + key, map.get(key));
+        }
+        assertEquals("v0", map.put(0L, "zero"));
+        assertEquals("zero", map.remove(0L));
+        assertNull(map.get(0L));
+        assertNull(map.remove(0L));
+        assertEquals(keys.length - 1, map.size());
+    }
+
+    @Test
+    void rejectsNullValues() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    void computeInsertsUpdatesAndRemoves() {
+        ConcurrentLongMap<Integer> map = new ConcurrentLongMap<>();
+        assertEquals(1, map.compute(7L, old -> old == null ? 1 : old + 1));
+        assertEquals(2, map.compute(7L, old -> old == null ? 1 : old + 1));
+        assertNull(map.compute(7L, old -> null));
+        assertNull(map.get(7L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperationsWithResizeAndDeletion() {
+        // 单段 + 窄键空间：探测链长、频繁扩容与删除搬移
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(1);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 2_500L;
+            int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(reference.put(key, (long) i), map.put(key, (long) i));
+            } else if (op < 8) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                assertEquals(reference.get(key), map.get(key));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        assertEquals(reference, snapshot(map));
+    }
+
+    @Test
+    void removesEveryKeyAfterGrowing() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(2);
+        int count = 100_000;
+        for (long key = 1; key <= count; key++) {
+            map.put(key, key);
+        }
+        assertEquals(count, map.size());
+        for (long key = 1; key <= count; key += 2) {
+            assertEquals(key, map.remove(key));
+        }
+        for (long key = 1; key <= count; key++) {
+            assertEquals(key % 2 == 0 ? Long.valueOf(key) : null, map.get(key));
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(2L));
+    }
+
+    @Test
+    void concurrentWritersOnDisjointKeysEndWithExactContents() throws Exception {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(4);
+        int threads = 8;
+        int perThread = 20_000;
+        runConcurrently(threads, index -> {
+            long base = (long) index * perThread;
+            for (long key = base; key < base + perThread; key++) {
+                map.put(key, key);
+            }
+            // 每个线程删除自己一半的键，触发并发删除搬移
+            for (long key = base; key < base + perThread; key += 2) {
+                assertEquals(key, map.remove(key));
+            }
+        });
+        assertEquals(threads * perThread / 2, map.size());
+        for (long key = 0; key < (long) threads * perThread; key++) {
+            assertEquals(key % 2 == 1 ? Long.valueOf(key) : null, map.get(key));
+        }
+    }
+
+    @Test
+    void readersAlwaysSeeStableKeysWhileWritersResizeAndDelete() throws Exception {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(2);
+        int stable = 2_000;
+        for (long key = 0; key < stable; key++) {
+            map.put(key, key);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            long offset = 1_000_000L * (w + 1);
+            tasks.add(pool.submit(() -> {
+                // 写线程反复插入再删除一批不相干的键：与稳定键共享段，不断触发扩容与删除搬移
+                while (!stop.get()) {
+                    for (long key = offset; key < offset + 5_000; key++) {
+                        map.put(key, key);
+                    }
+                    for (long key = offset; key < offset + 5_000; key++) {
+                        map.remove(key);
+                    }
+                }
+            }));
+        }
+        for (int r = 0; r < 4; r++) {
+            tasks.add(pool.submit(() -> {
+                Random random = new Random();
+                while (!stop.get()) {
+                    long key = random.nextInt(stable);
+                    Long value = map.get(key);
+                    if (value == null || value != key) {
+                        failure.compareAndSet(null, "key " + key + " read as " + value);
+                    }
+                }
+            }));
+        }
+        Thread.sleep(1_000);
+        stop.set(true);
+        for (Future<?> task : tasks) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertNull(failure.get());
+        assertEquals(stable, map.size());
+    }
+
+    @Test
+    void concurrentComputeIsAtomic() throws Exception {
+        ConcurrentLongMap<Integer> map = new ConcurrentLongMap<>();
+        int threads = 8;
+        int increments = 10_000;
+        runConcurrently(threads, index -> {
+            for (int i = 0; i < increments; i++) {
+                map.compute(i % 16, old -> old == null ? 1 : old + 1);
+            }
+        });
+        int total = 0;
+        for (long key = 0; key < 16; key++) {
+            total += map.get(key);
+        }
+        assertEquals(threads * increments, total);
+    }
+
+    // ======================== 工具方法 ========================
+
+    private static Map<Long, Long> snapshot(ConcurrentLongMap<Long> map) {
+        Map<Long, Long> copy = new HashMap<>();
+        map.forEach((key, value) -> assertNull(copy.put(key, value)));
+        return copy;
+    }
+
+    private static void runConcurrently(int threads, IndexedTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                go.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
@@ -0,0 +1,138 @@
+package gang.lu.riskmanagementproject.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LatencyHistogram} 单元测试：分桶下标与桶上界互逆且连续、分位数与排序数组参照值的误差在 1/64 以内（跨多个数量级）
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class LatencyHistogramTest {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999, 1.0};
+
+    /**
+     * 可区分的最大耗时，与 {@link LatencyHistogram} 保持一致
+     */
+    private static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    @Test
+    void bucketsAreContiguousAndWithinRelativePrecision() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            // 前 2^16 个值逐一检查，之后在 [2^16, 2^40) 内按对数均匀取样
+            long value = i < 1 << 16 ? i : (long) Math.pow(2, 16 + random.nextDouble() * 24);
+            int index = LatencyHistogram.indexOf(value);
+            long upper = LatencyHistogram.highestEquivalentValue(index);
+
+            assertTrue(upper >= value, "value " + value);
+            assertTrue(upper - value <= value / 64, "value " + value + " upper " + upper);
+            assertEquals(index, LatencyHistogram.indexOf(upper), "value " + value);
+            // 上界 + 1 正好落入下一个桶，桶之间没有空隙
+            assertEquals(index + 1, LatencyHistogram.indexOf(upper + 1), "value " + value);
+        }
+        assertEquals(MAX_TRACKABLE_NANOS,
+                LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(MAX_TRACKABLE_NANOS)));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value, false);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(0.01, 0.5, 0.99, 1.0);
+        assertEquals(1, snapshot.getPercentileNanos(0));
+        assertEquals(50, snapshot.getPercentileNanos(1));
+        assertEquals(99, snapshot.getPercentileNanos(2));
+        assertEquals(100, snapshot.getPercentileNanos(3));
+        assertEquals(50, snapshot.getMeanNanos());
+    }
+
+    @Test
+    void percentilesMatchSortedReferenceAcrossDecades() {
+        Random random = new Random(3);
+        // 100ns ~ 10s，跨 8 个数量级的对数均匀分布
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(10, 2 + random.nextDouble() * 8);
+            histogram.record(values[i], false);
+        }
+        assertMatchesReference(histogram, values);
+    }
+
+    @Test
+    void percentilesMatchSortedReferenceForClusteredDecades() {
+        Random random = new Random(5);
+        // 每个数量级各一簇（模拟缓存命中 / 数据库 / 外部调用），簇内正态抖动
+        long[] centers = {800L, 50_000L, 3_000_000L, 400_000_000L};
+        long[] values = new long[40_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            long center = centers[i % centers.length];
+            values[i] = Math.max(1L, (long) (center * (1 + 0.2 * random.nextGaussian())));
+            histogram.record(values[i], false);
+        }
+        assertMatchesReference(histogram, values);
+    }
+
+    @Test
+    void valuesBeyondTrackableRangeKeepExactMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000L, false);
+        histogram.record(MAX_TRACKABLE_NANOS * 4, true);
+        histogram.record(-5L, false);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(0.01, 0.5, 1.0);
+        assertEquals(3, snapshot.getCount());
+        assertEquals(1, snapshot.getErrorCount());
+        assertEquals(MAX_TRACKABLE_NANOS * 4, snapshot.getMaxNanos());
+        // 负数按 0 计
+        assertEquals(0, snapshot.getPercentileNanos(0));
+        assertEquals(1_000L, snapshot.getPercentileNanos(1), 1_000L / 64);
+        assertEquals(MAX_TRACKABLE_NANOS, snapshot.getPercentileNanos(2));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(12_345L, true);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(0.5);
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getErrorCount());
+        assertEquals(0, snapshot.getMaxNanos());
+        assertEquals(0, snapshot.getMeanNanos());
+        assertEquals(0, snapshot.getPercentileNanos(0));
+    }
+
+    // ======================== 工具方法 ========================
+
+    /**
+     * 参照值取排序后第 ceil(p·n) 个元素；直方图报告其所在桶的上界（不超过最大值），
+     * 因此不会低估，且高估不超过参照值的 1/64
+     */
+    private static void assertMatchesReference(LatencyHistogram histogram, long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(PERCENTILES);
+        assertEquals(sorted.length, snapshot.getCount());
+        assertEquals(sorted[sorted.length - 1], snapshot.getMaxNanos());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            int rank = (int) Math.max(1L, (long) Math.ceil(PERCENTILES[i] * sorted.length));
+            long expected = sorted[rank - 1];
+            long actual = snapshot.getPercentileNanos(i);
+            String message = "p" + PERCENTILES[i] + " expected " + expected + " actual " + actual;
+            assertTrue(actual >= expected, message);
+            assertTrue(actual - expected <= expected / 64, message);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package gang.lu.riskmanagementproject.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LongBloomFilter} 单元测试：无漏判（含 0 / 负数 / 极值键、并发写入）、误判率接近构造参数、极端参数
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class LongBloomFilterTest {
+
+    @Test
+    void neverReportsAbsentForInsertedKeys() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long key = -5_000; key < 5_000; key++) {
+            filter.put(key);
+        }
+        long[] extremes = {Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1};
+        for (long key : extremes) {
+            filter.put(key);
+        }
+        for (long key = -5_000; key < 5_000; key++) {
+            assertTrue(filter.mightContain(key), String.valueOf(key));
+        }
+        for (long key : extremes) {
+            assertTrue(filter.mightContain(key), String.valueOf(key));
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        LongBloomFilter filter = new LongBloomFilter(1_000, 0.01);
+        assertFalse(filter.mightContain(0L));
+        assertFalse(filter.mightContain(-1L));
+        assertFalse(filter.mightContain(42L));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredFpp() {
+        int n = 20_000;
+        LongBloomFilter filter = new LongBloomFilter(n, 0.01);
+        for (long key = 1; key <= n; key++) {
+            filter.put(key);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (long key = 1_000_000; key < 1_000_000 + probes; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        // 期望 1%，给出 3 倍余量
+        assertTrue(falsePositives < probes * 0.03, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void degenerateArgumentsStillHaveNoFalseNegatives() {
+        LongBloomFilter[] filters = {
+                new LongBloomFilter(0, 0.01),
+                new LongBloomFilter(-10, 0.01),
+                new LongBloomFilter(100, 0),
+                new LongBloomFilter(100, 2)
+        };
+        for (LongBloomFilter filter : filters) {
+            for (long key = -200; key < 200; key++) {
+                filter.put(key);
+            }
+            for (long key = -200; key < 200; key++) {
+                assertTrue(filter.mightContain(key));
+            }
+        }
+    }
+
+    @Test
+    void concurrentPutsAreAllVisible() throws Exception {
+        LongBloomFilter filter = new LongBloomFilter(80_000, 0.01);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long base = (long) i * perThread;
+            futures.add(pool.submit(() -> {
+                go.await();
+                for (long key = base; key < base + perThread; key++) {
+                    filter.put(key);
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        // 同一个字上的并发 CAS 置位不能丢
+        for (long key = 0; key < (long) threads * perThread; key++) {
+            assertTrue(filter.mightContain(key), String.valueOf(key));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package gang.lu.riskmanagementproject.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LongHashSet} 单元测试：0 / 负数键（0 为空槽标记）、同槽冲突的线性探测、扩容，以及与 {@link HashSet} 对照
+ *
+ * @author Franz Liszt
+ * @since 2026-03-17
+ */
+class LongHashSetTest {
+
+    @Test
+    void zeroIsStoredOutsideTheSlots() {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.isEmpty());
+
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        // 0 不占槽位，其他键的查询不会把空槽误认为「存在 0」
+        assertFalse(set.contains(1L));
+    }
+
+    @Test
+    void supportsNegativeAndExtremeKeys() {
+        LongHashSet set = new LongHashSet(4);
+        long[] keys = {-1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1, 0L};
+        for (long key : keys) {
+            assertTrue(set.add(key), String.valueOf(key));
+        }
+        for (long key : keys) {
+            assertFalse(set.add(key), String.valueOf(key));
+            assertTrue(set.contains(key), String.valueOf(key));
+        }
+        assertEquals(keys.length, set.size());
+        assertFalse(set.contains(-2L));
+    }
+
+    @Test
+    void probesPastCollidingKeys() {
+        // 找出在默认 32 槽中落到同一起始槽的若干键，强制走线性探测链
+        LongHashSet set = new LongHashSet(8);
+        int mask = 31;
+        long[] colliding = new long[5];
+        int found = 0;
+        int home = (int) ConcurrentLongMap.mix(1L) & mask;
+        for (long key = 1L; found < colliding.length; key++) {
+            if (((int) ConcurrentLongMap.mix(key) & mask) == home) {
+                colliding[found++] = key;
+            }
+        }
+        for (long key : colliding) {
+            assertTrue(set.add(key));
+        }
+        for (long key : colliding) {
+            assertTrue(set.contains(key));
+            assertFalse(set.add(key));
+        }
+        assertEquals(colliding.length, set.size());
+    }
+
+    @Test
+    void keepsEveryKeyAcrossResizes() {
+        // 从最小容量开始插入，经历多次翻倍
+        LongHashSet set = new LongHashSet(1);
+        int count = 50_000;
+        for (long key = -count; key <= count; key++) {
+            assertTrue(set.add(key));
+        }
+        assertEquals(2 * count + 1, set.size());
+        for (long key = -count; key <= count; key++) {
+            assertTrue(set.contains(key));
+        }
+        assertFalse(set.contains(count + 1L));
+        assertFalse(set.contains(-count - 1L));
+    }
+
+    @Test
+    void matchesHashSetOnRandomKeys() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(20_000) - 10_000L;
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(key), set.add(key));
+            } else {
+                assertEquals(reference.contains(key), set.contains(key));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+    }
+}